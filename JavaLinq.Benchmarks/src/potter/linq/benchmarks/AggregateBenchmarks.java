@@ -0,0 +1,201 @@
+package potter.linq.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import potter.linq.Linq;
+import potter.linq.PrimitiveLinq;
+
+/**
+ * Measures the <code>sum</code>, <code>average</code>, <code>min</code> and
+ * <code>max</code> operator families against equivalent stream pipelines.
+ *
+ * @author Daniel Potter
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregateBenchmarks
+{
+    // region: Sum
+
+    @Benchmark
+    public int sumInteger_linq(DataState state)
+    {
+        return Linq.sumInteger(state.quantities);
+    }
+
+    @Benchmark
+    public int sumInteger_stream(DataState state)
+    {
+        return state.quantities.stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int sumIntArray_linq(DataState state)
+    {
+        return PrimitiveLinq.sum(state.quantityArray);
+    }
+
+    @Benchmark
+    public int sumIntArray_stream(DataState state)
+    {
+        return Arrays.stream(state.quantityArray).sum();
+    }
+
+    @Benchmark
+    public long sumLongSelector_linq(DataState state)
+    {
+        return Linq.sumLong(state.orders, Order::getTimestamp);
+    }
+
+    @Benchmark
+    public long sumLongSelector_stream(DataState state)
+    {
+        return state.orders.stream().mapToLong(Order::getTimestamp).sum();
+    }
+
+    @Benchmark
+    public double sumDouble_linq(DataState state)
+    {
+        return Linq.sumDouble(state.amounts);
+    }
+
+    @Benchmark
+    public double sumDouble_stream(DataState state)
+    {
+        return state.amounts.stream().mapToDouble(Double::doubleValue).sum();
+    }
+
+    @Benchmark
+    public double sumDoubleArray_linq(DataState state)
+    {
+        return PrimitiveLinq.sum(state.amountArray);
+    }
+
+    @Benchmark
+    public double sumDoubleArray_stream(DataState state)
+    {
+        return Arrays.stream(state.amountArray).sum();
+    }
+
+    // endregion
+
+    // region: Average
+
+    @Benchmark
+    public double averageDoubleSelector_linq(DataState state)
+    {
+        return Linq.averageDouble(state.orders, Order::getAmount);
+    }
+
+    @Benchmark
+    public double averageDoubleSelector_stream(DataState state)
+    {
+        return state.orders.stream().mapToDouble(Order::getAmount).average().getAsDouble();
+    }
+
+    @Benchmark
+    public long averageLong_linq(DataState state)
+    {
+        return Linq.averageLong(state.timestamps);
+    }
+
+    @Benchmark
+    public double averageLong_stream(DataState state)
+    {
+        return state.timestamps.stream().mapToLong(Long::longValue).average().getAsDouble();
+    }
+
+    // endregion
+
+    // region: Min
+
+    @Benchmark
+    public int minIntegerSelector_linq(DataState state)
+    {
+        return Linq.minInteger(state.orders, Order::getQuantity);
+    }
+
+    @Benchmark
+    public int minIntegerSelector_stream(DataState state)
+    {
+        return state.orders.stream().mapToInt(Order::getQuantity).min().getAsInt();
+    }
+
+    @Benchmark
+    public long minLong_linq(DataState state)
+    {
+        return Linq.minLong(state.timestamps);
+    }
+
+    @Benchmark
+    public long minLong_stream(DataState state)
+    {
+        return state.timestamps.stream().mapToLong(Long::longValue).min().getAsLong();
+    }
+
+    @Benchmark
+    public long minLongArray_linq(DataState state)
+    {
+        return PrimitiveLinq.min(state.timestampArray);
+    }
+
+    @Benchmark
+    public long minLongArray_stream(DataState state)
+    {
+        return Arrays.stream(state.timestampArray).min().getAsLong();
+    }
+
+    // endregion
+
+    // region: Max
+
+    @Benchmark
+    public double maxDoubleSelector_linq(DataState state)
+    {
+        return Linq.maxDouble(state.orders, Order::getAmount);
+    }
+
+    @Benchmark
+    public double maxDoubleSelector_stream(DataState state)
+    {
+        return state.orders.stream().mapToDouble(Order::getAmount).max().getAsDouble();
+    }
+
+    @Benchmark
+    public int maxInteger_linq(DataState state)
+    {
+        return Linq.maxInteger(state.quantities);
+    }
+
+    @Benchmark
+    public int maxInteger_stream(DataState state)
+    {
+        return state.quantities.stream().mapToInt(Integer::intValue).max().getAsInt();
+    }
+
+    @Benchmark
+    public int maxIntArray_linq(DataState state)
+    {
+        return PrimitiveLinq.max(state.quantityArray);
+    }
+
+    @Benchmark
+    public int maxIntArray_stream(DataState state)
+    {
+        return Arrays.stream(state.quantityArray).max().getAsInt();
+    }
+
+    // endregion
+}
@@ -0,0 +1,32 @@
+package potter.linq.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JavaLinq benchmarks with the GC profiler enabled so that every
+ * result reports its allocation rate alongside its throughput.
+ * <p>
+ * Any standard JMH command line option may be passed, e.g.
+ * <code>java -jar benchmarks.jar SortingBenchmarks -p size=10000</code>.
+ *
+ * @author Daniel Potter
+ */
+public class BenchmarkRunner
+{
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException
+    {
+        Options commandLineOptions = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+            .parent(commandLineOptions)
+            .addProfiler(GCProfiler.class)
+            .build();
+
+        new Runner(options).run();
+    }
+}
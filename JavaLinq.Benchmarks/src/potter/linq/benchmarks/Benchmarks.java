@@ -0,0 +1,32 @@
+package potter.linq.benchmarks;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Provides helper methods shared by the benchmark classes.
+ *
+ * @author Daniel Potter
+ */
+final class Benchmarks
+{
+    private Benchmarks()
+    {
+    }
+
+    /**
+     * Enumerates a sequence and sinks every element so that deferred queries
+     * are fully executed.
+     *
+     * @param sequence
+     *            The sequence to enumerate.
+     * @param blackhole
+     *            The {@link Blackhole} that consumes each element.
+     */
+    static void consume(Iterable<?> sequence, Blackhole blackhole)
+    {
+        for (Object item : sequence)
+        {
+            blackhole.consume(item);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package potter.linq.benchmarks;
+
+/**
+ * Represents a synthetic customer record used as the inner side of join
+ * benchmarks.
+ *
+ * @author Daniel Potter
+ */
+public final class Customer
+{
+    /**
+     * Constructs a {@link Customer} instance.
+     *
+     * @param id
+     *            The unique identifier of the customer.
+     * @param region
+     *            The region of the customer.
+     */
+    public Customer(int id, String region)
+    {
+        this.id = id;
+        this.region = region;
+    }
+
+    private final int id;
+    private final String region;
+
+    public int getId()
+    {
+        return id;
+    }
+
+    public String getRegion()
+    {
+        return region;
+    }
+}
@@ -0,0 +1,125 @@
+package potter.linq.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Holds the deterministic input data shared by all benchmarks.
+ *
+ * @author Daniel Potter
+ */
+@State(Scope.Benchmark)
+public class DataState
+{
+    private static final String[] regions =
+    {
+        "north", "south", "east", "west", "central"
+    };
+
+    /**
+     * The number of orders in the source sequence.
+     */
+    @Param(
+    {
+        "100", "10000", "1000000"
+    })
+    public int size;
+
+    /**
+     * The orders to query.
+     */
+    public ArrayList<Order> orders;
+
+    /**
+     * The customers referenced by {@link #orders}.
+     */
+    public ArrayList<Customer> customers;
+
+    /**
+     * The customer identifiers of {@link #orders}; roughly one in ten values
+     * is distinct.
+     */
+    public ArrayList<Integer> values;
+
+    /**
+     * A second set of identifiers that half overlaps {@link #values}.
+     */
+    public ArrayList<Integer> otherValues;
+
+    /**
+     * The quantities of {@link #orders}.
+     */
+    public ArrayList<Integer> quantities;
+
+    /**
+     * The amounts of {@link #orders}.
+     */
+    public ArrayList<Double> amounts;
+
+    /**
+     * The timestamps of {@link #orders}.
+     */
+    public ArrayList<Long> timestamps;
+
+    /**
+     * The quantities of {@link #orders}, unboxed.
+     */
+    public int[] quantityArray;
+
+    /**
+     * The amounts of {@link #orders}, unboxed.
+     */
+    public double[] amountArray;
+
+    /**
+     * The timestamps of {@link #orders}, unboxed.
+     */
+    public long[] timestampArray;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Random random = new Random(42);
+        int customerCount = Math.max(1, size / 10);
+
+        customers = new ArrayList<>(customerCount);
+        for (int index = 0; index < customerCount; index++)
+        {
+            customers.add(new Customer(index, regions[index % regions.length]));
+        }
+
+        orders = new ArrayList<>(size);
+        values = new ArrayList<>(size);
+        otherValues = new ArrayList<>(size);
+        quantities = new ArrayList<>(size);
+        amounts = new ArrayList<>(size);
+        timestamps = new ArrayList<>(size);
+        quantityArray = new int[size];
+        amountArray = new double[size];
+        timestampArray = new long[size];
+        for (int index = 0; index < size; index++)
+        {
+            Order order = new Order(index,
+                random.nextInt(customerCount),
+                1 + random.nextInt(100),
+                random.nextDouble() * 1000,
+                1_500_000_000_000L + random.nextInt(Integer.MAX_VALUE));
+
+            orders.add(order);
+            values.add(order.getCustomerId());
+            otherValues.add(order.getCustomerId() + customerCount / 2);
+            quantities.add(order.getQuantity());
+            amounts.add(order.getAmount());
+            timestamps.add(order.getTimestamp());
+            quantityArray[index] = order.getQuantity();
+            amountArray[index] = order.getAmount();
+            timestampArray[index] = order.getTimestamp();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package potter.linq.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import potter.linq.IGrouping;
+import potter.linq.Linq;
+
+/**
+ * Measures the <code>groupBy</code>, <code>join</code> and
+ * <code>groupJoin</code> operators against equivalent stream pipelines.
+ *
+ * @author Daniel Potter
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupingBenchmarks
+{
+    // region: Group By
+
+    @Benchmark
+    public void groupBy_linq(DataState state, Blackhole blackhole)
+    {
+        for (IGrouping<Integer, Order> group : Linq.groupBy(state.orders,
+            Order::getCustomerId, Integer.class, Order.class))
+        {
+            blackhole.consume(group.getKey());
+            Benchmarks.consume(group, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void groupBy_stream(DataState state, Blackhole blackhole)
+    {
+        Map<Integer, List<Order>> groups = state.orders.stream()
+            .collect(Collectors.groupingBy(Order::getCustomerId));
+
+        for (Map.Entry<Integer, List<Order>> group : groups.entrySet())
+        {
+            blackhole.consume(group.getKey());
+            Benchmarks.consume(group.getValue(), blackhole);
+        }
+    }
+
+    @Benchmark
+    public void groupByResult_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.groupBy(state.orders,
+            Order::getCustomerId,
+            (Integer key, potter.linq.IEnumerable<Order> group) -> group.sumDouble(Order::getAmount),
+            Integer.class, Order.class), blackhole);
+    }
+
+    @Benchmark
+    public void groupByResult_stream(DataState state, Blackhole blackhole)
+    {
+        state.orders.stream()
+            .collect(Collectors.groupingBy(Order::getCustomerId, Collectors.summingDouble(Order::getAmount)))
+            .values()
+            .forEach(blackhole::consume);
+    }
+
+    // endregion
+
+    // region: Join
+
+    @Benchmark
+    public void join_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.join(state.orders, state.customers,
+            Order::getCustomerId, Customer::getId,
+            (order, customer) -> customer.getRegion(),
+            Integer.class, Customer.class), blackhole);
+    }
+
+    @Benchmark
+    public void join_stream(DataState state, Blackhole blackhole)
+    {
+        Map<Integer, List<Customer>> lookup = state.customers.stream()
+            .collect(Collectors.groupingBy(Customer::getId));
+
+        state.orders.stream()
+            .flatMap(order -> lookup.getOrDefault(order.getCustomerId(), new ArrayList<>()).stream()
+                .map(Customer::getRegion))
+            .forEach(blackhole::consume);
+    }
+
+    // endregion
+
+    // region: Group Join
+
+    @Benchmark
+    public void groupJoin_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.groupJoin(state.customers, state.orders,
+            Customer::getId, Order::getCustomerId,
+            (customer, orders) -> orders.count(),
+            Integer.class, Order.class), blackhole);
+    }
+
+    @Benchmark
+    public void groupJoin_stream(DataState state, Blackhole blackhole)
+    {
+        Map<Integer, List<Order>> lookup = state.orders.stream()
+            .collect(Collectors.groupingBy(Order::getCustomerId));
+
+        state.customers.stream()
+            .map(customer -> lookup.getOrDefault(customer.getId(), new ArrayList<>()).size())
+            .forEach(blackhole::consume);
+    }
+
+    // endregion
+
+    // region: To Hash Map
+
+    @Benchmark
+    public Object toHashMap_linq(DataState state)
+    {
+        return Linq.toHashMap(state.orders, Order::getId);
+    }
+
+    @Benchmark
+    public Object toHashMap_stream(DataState state)
+    {
+        return state.orders.stream()
+            .collect(Collectors.toMap(Order::getId, Function.identity()));
+    }
+
+    // endregion
+}
@@ -0,0 +1,63 @@
+package potter.linq.benchmarks;
+
+/**
+ * Represents a synthetic order record used as benchmark input.
+ *
+ * @author Daniel Potter
+ */
+public final class Order
+{
+    /**
+     * Constructs an {@link Order} instance.
+     *
+     * @param id
+     *            The unique identifier of the order.
+     * @param customerId
+     *            The identifier of the customer that placed the order.
+     * @param quantity
+     *            The number of items in the order.
+     * @param amount
+     *            The total amount of the order.
+     * @param timestamp
+     *            The time at which the order was placed, in milliseconds.
+     */
+    public Order(int id, int customerId, int quantity, double amount, long timestamp)
+    {
+        this.id = id;
+        this.customerId = customerId;
+        this.quantity = quantity;
+        this.amount = amount;
+        this.timestamp = timestamp;
+    }
+
+    private final int id;
+    private final int customerId;
+    private final int quantity;
+    private final double amount;
+    private final long timestamp;
+
+    public int getId()
+    {
+        return id;
+    }
+
+    public int getCustomerId()
+    {
+        return customerId;
+    }
+
+    public int getQuantity()
+    {
+        return quantity;
+    }
+
+    public double getAmount()
+    {
+        return amount;
+    }
+
+    public long getTimestamp()
+    {
+        return timestamp;
+    }
+}
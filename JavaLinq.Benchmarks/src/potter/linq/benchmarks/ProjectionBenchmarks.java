@@ -0,0 +1,145 @@
+package potter.linq.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import potter.linq.Linq;
+
+/**
+ * Measures the <code>where</code>, <code>select</code> and
+ * <code>selectMany</code> operators against equivalent stream pipelines.
+ *
+ * @author Daniel Potter
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmarks
+{
+    // region: Where
+
+    @Benchmark
+    public void where_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.where(state.orders, order -> order.getQuantity() > 50), blackhole);
+    }
+
+    @Benchmark
+    public void where_stream(DataState state, Blackhole blackhole)
+    {
+        state.orders.stream()
+            .filter(order -> order.getQuantity() > 50)
+            .forEach(blackhole::consume);
+    }
+
+    // endregion
+
+    // region: Select
+
+    @Benchmark
+    public void select_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.select(state.orders, Order::getAmount), blackhole);
+    }
+
+    @Benchmark
+    public void select_stream(DataState state, Blackhole blackhole)
+    {
+        state.orders.stream()
+            .map(Order::getAmount)
+            .forEach(blackhole::consume);
+    }
+
+    // endregion
+
+    // region: Where Select Where
+
+    @Benchmark
+    public void whereSelectWhere_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.asEnumerable(state.orders)
+            .where(order -> order.getQuantity() > 10)
+            .select(Order::getAmount)
+            .where(amount -> amount < 900), blackhole);
+    }
+
+    @Benchmark
+    public void whereSelectWhere_stream(DataState state, Blackhole blackhole)
+    {
+        state.orders.stream()
+            .filter(order -> order.getQuantity() > 10)
+            .map(Order::getAmount)
+            .filter(amount -> amount < 900)
+            .forEach(blackhole::consume);
+    }
+
+    // endregion
+
+    // region: Select Many
+
+    @Benchmark
+    public void selectMany_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.selectMany(state.orders,
+            order -> Arrays.asList(order.getId(), order.getCustomerId())), blackhole);
+    }
+
+    @Benchmark
+    public void selectMany_stream(DataState state, Blackhole blackhole)
+    {
+        state.orders.stream()
+            .flatMap(order -> Arrays.asList(order.getId(), order.getCustomerId()).stream())
+            .forEach(blackhole::consume);
+    }
+
+    // endregion
+
+    // region: To Array List
+
+    @Benchmark
+    public Object whereToArrayList_linq(DataState state)
+    {
+        return Linq.asEnumerable(state.orders)
+            .where(order -> order.getQuantity() > 50)
+            .toArrayList();
+    }
+
+    @Benchmark
+    public Object whereToArrayList_stream(DataState state)
+    {
+        return state.orders.stream()
+            .filter(order -> order.getQuantity() > 50)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Object whereToArrayList_parallelLinq(DataState state)
+    {
+        return Linq.asParallel(state.orders)
+            .asOrdered()
+            .where(order -> order.getQuantity() > 50)
+            .toArrayList();
+    }
+
+    @Benchmark
+    public Object whereToArrayList_parallelStream(DataState state)
+    {
+        return state.orders.parallelStream()
+            .filter(order -> order.getQuantity() > 50)
+            .collect(Collectors.toList());
+    }
+
+    // endregion
+}
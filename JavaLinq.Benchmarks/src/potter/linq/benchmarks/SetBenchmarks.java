@@ -0,0 +1,108 @@
+package potter.linq.benchmarks;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import potter.linq.Linq;
+
+/**
+ * Measures the <code>distinct</code>, <code>union</code>, <code>except</code>
+ * and <code>intersect</code> operators against equivalent stream pipelines.
+ *
+ * @author Daniel Potter
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetBenchmarks
+{
+    // region: Distinct
+
+    @Benchmark
+    public void distinct_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.distinct(state.values), blackhole);
+    }
+
+    @Benchmark
+    public void distinct_stream(DataState state, Blackhole blackhole)
+    {
+        state.values.stream()
+            .distinct()
+            .forEach(blackhole::consume);
+    }
+
+    // endregion
+
+    // region: Union
+
+    @Benchmark
+    public void union_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.union(state.values, state.otherValues), blackhole);
+    }
+
+    @Benchmark
+    public void union_stream(DataState state, Blackhole blackhole)
+    {
+        Stream.concat(state.values.stream(), state.otherValues.stream())
+            .distinct()
+            .forEach(blackhole::consume);
+    }
+
+    // endregion
+
+    // region: Except
+
+    @Benchmark
+    public void except_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.except(state.values, state.otherValues), blackhole);
+    }
+
+    @Benchmark
+    public void except_stream(DataState state, Blackhole blackhole)
+    {
+        Set<Integer> second = new HashSet<>(state.otherValues);
+        state.values.stream()
+            .filter(value -> second.contains(value) == false)
+            .distinct()
+            .forEach(blackhole::consume);
+    }
+
+    // endregion
+
+    // region: Intersect
+
+    @Benchmark
+    public void intersect_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.intersect(state.values, state.otherValues), blackhole);
+    }
+
+    @Benchmark
+    public void intersect_stream(DataState state, Blackhole blackhole)
+    {
+        Set<Integer> second = state.otherValues.stream().collect(Collectors.toSet());
+        state.values.stream()
+            .filter(second::contains)
+            .distinct()
+            .forEach(blackhole::consume);
+    }
+
+    // endregion
+}
@@ -0,0 +1,116 @@
+package potter.linq.benchmarks;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import potter.linq.Linq;
+
+/**
+ * Measures the <code>orderBy</code> and <code>thenBy</code> operators against
+ * equivalent stream pipelines.
+ *
+ * @author Daniel Potter
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortingBenchmarks
+{
+    // region: Order By
+
+    @Benchmark
+    public void orderBy_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.orderBy(state.orders, Order::getTimestamp, Long.class), blackhole);
+    }
+
+    @Benchmark
+    public void orderByLong_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.orderByLong(state.orders, Order::getTimestamp), blackhole);
+    }
+
+    @Benchmark
+    public void orderBy_stream(DataState state, Blackhole blackhole)
+    {
+        state.orders.stream()
+            .sorted(Comparator.comparing(Order::getTimestamp))
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void orderByDescending_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.orderByDescending(state.orders, Order::getAmount, Double.class), blackhole);
+    }
+
+    @Benchmark
+    public void orderByDescending_stream(DataState state, Blackhole blackhole)
+    {
+        state.orders.stream()
+            .sorted(Comparator.comparing(Order::getAmount).reversed())
+            .forEach(blackhole::consume);
+    }
+
+    // endregion
+
+    // region: Then By
+
+    @Benchmark
+    public void orderByThenBy_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.orderBy(state.orders, Order::getCustomerId, Integer.class)
+            .thenByDescending(Order::getAmount, Double.class)
+            .thenBy(Order::getId, Integer.class), blackhole);
+    }
+
+    @Benchmark
+    public void orderByThenByPrimitive_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.orderByInt(state.orders, Order::getCustomerId)
+            .thenByDoubleDescending(Order::getAmount)
+            .thenByInt(Order::getId), blackhole);
+    }
+
+    @Benchmark
+    public void orderByThenBy_stream(DataState state, Blackhole blackhole)
+    {
+        state.orders.stream()
+            .sorted(Comparator.comparing(Order::getCustomerId)
+                .thenComparing(Comparator.comparing(Order::getAmount).reversed())
+                .thenComparing(Order::getId))
+            .forEach(blackhole::consume);
+    }
+
+    // endregion
+
+    // region: Top K
+
+    @Benchmark
+    public void orderByTake_linq(DataState state, Blackhole blackhole)
+    {
+        Benchmarks.consume(Linq.orderBy(state.orders, Order::getTimestamp, Long.class).take(10), blackhole);
+    }
+
+    @Benchmark
+    public void orderByTake_stream(DataState state, Blackhole blackhole)
+    {
+        state.orders.stream()
+            .sorted(Comparator.comparing(Order::getTimestamp))
+            .limit(10)
+            .forEach(blackhole::consume);
+    }
+
+    // endregion
+}
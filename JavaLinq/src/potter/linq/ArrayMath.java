@@ -0,0 +1,400 @@
+package potter.linq;
+
+/**
+ * Reductions over whole primitive arrays.
+ * <p>
+ * Each loop is unrolled by four with an independent accumulator per lane, so
+ * that consecutive iterations do not wait on each other and the JIT compiler
+ * is free to turn the loop into SIMD instructions where the platform supports
+ * them. The lanes are merged at the end.
+ * <p>
+ * Integer sums wrap on overflow exactly as a left-to-right sum would, because
+ * two's complement addition is associative. Floating-point sums are rounded
+ * per lane, so they may differ from a left-to-right sum in the last bits.
+ * <code>float</code> values are summed in <code>double</code> lanes. The
+ * floating-point minimum and maximum follow {@link Math#min(double, double)}
+ * and {@link Math#max(double, double)}: any <code>NaN</code> yields
+ * <code>NaN</code>, and <code>-0.0</code> is less than <code>0.0</code>.
+ * <p>
+ * Pairwise sums split a range at the same places where a pairwise
+ * {@link DoubleSummation} merges its blocks, so both return exactly the same
+ * result.
+ * <p>
+ * Callers must check that the array is not <code>null</code> or empty.
+ *
+ * @author Daniel Potter
+ */
+final class ArrayMath
+{
+    private ArrayMath()
+    {
+    }
+
+    // region: Sum
+
+    public static int sum(int[] source)
+    {
+        int sum0 = 0;
+        int sum1 = 0;
+        int sum2 = 0;
+        int sum3 = 0;
+        int length = source.length;
+        int index = 0;
+        for (; index + 3 < length; index += 4)
+        {
+            sum0 += source[index];
+            sum1 += source[index + 1];
+            sum2 += source[index + 2];
+            sum3 += source[index + 3];
+        }
+        for (; index < length; index++)
+        {
+            sum0 += source[index];
+        }
+
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    public static long sumToLong(int[] source)
+    {
+        long sum0 = 0;
+        long sum1 = 0;
+        long sum2 = 0;
+        long sum3 = 0;
+        int length = source.length;
+        int index = 0;
+        for (; index + 3 < length; index += 4)
+        {
+            sum0 += source[index];
+            sum1 += source[index + 1];
+            sum2 += source[index + 2];
+            sum3 += source[index + 3];
+        }
+        for (; index < length; index++)
+        {
+            sum0 += source[index];
+        }
+
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    public static long sum(long[] source)
+    {
+        long sum0 = 0;
+        long sum1 = 0;
+        long sum2 = 0;
+        long sum3 = 0;
+        int length = source.length;
+        int index = 0;
+        for (; index + 3 < length; index += 4)
+        {
+            sum0 += source[index];
+            sum1 += source[index + 1];
+            sum2 += source[index + 2];
+            sum3 += source[index + 3];
+        }
+        for (; index < length; index++)
+        {
+            sum0 += source[index];
+        }
+
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    public static double sum(double[] source)
+    {
+        double sum0 = 0;
+        double sum1 = 0;
+        double sum2 = 0;
+        double sum3 = 0;
+        int length = source.length;
+        int index = 0;
+        for (; index + 3 < length; index += 4)
+        {
+            sum0 += source[index];
+            sum1 += source[index + 1];
+            sum2 += source[index + 2];
+            sum3 += source[index + 3];
+        }
+        for (; index < length; index++)
+        {
+            sum0 += source[index];
+        }
+
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    public static double sum(float[] source)
+    {
+        double sum0 = 0;
+        double sum1 = 0;
+        double sum2 = 0;
+        double sum3 = 0;
+        int length = source.length;
+        int index = 0;
+        for (; index + 3 < length; index += 4)
+        {
+            sum0 += source[index];
+            sum1 += source[index + 1];
+            sum2 += source[index + 2];
+            sum3 += source[index + 3];
+        }
+        for (; index < length; index++)
+        {
+            sum0 += source[index];
+        }
+
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    // endregion
+
+    // region: Max
+
+    public static int max(int[] source)
+    {
+        int value0 = source[0];
+        int value1 = value0;
+        int value2 = value0;
+        int value3 = value0;
+        int length = source.length;
+        int index = 1;
+        for (; index + 3 < length; index += 4)
+        {
+            value0 = Math.max(value0, source[index]);
+            value1 = Math.max(value1, source[index + 1]);
+            value2 = Math.max(value2, source[index + 2]);
+            value3 = Math.max(value3, source[index + 3]);
+        }
+        for (; index < length; index++)
+        {
+            value0 = Math.max(value0, source[index]);
+        }
+
+        return Math.max(Math.max(value0, value1), Math.max(value2, value3));
+    }
+
+    public static long max(long[] source)
+    {
+        long value0 = source[0];
+        long value1 = value0;
+        long value2 = value0;
+        long value3 = value0;
+        int length = source.length;
+        int index = 1;
+        for (; index + 3 < length; index += 4)
+        {
+            value0 = Math.max(value0, source[index]);
+            value1 = Math.max(value1, source[index + 1]);
+            value2 = Math.max(value2, source[index + 2]);
+            value3 = Math.max(value3, source[index + 3]);
+        }
+        for (; index < length; index++)
+        {
+            value0 = Math.max(value0, source[index]);
+        }
+
+        return Math.max(Math.max(value0, value1), Math.max(value2, value3));
+    }
+
+    public static double max(double[] source)
+    {
+        double value0 = source[0];
+        double value1 = value0;
+        double value2 = value0;
+        double value3 = value0;
+        int length = source.length;
+        int index = 1;
+        for (; index + 3 < length; index += 4)
+        {
+            value0 = Math.max(value0, source[index]);
+            value1 = Math.max(value1, source[index + 1]);
+            value2 = Math.max(value2, source[index + 2]);
+            value3 = Math.max(value3, source[index + 3]);
+        }
+        for (; index < length; index++)
+        {
+            value0 = Math.max(value0, source[index]);
+        }
+
+        return Math.max(Math.max(value0, value1), Math.max(value2, value3));
+    }
+
+    public static float max(float[] source)
+    {
+        float value0 = source[0];
+        float value1 = value0;
+        float value2 = value0;
+        float value3 = value0;
+        int length = source.length;
+        int index = 1;
+        for (; index + 3 < length; index += 4)
+        {
+            value0 = Math.max(value0, source[index]);
+            value1 = Math.max(value1, source[index + 1]);
+            value2 = Math.max(value2, source[index + 2]);
+            value3 = Math.max(value3, source[index + 3]);
+        }
+        for (; index < length; index++)
+        {
+            value0 = Math.max(value0, source[index]);
+        }
+
+        return Math.max(Math.max(value0, value1), Math.max(value2, value3));
+    }
+
+    // endregion
+
+    // region: Min
+
+    public static int min(int[] source)
+    {
+        int value0 = source[0];
+        int value1 = value0;
+        int value2 = value0;
+        int value3 = value0;
+        int length = source.length;
+        int index = 1;
+        for (; index + 3 < length; index += 4)
+        {
+            value0 = Math.min(value0, source[index]);
+            value1 = Math.min(value1, source[index + 1]);
+            value2 = Math.min(value2, source[index + 2]);
+            value3 = Math.min(value3, source[index + 3]);
+        }
+        for (; index < length; index++)
+        {
+            value0 = Math.min(value0, source[index]);
+        }
+
+        return Math.min(Math.min(value0, value1), Math.min(value2, value3));
+    }
+
+    public static long min(long[] source)
+    {
+        long value0 = source[0];
+        long value1 = value0;
+        long value2 = value0;
+        long value3 = value0;
+        int length = source.length;
+        int index = 1;
+        for (; index + 3 < length; index += 4)
+        {
+            value0 = Math.min(value0, source[index]);
+            value1 = Math.min(value1, source[index + 1]);
+            value2 = Math.min(value2, source[index + 2]);
+            value3 = Math.min(value3, source[index + 3]);
+        }
+        for (; index < length; index++)
+        {
+            value0 = Math.min(value0, source[index]);
+        }
+
+        return Math.min(Math.min(value0, value1), Math.min(value2, value3));
+    }
+
+    public static double min(double[] source)
+    {
+        double value0 = source[0];
+        double value1 = value0;
+        double value2 = value0;
+        double value3 = value0;
+        int length = source.length;
+        int index = 1;
+        for (; index + 3 < length; index += 4)
+        {
+            value0 = Math.min(value0, source[index]);
+            value1 = Math.min(value1, source[index + 1]);
+            value2 = Math.min(value2, source[index + 2]);
+            value3 = Math.min(value3, source[index + 3]);
+        }
+        for (; index < length; index++)
+        {
+            value0 = Math.min(value0, source[index]);
+        }
+
+        return Math.min(Math.min(value0, value1), Math.min(value2, value3));
+    }
+
+    public static float min(float[] source)
+    {
+        float value0 = source[0];
+        float value1 = value0;
+        float value2 = value0;
+        float value3 = value0;
+        int length = source.length;
+        int index = 1;
+        for (; index + 3 < length; index += 4)
+        {
+            value0 = Math.min(value0, source[index]);
+            value1 = Math.min(value1, source[index + 1]);
+            value2 = Math.min(value2, source[index + 2]);
+            value3 = Math.min(value3, source[index + 3]);
+        }
+        for (; index < length; index++)
+        {
+            value0 = Math.min(value0, source[index]);
+        }
+
+        return Math.min(Math.min(value0, value1), Math.min(value2, value3));
+    }
+
+    // endregion
+
+    // region: Summation Modes
+
+    public static double sum(double[] source, SummationMode mode)
+    {
+        switch (mode)
+        {
+            case COMPENSATED:
+                DoubleSummation summation = DoubleSummation.create(mode);
+                for (double value : source)
+                {
+                    summation.add(value);
+                }
+
+                return summation.getSum();
+            case PAIRWISE:
+                return sumPairwise(source, 0, source.length);
+            default:
+                return sum(source);
+        }
+    }
+
+    public static double sumPairwise(double[] source)
+    {
+        return sumPairwise(source, 0, source.length);
+    }
+
+    /**
+     * Sums a range naively if it fits in one block; otherwise splits off the
+     * largest power-of-two number of whole blocks that leaves a non-empty
+     * remainder, and adds the sums of both parts.
+     */
+    private static double sumPairwise(double[] source, int from, int to)
+    {
+        int length = to - from;
+        if (length <= DoubleSummation.PAIRWISE_BLOCK_SIZE)
+        {
+            double sum = 0;
+            for (int index = from; index < to; index++)
+            {
+                sum += source[index];
+            }
+
+            return sum;
+        }
+
+        int middle = from + splitPairwise(length);
+        return sumPairwise(source, from, middle) + sumPairwise(source, middle, to);
+    }
+
+    private static int splitPairwise(int length)
+    {
+        int blockSize = DoubleSummation.PAIRWISE_BLOCK_SIZE;
+        return Integer.highestOneBit((length - 1) / blockSize) * blockSize;
+    }
+
+    // endregion
+}
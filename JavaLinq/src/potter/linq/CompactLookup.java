@@ -0,0 +1,503 @@
+package potter.linq;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Represents a collection of keys each mapped to one or more values, stored
+ * with as few objects as possible.
+ * <p>
+ * Keys are found with open addressing over an <code>int[]</code> slot table,
+ * with the hash code of each slot cached in a parallel <code>int[]</code> so
+ * that most mismatches are rejected without touching the key. Elements are
+ * first buffered together with the index of their group; once every group is
+ * known, a counting pass computes the offset of each group and the elements
+ * are copied into a single contiguous array. Groups are enumerated in the order
+ * their keys were first seen.
+ *
+ * @author Daniel Potter
+ *
+ * @param <TKey>
+ *            The type of the keys in the {@link CompactLookup}.
+ * @param <TElement>
+ *            The type of the elements of each {@link IEnumerable} value in the
+ *            {@link CompactLookup}.
+ */
+class CompactLookup<TKey, TElement> implements ILookup<TKey, TElement>
+{
+    static <TSource, TKey, TElement> CompactLookup<TKey, TElement> create(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector,
+        Function<TSource, TElement> elementSelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TElement> elementType)
+    {
+        CompactLookup<TKey, TElement> lookup = new CompactLookup<>(comparer, keyType, elementType);
+        for (TSource item : source)
+        {
+            lookup.add(keySelector.apply(item), elementSelector.apply(item));
+        }
+
+        lookup.build();
+        return lookup;
+    }
+
+    static <TKey, TElement> CompactLookup<TKey, TElement> createForJoin(Iterable<TElement> source,
+        Function<TElement, TKey> keySelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TElement> elementType)
+    {
+        CompactLookup<TKey, TElement> lookup = new CompactLookup<>(comparer, keyType, elementType);
+        for (TElement item : source)
+        {
+            TKey key = keySelector.apply(item);
+            if (key != null)
+            {
+                lookup.add(key, item);
+            }
+        }
+
+        lookup.build();
+        return lookup;
+    }
+
+    private CompactLookup(IEqualityComparer<TKey> comparer, Class<TKey> keyType, Class<TElement> elementType)
+    {
+        if (comparer == null)
+        {
+            comparer = EqualityComparer.getDefault(keyType);
+        }
+
+        this.comparer = comparer;
+        this.elementType = elementType;
+
+        slots = new int[INITIAL_CAPACITY];
+        slotHashes = new int[INITIAL_CAPACITY];
+        keys = new Object[INITIAL_CAPACITY];
+        groupCounts = new int[INITIAL_CAPACITY];
+        elements = new Object[INITIAL_CAPACITY];
+        elementGroups = new int[INITIAL_CAPACITY];
+    }
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final IEqualityComparer<TKey> comparer;
+    private final Class<TElement> elementType;
+
+    /**
+     * The open addressing table. Each slot holds the index of a group plus
+     * one, or zero if the slot is empty.
+     */
+    private int[] slots;
+    private int[] slotHashes;
+
+    private Object[] keys;
+    private int[] groupCounts;
+    private int[] groupOffsets;
+    private int count;
+
+    private Object[] elements;
+    private int[] elementGroups;
+    private int elementCount;
+
+    @Override
+    public int getCount()
+    {
+        return count;
+    }
+
+    @Override
+    public IEnumerable<TElement> get(TKey key)
+    {
+        int group = findGroup(key);
+        if (group >= 0)
+        {
+            return new Grouping(group);
+        }
+
+        return Linq.EmptyEnumerable.getInstance(elementType);
+    }
+
+    @Override
+    public boolean containsKey(TKey key)
+    {
+        return findGroup(key) >= 0;
+    }
+
+    @Override
+    public Iterator<IGrouping<TKey, TElement>> iterator()
+    {
+        return getEnumerator();
+    }
+
+    @Override
+    public IEnumerator<IGrouping<TKey, TElement>> getEnumerator()
+    {
+        return new SimpleIterator<IGrouping<TKey, TElement>>()
+        {
+            private int group;
+
+            @Override
+            public boolean moveNext()
+            {
+                if (group < count)
+                {
+                    setCurrent(new Grouping(group++));
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Applies a transform function to each key and its associated values and
+     * returns the results.
+     *
+     * @param <TResult>
+     *            The type of the result values produced by
+     *            <code>resultSelector</code>.
+     * @param resultSelector
+     *            A function to project a result value from each key and its
+     *            associated values.
+     * @return A collection that contains one value for each key/value
+     *         collection pair in the {@link CompactLookup}.
+     */
+    public <TResult> IEnumerable<TResult> applyResultSelector(
+        BiFunction<TKey, IEnumerable<TElement>, TResult> resultSelector)
+    {
+        return new EnumerableAdapter<>(() -> new SimpleIterator<TResult>()
+        {
+            private int group;
+
+            @Override
+            public boolean moveNext()
+            {
+                if (group < count)
+                {
+                    Grouping grouping = new Grouping(group++);
+                    setCurrent(resultSelector.apply(grouping.getKey(), grouping));
+                    return true;
+                }
+
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Finds the group of a key.
+     *
+     * @param key
+     *            The key to find.
+     * @return The index of the group, or <code>-1</code> if the key is not in
+     *         the {@link CompactLookup}.
+     */
+    @SuppressWarnings("unchecked")
+    int findGroup(TKey key)
+    {
+        int hashCode = internalHashCode(key);
+        int mask = slots.length - 1;
+        for (int slot = spread(hashCode) & mask; slots[slot] != 0; slot = (slot + 1) & mask)
+        {
+            if (slotHashes[slot] == hashCode)
+            {
+                int group = slots[slot] - 1;
+                if (comparer.equals((TKey) keys[group], key))
+                {
+                    return group;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the index in {@link #getElement(int)} of the first element of a
+     * group.
+     *
+     * @param group
+     *            The index of the group.
+     * @return The index of the first element of the group.
+     */
+    int getGroupStart(int group)
+    {
+        return groupOffsets[group];
+    }
+
+    /**
+     * Gets the index in {@link #getElement(int)} after the last element of a
+     * group.
+     *
+     * @param group
+     *            The index of the group.
+     * @return The index after the last element of the group.
+     */
+    int getGroupEnd(int group)
+    {
+        return groupOffsets[group + 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    TElement getElement(int index)
+    {
+        return (TElement) elements[index];
+    }
+
+    private int internalHashCode(TKey key)
+    {
+        return (key == null) ? 0 : comparer.hashCode(key);
+    }
+
+    private static int spread(int hashCode)
+    {
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void add(TKey key, TElement element)
+    {
+        int hashCode = internalHashCode(key);
+        int mask = slots.length - 1;
+        int slot = spread(hashCode) & mask;
+        int group = -1;
+        for (; slots[slot] != 0; slot = (slot + 1) & mask)
+        {
+            if (slotHashes[slot] == hashCode && comparer.equals((TKey) keys[slots[slot] - 1], key))
+            {
+                group = slots[slot] - 1;
+                break;
+            }
+        }
+
+        if (group < 0)
+        {
+            group = count++;
+            if (group == keys.length)
+            {
+                keys = Arrays.copyOf(keys, group * 2);
+                groupCounts = Arrays.copyOf(groupCounts, group * 2);
+            }
+
+            keys[group] = key;
+            slots[slot] = group + 1;
+            slotHashes[slot] = hashCode;
+
+            // Keep the table at most half full so probe sequences stay short.
+            if (count * 2 > slots.length)
+            {
+                resize();
+            }
+        }
+
+        groupCounts[group]++;
+
+        if (elementCount == elements.length)
+        {
+            elements = Arrays.copyOf(elements, elementCount * 2);
+            elementGroups = Arrays.copyOf(elementGroups, elementCount * 2);
+        }
+
+        elements[elementCount] = element;
+        elementGroups[elementCount] = group;
+        elementCount++;
+    }
+
+    private void resize()
+    {
+        int newSize = slots.length * 2;
+        int mask = newSize - 1;
+        int[] newSlots = new int[newSize];
+        int[] newSlotHashes = new int[newSize];
+        for (int slot = 0; slot < slots.length; slot++)
+        {
+            if (slots[slot] != 0)
+            {
+                int newSlot = spread(slotHashes[slot]) & mask;
+                while (newSlots[newSlot] != 0)
+                {
+                    newSlot = (newSlot + 1) & mask;
+                }
+
+                newSlots[newSlot] = slots[slot];
+                newSlotHashes[newSlot] = slotHashes[slot];
+            }
+        }
+
+        slots = newSlots;
+        slotHashes = newSlotHashes;
+    }
+
+    /**
+     * Computes the offset of each group from the group sizes and moves the
+     * buffered elements into one array ordered by group, keeping the source
+     * order within each group.
+     */
+    private void build()
+    {
+        groupOffsets = new int[count + 1];
+        for (int group = 0; group < count; group++)
+        {
+            groupOffsets[group + 1] = groupOffsets[group] + groupCounts[group];
+        }
+
+        int[] positions = Arrays.copyOf(groupOffsets, count);
+        Object[] groupedElements = new Object[elementCount];
+        for (int index = 0; index < elementCount; index++)
+        {
+            groupedElements[positions[elementGroups[index]]++] = elements[index];
+        }
+
+        elements = groupedElements;
+        elementGroups = null;
+        groupCounts = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private class Grouping extends AbstractList<TElement> implements IGrouping<TKey, TElement>, RandomAccess
+    {
+        public Grouping(int group)
+        {
+            this.group = group;
+            start = groupOffsets[group];
+            end = groupOffsets[group + 1];
+        }
+
+        private final int group;
+        private final int start;
+        private final int end;
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public TKey getKey()
+        {
+            return (TKey) keys[group];
+        }
+
+        @Override
+        public IEnumerator<TElement> getEnumerator()
+        {
+            return new SimpleIterator<TElement>()
+            {
+                private int index = start;
+
+                @Override
+                public boolean moveNext()
+                {
+                    if (index < end)
+                    {
+                        setCurrent(getElement(index++));
+                        return true;
+                    }
+
+                    return false;
+                }
+            };
+        }
+
+        @Override
+        public Iterator<TElement> iterator()
+        {
+            return getEnumerator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super TElement> action)
+        {
+            if (action == null)
+            {
+                throw new IllegalArgumentException("action is null.");
+            }
+
+            for (int index = start; index < end; index++)
+            {
+                action.accept(getElement(index));
+            }
+        }
+
+        @Override
+        public Spliterator<TElement> spliterator()
+        {
+            return Linq.spliterator(this, Spliterator.ORDERED);
+        }
+
+        @Override
+        public Stream<TElement> stream()
+        {
+            return IGrouping.super.stream();
+        }
+
+        @Override
+        public Stream<TElement> parallelStream()
+        {
+            return IGrouping.super.parallelStream();
+        }
+
+        @Override
+        public TElement get(int index)
+        {
+            if (index < 0 || index >= end - start)
+            {
+                throw new IndexOutOfBoundsException("index is out of range.");
+            }
+
+            return getElement(start + index);
+        }
+
+        @Override
+        public int size()
+        {
+            return end - start;
+        }
+
+        @Override
+        public Object[] toArray()
+        {
+            return Arrays.copyOfRange(elements, start, end);
+        }
+
+        /**
+         * Groupings are equal only when they are the same group of the same
+         * lookup. List equality would ignore the key and make groups with
+         * equal elements collapse in hash-based collections.
+         */
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (obj instanceof CompactLookup<?, ?>.Grouping)
+            {
+                CompactLookup<?, ?>.Grouping other = (CompactLookup<?, ?>.Grouping) obj;
+                return other.getLookup() == CompactLookup.this && other.group == group;
+            }
+
+            return false;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * System.identityHashCode(CompactLookup.this) + group;
+        }
+
+        private CompactLookup<TKey, TElement> getLookup()
+        {
+            return CompactLookup.this;
+        }
+
+        @Override
+        public TElement[] toArray(Object[] array)
+        {
+            return (TElement[]) super.toArray(array);
+        }
+    }
+}
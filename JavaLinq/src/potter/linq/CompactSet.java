@@ -0,0 +1,230 @@
+package potter.linq;
+
+import java.util.Arrays;
+
+/**
+ * Represents a set of elements, stored with as few objects as possible.
+ * <p>
+ * Elements are kept in an open addressing table with linear probing, with the
+ * hash code of each slot cached in a parallel <code>int[]</code> so that most
+ * mismatches are rejected without calling the comparer and the table can grow
+ * without hashing the elements again. Unlike {@link java.util.HashSet}, no
+ * object is allocated per element. Removed slots are refilled by shifting the
+ * rest of their probe sequence back, so removals leave no tombstones.
+ *
+ * @author Daniel Potter
+ *
+ * @param <TElement>
+ *            The type of the elements of the set.
+ */
+class CompactSet<TElement>
+{
+    /**
+     * Creates an empty set.
+     *
+     * @param comparer
+     *            The comparer to compare elements with, or <code>null</code>
+     *            to use {@link Object#equals(Object)} and
+     *            {@link Object#hashCode()}.
+     */
+    public CompactSet(IEqualityComparer<TElement> comparer)
+    {
+        this.comparer = comparer;
+
+        elements = new Object[INITIAL_CAPACITY];
+        hashes = new int[INITIAL_CAPACITY];
+    }
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final IEqualityComparer<TElement> comparer;
+
+    /**
+     * The open addressing table. A slot is empty if it holds
+     * <code>null</code>; a <code>null</code> element is tracked by
+     * {@link #containsNull} instead.
+     */
+    private Object[] elements;
+    private int[] hashes;
+    private int count;
+    private boolean containsNull;
+
+    /**
+     * Gets the number of elements in the set.
+     *
+     * @return The number of elements in the set.
+     */
+    public int getCount()
+    {
+        return containsNull ? count + 1 : count;
+    }
+
+    /**
+     * Adds an element to the set if it is not already present.
+     *
+     * @param element
+     *            The element to add.
+     * @return <code>true</code> if the element was added;
+     *         <code>false</code> if it was already present.
+     */
+    public boolean add(TElement element)
+    {
+        if (element == null)
+        {
+            boolean added = !containsNull;
+            containsNull = true;
+            return added;
+        }
+
+        int hashCode = internalHashCode(element);
+        int mask = elements.length - 1;
+        int slot = spread(hashCode) & mask;
+        for (; elements[slot] != null; slot = (slot + 1) & mask)
+        {
+            if (hashes[slot] == hashCode && internalEquals(slot, element))
+            {
+                return false;
+            }
+        }
+
+        elements[slot] = element;
+        hashes[slot] = hashCode;
+        count++;
+
+        // Keep the table at most three quarters full so probe sequences stay
+        // short.
+        if (count * 4 > elements.length * 3)
+        {
+            resize();
+        }
+
+        return true;
+    }
+
+    /**
+     * Determines whether the set contains an element.
+     *
+     * @param element
+     *            The element to find.
+     * @return <code>true</code> if the set contains the element; otherwise,
+     *         <code>false</code>.
+     */
+    public boolean contains(TElement element)
+    {
+        if (element == null)
+        {
+            return containsNull;
+        }
+
+        return findSlot(element) >= 0;
+    }
+
+    /**
+     * Removes an element from the set.
+     *
+     * @param element
+     *            The element to remove.
+     * @return <code>true</code> if the element was removed;
+     *         <code>false</code> if it was not present.
+     */
+    public boolean remove(TElement element)
+    {
+        if (element == null)
+        {
+            boolean removed = containsNull;
+            containsNull = false;
+            return removed;
+        }
+
+        int hole = findSlot(element);
+        if (hole < 0)
+        {
+            return false;
+        }
+
+        // Move later elements of the probe sequence into the hole unless that
+        // would place them before their home slot.
+        int mask = elements.length - 1;
+        for (int slot = (hole + 1) & mask; elements[slot] != null; slot = (slot + 1) & mask)
+        {
+            int home = spread(hashes[slot]) & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask))
+            {
+                elements[hole] = elements[slot];
+                hashes[hole] = hashes[slot];
+                hole = slot;
+            }
+        }
+
+        elements[hole] = null;
+        count--;
+        return true;
+    }
+
+    /**
+     * Removes every element from the set, keeping its capacity.
+     */
+    public void clear()
+    {
+        Arrays.fill(elements, null);
+        count = 0;
+        containsNull = false;
+    }
+
+    private int findSlot(TElement element)
+    {
+        int hashCode = internalHashCode(element);
+        int mask = elements.length - 1;
+        for (int slot = spread(hashCode) & mask; elements[slot] != null; slot = (slot + 1) & mask)
+        {
+            if (hashes[slot] == hashCode && internalEquals(slot, element))
+            {
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    private int internalHashCode(TElement element)
+    {
+        return (comparer == null) ? element.hashCode() : comparer.hashCode(element);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean internalEquals(int slot, TElement element)
+    {
+        TElement other = (TElement) elements[slot];
+        return (comparer == null) ? other.equals(element) : comparer.equals(other, element);
+    }
+
+    private static int spread(int hashCode)
+    {
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    private void resize()
+    {
+        int newSize = elements.length * 2;
+        int mask = newSize - 1;
+        Object[] newElements = new Object[newSize];
+        int[] newHashes = new int[newSize];
+        for (int slot = 0; slot < elements.length; slot++)
+        {
+            if (elements[slot] != null)
+            {
+                int newSlot = spread(hashes[slot]) & mask;
+                while (newElements[newSlot] != null)
+                {
+                    newSlot = (newSlot + 1) & mask;
+                }
+
+                newElements[newSlot] = elements[slot];
+                newHashes[newSlot] = hashes[slot];
+            }
+        }
+
+        elements = newElements;
+        hashes = newHashes;
+    }
+}
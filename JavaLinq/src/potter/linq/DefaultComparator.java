@@ -1,7 +1,6 @@
 package potter.linq;
 
 import java.util.Comparator;
-import java.util.HashMap;
 
 /**
  * Provides default implementations of the {@link Comparator} generic interface.
@@ -57,8 +56,18 @@ public class DefaultComparator implements Comparator<Object>
     // http://referencesource.microsoft.com/#mscorlib/system/collections/generic/comparer.cs,23592232e4d01ea4
     // (5/26/2017)
 
-    @SuppressWarnings("rawtypes")
-    private static HashMap<Class, Comparator> cachedComparators = new HashMap<Class, Comparator>();
+    /**
+     * Caches the default comparer of each type; see
+     * {@link EqualityComparer#getDefault(Class)}.
+     */
+    private static final ClassValue<Comparator<?>> cachedComparators = new ClassValue<Comparator<?>>()
+    {
+        @Override
+        protected Comparator<?> computeValue(Class<?> type)
+        {
+            return createComparer(type);
+        }
+    };
 
     /**
      * Returns a default sort order comparer for the specified type.
@@ -78,14 +87,7 @@ public class DefaultComparator implements Comparator<Object>
         }
 
         @SuppressWarnings("unchecked")
-        Comparator<T> comparator = cachedComparators.get(type);
-
-        if (comparator == null)
-        {
-            comparator = createComparer(type);
-            cachedComparators.put(type, comparator);
-        }
-
+        Comparator<T> comparator = (Comparator<T>) cachedComparators.get(type);
         return comparator;
     }
 
@@ -0,0 +1,166 @@
+package potter.linq;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Collects the count, sum, minimum, maximum and average of a sequence of
+ * <code>double</code> values in a single pass.
+ * <p>
+ * Statistics gathered over separate parts of a sequence can be merged with
+ * {@link #combine(DoubleStatistics)}, so the same object works as the
+ * accumulator of a sequential or a parallel reduction. As with
+ * {@link Math#min(double, double)} and {@link Math#max(double, double)}, a
+ * <code>NaN</code> value makes the minimum and maximum <code>NaN</code>.
+ *
+ * @author Daniel Potter
+ */
+public final class DoubleStatistics implements DoubleConsumer
+{
+    /**
+     * Creates statistics over an empty sequence.
+     */
+    public DoubleStatistics()
+    {
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    private int count;
+    private double sum;
+    private double min;
+    private double max;
+
+    /**
+     * Returns a {@link Collector} that gathers the statistics of the
+     * {@link Double} values obtained by invoking a transform function on each
+     * element.
+     *
+     * @param <TSource>
+     *            The type of the elements to collect.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return A {@link Collector} that produces {@link DoubleStatistics}.
+     */
+    public static <TSource> Collector<TSource, ?, DoubleStatistics> collector(Function<TSource, Double> selector)
+    {
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return Collector.of(DoubleStatistics::new, (statistics, item) -> statistics.accept(selector.apply(item)),
+            DoubleStatistics::combine, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Adds a value to the statistics.
+     *
+     * @param value
+     *            The value to add.
+     */
+    @Override
+    public void accept(double value)
+    {
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds the values gathered by another {@link DoubleStatistics} to these
+     * statistics.
+     *
+     * @param other
+     *            The statistics to merge into this one.
+     * @return This object.
+     */
+    public DoubleStatistics combine(DoubleStatistics other)
+    {
+        if (other == null)
+        {
+            throw new IllegalArgumentException("other is null.");
+        }
+
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return The number of values.
+     */
+    public int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets the sum of the values, or zero if there are none.
+     *
+     * @return The sum of the values.
+     */
+    public double getSum()
+    {
+        return sum;
+    }
+
+    /**
+     * Gets the minimum value.
+     *
+     * @return The minimum value.
+     */
+    public double getMin()
+    {
+        ensureNotEmpty();
+        return min;
+    }
+
+    /**
+     * Gets the maximum value.
+     *
+     * @return The maximum value.
+     */
+    public double getMax()
+    {
+        ensureNotEmpty();
+        return max;
+    }
+
+    /**
+     * Gets the average of the values.
+     *
+     * @return The average of the values.
+     */
+    public double getAverage()
+    {
+        ensureNotEmpty();
+        return sum / count;
+    }
+
+    private void ensureNotEmpty()
+    {
+        if (count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        if (count == 0)
+        {
+            return "DoubleStatistics{count=0}";
+        }
+
+        return "DoubleStatistics{count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max + ", average="
+            + getAverage() + "}";
+    }
+}
@@ -0,0 +1,257 @@
+package potter.linq;
+
+/**
+ * Accumulates a sum of <code>double</code> values one at a time, using one of
+ * the {@link SummationMode summation modes}.
+ *
+ * @author Daniel Potter
+ */
+abstract class DoubleSummation
+{
+    /**
+     * The number of values that are added naively before a pairwise sum
+     * combines them with other blocks.
+     */
+    static final int PAIRWISE_BLOCK_SIZE = 128;
+
+    long count;
+
+    /**
+     * Creates an empty sum.
+     *
+     * @param mode
+     *            How the values are added.
+     * @return An empty sum that adds values as specified by <code>mode</code>.
+     */
+    public static DoubleSummation create(SummationMode mode)
+    {
+        if (mode == null)
+        {
+            throw new IllegalArgumentException("mode is null.");
+        }
+
+        switch (mode)
+        {
+            case COMPENSATED:
+                return new CompensatedSummation();
+            case PAIRWISE:
+                return new PairwiseSummation();
+            default:
+                return new NaiveSummation();
+        }
+    }
+
+    /**
+     * Adds a value to the sum.
+     *
+     * @param value
+     *            The value to add.
+     */
+    public final void add(double value)
+    {
+        count++;
+        addCore(value);
+    }
+
+    /**
+     * Adds the values of another sum to this sum, as though they followed the
+     * values already added.
+     *
+     * @param other
+     *            The sum to merge into this one.
+     */
+    public void combine(DoubleSummation other)
+    {
+        count += other.count;
+        addCore(other.getSum());
+    }
+
+    /**
+     * Gets the number of values that have been added.
+     *
+     * @return The number of values that have been added.
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets the sum of the values that have been added.
+     *
+     * @return The sum of the values.
+     */
+    public abstract double getSum();
+
+    abstract void addCore(double value);
+
+    private static final class NaiveSummation extends DoubleSummation
+    {
+        private double sum;
+
+        @Override
+        void addCore(double value)
+        {
+            sum += value;
+        }
+
+        @Override
+        public double getSum()
+        {
+            return sum;
+        }
+    }
+
+    private static final class CompensatedSummation extends DoubleSummation
+    {
+        private double sum;
+        private double compensation;
+
+        @Override
+        void addCore(double value)
+        {
+            // Recover the low-order bits lost by whichever operand is smaller.
+            double total = sum + value;
+            if (Math.abs(sum) >= Math.abs(value))
+            {
+                compensation += (sum - total) + value;
+            }
+            else
+            {
+                compensation += (value - total) + sum;
+            }
+
+            sum = total;
+        }
+
+        @Override
+        public void combine(DoubleSummation other)
+        {
+            if (other instanceof CompensatedSummation == false)
+            {
+                super.combine(other);
+                return;
+            }
+
+            CompensatedSummation compensated = (CompensatedSummation) other;
+            count += compensated.count;
+            addCore(compensated.sum);
+            compensation += compensated.compensation;
+        }
+
+        @Override
+        public double getSum()
+        {
+            // Once the total overflows, the compensation is meaningless.
+            return Double.isInfinite(sum) ? sum : sum + compensation;
+        }
+    }
+
+    /**
+     * Sums blocks of {@link #PAIRWISE_BLOCK_SIZE} values naively, and merges
+     * the block sums like a binary counter: whenever two sums cover the same
+     * number of blocks, they are replaced by their sum. This gives the same
+     * tree, and so the same result, as {@link ArrayMath#sumPairwise(double[])}.
+     * <p>
+     * The stack holds one sum for each set bit of the block count, largest
+     * first, so another sum can be appended node by node as long as this one
+     * ends on a block boundary that its largest node lines up with.
+     */
+    private static final class PairwiseSummation extends DoubleSummation
+    {
+        private final double[] stack = new double[Long.SIZE];
+        private int depth;
+        private long blockCount;
+        private double blockSum;
+        private int blockLength;
+
+        @Override
+        void addCore(double value)
+        {
+            blockSum += value;
+            if (++blockLength == PAIRWISE_BLOCK_SIZE)
+            {
+                push(blockSum, 0);
+                blockSum = 0;
+                blockLength = 0;
+            }
+        }
+
+        /**
+         * Appends the values of another pairwise sum. When this sum ends on a
+         * block boundary that is a multiple of the largest node of
+         * <code>other</code>, the nodes are merged as though the values had
+         * been added one at a time, so the result is the same as a single
+         * sum. Otherwise the blocks of <code>other</code> cannot be regrouped,
+         * and its total is added as a single value.
+         */
+        @Override
+        public void combine(DoubleSummation other)
+        {
+            if (other instanceof PairwiseSummation == false)
+            {
+                super.combine(other);
+                return;
+            }
+
+            PairwiseSummation pairwise = (PairwiseSummation) other;
+            long alignment = Long.highestOneBit(pairwise.blockCount);
+            if (blockLength != 0 || (alignment != 0 && blockCount % alignment != 0))
+            {
+                super.combine(other);
+                return;
+            }
+
+            count += pairwise.count;
+            int node = 0;
+            for (int level = Long.SIZE - 1; level >= 0; level--)
+            {
+                if ((pairwise.blockCount & (1L << level)) != 0)
+                {
+                    push(pairwise.stack[node++], level);
+                }
+            }
+
+            blockSum = pairwise.blockSum;
+            blockLength = pairwise.blockLength;
+        }
+
+        /**
+         * Pushes the sum of <code>2^level</code> blocks, merging it with the
+         * sums below it that cover the same number of blocks.
+         */
+        private void push(double sum, int level)
+        {
+            stack[depth++] = sum;
+            blockCount += 1L << level;
+
+            for (long blocks = blockCount >>> level; (blocks & 1) == 0; blocks >>= 1)
+            {
+                depth--;
+                stack[depth - 1] = stack[depth - 1] + stack[depth];
+            }
+        }
+
+        @Override
+        public double getSum()
+        {
+            int index = depth - 1;
+            double sum;
+            if (blockLength > 0 || depth == 0)
+            {
+                sum = blockSum;
+            }
+            else
+            {
+                sum = stack[index--];
+            }
+
+            for (; index >= 0; index--)
+            {
+                sum = stack[index] + sum;
+            }
+
+            return sum;
+        }
+    }
+}
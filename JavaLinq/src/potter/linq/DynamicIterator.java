@@ -1,6 +1,7 @@
 package potter.linq;
 
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 /**
  * Implements base logic for an iterable where the existence of the next element
@@ -14,6 +15,7 @@ import java.util.NoSuchElementException;
 public abstract class DynamicIterator<T> implements IEnumerator<T>
 {
     private boolean hasBeenRead = true;
+    private boolean hasCurrent;
 
     @Override
     public boolean hasNext()
@@ -21,10 +23,10 @@ public abstract class DynamicIterator<T> implements IEnumerator<T>
         if (hasBeenRead)
         {
             hasBeenRead = false;
-            return moveNext();
+            hasCurrent = moveNext();
         }
 
-        return true;
+        return hasCurrent;
     }
 
     @Override
@@ -32,13 +34,66 @@ public abstract class DynamicIterator<T> implements IEnumerator<T>
     {
         if (hasBeenRead)
         {
-            if (moveNext() == false)
-            {
-                throw new NoSuchElementException("Cannot iterate past the end of the collection.");
-            }
+            hasCurrent = moveNext();
+        }
+
+        if (hasCurrent == false)
+        {
+            throw new NoSuchElementException("Cannot iterate past the end of the collection.");
         }
 
         hasBeenRead = true;
         return getCurrent();
     }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action)
+    {
+        if (action == null)
+        {
+            throw new IllegalArgumentException("action is null.");
+        }
+
+        if (hasBeenRead)
+        {
+            hasCurrent = moveNext();
+        }
+
+        if (hasCurrent == false)
+        {
+            return false;
+        }
+
+        hasBeenRead = true;
+        action.accept(getCurrent());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action)
+    {
+        if (action == null)
+        {
+            throw new IllegalArgumentException("action is null.");
+        }
+
+        // An element fetched by hasNext() has not been returned yet.
+        if (hasBeenRead == false)
+        {
+            if (hasCurrent == false)
+            {
+                return;
+            }
+
+            hasBeenRead = true;
+            action.accept(getCurrent());
+        }
+
+        while (moveNext())
+        {
+            action.accept(getCurrent());
+        }
+
+        hasCurrent = false;
+    }
 }
@@ -1,6 +1,9 @@
 package potter.linq;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -48,9 +51,37 @@ public class EnumerableAdapter<T> implements IEnumerable<T>
         this.factory = factory;
     }
 
+    /**
+     * Creates a new instance with a factory that creates enumerators and a
+     * function that gets the number of elements they will return.
+     *
+     * @param factory
+     *            The factory to use to create enumerators.
+     * @param countSupplier
+     *            A function that returns the number of elements, or
+     *            <code>-1</code> if it is not known without enumerating.
+     */
+    public EnumerableAdapter(Supplier<IEnumerator<T>> factory, IntSupplier countSupplier)
+    {
+        this.factory = factory;
+        this.countSupplier = countSupplier;
+    }
+
     private Iterable<T> source;
     private IEnumerable<T> enumerableSource;
     private Supplier<IEnumerator<T>> factory;
+    private IntSupplier countSupplier;
+
+    /**
+     * Gets the wrapped sequence.
+     *
+     * @return The wrapped sequence, or <code>null</code> if this adapter
+     *         creates its enumerators from a factory.
+     */
+    Iterable<T> getSource()
+    {
+        return source;
+    }
 
     @Override
     public Iterator<T> iterator()
@@ -78,4 +109,48 @@ public class EnumerableAdapter<T> implements IEnumerable<T>
 
         return IEnumerable.super.getEnumerator();
     }
+
+    @Override
+    public void forEach(Consumer<? super T> action)
+    {
+        if (factory != null)
+        {
+            IEnumerable.super.forEach(action);
+            return;
+        }
+
+        if (action == null)
+        {
+            throw new IllegalArgumentException("action is null.");
+        }
+
+        source.forEach(action);
+    }
+
+    @Override
+    public Spliterator<T> spliterator()
+    {
+        if (factory != null)
+        {
+            return Linq.spliterator(this, Spliterator.ORDERED);
+        }
+
+        return source.spliterator();
+    }
+
+    @Override
+    public int tryGetCount()
+    {
+        if (countSupplier != null)
+        {
+            return countSupplier.getAsInt();
+        }
+
+        if (source != null)
+        {
+            return Linq.tryGetCount(source);
+        }
+
+        return -1;
+    }
 }
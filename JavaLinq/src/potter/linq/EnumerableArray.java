@@ -1,6 +1,9 @@
 package potter.linq;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
 /**
  * Provides the ability to iterate over an array.
@@ -25,6 +28,42 @@ class EnumerableArray<T> implements IEnumerable<T>
 
     private T[] source;
 
+    /**
+     * Gets the array being iterated.
+     *
+     * @return The array being iterated.
+     */
+    T[] getSource()
+    {
+        return source;
+    }
+
+    @Override
+    public int tryGetCount()
+    {
+        return source.length;
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action)
+    {
+        if (action == null)
+        {
+            throw new IllegalArgumentException("action is null.");
+        }
+
+        for (T element : source)
+        {
+            action.accept(element);
+        }
+    }
+
+    @Override
+    public Spliterator<T> spliterator()
+    {
+        return Spliterators.spliterator(source, Spliterator.ORDERED);
+    }
+
     @Override
     public Iterator<T> iterator()
     {
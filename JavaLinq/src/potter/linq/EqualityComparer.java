@@ -1,7 +1,5 @@
 package potter.linq;
 
-import java.util.HashMap;
-
 /**
  * Provides a base class for implementations of the {@link IEqualityComparer}
  * generic interface.
@@ -19,8 +17,20 @@ public abstract class EqualityComparer<T> implements IEqualityComparer<T>
 
     // region: Default Comparer
 
-    @SuppressWarnings("rawtypes")
-    private static HashMap<Class, EqualityComparer> cachedEqualityComparers = new HashMap<Class, EqualityComparer>();
+    /**
+     * Caches the default comparer of each type. A {@link ClassValue} can be
+     * read from any thread without locking, creates each comparer at most
+     * once per type in practice, and does not keep classes from being
+     * unloaded.
+     */
+    private static final ClassValue<EqualityComparer<?>> cachedEqualityComparers = new ClassValue<EqualityComparer<?>>()
+    {
+        @Override
+        protected EqualityComparer<?> computeValue(Class<?> type)
+        {
+            return createComparer(type);
+        }
+    };
 
     /**
      * Returns a default equality comparer for the type specified by the generic
@@ -41,14 +51,7 @@ public abstract class EqualityComparer<T> implements IEqualityComparer<T>
         }
 
         @SuppressWarnings("unchecked")
-        EqualityComparer<T> equalityComparer = cachedEqualityComparers.get(type);
-
-        if (equalityComparer == null)
-        {
-            equalityComparer = createComparer(type);
-            cachedEqualityComparers.put(type, equalityComparer);
-        }
-
+        EqualityComparer<T> equalityComparer = (EqualityComparer<T>) cachedEqualityComparers.get(type);
         return equalityComparer;
     }
 
@@ -0,0 +1,118 @@
+package potter.linq;
+
+/**
+ * Accumulates the exact sum of <code>long</code> values, detecting overflow of
+ * the total without checking every addition.
+ * <p>
+ * Each value is split into its signed upper and unsigned lower 32 bits, which
+ * are added into separate <code>long</code> accumulators that cannot
+ * overflow within a block of {@link #BLOCK_SIZE} values. At the end of each
+ * block the carry is moved into a total that is updated with
+ * {@link Math#addExact(long, long)}, and the final result is only checked once
+ * when it is assembled. So an exception is thrown only if the true sum does
+ * not fit in a <code>long</code>, even if a running total would have
+ * overflowed on the way.
+ *
+ * @author Daniel Potter
+ */
+final class ExactLongSummation
+{
+    /**
+     * The number of values after which the block accumulators are folded
+     * into the total, chosen so that neither can overflow.
+     */
+    private static final int BLOCK_SIZE = 1 << 30;
+
+    private static final long LOW_MASK = 0xFFFF_FFFFL;
+
+    private long high;
+    private long blockHigh;
+    private long blockLow;
+    private int blockLength;
+    private long count;
+
+    /**
+     * Adds a value to the sum.
+     *
+     * @param value
+     *            The value to add.
+     */
+    public void add(long value)
+    {
+        blockHigh += value >> 32;
+        blockLow += value & LOW_MASK;
+        count++;
+        if (++blockLength == BLOCK_SIZE)
+        {
+            flush();
+        }
+    }
+
+    /**
+     * Adds a range of an array to the sum.
+     *
+     * @param source
+     *            The array of values to add.
+     * @param from
+     *            The index of the first value to add.
+     * @param to
+     *            The index after the last value to add.
+     */
+    public void addAll(long[] source, int from, int to)
+    {
+        count += to - from;
+        while (from < to)
+        {
+            int end = from + Math.min(to - from, BLOCK_SIZE - blockLength);
+            long high = blockHigh;
+            long low = blockLow;
+            for (int index = from; index < end; index++)
+            {
+                long value = source[index];
+                high += value >> 32;
+                low += value & LOW_MASK;
+            }
+
+            blockHigh = high;
+            blockLow = low;
+            blockLength += end - from;
+            if (blockLength == BLOCK_SIZE)
+            {
+                flush();
+            }
+
+            from = end;
+        }
+    }
+
+    /**
+     * Gets the number of values that have been added.
+     *
+     * @return The number of values that have been added.
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets the sum of the values that have been added.
+     *
+     * @return The sum of the values.
+     * @throws ArithmeticException
+     *             The sum does not fit in a <code>long</code>.
+     */
+    public long getSum()
+    {
+        long total = Math.addExact(high, blockHigh + (blockLow >>> 32));
+        return Math.addExact(Math.multiplyExact(total, 1L << 32), blockLow & LOW_MASK);
+    }
+
+    private void flush()
+    {
+        high = Math.addExact(high, blockHigh + (blockLow >>> 32));
+        blockHigh = 0;
+        blockLow &= LOW_MASK;
+        blockLength = 0;
+    }
+}
@@ -0,0 +1,559 @@
+package potter.linq;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Implements joins whose inner sequence may not fit in memory.
+ * <p>
+ * The inner sequence is read into memory up to a budget. If it fits, the join
+ * runs like the in-memory join. Otherwise both sequences are hash partitioned
+ * by key into temporary files and the join runs one partition at a time, so
+ * only one inner partition is in memory at once. A partition that is still too
+ * large is partitioned again by the next bits of the key hash. Keys are
+ * extracted again from the decoded elements, so only elements are written.
+ * <p>
+ * Partitioned joins return their results grouped by partition, not in the
+ * order of the outer sequence. Their enumerators delete the temporary files
+ * once they are exhausted or fail, and implement {@link AutoCloseable} so that
+ * an enumerator abandoned early can release its files.
+ *
+ * @author Daniel Potter
+ */
+class GraceHashJoin
+{
+    private static final int PARTITION_BITS = 6;
+    private static final int PARTITION_COUNT = 1 << PARTITION_BITS;
+    private static final int MAXIMUM_LEVEL = 32 / PARTITION_BITS - 1;
+    private static final int BUFFER_SIZE = 1 << 14;
+
+    static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> join(
+        Iterable<TOuter> outer,
+        Iterable<TInner> inner,
+        Function<TOuter, TKey> outerKeySelector,
+        Function<TInner, TKey> innerKeySelector,
+        BiFunction<TOuter, TInner, TResult> resultSelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TInner> elementType,
+        IElementCodec<TOuter> outerCodec,
+        IElementCodec<TInner> innerCodec,
+        int maxInnerElementsInMemory)
+    {
+        IEqualityComparer<TKey> keyComparer = comparer != null ? comparer : EqualityComparer.getDefault(keyType);
+        return new EnumerableAdapter<>(() -> new PartitionedIterator<TOuter, TInner, TKey, TResult>(outer, inner,
+            outerKeySelector, innerKeySelector, keyComparer, keyType, elementType, outerCodec, innerCodec,
+            maxInnerElementsInMemory, false)
+        {
+            private int innerIndex;
+            private int innerEnd;
+
+            @Override
+            public boolean moveNext()
+            {
+                while (innerIndex == innerEnd)
+                {
+                    if (nextOuter() == false)
+                    {
+                        return false;
+                    }
+
+                    int group = lookup.findGroup(outerKeySelector.apply(currentOuter));
+                    if (group >= 0)
+                    {
+                        innerIndex = lookup.getGroupStart(group);
+                        innerEnd = lookup.getGroupEnd(group);
+                    }
+                }
+
+                setCurrent(resultSelector.apply(currentOuter, lookup.getElement(innerIndex++)));
+                return true;
+            }
+
+            @Override
+            public void close()
+            {
+                super.close();
+                innerIndex = innerEnd;
+            }
+        });
+    }
+
+    static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> groupJoin(
+        Iterable<TOuter> outer,
+        Iterable<TInner> inner,
+        Function<TOuter, TKey> outerKeySelector,
+        Function<TInner, TKey> innerKeySelector,
+        BiFunction<TOuter, IEnumerable<TInner>, TResult> resultSelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TInner> elementType,
+        IElementCodec<TOuter> outerCodec,
+        IElementCodec<TInner> innerCodec,
+        int maxInnerElementsInMemory)
+    {
+        IEqualityComparer<TKey> keyComparer = comparer != null ? comparer : EqualityComparer.getDefault(keyType);
+        return new EnumerableAdapter<>(() -> new PartitionedIterator<TOuter, TInner, TKey, TResult>(outer, inner,
+            outerKeySelector, innerKeySelector, keyComparer, keyType, elementType, outerCodec, innerCodec,
+            maxInnerElementsInMemory, true)
+        {
+            @Override
+            public boolean moveNext()
+            {
+                if (nextOuter() == false)
+                {
+                    return false;
+                }
+
+                setCurrent(resultSelector.apply(currentOuter, lookup.get(outerKeySelector.apply(currentOuter))));
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Mixes the bits of a hash code so that every group of
+     * {@link #PARTITION_BITS} bits is usable as a partition number.
+     */
+    private static int mix(int hashCode)
+    {
+        hashCode ^= hashCode >>> 16;
+        hashCode *= 0x85ebca6b;
+        hashCode ^= hashCode >>> 13;
+        hashCode *= 0xc2b2ae35;
+        hashCode ^= hashCode >>> 16;
+        return hashCode;
+    }
+
+    private static void delete(Path file)
+    {
+        try
+        {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException e)
+        {
+            // Nothing more can be done; the file stays in the temporary
+            // directory.
+        }
+    }
+
+    /**
+     * A temporary file holding the elements of one side of a partition.
+     */
+    private static class PartitionFile
+    {
+        Path path;
+        DataOutputStream output;
+        int count;
+    }
+
+    private static class PartitionPair
+    {
+        public PartitionPair(PartitionFile outer, PartitionFile inner, int level)
+        {
+            this.outer = outer;
+            this.inner = inner;
+            this.level = level;
+        }
+
+        final PartitionFile outer;
+        final PartitionFile inner;
+        final int level;
+    }
+
+    /**
+     * Produces outer elements together with a lookup of the inner elements
+     * that can match them, either from memory or one partition at a time.
+     */
+    private static abstract class PartitionedIterator<TOuter, TInner, TKey, TResult> extends SimpleIterator<TResult>
+        implements AutoCloseable
+    {
+        public PartitionedIterator(Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<TOuter, TKey> outerKeySelector,
+            Function<TInner, TKey> innerKeySelector,
+            IEqualityComparer<TKey> comparer,
+            Class<TKey> keyType,
+            Class<TInner> elementType,
+            IElementCodec<TOuter> outerCodec,
+            IElementCodec<TInner> innerCodec,
+            int maxInnerElementsInMemory,
+            boolean keepUnmatchedOuter)
+        {
+            this.outerKeySelector = outerKeySelector;
+            this.innerKeySelector = innerKeySelector;
+            this.comparer = comparer;
+            this.keyType = keyType;
+            this.elementType = elementType;
+            this.outerCodec = outerCodec;
+            this.innerCodec = innerCodec;
+            this.maxInnerElementsInMemory = maxInnerElementsInMemory;
+            this.keepUnmatchedOuter = keepUnmatchedOuter;
+
+            Iterator<TInner> innerIterator = inner.iterator();
+            ArrayList<TInner> innerItems = new ArrayList<>();
+            while (innerItems.size() < maxInnerElementsInMemory && innerIterator.hasNext())
+            {
+                innerItems.add(innerIterator.next());
+            }
+
+            if (innerIterator.hasNext() == false)
+            {
+                lookup = createLookup(innerItems);
+                outerIterator = outer.iterator();
+                return;
+            }
+
+            try
+            {
+                innerFiles = new PartitionFile[PARTITION_COUNT];
+                for (TInner item : innerItems)
+                {
+                    writeInner(innerFiles, item, 0);
+                }
+
+                innerItems = null;
+                while (innerIterator.hasNext())
+                {
+                    writeInner(innerFiles, innerIterator.next(), 0);
+                }
+
+                outerFiles = new PartitionFile[PARTITION_COUNT];
+                for (TOuter item : outer)
+                {
+                    writeOuter(outerFiles, item, 0);
+                }
+
+                pushPartitions(0);
+            }
+            catch (IOException e)
+            {
+                close();
+                throw new UncheckedIOException(e);
+            }
+            catch (Throwable e)
+            {
+                close();
+                throw e;
+            }
+        }
+
+        protected final Function<TOuter, TKey> outerKeySelector;
+        private final Function<TInner, TKey> innerKeySelector;
+        private final IEqualityComparer<TKey> comparer;
+        private final Class<TKey> keyType;
+        private final Class<TInner> elementType;
+        private final IElementCodec<TOuter> outerCodec;
+        private final IElementCodec<TInner> innerCodec;
+        private final int maxInnerElementsInMemory;
+        private final boolean keepUnmatchedOuter;
+
+        private final ArrayDeque<PartitionPair> pendingPartitions = new ArrayDeque<>();
+        private PartitionFile[] innerFiles;
+        private PartitionFile[] outerFiles;
+        private Iterator<TOuter> outerIterator;
+        private PartitionFile outerFile;
+        private DataInputStream outerInput;
+
+        protected CompactLookup<TKey, TInner> lookup;
+        protected TOuter currentOuter;
+
+        /**
+         * Moves to the next outer element, loading the next partition when
+         * the current one is exhausted.
+         *
+         * @return <code>true</code> if there is another outer element;
+         *         otherwise, <code>false</code>.
+         */
+        protected boolean nextOuter()
+        {
+            if (outerIterator != null)
+            {
+                if (outerIterator.hasNext())
+                {
+                    currentOuter = outerIterator.next();
+                    return true;
+                }
+
+                return false;
+            }
+
+            try
+            {
+                while (outerInput == null || outerFile.count == 0)
+                {
+                    closeOuterInput();
+                    if (pendingPartitions.isEmpty())
+                    {
+                        lookup = null;
+                        return false;
+                    }
+
+                    loadPartition(pendingPartitions.pop());
+                }
+
+                currentOuter = outerCodec.read(outerInput);
+                outerFile.count--;
+                return true;
+            }
+            catch (IOException e)
+            {
+                close();
+                throw new UncheckedIOException(e);
+            }
+            catch (Throwable e)
+            {
+                close();
+                throw e;
+            }
+        }
+
+        private CompactLookup<TKey, TInner> createLookup(Iterable<TInner> innerItems)
+        {
+            return CompactLookup.createForJoin(innerItems, innerKeySelector, comparer, keyType, elementType);
+        }
+
+        private int partitionOf(TKey key, int level)
+        {
+            int hashCode = (key == null) ? 0 : comparer.hashCode(key);
+            return (mix(hashCode) >>> (level * PARTITION_BITS)) & (PARTITION_COUNT - 1);
+        }
+
+        private void writeInner(PartitionFile[] files, TInner item, int level) throws IOException
+        {
+            // Inner elements with null keys never match.
+            TKey key = innerKeySelector.apply(item);
+            if (key != null)
+            {
+                innerCodec.write(open(files, partitionOf(key, level)), item);
+            }
+        }
+
+        private void writeOuter(PartitionFile[] files, TOuter item, int level) throws IOException
+        {
+            TKey key = outerKeySelector.apply(item);
+            if (key != null || keepUnmatchedOuter)
+            {
+                outerCodec.write(open(files, partitionOf(key, level)), item);
+            }
+        }
+
+        private DataOutputStream open(PartitionFile[] files, int partition) throws IOException
+        {
+            PartitionFile file = files[partition];
+            if (file == null)
+            {
+                file = new PartitionFile();
+                file.path = Files.createTempFile("javalinq-join-", ".part");
+                files[partition] = file;
+                file.output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(file.path), BUFFER_SIZE));
+            }
+
+            file.count++;
+            return file.output;
+        }
+
+        /**
+         * Moves the partitions that were just written from
+         * {@link #outerFiles} and {@link #innerFiles} to the pending
+         * partitions, deleting the ones that cannot produce results.
+         */
+        private void pushPartitions(int level) throws IOException
+        {
+            for (int partition = PARTITION_COUNT - 1; partition >= 0; partition--)
+            {
+                PartitionFile outerFile = outerFiles[partition];
+                PartitionFile innerFile = innerFiles[partition];
+                finishWriting(outerFile);
+                finishWriting(innerFile);
+
+                boolean needed = outerFile != null && (innerFile != null || keepUnmatchedOuter);
+                if (needed)
+                {
+                    pendingPartitions.push(new PartitionPair(outerFile, innerFile, level));
+                }
+                else
+                {
+                    deleteFile(outerFile);
+                    deleteFile(innerFile);
+                }
+
+                outerFiles[partition] = null;
+                innerFiles[partition] = null;
+            }
+
+            outerFiles = null;
+            innerFiles = null;
+        }
+
+        private void loadPartition(PartitionPair pair) throws IOException
+        {
+            PartitionFile innerFile = pair.inner;
+            if (innerFile != null && innerFile.count > maxInnerElementsInMemory && pair.level < MAXIMUM_LEVEL)
+            {
+                repartition(pair);
+                return;
+            }
+
+            outerFile = pair.outer;
+            ArrayList<TInner> innerItems = new ArrayList<>(innerFile != null ? innerFile.count : 0);
+            if (innerFile != null)
+            {
+                try (DataInputStream input = openInput(innerFile))
+                {
+                    for (int index = 0; index < innerFile.count; index++)
+                    {
+                        innerItems.add(innerCodec.read(input));
+                    }
+                }
+                finally
+                {
+                    deleteFile(innerFile);
+                }
+            }
+
+            lookup = createLookup(innerItems);
+            outerInput = openInput(outerFile);
+        }
+
+        private void repartition(PartitionPair pair) throws IOException
+        {
+            int level = pair.level + 1;
+
+            try
+            {
+                innerFiles = new PartitionFile[PARTITION_COUNT];
+                try (DataInputStream input = openInput(pair.inner))
+                {
+                    for (int index = 0; index < pair.inner.count; index++)
+                    {
+                        writeInner(innerFiles, innerCodec.read(input), level);
+                    }
+                }
+
+                outerFiles = new PartitionFile[PARTITION_COUNT];
+                try (DataInputStream input = openInput(pair.outer))
+                {
+                    for (int index = 0; index < pair.outer.count; index++)
+                    {
+                        writeOuter(outerFiles, outerCodec.read(input), level);
+                    }
+                }
+            }
+            finally
+            {
+                deleteFile(pair.inner);
+                deleteFile(pair.outer);
+            }
+
+            pushPartitions(level);
+        }
+
+        private static DataInputStream openInput(PartitionFile file) throws IOException
+        {
+            return new DataInputStream(new BufferedInputStream(Files.newInputStream(file.path), BUFFER_SIZE));
+        }
+
+        private static void finishWriting(PartitionFile file) throws IOException
+        {
+            if (file != null && file.output != null)
+            {
+                file.output.close();
+                file.output = null;
+            }
+        }
+
+        private static void deleteFile(PartitionFile file)
+        {
+            if (file != null)
+            {
+                if (file.output != null)
+                {
+                    try
+                    {
+                        file.output.close();
+                    }
+                    catch (IOException e)
+                    {
+                        // The file is deleted next, so a failed close is harmless.
+                    }
+
+                    file.output = null;
+                }
+
+                delete(file.path);
+            }
+        }
+
+        private void closeOuterInput() throws IOException
+        {
+            if (outerInput != null)
+            {
+                outerInput.close();
+                outerInput = null;
+                deleteFile(outerFile);
+                outerFile = null;
+            }
+        }
+
+        private static void deleteFiles(PartitionFile[] files)
+        {
+            if (files != null)
+            {
+                for (PartitionFile file : files)
+                {
+                    deleteFile(file);
+                }
+            }
+        }
+
+        /**
+         * Closes the partition being read and deletes every temporary file
+         * that has not been consumed yet. The enumerator is exhausted
+         * afterwards.
+         */
+        @Override
+        public void close()
+        {
+            try
+            {
+                closeOuterInput();
+            }
+            catch (IOException e)
+            {
+                // The remaining files are deleted below either way.
+            }
+
+            outerIterator = null;
+            outerInput = null;
+            deleteFile(outerFile);
+            outerFile = null;
+            deleteFiles(innerFiles);
+            innerFiles = null;
+            deleteFiles(outerFiles);
+            outerFiles = null;
+
+            for (PartitionPair pair : pendingPartitions)
+            {
+                deleteFile(pair.outer);
+                deleteFile(pair.inner);
+            }
+
+            pendingPartitions.clear();
+            lookup = null;
+        }
+    }
+}
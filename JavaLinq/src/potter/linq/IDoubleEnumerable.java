@@ -0,0 +1,252 @@
+package potter.linq;
+
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Exposes the enumerator, which supports a simple iteration over a sequence of
+ * <code>double</code> values without boxing each element.
+ *
+ * @author Daniel Potter
+ */
+@FunctionalInterface
+public interface IDoubleEnumerable
+{
+    /**
+     * Returns an enumerator that iterates through the sequence.
+     *
+     * @return An enumerator that can be used to iterate through the sequence.
+     */
+    IDoubleEnumerator getEnumerator();
+
+    // region: Mutation
+
+    // region: Boxed
+
+    /**
+     * Gets an {@link IEnumerable} that contains the boxed elements of the
+     * sequence.
+     *
+     * @return An {@link IEnumerable} that contains each element of the sequence
+     *         as a {@link Double}.
+     */
+    default IEnumerable<Double> boxed()
+    {
+        return PrimitiveLinq.boxed(this);
+    }
+
+    // endregion
+
+    // region: Select
+
+    /**
+     * Projects each element of a sequence into a new <code>double</code> value.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IDoubleEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of the sequence.
+     */
+    default IDoubleEnumerable select(DoubleUnaryOperator selector)
+    {
+        return PrimitiveLinq.select(this, selector);
+    }
+
+    /**
+     * Projects each element of a sequence into a <code>int</code> value.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IIntEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of the sequence.
+     */
+    default IIntEnumerable selectInt(DoubleToIntFunction selector)
+    {
+        return PrimitiveLinq.selectInt(this, selector);
+    }
+
+    /**
+     * Projects each element of a sequence into a <code>long</code> value.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link ILongEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of the sequence.
+     */
+    default ILongEnumerable selectLong(DoubleToLongFunction selector)
+    {
+        return PrimitiveLinq.selectLong(this, selector);
+    }
+
+    /**
+     * Projects each element of a sequence into a new form.
+     *
+     * @param <TResult>
+     *            The type of the value returned by <code>selector</code>.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IEnumerable} whose elements are the result of invoking
+     *         the transform function on each element of the sequence.
+     */
+    default <TResult> IEnumerable<TResult> selectObject(DoubleFunction<TResult> selector)
+    {
+        return PrimitiveLinq.selectObject(this, selector);
+    }
+
+    // endregion
+
+    // region: Where
+
+    /**
+     * Filters a sequence of values based on a predicate.
+     *
+     * @param predicate
+     *            A function to test each element for a condition.
+     * @return An {@link IDoubleEnumerable} that contains elements from the input
+     *         sequence that satisfy the condition.
+     */
+    default IDoubleEnumerable where(DoublePredicate predicate)
+    {
+        return PrimitiveLinq.where(this, predicate);
+    }
+
+    // endregion
+
+    // endregion
+
+    // region: Aggregation
+
+    // region: To Array
+
+    /**
+     * Creates an array from the sequence.
+     *
+     * @return An array that contains the elements from the sequence.
+     */
+    default double[] toArray()
+    {
+        return PrimitiveLinq.toArray(this);
+    }
+
+    // endregion
+
+    // endregion
+
+    // region: Metrics
+
+    // region: Average
+
+    /**
+     * Computes the average of the sequence.
+     *
+     * @return The average of the sequence of values.
+     */
+    default double average()
+    {
+        return PrimitiveLinq.average(this);
+    }
+
+    /**
+     * Computes the average of the sequence, accumulating the sum as specified
+     * by a {@link SummationMode}.
+     *
+     * @param mode
+     *            How the values are added.
+     * @return The average of the values in the sequence.
+     */
+    default double average(SummationMode mode)
+    {
+        return PrimitiveLinq.average(this, mode);
+    }
+
+    // endregion
+
+    // region: Count
+
+    /**
+     * Returns the number of elements in the sequence.
+     *
+     * @return The number of elements in the sequence.
+     */
+    default int count()
+    {
+        return PrimitiveLinq.count(this);
+    }
+
+    // endregion
+
+    // region: Max
+
+    /**
+     * Returns the maximum value in the sequence.
+     *
+     * @return The maximum value in the sequence.
+     */
+    default double max()
+    {
+        return PrimitiveLinq.max(this);
+    }
+
+    // endregion
+
+    // region: Min
+
+    /**
+     * Returns the minimum value in the sequence.
+     *
+     * @return The minimum value in the sequence.
+     */
+    default double min()
+    {
+        return PrimitiveLinq.min(this);
+    }
+
+    // endregion
+
+    // region: Statistics
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of the sequence
+     * in a single pass.
+     *
+     * @return The statistics of the sequence of values.
+     */
+    default DoubleStatistics statistics()
+    {
+        return PrimitiveLinq.statistics(this);
+    }
+
+    // endregion
+
+    // region: Sum
+
+    /**
+     * Computes the sum of the sequence.
+     *
+     * @return The sum of the values in the sequence.
+     */
+    default double sum()
+    {
+        return PrimitiveLinq.sum(this);
+    }
+
+    /**
+     * Computes the sum of the sequence, accumulating the sum as specified
+     * by a {@link SummationMode}.
+     *
+     * @param mode
+     *            How the values are added.
+     * @return The sum of the values in the sequence.
+     */
+    default double sum(SummationMode mode)
+    {
+        return PrimitiveLinq.sum(this, mode);
+    }
+
+    // endregion
+
+    // endregion
+}
@@ -0,0 +1,221 @@
+package potter.linq;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Defines methods to write elements to and read elements from a binary
+ * stream, which is used when a sequence is too large to keep in memory.
+ *
+ * @author Daniel Potter
+ *
+ * @param <T>
+ *            The type of elements to encode.
+ */
+public interface IElementCodec<T>
+{
+    /**
+     * Writes an element to a stream.
+     *
+     * @param output
+     *            The stream to write to.
+     * @param element
+     *            The element to write.
+     * @throws IOException
+     *             An I/O error occurred.
+     */
+    void write(DataOutput output, T element) throws IOException;
+
+    /**
+     * Reads an element that was written by {@link #write(DataOutput, Object)}.
+     *
+     * @param input
+     *            The stream to read from.
+     * @return The element that was read.
+     * @throws IOException
+     *             An I/O error occurred.
+     */
+    T read(DataInput input) throws IOException;
+
+    // region: Codecs
+
+    /**
+     * Gets a codec for {@link Integer} elements, including <code>null</code>.
+     *
+     * @return A codec for {@link Integer} elements.
+     */
+    static IElementCodec<Integer> ofInteger()
+    {
+        return new IElementCodec<Integer>()
+        {
+            @Override
+            public void write(DataOutput output, Integer element) throws IOException
+            {
+                output.writeBoolean(element != null);
+                if (element != null)
+                {
+                    output.writeInt(element);
+                }
+            }
+
+            @Override
+            public Integer read(DataInput input) throws IOException
+            {
+                return input.readBoolean() ? input.readInt() : null;
+            }
+        };
+    }
+
+    /**
+     * Gets a codec for {@link Long} elements, including <code>null</code>.
+     *
+     * @return A codec for {@link Long} elements.
+     */
+    static IElementCodec<Long> ofLong()
+    {
+        return new IElementCodec<Long>()
+        {
+            @Override
+            public void write(DataOutput output, Long element) throws IOException
+            {
+                output.writeBoolean(element != null);
+                if (element != null)
+                {
+                    output.writeLong(element);
+                }
+            }
+
+            @Override
+            public Long read(DataInput input) throws IOException
+            {
+                return input.readBoolean() ? input.readLong() : null;
+            }
+        };
+    }
+
+    /**
+     * Gets a codec for {@link Double} elements, including <code>null</code>.
+     *
+     * @return A codec for {@link Double} elements.
+     */
+    static IElementCodec<Double> ofDouble()
+    {
+        return new IElementCodec<Double>()
+        {
+            @Override
+            public void write(DataOutput output, Double element) throws IOException
+            {
+                output.writeBoolean(element != null);
+                if (element != null)
+                {
+                    output.writeDouble(element);
+                }
+            }
+
+            @Override
+            public Double read(DataInput input) throws IOException
+            {
+                return input.readBoolean() ? input.readDouble() : null;
+            }
+        };
+    }
+
+    /**
+     * Gets a codec for {@link String} elements of any length, including
+     * <code>null</code>.
+     *
+     * @return A codec for {@link String} elements.
+     */
+    static IElementCodec<String> ofString()
+    {
+        return new IElementCodec<String>()
+        {
+            @Override
+            public void write(DataOutput output, String element) throws IOException
+            {
+                if (element == null)
+                {
+                    output.writeInt(-1);
+                    return;
+                }
+
+                byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+
+            @Override
+            public String read(DataInput input) throws IOException
+            {
+                int length = input.readInt();
+                if (length < 0)
+                {
+                    return null;
+                }
+
+                byte[] bytes = new byte[length];
+                input.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /**
+     * Gets a codec that uses Java serialization. This works for any
+     * {@link Serializable} type but is much slower and larger than a codec
+     * written for the type.
+     *
+     * @param <T>
+     *            The type of elements to encode.
+     * @param type
+     *            The type of elements to encode.
+     * @return A codec that uses Java serialization.
+     */
+    static <T extends Serializable> IElementCodec<T> ofSerializable(Class<T> type)
+    {
+        if (type == null)
+        {
+            throw new IllegalArgumentException("type is null.");
+        }
+
+        return new IElementCodec<T>()
+        {
+            @Override
+            public void write(DataOutput output, T element) throws IOException
+            {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream objectOutput = new ObjectOutputStream(bytes))
+                {
+                    objectOutput.writeObject(element);
+                }
+
+                output.writeInt(bytes.size());
+                output.write(bytes.toByteArray());
+            }
+
+            @Override
+            public T read(DataInput input) throws IOException
+            {
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                try (ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(bytes)))
+                {
+                    return type.cast(objectInput.readObject());
+                }
+                catch (ClassNotFoundException e)
+                {
+                    throw new IOException(e);
+                }
+            }
+        };
+    }
+
+    // endregion
+}
@@ -1,10 +1,20 @@
 package potter.linq;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Spliterator;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Exposes the enumerator, which supports a simple iteration over a collection
@@ -27,6 +37,81 @@ public interface IEnumerable<T> extends Iterable<T>
         return IEnumerator.wrap(iterator());
     }
 
+    /**
+     * Performs an action for each element of the sequence. Operators
+     * implement this by pushing their elements to the action from a loop of
+     * their own, so enumerating a chain of operators this way costs one call
+     * per element and stage instead of a <code>hasNext</code> and a
+     * <code>next</code> call, and terminal operators such as
+     * <code>sum</code>, <code>count</code> and <code>toArrayList</code> use
+     * it instead of an {@link java.util.Iterator}.
+     *
+     * @param action
+     *            The action to perform on each element.
+     */
+    @Override
+    default void forEach(Consumer<? super T> action)
+    {
+        if (action == null)
+        {
+            throw new IllegalArgumentException("action is null.");
+        }
+
+        IEnumerator<T> enumerator = getEnumerator();
+        while (enumerator.moveNext())
+        {
+            action.accept(enumerator.getCurrent());
+        }
+    }
+
+    /**
+     * Creates a {@link Spliterator} over the elements of the sequence. It
+     * reports the size when {@link #tryGetCount()} knows it and splits
+     * arrays and random access lists evenly. Operators that know more about
+     * their elements, such as <code>range</code>, <code>distinct</code> and
+     * <code>orderBy</code>, also report {@link Spliterator#DISTINCT} or
+     * {@link Spliterator#SORTED}.
+     *
+     * @return A {@link Spliterator} over the elements of the sequence.
+     */
+    @Override
+    default Spliterator<T> spliterator()
+    {
+        return Linq.spliterator(this, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a sequential {@link Stream} over the elements of the sequence.
+     *
+     * @return A sequential {@link Stream} over the elements of the sequence.
+     */
+    default Stream<T> stream()
+    {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel {@link Stream} over the elements of the sequence,
+     * split by {@link #spliterator()}.
+     *
+     * @return A parallel {@link Stream} over the elements of the sequence.
+     */
+    default Stream<T> parallelStream()
+    {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Enables parallelization of a query.
+     *
+     * @return The sequence as a {@link ParallelEnumerable} to bind to parallel
+     *         operators.
+     */
+    default ParallelEnumerable<T> asParallel()
+    {
+        return Linq.asParallel(this);
+    }
+
     // region: Mutation
 
     // region: Concat
@@ -60,6 +145,34 @@ public interface IEnumerable<T> extends Iterable<T>
         return Linq.distinct(this);
     }
 
+    /**
+     * Returns distinct elements from a sequence by using the default equality
+     * comparer to compare values.
+     *
+     * @return An {@link IEnumerable} that contains distinct elements from the
+     *         source sequence.
+     */
+    default IEnumerable<T> distinct()
+    {
+        return Linq.distinct(this);
+    }
+
+    /**
+     * Returns distinct elements from a sequence by using a specified
+     * {@link IEqualityComparer} to compare values.
+     *
+     * @param comparer
+     *            An {@link IEqualityComparer} to compare values, or
+     *            <code>null</code> to use {@link Object#equals(Object)} and
+     *            {@link Object#hashCode()}.
+     * @return An {@link IEnumerable} that contains distinct elements from the
+     *         source sequence.
+     */
+    default IEnumerable<T> distinct(IEqualityComparer<T> comparer)
+    {
+        return Linq.distinct(this, comparer);
+    }
+
     // endregion
 
     // region: Except
@@ -80,6 +193,26 @@ public interface IEnumerable<T> extends Iterable<T>
         return Linq.except(this, second);
     }
 
+    /**
+     * Produces the set difference of two sequences by using a specified
+     * {@link IEqualityComparer} to compare values.
+     *
+     * @param second
+     *            An {@link Iterable} whose elements that also occur in the
+     *            first sequence will cause those elements to be removed from
+     *            the returned sequence.
+     * @param comparer
+     *            An {@link IEqualityComparer} to compare values, or
+     *            <code>null</code> to use {@link Object#equals(Object)} and
+     *            {@link Object#hashCode()}.
+     * @return A sequence that contains the set difference of the elements of
+     *         two sequences.
+     */
+    default IEnumerable<T> except(Iterable<T> second, IEqualityComparer<T> comparer)
+    {
+        return Linq.except(this, second, comparer);
+    }
+
     // endregion
 
     // region: Intersect
@@ -99,6 +232,56 @@ public interface IEnumerable<T> extends Iterable<T>
         return Linq.intersect(this, second);
     }
 
+    /**
+     * Produces the set intersection of two sequences by using a specified
+     * {@link IEqualityComparer} to compare values.
+     *
+     * @param second
+     *            An {@link Iterable} whose distinct elements that also appear
+     *            in the first sequence will be returned.
+     * @param comparer
+     *            An {@link IEqualityComparer} to compare values, or
+     *            <code>null</code> to use {@link Object#equals(Object)} and
+     *            {@link Object#hashCode()}.
+     * @return A sequence that contains the elements that form the set
+     *         intersection of two sequences.
+     */
+    default IEnumerable<T> intersect(Iterable<T> second, IEqualityComparer<T> comparer)
+    {
+        return Linq.intersect(this, second, comparer);
+    }
+
+    // endregion
+
+    // region: Memoize
+
+    /**
+     * Creates a sequence that enumerates this sequence at most once,
+     * buffering elements as they are first reached so that enumerating the
+     * result again reads the buffer instead of evaluating the query again.
+     * The result must not be enumerated from more than one thread at a time.
+     *
+     * @return An {@link IEnumerable} that contains the elements of the
+     *         sequence and enumerates it at most once.
+     */
+    default IEnumerable<T> memoize()
+    {
+        return Linq.memoize(this);
+    }
+
+    /**
+     * Creates a sequence that enumerates this sequence at most once and that
+     * can be enumerated from several threads at the same time.
+     *
+     * @return An {@link IEnumerable} that contains the elements of the
+     *         sequence, enumerates it at most once and can be enumerated
+     *         concurrently.
+     */
+    default IEnumerable<T> memoizeConcurrent()
+    {
+        return Linq.memoizeConcurrent(this);
+    }
+
     // endregion
 
     // region: Of Type
@@ -170,6 +353,48 @@ public interface IEnumerable<T> extends Iterable<T>
         return Linq.select(this, selector);
     }
 
+    /**
+     * Projects each element of a sequence into a <code>int</code> value without
+     * boxing the result.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IIntEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of the sequence.
+     */
+    default IIntEnumerable selectInt(ToIntFunction<T> selector)
+    {
+        return Linq.selectInt(this, selector);
+    }
+
+    /**
+     * Projects each element of a sequence into a <code>long</code> value without
+     * boxing the result.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link ILongEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of the sequence.
+     */
+    default ILongEnumerable selectLong(ToLongFunction<T> selector)
+    {
+        return Linq.selectLong(this, selector);
+    }
+
+    /**
+     * Projects each element of a sequence into a <code>double</code> value without
+     * boxing the result.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IDoubleEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of the sequence.
+     */
+    default IDoubleEnumerable selectDouble(ToDoubleFunction<T> selector)
+    {
+        return Linq.selectDouble(this, selector);
+    }
+
     // endregion
 
     // region: Select Many
@@ -334,6 +559,25 @@ public interface IEnumerable<T> extends Iterable<T>
         return Linq.union(this, second);
     }
 
+    /**
+     * Produces the set union of two sequences by using a specified
+     * {@link IEqualityComparer}.
+     *
+     * @param second
+     *            An {@link Iterable} whose distinct elements form the second
+     *            set for the union.
+     * @param comparer
+     *            An {@link IEqualityComparer} to compare values, or
+     *            <code>null</code> to use {@link Object#equals(Object)} and
+     *            {@link Object#hashCode()}.
+     * @return An {@link IEnumerable} that contains the elements from both input
+     *         sequences, excluding duplicates.
+     */
+    default IEnumerable<T> union(Iterable<T> second, IEqualityComparer<T> comparer)
+    {
+        return Linq.union(this, second, comparer);
+    }
+
     // endregion
 
     // region: Where
@@ -479,6 +723,94 @@ public interface IEnumerable<T> extends Iterable<T>
 
     // endregion
 
+    // region: Order By Primitive Key
+
+    /**
+     * Sorts the elements of a sequence in ascending order according to a
+     * <code>int</code> key. Keys are stored and compared as primitives.
+     *
+     * @param keySelector
+     *            A function to extract a key from an element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
+     */
+    default IOrderedEnumerable<T> orderByInt(ToIntFunction<T> keySelector)
+    {
+        return Linq.orderByInt(this, keySelector);
+    }
+
+    /**
+     * Sorts the elements of a sequence in descending order according to a
+     * <code>int</code> key. Keys are stored and compared as primitives.
+     *
+     * @param keySelector
+     *            A function to extract a key from an element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
+     */
+    default IOrderedEnumerable<T> orderByIntDescending(ToIntFunction<T> keySelector)
+    {
+        return Linq.orderByIntDescending(this, keySelector);
+    }
+
+    /**
+     * Sorts the elements of a sequence in ascending order according to a
+     * <code>long</code> key. Keys are stored and compared as primitives.
+     *
+     * @param keySelector
+     *            A function to extract a key from an element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
+     */
+    default IOrderedEnumerable<T> orderByLong(ToLongFunction<T> keySelector)
+    {
+        return Linq.orderByLong(this, keySelector);
+    }
+
+    /**
+     * Sorts the elements of a sequence in descending order according to a
+     * <code>long</code> key. Keys are stored and compared as primitives.
+     *
+     * @param keySelector
+     *            A function to extract a key from an element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
+     */
+    default IOrderedEnumerable<T> orderByLongDescending(ToLongFunction<T> keySelector)
+    {
+        return Linq.orderByLongDescending(this, keySelector);
+    }
+
+    /**
+     * Sorts the elements of a sequence in ascending order according to a
+     * <code>double</code> key. Keys are stored and compared as primitives.
+     *
+     * @param keySelector
+     *            A function to extract a key from an element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
+     */
+    default IOrderedEnumerable<T> orderByDouble(ToDoubleFunction<T> keySelector)
+    {
+        return Linq.orderByDouble(this, keySelector);
+    }
+
+    /**
+     * Sorts the elements of a sequence in descending order according to a
+     * <code>double</code> key. Keys are stored and compared as primitives.
+     *
+     * @param keySelector
+     *            A function to extract a key from an element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
+     */
+    default IOrderedEnumerable<T> orderByDoubleDescending(ToDoubleFunction<T> keySelector)
+    {
+        return Linq.orderByDoubleDescending(this, keySelector);
+    }
+
+    // endregion
+
     // endregion
 
     // region: Grouping
@@ -726,26 +1058,320 @@ public interface IEnumerable<T> extends Iterable<T>
      * @return A collection of elements of type <code>TResult</code> where each
      *         element represents a projection over a group and its key.
      */
-    default <TKey, TElement, TResult> IEnumerable<TResult> groupBy(
-        Function<T, TKey> keySelector,
-        Function<T, TElement> elementSelector,
-        BiFunction<TKey, IEnumerable<TElement>, TResult> resultSelector,
+    default <TKey, TElement, TResult> IEnumerable<TResult> groupBy(
+        Function<T, TKey> keySelector,
+        Function<T, TElement> elementSelector,
+        BiFunction<TKey, IEnumerable<TElement>, TResult> resultSelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TElement> elementType)
+    {
+        return Linq.groupBy(this, keySelector, elementSelector, resultSelector, comparer, keyType, elementType);
+    }
+
+    // endregion
+
+    // region: Group Adjacent
+
+    /**
+     * Groups consecutive elements of the sequence that have equal keys,
+     * holding only the current group in memory.
+     *
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements of the sequence.
+     * @return An {@link IEnumerable} where each {@link IGrouping} object
+     *         contains a run of consecutive elements and their key.
+     */
+    default <TKey> IEnumerable<IGrouping<TKey, T>> groupAdjacent(Function<T, TKey> keySelector,
+        Class<TKey> keyType,
+        Class<T> elementType)
+    {
+        return Linq.groupAdjacent(this, keySelector, keyType, elementType);
+    }
+
+    /**
+     * Groups consecutive elements of the sequence that have equal keys by
+     * using a specified comparer, holding only the current group in memory.
+     *
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param comparer
+     *            An {@link IEqualityComparer} with which to compare keys.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements of the sequence.
+     * @return An {@link IEnumerable} where each {@link IGrouping} object
+     *         contains a run of consecutive elements and their key.
+     */
+    default <TKey> IEnumerable<IGrouping<TKey, T>> groupAdjacent(Function<T, TKey> keySelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<T> elementType)
+    {
+        return Linq.groupAdjacent(this, keySelector, comparer, keyType, elementType);
+    }
+
+    /**
+     * Groups consecutive elements of the sequence that have equal keys and
+     * projects the elements for each group, holding only the current group in
+     * memory.
+     *
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param <TElement>
+     *            The type of the elements in the {@link IGrouping}.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param elementSelector
+     *            A function to map each source element to an element in the
+     *            {@link IGrouping}.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements in the {@link IGrouping}.
+     * @return An {@link IEnumerable} where each {@link IGrouping} object
+     *         contains a run of projected elements and their key.
+     */
+    default <TKey, TElement> IEnumerable<IGrouping<TKey, TElement>> groupAdjacent(Function<T, TKey> keySelector,
+        Function<T, TElement> elementSelector,
+        Class<TKey> keyType,
+        Class<TElement> elementType)
+    {
+        return Linq.groupAdjacent(this, keySelector, elementSelector, keyType, elementType);
+    }
+
+    /**
+     * Groups consecutive elements of the sequence that have equal keys by
+     * using a specified comparer and projects the elements for each group,
+     * holding only the current group in memory.
+     *
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param <TElement>
+     *            The type of the elements in the {@link IGrouping}.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param elementSelector
+     *            A function to map each source element to an element in the
+     *            {@link IGrouping}.
+     * @param comparer
+     *            An {@link IEqualityComparer} with which to compare keys.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements in the {@link IGrouping}.
+     * @return An {@link IEnumerable} where each {@link IGrouping} object
+     *         contains a run of projected elements and their key.
+     */
+    default <TKey, TElement> IEnumerable<IGrouping<TKey, TElement>> groupAdjacent(Function<T, TKey> keySelector,
+        Function<T, TElement> elementSelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TElement> elementType)
+    {
+        return Linq.groupAdjacent(this, keySelector, elementSelector, comparer, keyType, elementType);
+    }
+
+    // endregion
+
+    // region: Group Join
+
+    /**
+     * Correlates the elements of two sequences based on equality of keys and
+     * groups the results. The default equality comparer is used to compare
+     * keys.
+     * 
+     * @param <TInner>
+     *            The type of the elements of the second sequence.
+     * @param <TKey>
+     *            The type of the keys returned by the key selector functions.
+     * @param <TResult>
+     *            The type of the result elements.
+     * @param inner
+     *            The sequence to join to the first sequence.
+     * @param outerKeySelector
+     *            A function to extract the join key from each element of the
+     *            first sequence.
+     * @param innerKeySelector
+     *            A function to extract the join key from each element of the
+     *            second sequence.
+     * @param resultSelector
+     *            A function to create a result element from an element from the
+     *            first sequence and a collection of matching elements from the
+     *            second sequence.
+     * @param keyType
+     *            The type of the keys returned by the key selector functions.
+     * @param elementType
+     *            The type of the elements of the second sequence.
+     * @return An IEnumerable<T> that contains elements of type TResult that are
+     *         obtained by performing a grouped join on two sequences.
+     */
+    default <TInner, TKey, TResult> IEnumerable<TResult> groupJoin(
+        Iterable<TInner> inner,
+        Function<T, TKey> outerKeySelector,
+        Function<TInner, TKey> innerKeySelector,
+        BiFunction<T, IEnumerable<TInner>, TResult> resultSelector,
+        Class<TKey> keyType,
+        Class<TInner> elementType)
+    {
+        return Linq.groupJoin(this, inner,
+            outerKeySelector, innerKeySelector, resultSelector,
+            keyType, elementType);
+    }
+
+    /**
+     * Correlates the elements of two sequences based on equality of keys and
+     * groups the results. A specified {@link IEqualityComparer} is used to
+     * compare keys.
+     * 
+     * @param <TInner>
+     *            The type of the elements of the second sequence.
+     * @param <TKey>
+     *            The type of the keys returned by the key selector functions.
+     * @param <TResult>
+     *            The type of the result elements.
+     * @param inner
+     *            The sequence to join to the first sequence.
+     * @param outerKeySelector
+     *            A function to extract the join key from each element of the
+     *            first sequence.
+     * @param innerKeySelector
+     *            A function to extract the join key from each element of the
+     *            second sequence.
+     * @param resultSelector
+     *            A function to create a result element from an element from the
+     *            first sequence and a collection of matching elements from the
+     *            second sequence.
+     * @param comparer
+     *            An {@link IEqualityComparer} to hash and compare keys.
+     * @param keyType
+     *            The type of the keys returned by the key selector functions.
+     * @param elementType
+     *            The type of the elements of the second sequence.
+     * @return An IEnumerable<T> that contains elements of type TResult that are
+     *         obtained by performing a grouped join on two sequences.
+     */
+    default <TInner, TKey, TResult> IEnumerable<TResult> groupJoin(
+        Iterable<TInner> inner,
+        Function<T, TKey> outerKeySelector,
+        Function<TInner, TKey> innerKeySelector,
+        BiFunction<T, IEnumerable<TInner>, TResult> resultSelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TInner> elementType)
+    {
+        return Linq.groupJoin(this, inner,
+            outerKeySelector, innerKeySelector, resultSelector,
+            comparer, keyType, elementType);
+    }
+
+    // endregion
+
+    // region: Join
+
+    /**
+     * Correlates the elements of two sequences based on matching keys. The
+     * default equality comparer is used to compare keys.
+     *
+     * @param <TInner>
+     *            The type of the elements of the second sequence.
+     * @param <TKey>
+     *            The type of the keys returned by the key selector functions.
+     * @param <TResult>
+     *            The type of the result elements.
+     * @param inner
+     *            The sequence to join to the first sequence.
+     * @param outerKeySelector
+     *            A function to extract the join key from each element of the
+     *            first sequence.
+     * @param innerKeySelector
+     *            A function to extract the join key from each element of the
+     *            second sequence.
+     * @param resultSelector
+     *            A function to create a result element from two matching
+     *            elements.
+     * @param keyType
+     *            The type of the keys returned by the key selector functions.
+     * @param elementType
+     *            The type of the elements of the second sequence.
+     * @return An {@link IEnumerable} that has elements of type
+     *         <code>TResult</code> that are obtained by performing an inner
+     *         join on two sequences.
+     */
+    default <TInner, TKey, TResult> IEnumerable<TResult> join(
+        Iterable<TInner> inner,
+        Function<T, TKey> outerKeySelector,
+        Function<TInner, TKey> innerKeySelector,
+        BiFunction<T, TInner, TResult> resultSelector,
+        Class<TKey> keyType,
+        Class<TInner> elementType)
+    {
+        return Linq.join(this, inner, outerKeySelector, innerKeySelector, resultSelector, keyType, elementType);
+    }
+
+    /**
+     * Correlates the elements of two sequences based on matching keys. The
+     * default equality comparer is used to compare keys.
+     *
+     * @param <TInner>
+     *            The type of the elements of the second sequence.
+     * @param <TKey>
+     *            The type of the keys returned by the key selector functions.
+     * @param <TResult>
+     *            The type of the result elements.
+     * @param inner
+     *            The sequence to join to the first sequence.
+     * @param outerKeySelector
+     *            A function to extract the join key from each element of the
+     *            first sequence.
+     * @param innerKeySelector
+     *            A function to extract the join key from each element of the
+     *            second sequence.
+     * @param resultSelector
+     *            A function to create a result element from two matching
+     *            elements.
+     * @param comparer
+     *            An {@link IEqualityComparer} to hash and compare keys.
+     * @param keyType
+     *            The type of the keys returned by the key selector functions.
+     * @param elementType
+     *            The type of the elements of the second sequence.
+     * @return An {@link IEnumerable} that has elements of type
+     *         <code>TResult</code> that are obtained by performing an inner
+     *         join on two sequences.
+     */
+    default <TInner, TKey, TResult> IEnumerable<TResult> join(
+        Iterable<TInner> inner,
+        Function<T, TKey> outerKeySelector,
+        Function<TInner, TKey> innerKeySelector,
+        BiFunction<T, TInner, TResult> resultSelector,
         IEqualityComparer<TKey> comparer,
         Class<TKey> keyType,
-        Class<TElement> elementType)
+        Class<TInner> elementType)
     {
-        return Linq.groupBy(this, keySelector, elementSelector, resultSelector, comparer, keyType, elementType);
+        return Linq.join(this, inner, outerKeySelector, innerKeySelector, resultSelector, comparer, keyType,
+            elementType);
     }
 
     // endregion
 
-    // region: Group Join
+    // region: Spilling Join
 
     /**
-     * Correlates the elements of two sequences based on equality of keys and
-     * groups the results. The default equality comparer is used to compare
-     * keys.
-     * 
+     * Correlates the elements of two sequences based on matching keys,
+     * partitioning both sequences into temporary files when the second
+     * sequence does not fit in memory. When partitioning occurs, results are
+     * not in the order of this sequence.
+     *
      * @param <TInner>
      *            The type of the elements of the second sequence.
      * @param <TKey>
@@ -761,34 +1387,50 @@ public interface IEnumerable<T> extends Iterable<T>
      *            A function to extract the join key from each element of the
      *            second sequence.
      * @param resultSelector
-     *            A function to create a result element from an element from the
-     *            first sequence and a collection of matching elements from the
-     *            second sequence.
+     *            A function to create a result element from two matching
+     *            elements.
+     * @param comparer
+     *            An {@link IEqualityComparer} to hash and compare keys, or
+     *            <code>null</code> to use the default comparer.
      * @param keyType
      *            The type of the keys returned by the key selector functions.
      * @param elementType
      *            The type of the elements of the second sequence.
-     * @return An IEnumerable<T> that contains elements of type TResult that are
-     *         obtained by performing a grouped join on two sequences.
+     * @param outerCodec
+     *            The codec used to write elements of the first sequence to the
+     *            temporary files.
+     * @param innerCodec
+     *            The codec used to write elements of the second sequence to the
+     *            temporary files.
+     * @param maxInnerElementsInMemory
+     *            The maximum number of elements of the second sequence to hold
+     *            in memory at once.
+     * @return An {@link IEnumerable} that has elements of type
+     *         <code>TResult</code> that are obtained by performing an inner
+     *         join on two sequences.
      */
-    default <TInner, TKey, TResult> IEnumerable<TResult> groupJoin(
+    default <TInner, TKey, TResult> IEnumerable<TResult> spillingJoin(
         Iterable<TInner> inner,
         Function<T, TKey> outerKeySelector,
         Function<TInner, TKey> innerKeySelector,
-        BiFunction<T, IEnumerable<TInner>, TResult> resultSelector,
+        BiFunction<T, TInner, TResult> resultSelector,
+        IEqualityComparer<TKey> comparer,
         Class<TKey> keyType,
-        Class<TInner> elementType)
+        Class<TInner> elementType,
+        IElementCodec<T> outerCodec,
+        IElementCodec<TInner> innerCodec,
+        int maxInnerElementsInMemory)
     {
-        return Linq.groupJoin(this, inner,
-            outerKeySelector, innerKeySelector, resultSelector,
-            keyType, elementType);
+        return Linq.spillingJoin(this, inner, outerKeySelector, innerKeySelector, resultSelector, comparer, keyType,
+            elementType, outerCodec, innerCodec, maxInnerElementsInMemory);
     }
 
     /**
-     * Correlates the elements of two sequences based on equality of keys and
-     * groups the results. A specified {@link IEqualityComparer} is used to
-     * compare keys.
-     * 
+     * Correlates the elements of two sequences based on key equality and
+     * groups the results, partitioning both sequences into temporary files
+     * when the second sequence does not fit in memory. When partitioning
+     * occurs, results are not in the order of this sequence.
+     *
      * @param <TInner>
      *            The type of the elements of the second sequence.
      * @param <TKey>
@@ -808,35 +1450,49 @@ public interface IEnumerable<T> extends Iterable<T>
      *            first sequence and a collection of matching elements from the
      *            second sequence.
      * @param comparer
-     *            An {@link IEqualityComparer} to hash and compare keys.
+     *            An {@link IEqualityComparer} to hash and compare keys, or
+     *            <code>null</code> to use the default comparer.
      * @param keyType
      *            The type of the keys returned by the key selector functions.
      * @param elementType
      *            The type of the elements of the second sequence.
-     * @return An IEnumerable<T> that contains elements of type TResult that are
-     *         obtained by performing a grouped join on two sequences.
+     * @param outerCodec
+     *            The codec used to write elements of the first sequence to the
+     *            temporary files.
+     * @param innerCodec
+     *            The codec used to write elements of the second sequence to the
+     *            temporary files.
+     * @param maxInnerElementsInMemory
+     *            The maximum number of elements of the second sequence to hold
+     *            in memory at once.
+     * @return An {@link IEnumerable} that has elements of type
+     *         <code>TResult</code> that are obtained by performing a grouped
+     *         join on two sequences.
      */
-    default <TInner, TKey, TResult> IEnumerable<TResult> groupJoin(
+    default <TInner, TKey, TResult> IEnumerable<TResult> spillingGroupJoin(
         Iterable<TInner> inner,
         Function<T, TKey> outerKeySelector,
         Function<TInner, TKey> innerKeySelector,
         BiFunction<T, IEnumerable<TInner>, TResult> resultSelector,
         IEqualityComparer<TKey> comparer,
         Class<TKey> keyType,
-        Class<TInner> elementType)
+        Class<TInner> elementType,
+        IElementCodec<T> outerCodec,
+        IElementCodec<TInner> innerCodec,
+        int maxInnerElementsInMemory)
     {
-        return Linq.groupJoin(this, inner,
-            outerKeySelector, innerKeySelector, resultSelector,
-            comparer, keyType, elementType);
+        return Linq.spillingGroupJoin(this, inner, outerKeySelector, innerKeySelector, resultSelector, comparer,
+            keyType, elementType, outerCodec, innerCodec, maxInnerElementsInMemory);
     }
 
     // endregion
 
-    // region: Join
+    // region: Merge Join
 
     /**
-     * Correlates the elements of two sequences based on matching keys. The
-     * default equality comparer is used to compare keys.
+     * Correlates the elements of this sequence and another sequence that are
+     * both ordered by their join keys, enumerating both in lockstep instead of
+     * building a hash table of the second sequence.
      *
      * @param <TInner>
      *            The type of the elements of the second sequence.
@@ -845,7 +1501,8 @@ public interface IEnumerable<T> extends Iterable<T>
      * @param <TResult>
      *            The type of the result elements.
      * @param inner
-     *            The sequence to join to the first sequence.
+     *            The sequence to join to the first sequence, ordered by
+     *            <code>innerKeySelector</code>.
      * @param outerKeySelector
      *            A function to extract the join key from each element of the
      *            first sequence.
@@ -857,26 +1514,24 @@ public interface IEnumerable<T> extends Iterable<T>
      *            elements.
      * @param keyType
      *            The type of the keys returned by the key selector functions.
-     * @param elementType
-     *            The type of the elements of the second sequence.
      * @return An {@link IEnumerable} that has elements of type
      *         <code>TResult</code> that are obtained by performing an inner
      *         join on two sequences.
      */
-    default <TInner, TKey, TResult> IEnumerable<TResult> join(
+    default <TInner, TKey, TResult> IEnumerable<TResult> mergeJoin(
         Iterable<TInner> inner,
         Function<T, TKey> outerKeySelector,
         Function<TInner, TKey> innerKeySelector,
         BiFunction<T, TInner, TResult> resultSelector,
-        Class<TKey> keyType,
-        Class<TInner> elementType)
+        Class<TKey> keyType)
     {
-        return Linq.join(this, inner, outerKeySelector, innerKeySelector, resultSelector, keyType, elementType);
+        return Linq.mergeJoin(this, inner, outerKeySelector, innerKeySelector, resultSelector, keyType);
     }
 
     /**
-     * Correlates the elements of two sequences based on matching keys. The
-     * default equality comparer is used to compare keys.
+     * Correlates the elements of this sequence and another sequence that are
+     * both ordered by their join keys, enumerating both in lockstep instead of
+     * building a hash table of the second sequence.
      *
      * @param <TInner>
      *            The type of the elements of the second sequence.
@@ -885,7 +1540,8 @@ public interface IEnumerable<T> extends Iterable<T>
      * @param <TResult>
      *            The type of the result elements.
      * @param inner
-     *            The sequence to join to the first sequence.
+     *            The sequence to join to the first sequence, ordered by
+     *            <code>innerKeySelector</code>.
      * @param outerKeySelector
      *            A function to extract the join key from each element of the
      *            first sequence.
@@ -896,28 +1552,117 @@ public interface IEnumerable<T> extends Iterable<T>
      *            A function to create a result element from two matching
      *            elements.
      * @param comparer
-     *            An {@link IEqualityComparer} to hash and compare keys.
+     *            The {@link Comparator} both sequences are ordered by, or
+     *            <code>null</code> to use the default comparer.
      * @param keyType
      *            The type of the keys returned by the key selector functions.
-     * @param elementType
-     *            The type of the elements of the second sequence.
      * @return An {@link IEnumerable} that has elements of type
      *         <code>TResult</code> that are obtained by performing an inner
      *         join on two sequences.
      */
-    default <TInner, TKey, TResult> IEnumerable<TResult> join(
+    default <TInner, TKey, TResult> IEnumerable<TResult> mergeJoin(
         Iterable<TInner> inner,
         Function<T, TKey> outerKeySelector,
         Function<TInner, TKey> innerKeySelector,
         BiFunction<T, TInner, TResult> resultSelector,
-        IEqualityComparer<TKey> comparer,
+        Comparator<TKey> comparer,
+        Class<TKey> keyType)
+    {
+        return Linq.mergeJoin(this, inner, outerKeySelector, innerKeySelector, resultSelector, comparer, keyType);
+    }
+
+    /**
+     * Correlates the elements of this sequence and another sequence that are
+     * both ordered by their join keys and groups the results, enumerating both
+     * in lockstep instead of building a hash table of the second sequence.
+     *
+     * @param <TInner>
+     *            The type of the elements of the second sequence.
+     * @param <TKey>
+     *            The type of the keys returned by the key selector functions.
+     * @param <TResult>
+     *            The type of the result elements.
+     * @param inner
+     *            The sequence to join to the first sequence, ordered by
+     *            <code>innerKeySelector</code>.
+     * @param outerKeySelector
+     *            A function to extract the join key from each element of the
+     *            first sequence.
+     * @param innerKeySelector
+     *            A function to extract the join key from each element of the
+     *            second sequence.
+     * @param resultSelector
+     *            A function to create a result element from an element from the
+     *            first sequence and a collection of matching elements from the
+     *            second sequence.
+     * @param keyType
+     *            The type of the keys returned by the key selector functions.
+     * @param elementType
+     *            The type of the elements of the second sequence.
+     * @return An {@link IEnumerable} that has elements of type
+     *         <code>TResult</code> that are obtained by performing a grouped
+     *         join on two sequences.
+     */
+    default <TInner, TKey, TResult> IEnumerable<TResult> mergeGroupJoin(
+        Iterable<TInner> inner,
+        Function<T, TKey> outerKeySelector,
+        Function<TInner, TKey> innerKeySelector,
+        BiFunction<T, IEnumerable<TInner>, TResult> resultSelector,
         Class<TKey> keyType,
         Class<TInner> elementType)
     {
-        return Linq.join(this, inner, outerKeySelector, innerKeySelector, resultSelector, comparer, keyType,
+        return Linq.mergeGroupJoin(this, inner, outerKeySelector, innerKeySelector, resultSelector, keyType,
             elementType);
     }
 
+    /**
+     * Correlates the elements of this sequence and another sequence that are
+     * both ordered by their join keys and groups the results, enumerating both
+     * in lockstep instead of building a hash table of the second sequence.
+     *
+     * @param <TInner>
+     *            The type of the elements of the second sequence.
+     * @param <TKey>
+     *            The type of the keys returned by the key selector functions.
+     * @param <TResult>
+     *            The type of the result elements.
+     * @param inner
+     *            The sequence to join to the first sequence, ordered by
+     *            <code>innerKeySelector</code>.
+     * @param outerKeySelector
+     *            A function to extract the join key from each element of the
+     *            first sequence.
+     * @param innerKeySelector
+     *            A function to extract the join key from each element of the
+     *            second sequence.
+     * @param resultSelector
+     *            A function to create a result element from an element from the
+     *            first sequence and a collection of matching elements from the
+     *            second sequence.
+     * @param comparer
+     *            The {@link Comparator} both sequences are ordered by, or
+     *            <code>null</code> to use the default comparer.
+     * @param keyType
+     *            The type of the keys returned by the key selector functions.
+     * @param elementType
+     *            The type of the elements of the second sequence.
+     * @return An {@link IEnumerable} that has elements of type
+     *         <code>TResult</code> that are obtained by performing a grouped
+     *         join on two sequences.
+     */
+    default <TInner, TKey, TResult> IEnumerable<TResult> mergeGroupJoin(
+        Iterable<TInner> inner,
+        Function<T, TKey> outerKeySelector,
+        Function<TInner, TKey> innerKeySelector,
+        BiFunction<T, IEnumerable<TInner>, TResult> resultSelector,
+        Comparator<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TInner> elementType)
+    {
+        return Linq.mergeGroupJoin(this, inner, outerKeySelector, innerKeySelector, resultSelector, comparer,
+            keyType, elementType);
+    }
+
     // endregion
 
     // endregion
@@ -977,6 +1722,36 @@ public interface IEnumerable<T> extends Iterable<T>
         return Linq.aggregate(this, seed, function, resultSelector);
     }
 
+    /**
+     * Applies an accumulator function over a sequence, starting from a seed
+     * created by a factory. Sequences that are processed in parallel create a
+     * seed for each partition and merge the partial accumulators with
+     * <code>combineFunction</code>; a sequential sequence uses a single seed
+     * and never calls it.
+     *
+     * @param <TAccumulate>
+     *            The type of the accumulator value.
+     * @param <TResult>
+     *            The type of the resulting value.
+     * @param seedFactory
+     *            A function that creates an initial accumulator value.
+     * @param updateFunction
+     *            An accumulator function to be invoked on each element.
+     * @param combineFunction
+     *            A function that merges two accumulator values, the second of
+     *            which follows the first in the sequence.
+     * @param resultSelector
+     *            A function to transform the final accumulator value into the
+     *            result value.
+     * @return The transformed final accumulator value.
+     */
+    default <TAccumulate, TResult> TResult aggregate(Supplier<TAccumulate> seedFactory,
+        BiFunction<TAccumulate, T, TAccumulate> updateFunction,
+        BiFunction<TAccumulate, TAccumulate, TAccumulate> combineFunction, Function<TAccumulate, TResult> resultSelector)
+    {
+        return Linq.aggregate(this, seedFactory, updateFunction, combineFunction, resultSelector);
+    }
+
     // endregion
 
     // region: All
@@ -1025,6 +1800,27 @@ public interface IEnumerable<T> extends Iterable<T>
 
     // endregion
 
+    // region: Collect
+
+    /**
+     * Performs a reduction on the elements of the sequence using a
+     * {@link Collector}, enumerating the sequence once.
+     *
+     * @param <TAccumulate>
+     *            The type of the intermediate accumulation of the collector.
+     * @param <TResult>
+     *            The type of the result.
+     * @param collector
+     *            The {@link Collector} describing the reduction.
+     * @return The result of the reduction.
+     */
+    default <TAccumulate, TResult> TResult collect(Collector<? super T, TAccumulate, TResult> collector)
+    {
+        return Linq.collect(this, collector);
+    }
+
+    // endregion
+
     // region: Contains
 
     /**
@@ -1426,6 +2222,22 @@ public interface IEnumerable<T> extends Iterable<T>
         return Linq.averageDouble(this, selector);
     }
 
+    /**
+     * Computes the average of the sequence of {@link Double} values that are
+     * obtained by invoking a transform function on each element of the input
+     * sequence, accumulating the sum as specified by a {@link SummationMode}.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @param mode
+     *            How the values are added.
+     * @return The average of the projected values.
+     */
+    default double averageDouble(Function<T, Double> selector, SummationMode mode)
+    {
+        return Linq.averageDouble(this, selector, mode);
+    }
+
     /**
      * Computes the average of the sequence of {@link Float} values that are
      * obtained by invoking a transform function on each element of the input
@@ -1454,6 +2266,20 @@ public interface IEnumerable<T> extends Iterable<T>
         return Linq.averageInteger(this, selector);
     }
 
+    /**
+     * Computes the average, as a <code>double</code>, of the sequence of
+     * {@link Integer} values that are obtained by invoking a transform function
+     * on each element of the input sequence.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return The average of the projected values.
+     */
+    default double averageIntegerAsDouble(Function<T, Integer> selector)
+    {
+        return Linq.averageIntegerAsDouble(this, selector);
+    }
+
     /**
      * Computes the average of the sequence of {@link Long} values that are
      * obtained by invoking a transform function on each element of the input
@@ -1472,6 +2298,22 @@ public interface IEnumerable<T> extends Iterable<T>
 
     // region: Count
 
+    /**
+     * Gets the number of elements in the sequence if it is known without
+     * enumerating the sequence. Operators that know their size, such as
+     * <code>range</code>, <code>select</code> or <code>orderBy</code> over a
+     * collection, override this so that <code>count</code>,
+     * <code>toArray</code>, <code>toArrayList</code> and
+     * <code>toHashMap</code> can avoid enumerating or regrowing.
+     *
+     * @return The number of elements in the sequence, or <code>-1</code> if
+     *         it is not known without enumerating the sequence.
+     */
+    default int tryGetCount()
+    {
+        return (this instanceof Collection<?>) ? ((Collection<?>) this).size() : -1;
+    }
+
     /**
      * Returns the number of elements in a sequence.
      *
@@ -1635,6 +2477,38 @@ public interface IEnumerable<T> extends Iterable<T>
 
     // endregion
 
+    // region: Statistics
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of the sequence of
+     * {@link Double} values that are obtained by invoking a transform function
+     * on each element of the input sequence, in a single pass.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return The statistics of the projected values.
+     */
+    default DoubleStatistics statisticsDouble(Function<T, Double> selector)
+    {
+        return Linq.statisticsDouble(this, selector);
+    }
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of the sequence of
+     * {@link Long} values that are obtained by invoking a transform function on
+     * each element of the input sequence, in a single pass.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return The statistics of the projected values.
+     */
+    default LongStatistics statisticsLong(Function<T, Long> selector)
+    {
+        return Linq.statisticsLong(this, selector);
+    }
+
+    // endregion
+
     // region: Sum
 
     /**
@@ -1651,6 +2525,22 @@ public interface IEnumerable<T> extends Iterable<T>
         return Linq.sumDouble(this, selector);
     }
 
+    /**
+     * Computes the sum of the sequence of {@link Double} values that are
+     * obtained by invoking a transform function on each element of the input
+     * sequence, accumulating the sum as specified by a {@link SummationMode}.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @param mode
+     *            How the values are added.
+     * @return The sum of the projected values.
+     */
+    default double sumDouble(Function<T, Double> selector, SummationMode mode)
+    {
+        return Linq.sumDouble(this, selector, mode);
+    }
+
     /**
      * Computes the sum of the sequence of {@link Float} values that are
      * obtained by invoking a transform function on each element of the input
@@ -1679,6 +2569,36 @@ public interface IEnumerable<T> extends Iterable<T>
         return Linq.sumInteger(this, selector);
     }
 
+    /**
+     * Computes the sum, as a <code>long</code>, of the sequence of
+     * {@link Integer} values that are obtained by invoking a transform function
+     * on each element of the input sequence.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return The sum of the projected values.
+     */
+    default long sumIntegerToLong(Function<T, Integer> selector)
+    {
+        return Linq.sumIntegerToLong(this, selector);
+    }
+
+    /**
+     * Computes the sum of the sequence of {@link Integer} values that are
+     * obtained by invoking a transform function on each element of the input
+     * sequence, throwing if it does not fit in an <code>int</code>.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return The sum of the projected values.
+     * @throws ArithmeticException
+     *             The sum does not fit in an <code>int</code>.
+     */
+    default int sumIntegerExact(Function<T, Integer> selector)
+    {
+        return Linq.sumIntegerExact(this, selector);
+    }
+
     /**
      * Computes the sum of the sequence of {@link Long} values that are obtained
      * by invoking a transform function on each element of the input sequence.
@@ -1692,6 +2612,22 @@ public interface IEnumerable<T> extends Iterable<T>
         return Linq.sumLong(this, selector);
     }
 
+    /**
+     * Computes the sum of the sequence of {@link Long} values that are obtained
+     * by invoking a transform function on each element of the input sequence,
+     * throwing if it does not fit in a <code>long</code>.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return The sum of the projected values.
+     * @throws ArithmeticException
+     *             The sum does not fit in a <code>long</code>.
+     */
+    default long sumLongExact(Function<T, Long> selector)
+    {
+        return Linq.sumLongExact(this, selector);
+    }
+
     // endregion
 
     // endregion
@@ -1,6 +1,7 @@
 package potter.linq;
 
 import java.util.Iterator;
+import java.util.function.Consumer;
 
 /**
  * Supports a simple iteration over a generic collection.
@@ -30,6 +31,33 @@ public interface IEnumerator<T> extends Iterator<T>
      */
     boolean moveNext();
 
+    /**
+     * Advances the enumerator to the next element of the collection and, if
+     * there is one, performs an action on it. This combines
+     * {@link #moveNext()} and {@link #getCurrent()} into a single call.
+     *
+     * @param action
+     *            The action to perform on the next element.
+     * @return <code>true</code> if the enumerator was advanced and the action
+     *         performed; <code>false</code> if the enumerator has passed the
+     *         end of the collection.
+     */
+    default boolean tryAdvance(Consumer<? super T> action)
+    {
+        if (action == null)
+        {
+            throw new IllegalArgumentException("action is null.");
+        }
+
+        if (moveNext())
+        {
+            action.accept(getCurrent());
+            return true;
+        }
+
+        return false;
+    }
+
     // region: Helper Methods
 
     /**
@@ -0,0 +1,250 @@
+package potter.linq;
+
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Exposes the enumerator, which supports a simple iteration over a sequence of
+ * <code>int</code> values without boxing each element.
+ *
+ * @author Daniel Potter
+ */
+@FunctionalInterface
+public interface IIntEnumerable
+{
+    /**
+     * Returns an enumerator that iterates through the sequence.
+     *
+     * @return An enumerator that can be used to iterate through the sequence.
+     */
+    IIntEnumerator getEnumerator();
+
+    // region: Mutation
+
+    // region: Boxed
+
+    /**
+     * Gets an {@link IEnumerable} that contains the boxed elements of the
+     * sequence.
+     *
+     * @return An {@link IEnumerable} that contains each element of the sequence
+     *         as an {@link Integer}.
+     */
+    default IEnumerable<Integer> boxed()
+    {
+        return PrimitiveLinq.boxed(this);
+    }
+
+    // endregion
+
+    // region: Select
+
+    /**
+     * Projects each element of a sequence into a new <code>int</code> value.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IIntEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of the sequence.
+     */
+    default IIntEnumerable select(IntUnaryOperator selector)
+    {
+        return PrimitiveLinq.select(this, selector);
+    }
+
+    /**
+     * Projects each element of a sequence into a <code>long</code> value.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link ILongEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of the sequence.
+     */
+    default ILongEnumerable selectLong(IntToLongFunction selector)
+    {
+        return PrimitiveLinq.selectLong(this, selector);
+    }
+
+    /**
+     * Projects each element of a sequence into a <code>double</code> value.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IDoubleEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of the sequence.
+     */
+    default IDoubleEnumerable selectDouble(IntToDoubleFunction selector)
+    {
+        return PrimitiveLinq.selectDouble(this, selector);
+    }
+
+    /**
+     * Projects each element of a sequence into a new form.
+     *
+     * @param <TResult>
+     *            The type of the value returned by <code>selector</code>.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IEnumerable} whose elements are the result of invoking
+     *         the transform function on each element of the sequence.
+     */
+    default <TResult> IEnumerable<TResult> selectObject(IntFunction<TResult> selector)
+    {
+        return PrimitiveLinq.selectObject(this, selector);
+    }
+
+    // endregion
+
+    // region: Where
+
+    /**
+     * Filters a sequence of values based on a predicate.
+     *
+     * @param predicate
+     *            A function to test each element for a condition.
+     * @return An {@link IIntEnumerable} that contains elements from the input
+     *         sequence that satisfy the condition.
+     */
+    default IIntEnumerable where(IntPredicate predicate)
+    {
+        return PrimitiveLinq.where(this, predicate);
+    }
+
+    // endregion
+
+    // endregion
+
+    // region: Aggregation
+
+    // region: To Array
+
+    /**
+     * Creates an array from the sequence.
+     *
+     * @return An array that contains the elements from the sequence.
+     */
+    default int[] toArray()
+    {
+        return PrimitiveLinq.toArray(this);
+    }
+
+    // endregion
+
+    // endregion
+
+    // region: Metrics
+
+    // region: Average
+
+    /**
+     * Computes the average of the sequence.
+     *
+     * @return The average of the sequence of values.
+     */
+    default double average()
+    {
+        return PrimitiveLinq.average(this);
+    }
+
+    // endregion
+
+    // region: Count
+
+    /**
+     * Returns the number of elements in the sequence.
+     *
+     * @return The number of elements in the sequence.
+     */
+    default int count()
+    {
+        return PrimitiveLinq.count(this);
+    }
+
+    // endregion
+
+    // region: Max
+
+    /**
+     * Returns the maximum value in the sequence.
+     *
+     * @return The maximum value in the sequence.
+     */
+    default int max()
+    {
+        return PrimitiveLinq.max(this);
+    }
+
+    // endregion
+
+    // region: Min
+
+    /**
+     * Returns the minimum value in the sequence.
+     *
+     * @return The minimum value in the sequence.
+     */
+    default int min()
+    {
+        return PrimitiveLinq.min(this);
+    }
+
+    // endregion
+
+    // region: Statistics
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of the sequence
+     * in a single pass.
+     *
+     * @return The statistics of the sequence of values.
+     */
+    default LongStatistics statistics()
+    {
+        return PrimitiveLinq.statistics(this);
+    }
+
+    // endregion
+
+    // region: Sum
+
+    /**
+     * Computes the sum of the sequence.
+     *
+     * @return The sum of the values in the sequence.
+     */
+    default int sum()
+    {
+        return PrimitiveLinq.sum(this);
+    }
+
+    /**
+     * Computes the sum of the sequence as a <code>long</code>, so that it
+     * cannot wrap around.
+     *
+     * @return The sum of the values in the sequence.
+     */
+    default long sumToLong()
+    {
+        return PrimitiveLinq.sumToLong(this);
+    }
+
+    /**
+     * Computes the sum of the sequence, throwing if it does not fit in an
+     * <code>int</code>.
+     *
+     * @return The sum of the values in the sequence.
+     * @throws ArithmeticException
+     *             The sum does not fit in an <code>int</code>.
+     */
+    default int sumExact()
+    {
+        return PrimitiveLinq.sumExact(this);
+    }
+
+    // endregion
+
+    // endregion
+}
@@ -0,0 +1,28 @@
+package potter.linq;
+
+/**
+ * Supports a simple iteration over a sequence of <code>long</code> values
+ * without boxing each element.
+ *
+ * @author Daniel Potter
+ */
+public interface ILongEnumerator
+{
+    /**
+     * Gets the element in the sequence at the current position of the
+     * enumerator.
+     *
+     * @return The element in the sequence at the current position of the
+     *         enumerator.
+     */
+    long getCurrentLong();
+
+    /**
+     * Advances the enumerator to the next element of the sequence.
+     *
+     * @return <code>true</code> if the enumerator was successfully advanced to
+     *         the next element; <code>false</code> if the enumerator has passed
+     *         the end of the sequence.
+     */
+    boolean moveNext();
+}
@@ -2,6 +2,9 @@ package potter.linq;
 
 import java.util.Comparator;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Represents a sorted sequence.
@@ -117,4 +120,140 @@ public interface IOrderedEnumerable<TElement> extends IEnumerable<TElement>
     }
 
     // endregion
+
+    // region: Then By Primitive Key
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in
+     * ascending order according to an <code>int</code> key. Keys are stored and
+     * compared as primitives.
+     *
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
+     */
+    default IOrderedEnumerable<TElement> thenByInt(ToIntFunction<TElement> keySelector)
+    {
+        return Linq.thenByInt(this, keySelector);
+    }
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in
+     * descending order according to an <code>int</code> key. Keys are stored and
+     * compared as primitives.
+     *
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
+     */
+    default IOrderedEnumerable<TElement> thenByIntDescending(ToIntFunction<TElement> keySelector)
+    {
+        return Linq.thenByIntDescending(this, keySelector);
+    }
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in
+     * ascending order according to a <code>long</code> key. Keys are stored and
+     * compared as primitives.
+     *
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
+     */
+    default IOrderedEnumerable<TElement> thenByLong(ToLongFunction<TElement> keySelector)
+    {
+        return Linq.thenByLong(this, keySelector);
+    }
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in
+     * descending order according to a <code>long</code> key. Keys are stored and
+     * compared as primitives.
+     *
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
+     */
+    default IOrderedEnumerable<TElement> thenByLongDescending(ToLongFunction<TElement> keySelector)
+    {
+        return Linq.thenByLongDescending(this, keySelector);
+    }
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in
+     * ascending order according to a <code>double</code> key. Keys are stored and
+     * compared as primitives.
+     *
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
+     */
+    default IOrderedEnumerable<TElement> thenByDouble(ToDoubleFunction<TElement> keySelector)
+    {
+        return Linq.thenByDouble(this, keySelector);
+    }
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in
+     * descending order according to a <code>double</code> key. Keys are stored and
+     * compared as primitives.
+     *
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
+     */
+    default IOrderedEnumerable<TElement> thenByDoubleDescending(ToDoubleFunction<TElement> keySelector)
+    {
+        return Linq.thenByDoubleDescending(this, keySelector);
+    }
+
+    // endregion
+
+    // region: Parallel Sort
+
+    /**
+     * Enables parallel sorting of the ordered sequence once at least
+     * <code>threshold</code> elements are sorted at once. Key selectors and
+     * comparers are then invoked concurrently, so they must be thread-safe.
+     *
+     * @param threshold
+     *            The number of elements at or above which the sequence is
+     *            sorted in parallel.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in the
+     *         same order as this sequence.
+     */
+    default IOrderedEnumerable<TElement> withParallelSort(int threshold)
+    {
+        return Linq.withParallelSort(this, threshold);
+    }
+
+    // endregion
+
+    // region: External Sort
+
+    /**
+     * Enumerates the ordered sequence with an external merge sort, so that
+     * the sequence does not have to fit in memory. Runs of at most
+     * <code>maxElementsInMemory</code> elements are sorted in memory, written
+     * to temporary files with <code>codec</code>, and merged lazily.
+     *
+     * @param codec
+     *            The codec used to write elements to the temporary files.
+     * @param maxElementsInMemory
+     *            The maximum number of elements to sort in memory at once.
+     * @return An {@link IEnumerable} whose elements are sorted in the same
+     *         order as this sequence.
+     */
+    default IEnumerable<TElement> withExternalSort(IElementCodec<TElement> codec, int maxElementsInMemory)
+    {
+        return Linq.withExternalSort(this, codec, maxElementsInMemory);
+    }
+
+    // endregion
 }
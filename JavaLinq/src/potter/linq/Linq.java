@@ -1,14 +1,40 @@
 package potter.linq;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
 
 /**
  * Provides a set of static methods for querying objects that implement
@@ -69,6 +95,55 @@ public class Linq
 
     // endregion
 
+    // region: As Parallel
+
+    /**
+     * Enables parallelization of a query.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            An {@link Iterable} to convert to a {@link ParallelEnumerable}.
+     * @return The source as a {@link ParallelEnumerable} to bind to parallel
+     *         operators.
+     */
+    public static <TSource> ParallelEnumerable<TSource> asParallel(Iterable<TSource> source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        if (source instanceof ParallelEnumerable<?>)
+        {
+            return (ParallelEnumerable<TSource>) source;
+        }
+
+        return ParallelEnumerable.create(source);
+    }
+
+    /**
+     * Enables parallelization of a query over an array.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            An array to convert to a {@link ParallelEnumerable}.
+     * @return The source as a {@link ParallelEnumerable} to bind to parallel
+     *         operators.
+     */
+    public static <TSource> ParallelEnumerable<TSource> asParallel(TSource[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        return ParallelEnumerable.create(new EnumerableArray<>(source));
+    }
+
+    // endregion
+
     // region: Empty
 
     /**
@@ -96,21 +171,22 @@ public class Linq
 
     static class EmptyEnumerable<TElement> implements IEnumerable<TElement>
     {
-        @SuppressWarnings("rawtypes")
-        private static HashMap<Class, IEnumerable> cachedEnumerables = new HashMap<Class, IEnumerable>();
+        /**
+         * An empty sequence holds no elements of its type, so one immutable
+         * instance serves every type and can be shared between threads.
+         */
+        private static final EmptyEnumerable<?> instance = new EmptyEnumerable<>();
 
+        @SuppressWarnings("unchecked")
         public static <TElement> IEnumerable<TElement> getInstance(Class<TElement> type)
         {
-            @SuppressWarnings("unchecked")
-            IEnumerable<TElement> enumerable = cachedEnumerables.get(type);
-
-            if (enumerable == null)
-            {
-                enumerable = new EmptyEnumerable<TElement>();
-                cachedEnumerables.put(type, enumerable);
-            }
+            return (IEnumerable<TElement>) instance;
+        }
 
-            return enumerable;
+        @Override
+        public int tryGetCount()
+        {
+            return 0;
         }
 
         @Override
@@ -163,28 +239,94 @@ public class Linq
      */
     public static IEnumerable<Integer> range(int start, int count)
     {
-        return new EnumerableAdapter<>(() -> new DynamicIterator<Integer>()
+        return new RangeEnumerable(start, Math.max(count, 0));
+    }
+
+    private static class RangeEnumerable implements IEnumerable<Integer>
+    {
+        public RangeEnumerable(int start, int count)
         {
-            private int index = -1;
+            this.start = start;
+            this.count = count;
+        }
 
-            @Override
-            public Integer getCurrent()
+        private final int start;
+        private final int count;
+
+        @Override
+        public int tryGetCount()
+        {
+            return count;
+        }
+
+        @Override
+        public Iterator<Integer> iterator()
+        {
+            return getEnumerator();
+        }
+
+        @Override
+        public IEnumerator<Integer> getEnumerator()
+        {
+            return new DynamicIterator<Integer>()
+            {
+                private int index = -1;
+
+                @Override
+                public Integer getCurrent()
+                {
+                    return start + index;
+                }
+
+                @Override
+                public boolean moveNext()
+                {
+                    if (index < count - 1)
+                    {
+                        index++;
+                        return true;
+                    }
+
+                    return false;
+                }
+            };
+        }
+
+        @Override
+        public void forEach(Consumer<? super Integer> action)
+        {
+            if (action == null)
             {
-                return start + index;
+                throw new IllegalArgumentException("action is null.");
             }
 
-            @Override
-            public boolean moveNext()
+            for (int index = 0; index < count; index++)
+            {
+                action.accept(start + index);
+            }
+        }
+
+        @Override
+        public Spliterator<Integer> spliterator()
+        {
+            List<Integer> values = new AbstractList<Integer>()
             {
-                if (index < count - 1)
+                @Override
+                public Integer get(int index)
                 {
-                    index++;
-                    return true;
+                    return start + index;
                 }
 
-                return false;
-            }
-        });
+                @Override
+                public int size()
+                {
+                    return count;
+                }
+            };
+
+            return new ListSpliterator<>(values, Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT
+                | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        }
     }
 
     // endregion
@@ -226,7 +368,69 @@ public class Linq
 
                 return false;
             }
-        });
+        }, () -> Math.max(count, 0));
+    }
+
+    // endregion
+
+    // region: From Stream
+
+    /**
+     * Gets an {@link IEnumerable} that represents a {@link Stream}. Because a
+     * stream can only be consumed once, the result can only be enumerated
+     * once; enumerating it again throws an {@link IllegalStateException}.
+     * Its {@link IEnumerable#spliterator()} is the spliterator of the stream,
+     * so converting it back with {@link IEnumerable#stream()} keeps the
+     * characteristics and the splitting of the original stream.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            A {@link Stream} to wrap.
+     * @return An {@link IEnumerable} containing the elements from
+     *         <code>source</code>.
+     */
+    public static <TSource> IEnumerable<TSource> from(Stream<TSource> source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        return new StreamEnumerable<>(source);
+    }
+
+    private static class StreamEnumerable<TSource> implements IEnumerable<TSource>
+    {
+        public StreamEnumerable(Stream<TSource> source)
+        {
+            this.source = source;
+        }
+
+        private final Stream<TSource> source;
+
+        @Override
+        public Iterator<TSource> iterator()
+        {
+            return source.iterator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super TSource> action)
+        {
+            if (action == null)
+            {
+                throw new IllegalArgumentException("action is null.");
+            }
+
+            source.forEachOrdered(action);
+        }
+
+        @Override
+        public Spliterator<TSource> spliterator()
+        {
+            return source.spliterator();
+        }
     }
 
     // endregion
@@ -317,7 +521,17 @@ public class Linq
             throw new IllegalArgumentException("second is null.");
         }
 
-        return new EnumerableAdapter<>(() -> new ConcatIterator<>(first, second));
+        return new EnumerableAdapter<>(() -> new ConcatIterator<>(first, second), () ->
+        {
+            int firstCount = tryGetCount(first);
+            int secondCount = tryGetCount(second);
+            if (firstCount < 0 || secondCount < 0 || firstCount + secondCount < 0)
+            {
+                return -1;
+            }
+
+            return firstCount + secondCount;
+        });
     }
 
     private static class ConcatIterator<TSource> extends SimpleIterator<TSource>
@@ -372,22 +586,62 @@ public class Linq
             throw new IllegalArgumentException("source is null.");
         }
 
-        return new EnumerableAdapter<>(() -> new DistinctIterator<>(source));
+        return new EnumerableAdapter<TSource>(() -> new DistinctIterator<>(source, null))
+        {
+            @Override
+            public Spliterator<TSource> spliterator()
+            {
+                return Linq.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT);
+            }
+        };
+    }
+
+    /**
+     * Returns distinct elements from a sequence by using a specified
+     * {@link IEqualityComparer} to compare values.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            The sequence from which to remove duplicate elements.
+     * @param comparer
+     *            An {@link IEqualityComparer} to compare values, or
+     *            <code>null</code> to use {@link Object#equals(Object)} and
+     *            {@link Object#hashCode()}.
+     * @return An {@link IEnumerable} that contains distinct elements from the
+     *         source sequence.
+     */
+    public static <TSource> IEnumerable<TSource> distinct(Iterable<TSource> source,
+        IEqualityComparer<TSource> comparer)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        if (comparer == null)
+        {
+            return distinct(source);
+        }
+
+        return new EnumerableAdapter<>(() -> new DistinctIterator<>(source, comparer));
     }
 
     private static class DistinctIterator<TSource> extends SimpleIterator<TSource>
     {
-        public DistinctIterator(Iterable<TSource> source)
+        public DistinctIterator(Iterable<TSource> source, IEqualityComparer<TSource> comparer)
         {
             this.source = source;
+            this.comparer = comparer;
 
             reset();
         }
 
         private final Iterable<TSource> source;
+        private final IEqualityComparer<TSource> comparer;
 
         private Iterator<TSource> sourceIterator;
-        private HashSet<TSource> set;
+        private CompactSet<TSource> set;
 
         public void reset()
         {
@@ -395,7 +649,7 @@ public class Linq
 
             if (set == null)
             {
-                set = new HashSet<>();
+                set = new CompactSet<>(comparer);
             }
             else
             {
@@ -451,13 +705,49 @@ public class Linq
             throw new IllegalArgumentException("second is null.");
         }
 
-        return new EnumerableAdapter<>(() -> new ExceptIterator<>(first, second));
+        return new EnumerableAdapter<>(() -> new ExceptIterator<>(first, second, null));
+    }
+
+    /**
+     * Produces the set difference of two sequences by using a specified
+     * {@link IEqualityComparer} to compare values.
+     *
+     * @param <TSource>
+     *            The type of the elements of the input sequences.
+     * @param first
+     *            An {@link Iterable} whose elements that are not also in second
+     *            will be returned.
+     * @param second
+     *            An {@link Iterable} whose elements that also occur in the
+     *            first sequence will cause those elements to be removed from
+     *            the returned sequence.
+     * @param comparer
+     *            An {@link IEqualityComparer} to compare values, or
+     *            <code>null</code> to use {@link Object#equals(Object)} and
+     *            {@link Object#hashCode()}.
+     * @return A sequence that contains the set difference of the elements of
+     *         two sequences.
+     */
+    public static <TSource> IEnumerable<TSource> except(Iterable<TSource> first, Iterable<TSource> second,
+        IEqualityComparer<TSource> comparer)
+    {
+        if (first == null)
+        {
+            throw new IllegalArgumentException("first is null.");
+        }
+        if (second == null)
+        {
+            throw new IllegalArgumentException("second is null.");
+        }
+
+        return new EnumerableAdapter<>(() -> new ExceptIterator<>(first, second, comparer));
     }
 
     private static class ExceptIterator<TSource> extends SimpleIterator<TSource>
     {
-        public ExceptIterator(Iterable<TSource> first, Iterable<TSource> second)
+        public ExceptIterator(Iterable<TSource> first, Iterable<TSource> second, IEqualityComparer<TSource> comparer)
         {
+            this.comparer = comparer;
             firstIterator = first.iterator();
             this.second = second;
         }
@@ -465,14 +755,15 @@ public class Linq
         private Iterator<TSource> firstIterator;
         private Iterable<TSource> second;
 
-        private HashSet<TSource> set;
+        private final IEqualityComparer<TSource> comparer;
+        private CompactSet<TSource> set;
 
         @Override
         public boolean moveNext()
         {
             if (set == null)
             {
-                set = new HashSet<TSource>();
+                set = new CompactSet<>(comparer);
                 for (TSource element : second)
                 {
                     set.add(element);
@@ -523,13 +814,48 @@ public class Linq
             throw new IllegalArgumentException("second is null.");
         }
 
-        return new EnumerableAdapter<>(() -> new IntersectIterator<>(first, second));
+        return new EnumerableAdapter<>(() -> new IntersectIterator<>(first, second, null));
+    }
+
+    /**
+     * Produces the set intersection of two sequences by using a specified
+     * {@link IEqualityComparer} to compare values.
+     *
+     * @param <TSource>
+     *            The type of the elements of the input sequences.
+     * @param first
+     *            An {@link Iterable} whose distinct elements that also appear
+     *            in <code>second</code> will be returned.
+     * @param second
+     *            An {@link Iterable} whose distinct elements that also appear
+     *            in the first sequence will be returned.
+     * @param comparer
+     *            An {@link IEqualityComparer} to compare values, or
+     *            <code>null</code> to use {@link Object#equals(Object)} and
+     *            {@link Object#hashCode()}.
+     * @return A sequence that contains the elements that form the set
+     *         intersection of two sequences.
+     */
+    public static <TSource> IEnumerable<TSource> intersect(Iterable<TSource> first, Iterable<TSource> second,
+        IEqualityComparer<TSource> comparer)
+    {
+        if (first == null)
+        {
+            throw new IllegalArgumentException("first is null.");
+        }
+        if (second == null)
+        {
+            throw new IllegalArgumentException("second is null.");
+        }
+
+        return new EnumerableAdapter<>(() -> new IntersectIterator<>(first, second, comparer));
     }
 
     private static class IntersectIterator<TSource> extends SimpleIterator<TSource>
     {
-        public IntersectIterator(Iterable<TSource> first, Iterable<TSource> second)
+        public IntersectIterator(Iterable<TSource> first, Iterable<TSource> second, IEqualityComparer<TSource> comparer)
         {
+            this.comparer = comparer;
             firstIterator = first.iterator();
             this.second = second;
         }
@@ -537,14 +863,15 @@ public class Linq
         private Iterator<TSource> firstIterator;
         private Iterable<TSource> second;
 
-        private HashSet<TSource> set;
+        private final IEqualityComparer<TSource> comparer;
+        private CompactSet<TSource> set;
 
         @Override
         public boolean moveNext()
         {
             if (set == null)
             {
-                set = new HashSet<TSource>();
+                set = new CompactSet<>(comparer);
                 for (TSource element : second)
                 {
                     set.add(element);
@@ -567,47 +894,237 @@ public class Linq
 
     // endregion
 
-    // region: Of Type
+    // region: Memoize
 
     /**
-     * Filters the elements of an {@link Iterable} based on a specified type.
+     * Creates a sequence that enumerates a source at most once. Elements are
+     * buffered as the first enumerator reaches them, and every enumerator of
+     * the result reads the buffered elements instead of enumerating the
+     * source again, so an expensive query such as <code>groupBy</code> or
+     * <code>orderBy</code> is evaluated only once however many times the
+     * result is enumerated. Enumerators may be interleaved, but the result
+     * must not be enumerated from more than one thread at a time; use
+     * {@link #memoizeConcurrent(Iterable)} for that.
      *
-     * @param <TResult>
-     *            The type on which to filter the elements of the sequence.
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
      * @param source
-     *            The {@link Iterable} whose elements to filter.
-     * @param type
-     *            The type of elements to filter
-     * @return An {@link Iterable} that contains elements from the input
-     *         sequence of type <code>type</code>.
+     *            The sequence to buffer.
+     * @return An {@link IEnumerable} that contains the elements of
+     *         <code>source</code> and enumerates it at most once.
      */
-    public static <TResult> IEnumerable<TResult> ofType(Iterable<?> source, Class<TResult> type)
+    public static <TSource> IEnumerable<TSource> memoize(Iterable<TSource> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-        if (type == null)
+
+        if (source instanceof MemoizedEnumerable<?>)
         {
-            throw new IllegalArgumentException("type is null.");
+            return (MemoizedEnumerable<TSource>) source;
         }
 
-        return new EnumerableAdapter<>(() -> new OfTypeIterator<>(source, type));
+        return new MemoizedEnumerable<>(source, false);
     }
 
-    private static class OfTypeIterator<TResult> extends SimpleIterator<TResult>
+    /**
+     * Creates a sequence that enumerates a source at most once and that can be
+     * enumerated from several threads at the same time. This behaves like
+     * {@link #memoize(Iterable)}, except that the source is advanced under a
+     * lock, so one thread pulls each element from the source while the
+     * others wait for it or read elements that are already buffered without
+     * locking.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            The sequence to buffer.
+     * @return An {@link IEnumerable} that contains the elements of
+     *         <code>source</code>, enumerates it at most once and can be
+     *         enumerated concurrently.
+     */
+    public static <TSource> IEnumerable<TSource> memoizeConcurrent(Iterable<TSource> source)
     {
-        public OfTypeIterator(Iterable<?> source, Class<TResult> type)
+        if (source == null)
         {
-            sourceIterator = source.iterator();
-            this.type = type;
+            throw new IllegalArgumentException("source is null.");
         }
 
-        private Iterator<?> sourceIterator;
-        private Class<TResult> type;
-
-        @Override
-        public boolean moveNext()
+        if (source instanceof MemoizedEnumerable<?> && ((MemoizedEnumerable<?>) source).threadSafe)
+        {
+            return (MemoizedEnumerable<TSource>) source;
+        }
+
+        return new MemoizedEnumerable<>(source, true);
+    }
+
+    private static class MemoizedEnumerable<TSource> implements IEnumerable<TSource>
+    {
+        public MemoizedEnumerable(Iterable<TSource> source, boolean threadSafe)
+        {
+            this.source = source;
+            this.threadSafe = threadSafe;
+        }
+
+        private final boolean threadSafe;
+
+        private Iterable<TSource> source;
+        private Iterator<TSource> sourceIterator;
+
+        /*
+         * Elements are published by writing them into the buffer before
+         * incrementing the count, both of which are volatile, so a reader that
+         * sees a count also sees every element below it without locking.
+         */
+        private volatile Object[] elements = new Object[8];
+        private volatile int count;
+        private volatile boolean isComplete;
+
+        @Override
+        public int tryGetCount()
+        {
+            if (isComplete)
+            {
+                return count;
+            }
+
+            Iterable<TSource> currentSource = source;
+            return (currentSource != null) ? Linq.tryGetCount(currentSource) : -1;
+        }
+
+        @Override
+        public Iterator<TSource> iterator()
+        {
+            return getEnumerator();
+        }
+
+        @Override
+        public IEnumerator<TSource> getEnumerator()
+        {
+            return new SimpleIterator<TSource>()
+            {
+                private int index;
+
+                @SuppressWarnings("unchecked")
+                @Override
+                public boolean moveNext()
+                {
+                    if (index < count || fill(index))
+                    {
+                        setCurrent((TSource) elements[index++]);
+                        return true;
+                    }
+
+                    return false;
+                }
+            };
+        }
+
+        /**
+         * Buffers elements from the source until the element at an index is
+         * buffered.
+         *
+         * @param index
+         *            The index of the element that is needed.
+         * @return <code>true</code> if the element is buffered;
+         *         <code>false</code> if the source has fewer elements.
+         */
+        private boolean fill(int index)
+        {
+            if (threadSafe)
+            {
+                synchronized (this)
+                {
+                    return fillUnsynchronized(index);
+                }
+            }
+
+            return fillUnsynchronized(index);
+        }
+
+        private boolean fillUnsynchronized(int index)
+        {
+            while (index >= count)
+            {
+                if (isComplete)
+                {
+                    return false;
+                }
+
+                if (sourceIterator == null)
+                {
+                    sourceIterator = source.iterator();
+                }
+
+                if (sourceIterator.hasNext() == false)
+                {
+                    // Release the source so that it can be collected.
+                    sourceIterator = null;
+                    source = null;
+                    isComplete = true;
+                    return false;
+                }
+
+                TSource element = sourceIterator.next();
+                Object[] buffer = elements;
+                if (count == buffer.length)
+                {
+                    buffer = Arrays.copyOf(buffer, count * 2);
+                }
+
+                buffer[count] = element;
+                elements = buffer;
+                count++;
+            }
+
+            return true;
+        }
+    }
+
+    // endregion
+
+    // region: Of Type
+
+    /**
+     * Filters the elements of an {@link Iterable} based on a specified type.
+     *
+     * @param <TResult>
+     *            The type on which to filter the elements of the sequence.
+     * @param source
+     *            The {@link Iterable} whose elements to filter.
+     * @param type
+     *            The type of elements to filter
+     * @return An {@link Iterable} that contains elements from the input
+     *         sequence of type <code>type</code>.
+     */
+    public static <TResult> IEnumerable<TResult> ofType(Iterable<?> source, Class<TResult> type)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (type == null)
+        {
+            throw new IllegalArgumentException("type is null.");
+        }
+
+        return new EnumerableAdapter<>(() -> new OfTypeIterator<>(source, type));
+    }
+
+    private static class OfTypeIterator<TResult> extends SimpleIterator<TResult>
+    {
+        public OfTypeIterator(Iterable<?> source, Class<TResult> type)
+        {
+            sourceIterator = source.iterator();
+            this.type = type;
+        }
+
+        private Iterator<?> sourceIterator;
+        private Class<TResult> type;
+
+        @Override
+        public boolean moveNext()
         {
             while (sourceIterator.hasNext())
             {
@@ -630,6 +1147,12 @@ public class Linq
 
     /**
      * Inverts the order of the elements in a sequence.
+     * <p>
+     * If <code>source</code> is a random access {@link List}, the result is a
+     * view of the list rather than a copy: each enumeration reads the elements
+     * that are in the list when it starts, through the iterator of the list,
+     * so a structural change during enumeration fails the same way as
+     * iterating the list directly.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
@@ -645,7 +1168,13 @@ public class Linq
             throw new IllegalArgumentException("source is null.");
         }
 
-        return new EnumerableAdapter<>(() -> new ReverseIterator<>(source));
+        List<TSource> list = asRandomAccessList(source);
+        if (list != null)
+        {
+            return new ReverseList<>(list);
+        }
+
+        return new EnumerableAdapter<>(() -> new ReverseIterator<>(source), () -> tryGetCount(source));
     }
 
     private static class ReverseIterator<TSource> extends SimpleIterator<TSource>
@@ -708,14 +1237,12 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        return new EnumerableAdapter<>(() -> new SelectEnumerator<TSource, TResult>(source)
+        if (source instanceof WhereSelectEnumerable<?, ?>)
         {
-            @Override
-            public TResult select(TSource item, int index)
-            {
-                return selector.apply(item);
-            }
-        });
+            return ((WhereSelectEnumerable<?, TSource>) source).fuseSelect(selector);
+        }
+
+        return new WhereSelectEnumerable<>(source, null, selector);
     }
 
     /**
@@ -754,7 +1281,7 @@ public class Linq
             {
                 return selector.apply(item, index);
             }
-        });
+        }, () -> tryGetCount(source));
     }
 
     private static abstract class SelectEnumerator<TSource, TResult> extends SimpleIterator<TResult>
@@ -784,29 +1311,21 @@ public class Linq
         public abstract TResult select(TSource item, int index);
     }
 
-    // endregion
-
-    // region: Select Many
-
     /**
-     * Projects each element of a sequence to an {@link IEnumerable} and
-     * flattens the resulting sequences into one sequence.
+     * Projects each element of a sequence into a <code>int</code> value without
+     * boxing the result.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
-     * @param <TResult>
-     *            The type of the elements of the sequence returned by
-     *            <code>selector</code>.
      * @param source
-     *            A sequence of values to project.
+     *            A sequence of values on which to invoke a transform function.
      * @param selector
      *            A transform function to apply to each element.
-     * @return An {@link IEnumerable} whose elements are the result of invoking
-     *         the one-to-many transform function on each element of the input
-     *         sequence.
+     * @return An {@link IIntEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of
+     *         <code>source</code>.
      */
-    public static <TSource, TResult> IEnumerable<TResult> selectMany(Iterable<TSource> source,
-        Function<TSource, Iterable<TResult>> selector)
+    public static <TSource> IIntEnumerable selectInt(Iterable<TSource> source, ToIntFunction<TSource> selector)
     {
         if (source == null)
         {
@@ -817,38 +1336,55 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        return new EnumerableAdapter<>(() -> new SelectManyEnumerator<TSource, TResult>(source)
+        return () -> new SelectIntEnumerator<>(source.iterator(), selector);
+    }
+
+    private static class SelectIntEnumerator<TSource> implements IIntEnumerator
+    {
+        public SelectIntEnumerator(Iterator<TSource> sourceIterator, ToIntFunction<TSource> selector)
         {
-            @Override
-            public Iterable<TResult> convert(TSource item, int index)
+            this.sourceIterator = sourceIterator;
+            this.selector = selector;
+        }
+
+        private final Iterator<TSource> sourceIterator;
+        private final ToIntFunction<TSource> selector;
+        private int current;
+
+        @Override
+        public int getCurrentInt()
+        {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            if (sourceIterator.hasNext())
             {
-                return selector.apply(item);
+                current = selector.applyAsInt(sourceIterator.next());
+                return true;
             }
-        });
+
+            return false;
+        }
     }
 
     /**
-     * Projects each element of a sequence to an {@link IEnumerable}, and
-     * flattens the resulting sequences into one sequence. The index of each
-     * source element is used in the projected form of that element.
+     * Projects each element of a sequence into a <code>long</code> value without
+     * boxing the result.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
-     * @param <TResult>
-     *            The type of the elements of the sequence returned by
-     *            <code>selector</code>.
      * @param source
-     *            A sequence of values to project.
+     *            A sequence of values on which to invoke a transform function.
      * @param selector
-     *            A transform function to apply to each source element; the
-     *            second parameter of the function represents the index of the
-     *            source element.
-     * @return An {@link IEnumerable} whose elements are the result of invoking
-     *         the one-to-many transform function on each element of an input
-     *         sequence.
+     *            A transform function to apply to each element.
+     * @return An {@link ILongEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of
+     *         <code>source</code>.
      */
-    public static <TSource, TResult> IEnumerable<TResult> selectMany(Iterable<TSource> source,
-        BiFunction<TSource, Integer, Iterable<TResult>> selector)
+    public static <TSource> ILongEnumerable selectLong(Iterable<TSource> source, ToLongFunction<TSource> selector)
     {
         if (source == null)
         {
@@ -859,91 +1395,281 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        return new EnumerableAdapter<>(() -> new SelectManyEnumerator<TSource, TResult>(source)
-        {
-            @Override
-            public Iterable<TResult> convert(TSource item, int index)
-            {
-                return selector.apply(item, index);
-            }
-        });
+        return () -> new SelectLongEnumerator<>(source.iterator(), selector);
     }
 
-    private static abstract class SelectManyEnumerator<TSource, TResult> extends SimpleIterator<TResult>
+    private static class SelectLongEnumerator<TSource> implements ILongEnumerator
     {
-        public SelectManyEnumerator(Iterable<TSource> source)
+        public SelectLongEnumerator(Iterator<TSource> sourceIterator, ToLongFunction<TSource> selector)
         {
-            sourceIterator = source.iterator();
+            this.sourceIterator = sourceIterator;
+            this.selector = selector;
         }
 
-        private Iterator<TSource> sourceIterator;
-        private Iterator<TResult> currentIterator;
-        private int sourceIndex;
+        private final Iterator<TSource> sourceIterator;
+        private final ToLongFunction<TSource> selector;
+        private long current;
+
+        @Override
+        public long getCurrentLong()
+        {
+            return current;
+        }
 
         @Override
         public boolean moveNext()
         {
-            while (currentIterator == null || currentIterator.hasNext() == false)
+            if (sourceIterator.hasNext())
             {
-                if (sourceIterator.hasNext())
-                {
-                    TSource input = sourceIterator.next();
-                    currentIterator = convert(input, sourceIndex++).iterator();
-                }
-                else
-                {
-                    return false;
-                }
+                current = selector.applyAsLong(sourceIterator.next());
+                return true;
             }
 
-            setCurrent(currentIterator.next());
-            return true;
+            return false;
         }
-
-        public abstract Iterable<TResult> convert(TSource item, int index);
     }
 
-    // endregion
-
-    // region: Skip
-
     /**
-     * Bypasses a specified number of elements in a sequence and then returns
-     * the remaining elements.
+     * Projects each element of a sequence into a <code>double</code> value without
+     * boxing the result.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            An {@link Iterable} from which to return elements.
-     * @param count
-     *            The number of elements to skip before returning the remaining
-     *            elements.
-     * @return An {@link IEnumerable} that contains the elements that occur
-     *         after the specified index in the input sequence.
+     *            A sequence of values on which to invoke a transform function.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IDoubleEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of
+     *         <code>source</code>.
      */
-    public static <TSource> IEnumerable<TSource> skip(Iterable<TSource> source, int count)
+    public static <TSource> IDoubleEnumerable selectDouble(Iterable<TSource> source, ToDoubleFunction<TSource> selector)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-
-        return new EnumerableAdapter<>(() -> new SkipWhileEnumerator<TSource>(source)
+        if (selector == null)
         {
-            @Override
-            public boolean skip(TSource item, int index)
-            {
-                return index < count;
-            }
-        });
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return () -> new SelectDoubleEnumerator<>(source.iterator(), selector);
     }
 
-    /**
-     * Bypasses elements in a sequence as long as a specified condition is true
-     * and then returns the remaining elements.
-     *
-     * @param <TSource>
-     *            The type of the elements of <code>source</code>.
+    private static class SelectDoubleEnumerator<TSource> implements IDoubleEnumerator
+    {
+        public SelectDoubleEnumerator(Iterator<TSource> sourceIterator, ToDoubleFunction<TSource> selector)
+        {
+            this.sourceIterator = sourceIterator;
+            this.selector = selector;
+        }
+
+        private final Iterator<TSource> sourceIterator;
+        private final ToDoubleFunction<TSource> selector;
+        private double current;
+
+        @Override
+        public double getCurrentDouble()
+        {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            if (sourceIterator.hasNext())
+            {
+                current = selector.applyAsDouble(sourceIterator.next());
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    // endregion
+
+    // region: Select Many
+
+    /**
+     * Projects each element of a sequence to an {@link IEnumerable} and
+     * flattens the resulting sequences into one sequence.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TResult>
+     *            The type of the elements of the sequence returned by
+     *            <code>selector</code>.
+     * @param source
+     *            A sequence of values to project.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IEnumerable} whose elements are the result of invoking
+     *         the one-to-many transform function on each element of the input
+     *         sequence.
+     */
+    public static <TSource, TResult> IEnumerable<TResult> selectMany(Iterable<TSource> source,
+        Function<TSource, Iterable<TResult>> selector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return new EnumerableAdapter<>(() -> new SelectManyEnumerator<TSource, TResult>(source)
+        {
+            @Override
+            public Iterable<TResult> convert(TSource item, int index)
+            {
+                return selector.apply(item);
+            }
+        });
+    }
+
+    /**
+     * Projects each element of a sequence to an {@link IEnumerable}, and
+     * flattens the resulting sequences into one sequence. The index of each
+     * source element is used in the projected form of that element.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TResult>
+     *            The type of the elements of the sequence returned by
+     *            <code>selector</code>.
+     * @param source
+     *            A sequence of values to project.
+     * @param selector
+     *            A transform function to apply to each source element; the
+     *            second parameter of the function represents the index of the
+     *            source element.
+     * @return An {@link IEnumerable} whose elements are the result of invoking
+     *         the one-to-many transform function on each element of an input
+     *         sequence.
+     */
+    public static <TSource, TResult> IEnumerable<TResult> selectMany(Iterable<TSource> source,
+        BiFunction<TSource, Integer, Iterable<TResult>> selector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return new EnumerableAdapter<>(() -> new SelectManyEnumerator<TSource, TResult>(source)
+        {
+            @Override
+            public Iterable<TResult> convert(TSource item, int index)
+            {
+                return selector.apply(item, index);
+            }
+        });
+    }
+
+    private static abstract class SelectManyEnumerator<TSource, TResult> extends SimpleIterator<TResult>
+    {
+        public SelectManyEnumerator(Iterable<TSource> source)
+        {
+            sourceIterator = source.iterator();
+        }
+
+        private Iterator<TSource> sourceIterator;
+        private Iterator<TResult> currentIterator;
+        private int sourceIndex;
+
+        @Override
+        public boolean moveNext()
+        {
+            while (currentIterator == null || currentIterator.hasNext() == false)
+            {
+                if (sourceIterator.hasNext())
+                {
+                    TSource input = sourceIterator.next();
+                    currentIterator = convert(input, sourceIndex++).iterator();
+                }
+                else
+                {
+                    return false;
+                }
+            }
+
+            setCurrent(currentIterator.next());
+            return true;
+        }
+
+        public abstract Iterable<TResult> convert(TSource item, int index);
+    }
+
+    // endregion
+
+    // region: Skip
+
+    /**
+     * Bypasses a specified number of elements in a sequence and then returns
+     * the remaining elements.
+     * <p>
+     * If <code>source</code> is a random access {@link List}, the result is a
+     * view of the list: each enumeration covers the elements in range when it
+     * starts, and reads them through the iterator of the list, so a structural
+     * change during enumeration fails the same way as iterating the list
+     * directly.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            An {@link Iterable} from which to return elements.
+     * @param count
+     *            The number of elements to skip before returning the remaining
+     *            elements.
+     * @return An {@link IEnumerable} that contains the elements that occur
+     *         after the specified index in the input sequence.
+     */
+    public static <TSource> IEnumerable<TSource> skip(Iterable<TSource> source, int count)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        OrderedPartition<TSource> orderedSource = OrderedPartition.from(source);
+        if (orderedSource != null)
+        {
+            return orderedSource.skip(count);
+        }
+
+        List<TSource> list = asRandomAccessList(source);
+        if (list != null)
+        {
+            return ListPartition.skip(list, count);
+        }
+
+        return new EnumerableAdapter<>(() -> new SkipWhileEnumerator<TSource>(source)
+        {
+            @Override
+            public boolean skip(TSource item, int index)
+            {
+                return index < count;
+            }
+        }, () ->
+        {
+            int sourceCount = tryGetCount(source);
+            return (sourceCount < 0) ? -1 : Math.max(sourceCount - Math.max(count, 0), 0);
+        });
+    }
+
+    /**
+     * Bypasses elements in a sequence as long as a specified condition is true
+     * and then returns the remaining elements.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
      * @param source
      *            An {@link Iterable} from which to return elements.
      * @param predicate
@@ -1061,6 +1787,9 @@ public class Linq
     /**
      * Returns a specified number of contiguous elements from the start of a
      * sequence.
+     * <p>
+     * If <code>source</code> is a random access {@link List}, the result is a
+     * view of the list, as described for {@link #skip(Iterable, int)}.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
@@ -1078,6 +1807,18 @@ public class Linq
             throw new IllegalArgumentException("source is null.");
         }
 
+        OrderedPartition<TSource> orderedSource = OrderedPartition.from(source);
+        if (orderedSource != null)
+        {
+            return orderedSource.take(count);
+        }
+
+        List<TSource> list = asRandomAccessList(source);
+        if (list != null)
+        {
+            return ListPartition.take(list, count);
+        }
+
         return new EnumerableAdapter<>(() -> new TakeWhileEnumerator<TSource>(source)
         {
             @Override
@@ -1085,6 +1826,10 @@ public class Linq
             {
                 return index < count;
             }
+        }, () ->
+        {
+            int sourceCount = tryGetCount(source);
+            return (sourceCount < 0) ? -1 : Math.min(sourceCount, Math.max(count, 0));
         });
     }
 
@@ -1224,21 +1969,56 @@ public class Linq
             throw new IllegalArgumentException("second is null.");
         }
 
-        return new EnumerableAdapter<>(() -> new UnionIterator<>(first, second));
+        return new EnumerableAdapter<>(() -> new UnionIterator<>(first, second, null));
+    }
+
+    /**
+     * Produces the set union of two sequences by using a specified
+     * {@link IEqualityComparer}.
+     *
+     * @param <TSource>
+     *            The type of the elements of the input sequences.
+     * @param first
+     *            An {@link Iterable} whose distinct elements form the first set
+     *            for the union.
+     * @param second
+     *            An {@link Iterable} whose distinct elements form the second
+     *            set for the union.
+     * @param comparer
+     *            An {@link IEqualityComparer} to compare values, or
+     *            <code>null</code> to use {@link Object#equals(Object)} and
+     *            {@link Object#hashCode()}.
+     * @return An {@link IEnumerable} that contains the elements from both input
+     *         sequences, excluding duplicates.
+     */
+    public static <TSource> IEnumerable<TSource> union(Iterable<TSource> first, Iterable<TSource> second,
+        IEqualityComparer<TSource> comparer)
+    {
+        if (first == null)
+        {
+            throw new IllegalArgumentException("first is null.");
+        }
+        if (second == null)
+        {
+            throw new IllegalArgumentException("second is null.");
+        }
+
+        return new EnumerableAdapter<>(() -> new UnionIterator<>(first, second, comparer));
     }
 
     private static class UnionIterator<TSource> extends SimpleIterator<TSource>
     {
-        public UnionIterator(Iterable<TSource> first, Iterable<TSource> second)
+        public UnionIterator(Iterable<TSource> first, Iterable<TSource> second, IEqualityComparer<TSource> comparer)
         {
             firstIterator = first.iterator();
             secondIterator = second.iterator();
+            set = new CompactSet<>(comparer);
         }
 
         private Iterator<TSource> firstIterator;
         private Iterator<TSource> secondIterator;
 
-        private HashSet<TSource> set = new HashSet<TSource>();
+        private final CompactSet<TSource> set;
 
         @Override
         public boolean moveNext()
@@ -1294,14 +2074,16 @@ public class Linq
             throw new IllegalArgumentException("predicate is null.");
         }
 
-        return new EnumerableAdapter<>(() -> new WhereEnumerator<TSource>(source.iterator())
+        if (source instanceof WhereSelectEnumerable<?, ?>)
         {
-            @Override
-            public boolean include(TSource item, int index)
+            IEnumerable<TSource> fused = ((WhereSelectEnumerable<?, TSource>) source).fuseWhere(predicate);
+            if (fused != null)
             {
-                return predicate.apply(item);
+                return fused;
             }
-        });
+        }
+
+        return new WhereSelectEnumerable<TSource, TSource>(source, predicate, null);
     }
 
     /**
@@ -1370,36 +2152,186 @@ public class Linq
         public abstract boolean include(T item, int index);
     }
 
-    // endregion
-
-    // region: Zip
-
     /**
-     * Applies a specified function to the corresponding elements of two
-     * sequences, producing a sequence of the results.
+     * Represents a filter followed by a projection over a source sequence.
+     * Consecutive calls to <code>where</code> and <code>select</code> are
+     * fused into a single instance with a combined predicate and selector, so
+     * that each element passes through one iterator no matter how many
+     * operators were chained. A <code>where</code> after a projection starts
+     * a new instance, since the predicate must see the projected element.
      *
-     * @param <TFirst>
-     *            The type of the elements of the first input sequence.
-     * @param <TSecond>
-     *            The type of the elements of the second input sequence.
+     * @param <TSource>
+     *            The type of the elements of the source sequence.
      * @param <TResult>
-     *            The type of the elements of the result sequence.
-     * @param first
-     *            The first sequence to merge.
-     * @param second
-     *            The second sequence to merge.
-     * @param resultSelector
-     *            A function that specifies how to merge the elements from the
-     *            two sequences.
-     * @return An {@link IEnumerable} that contains merged elements of two input
-     *         sequences.
+     *            The type of the elements after projection.
      */
-    public static <TFirst, TSecond, TResult> IEnumerable<TResult> zip(Iterable<TFirst> first, Iterable<TSecond> second,
-        BiFunction<TFirst, TSecond, TResult> resultSelector)
-    {
-        if (first == null)
+    private static class WhereSelectEnumerable<TSource, TResult> implements IEnumerable<TResult>
+    {
+        /**
+         * Initializes a new instance.
+         *
+         * @param source
+         *            The source sequence.
+         * @param predicate
+         *            The filter, or <code>null</code> to include every
+         *            element.
+         * @param selector
+         *            The projection, or <code>null</code> if
+         *            <code>TSource</code> and <code>TResult</code> are the
+         *            same and elements are not projected.
+         */
+        public WhereSelectEnumerable(Iterable<TSource> source,
+            Function<TSource, Boolean> predicate,
+            Function<TSource, TResult> selector)
         {
-            throw new IllegalArgumentException("first is null.");
+            this.source = source;
+            this.predicate = predicate;
+            this.selector = selector;
+        }
+
+        private final Iterable<TSource> source;
+        private final Function<TSource, Boolean> predicate;
+        private final Function<TSource, TResult> selector;
+
+        @SuppressWarnings("unchecked")
+        public IEnumerable<TResult> fuseWhere(Function<TResult, Boolean> nextPredicate)
+        {
+            if (selector != null)
+            {
+                return null;
+            }
+
+            // Without a selector, TSource and TResult are the same type.
+            Function<TSource, Boolean> second = (Function<TSource, Boolean>) (Function<?, Boolean>) nextPredicate;
+            Function<TSource, Boolean> first = predicate;
+            Function<TSource, Boolean> combined = (first == null)
+                ? second
+                : item -> first.apply(item) && second.apply(item);
+            return new WhereSelectEnumerable<>(source, combined, null);
+        }
+
+        @SuppressWarnings("unchecked")
+        public <TNext> IEnumerable<TNext> fuseSelect(Function<TResult, TNext> nextSelector)
+        {
+            Function<TSource, TNext> combined = (selector == null)
+                ? (Function<TSource, TNext>) (Function<?, TNext>) nextSelector
+                : selector.andThen(nextSelector);
+            return new WhereSelectEnumerable<>(source, predicate, combined);
+        }
+
+        @Override
+        public int tryGetCount()
+        {
+            return (predicate == null) ? Linq.tryGetCount(source) : -1;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void forEach(Consumer<? super TResult> action)
+        {
+            if (action == null)
+            {
+                throw new IllegalArgumentException("action is null.");
+            }
+
+            source.forEach(item ->
+            {
+                if (predicate == null || predicate.apply(item))
+                {
+                    action.accept((selector == null) ? (TResult) item : selector.apply(item));
+                }
+            });
+        }
+
+        @Override
+        public Iterator<TResult> iterator()
+        {
+            return getEnumerator();
+        }
+
+        @Override
+        public IEnumerator<TResult> getEnumerator()
+        {
+            List<TSource> list = asRandomAccessList(source);
+            if (list != null)
+            {
+                int size = list.size();
+                return new SimpleIterator<TResult>()
+                {
+                    private int index;
+
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    public boolean moveNext()
+                    {
+                        while (index < size)
+                        {
+                            TSource item = list.get(index++);
+                            if (predicate == null || predicate.apply(item))
+                            {
+                                setCurrent((selector == null) ? (TResult) item : selector.apply(item));
+                                return true;
+                            }
+                        }
+
+                        return false;
+                    }
+                };
+            }
+
+            Iterator<TSource> sourceIterator = source.iterator();
+            return new SimpleIterator<TResult>()
+            {
+                @SuppressWarnings("unchecked")
+                @Override
+                public boolean moveNext()
+                {
+                    while (sourceIterator.hasNext())
+                    {
+                        TSource item = sourceIterator.next();
+                        if (predicate == null || predicate.apply(item))
+                        {
+                            setCurrent((selector == null) ? (TResult) item : selector.apply(item));
+                            return true;
+                        }
+                    }
+
+                    return false;
+                }
+            };
+        }
+    }
+
+    // endregion
+
+    // region: Zip
+
+    /**
+     * Applies a specified function to the corresponding elements of two
+     * sequences, producing a sequence of the results.
+     *
+     * @param <TFirst>
+     *            The type of the elements of the first input sequence.
+     * @param <TSecond>
+     *            The type of the elements of the second input sequence.
+     * @param <TResult>
+     *            The type of the elements of the result sequence.
+     * @param first
+     *            The first sequence to merge.
+     * @param second
+     *            The second sequence to merge.
+     * @param resultSelector
+     *            A function that specifies how to merge the elements from the
+     *            two sequences.
+     * @return An {@link IEnumerable} that contains merged elements of two input
+     *         sequences.
+     */
+    public static <TFirst, TSecond, TResult> IEnumerable<TResult> zip(Iterable<TFirst> first, Iterable<TSecond> second,
+        BiFunction<TFirst, TSecond, TResult> resultSelector)
+    {
+        if (first == null)
+        {
+            throw new IllegalArgumentException("first is null.");
         }
         if (second == null)
         {
@@ -1417,6 +2349,11 @@ public class Linq
             {
                 return resultSelector.apply(first, second);
             }
+        }, () ->
+        {
+            int firstCount = tryGetCount(first);
+            int secondCount = tryGetCount(second);
+            return (firstCount < 0 || secondCount < 0) ? -1 : Math.min(firstCount, secondCount);
         });
     }
 
@@ -1448,469 +2385,341 @@ public class Linq
 
     // endregion
 
-    // endregion
-
-    // region: Sorting
-
-    // region: Order By
+    // region: Random Access Views
 
     /**
-     * Sorts the elements of a sequence in ascending order according to a key.
+     * Gets a random access {@link List} over the elements of a source without
+     * copying them, if the source supports indexing.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
-     * @param <TKey>
-     *            The type of the key returned by <code>keySelector</code>.
      * @param source
-     *            A sequence of values to order.
-     * @param keySelector
-     *            A function to extract a key from an element.
-     * @param keyType
-     *            The type of the key that will be compared while ordering.
-     * @return An {@link IOrderedEnumerable} whose elements are sorted according
-     *         to a key.
+     *            The source sequence.
+     * @return A {@link List} that implements {@link RandomAccess} and reads
+     *         through to <code>source</code>, or <code>null</code> if
+     *         <code>source</code> cannot be indexed.
      */
-    public static <TSource, TKey> IOrderedEnumerable<TSource> orderBy(Iterable<TSource> source,
-        Function<TSource, TKey> keySelector, Class<TKey> keyType)
+    static <TSource> List<TSource> asRandomAccessList(Iterable<TSource> source)
     {
-        return new KeyedOrderedEnumerable<TSource, TKey>(source, keySelector, keyType, null, false);
-    }
+        if (source instanceof EnumerableAdapter<?>)
+        {
+            Iterable<TSource> adaptedSource = ((EnumerableAdapter<TSource>) source).getSource();
+            if (adaptedSource != null)
+            {
+                source = adaptedSource;
+            }
+        }
 
-    /**
-     * Sorts the elements of a sequence in ascending order by using a specified
-     * comparer.
-     *
-     * @param <TSource>
-     *            The type of the elements of <code>source</code>.
-     * @param <TKey>
-     *            The type of the key returned by <code>keySelector</code>.
-     * @param source
-     *            A sequence of values to order.
-     * @param keySelector
-     *            A function to extract a key from an element.
-     * @param keyType
-     *            The type of the key that will be compared while ordering.
-     * @param comparer
-     *            A {@link Comparator} to compare keys.
-     * @return An {@link IOrderedEnumerable} whose elements are sorted according
-     *         to a key.
-     */
-    public static <TSource, TKey> IOrderedEnumerable<TSource> orderBy(Iterable<TSource> source,
-        Function<TSource, TKey> keySelector, Class<TKey> keyType, Comparator<TKey> comparer)
-    {
-        return new KeyedOrderedEnumerable<TSource, TKey>(source, keySelector, keyType, comparer, false);
+        if (source instanceof List<?> && source instanceof RandomAccess)
+        {
+            return (List<TSource>) source;
+        }
+
+        if (source instanceof EnumerableArray<?>)
+        {
+            return Arrays.asList(((EnumerableArray<TSource>) source).getSource());
+        }
+
+        return null;
     }
 
     /**
-     * Sorts the elements of a sequence in descending order according to a key.
+     * Creates a {@link Spliterator} over a sequence. Sources that can be
+     * indexed are split evenly in half; other sources are split in growing
+     * batches by {@link Spliterators}, and report their size when
+     * {@link #tryGetCount(Iterable)} knows it.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
-     * @param <TKey>
-     *            The type of the key returned by <code>keySelector</code>.
      * @param source
-     *            A sequence of values to order.
-     * @param keySelector
-     *            A function to extract a key from an element.
-     * @param keyType
-     *            The type of the key that will be compared while ordering.
-     * @return An {@link IOrderedEnumerable} whose elements are sorted in
-     *         descending order according to a key.
+     *            The source sequence.
+     * @param characteristics
+     *            The characteristics of the elements of <code>source</code>.
+     * @return A {@link Spliterator} over the elements of <code>source</code>.
      */
-    public static <TSource, TKey> IOrderedEnumerable<TSource> orderByDescending(Iterable<TSource> source,
-        Function<TSource, TKey> keySelector, Class<TKey> keyType)
+    static <TSource> Spliterator<TSource> spliterator(Iterable<TSource> source, int characteristics)
     {
-        return new KeyedOrderedEnumerable<TSource, TKey>(source, keySelector, keyType, null, true);
+        List<TSource> list = asRandomAccessList(source);
+        if (list != null)
+        {
+            return new ListSpliterator<>(list, characteristics);
+        }
+
+        int knownCount = tryGetCount(source);
+        if (knownCount >= 0)
+        {
+            return Spliterators.spliterator(source.iterator(), knownCount, characteristics);
+        }
+
+        return Spliterators.spliteratorUnknownSize(source.iterator(), characteristics);
     }
 
     /**
-     * Sorts the elements of a sequence in descending order by using a specified
-     * comparer.
-     *
-     * @param <TSource>
-     *            The type of the elements of <code>source</code>.
-     * @param <TKey>
-     *            The type of the key returned by <code>keySelector</code>.
-     * @param source
-     *            A sequence of values to order.
-     * @param keySelector
-     *            A function to extract a key from an element.
-     * @param keyType
-     *            The type of the key that will be compared while ordering.
-     * @param comparer
-     *            A {@link Comparator} to compare keys.
-     * @return An {@link IOrderedEnumerable} whose elements are sorted in
-     *         descending order according to a key.
+     * A view of a range of a random access list, used by <code>skip</code>
+     * and <code>take</code>. The range is clipped to the current size of the
+     * list whenever it is read; an enumerator keeps the range it saw when it
+     * was created and reads it with a list iterator, so it fails fast on
+     * structural changes like the list itself. Equality is identity, as for
+     * the other sequences returned by queries.
      */
-    public static <TSource, TKey> IOrderedEnumerable<TSource> orderByDescending(Iterable<TSource> source,
-        Function<TSource, TKey> keySelector, Class<TKey> keyType, Comparator<TKey> comparer)
+    @SuppressWarnings("unchecked")
+    private static class ListPartition<T> extends AbstractList<T> implements IEnumerable<T>, RandomAccess
     {
-        return new KeyedOrderedEnumerable<TSource, TKey>(source, keySelector, keyType, comparer, true);
-    }
+        public static <T> ListPartition<T> skip(List<T> source, int count)
+        {
+            int skipped = Math.max(count, 0);
+            if (source instanceof ListPartition<?>)
+            {
+                ListPartition<T> partition = (ListPartition<T>) source;
+                int start = (int) Math.min((long) partition.start + skipped, Integer.MAX_VALUE);
+                int maxCount = Math.max(partition.maxCount - skipped, 0);
+                return new ListPartition<>(partition.source, start, maxCount);
+            }
 
-    // endregion
+            return new ListPartition<>(source, skipped, Integer.MAX_VALUE);
+        }
 
-    // region: Then By
+        public static <T> ListPartition<T> take(List<T> source, int count)
+        {
+            int taken = Math.max(count, 0);
+            if (source instanceof ListPartition<?>)
+            {
+                ListPartition<T> partition = (ListPartition<T>) source;
+                return new ListPartition<>(partition.source, partition.start, Math.min(partition.maxCount, taken));
+            }
 
-    /**
-     * Performs a subsequent ordering of the elements in a sequence in ascending
-     * order according to a key.
-     *
-     * @param <TSource>
-     *            The type of the elements of <code>source</code>.
-     * @param <TKey>
-     *            The type of the key returned by <code>keySelector</code>.
-     * @param source
-     *            An {@link IOrderedEnumerable} that contains elements to sort.
-     * @param keySelector
-     *            A function to extract a key from each element.
-     * @param keyType
-     *            The type of the key that will be compared while ordering.
-     * @return An {@link IOrderedEnumerable} whose elements are sorted according
-     *         to a key.
-     */
-    public static <TSource, TKey> IOrderedEnumerable<TSource> thenBy(IOrderedEnumerable<TSource> source,
-        Function<TSource, TKey> keySelector, Class<TKey> keyType)
-    {
-        if (source == null)
+            return new ListPartition<>(source, 0, taken);
+        }
+
+        private ListPartition(List<T> source, int start, int maxCount)
         {
-            throw new IllegalArgumentException("source is null.");
+            this.source = source;
+            this.start = start;
+            this.maxCount = maxCount;
         }
 
-        return source.createOrderedEnumerable(keySelector, keyType, null, false);
-    }
+        private final List<T> source;
+        private final int start;
+        private final int maxCount;
 
-    /**
-     * Performs a subsequent ordering of the elements in a sequence in ascending
-     * order by using a specified comparer.
-     *
-     * @param <TSource>
-     *            The type of the elements of <code>source</code>.
-     * @param <TKey>
-     *            The type of the key returned by <code>keySelector</code>.
-     * @param source
-     *            An {@link IOrderedEnumerable} that contains elements to sort.
-     * @param keySelector
-     *            A function to extract a key from each element.
-     * @param keyType
-     *            The type of the key that will be compared while ordering.
-     * @param comparer
-     *            A {@link Comparator} to compare keys.
-     * @return An {@link IOrderedEnumerable} whose elements are sorted according
-     *         to a key.
-     */
-    public static <TSource, TKey> IOrderedEnumerable<TSource> thenBy(IOrderedEnumerable<TSource> source,
-        Function<TSource, TKey> keySelector, Class<TKey> keyType, Comparator<TKey> comparer)
-    {
-        if (source == null)
+        @Override
+        public int size()
         {
-            throw new IllegalArgumentException("source is null.");
+            return Math.max(Math.min(source.size() - start, maxCount), 0);
         }
 
-        return source.createOrderedEnumerable(keySelector, keyType, comparer, false);
-    }
+        @Override
+        public T get(int index)
+        {
+            if (index < 0 || index >= size())
+            {
+                throw new IndexOutOfBoundsException("index is out of range.");
+            }
 
-    /**
-     * Performs a subsequent ordering of the elements in a sequence in
-     * descending order, according to a key.
-     *
-     * @param <TSource>
-     *            The type of the elements of <code>source</code>.
-     * @param <TKey>
-     *            The type of the key returned by <code>keySelector</code>.
-     * @param source
-     *            An {@link IOrderedEnumerable} that contains elements to sort.
-     * @param keySelector
-     *            A function to extract a key from each element.
-     * @param keyType
-     *            The type of the key that will be compared while ordering.
-     * @return An {@link IOrderedEnumerable} whose elements are sorted in
-     *         descending order according to a key.
-     */
-    public static <TSource, TKey> IOrderedEnumerable<TSource> thenByDescending(IOrderedEnumerable<TSource> source,
-        Function<TSource, TKey> keySelector, Class<TKey> keyType)
-    {
-        if (source == null)
-        {
-            throw new IllegalArgumentException("source is null.");
+            return source.get(start + index);
         }
 
-        return source.createOrderedEnumerable(keySelector, keyType, null, true);
-    }
-
-    /**
-     * Performs a subsequent ordering of the elements in a sequence in
-     * descending order by using a specified comparer.
-     *
-     * @param <TSource>
-     *            The type of the elements of <code>source</code>.
-     * @param <TKey>
-     *            The type of the key returned by <code>keySelector</code>.
-     * @param source
-     *            An {@link IOrderedEnumerable} that contains elements to sort.
-     * @param keySelector
-     *            A function to extract a key from each element.
-     * @param keyType
-     *            The type of the key that will be compared while ordering.
-     * @param comparer
-     *            A {@link Comparator} to compare keys.
-     * @return An {@link IOrderedEnumerable} whose elements are sorted in
-     *         descending order according to a key.
-     */
-    public static <TSource, TKey> IOrderedEnumerable<TSource> thenByDescending(IOrderedEnumerable<TSource> source,
-        Function<TSource, TKey> keySelector, Class<TKey> keyType, Comparator<TKey> comparer)
-    {
-        if (source == null)
+        @Override
+        public Iterator<T> iterator()
         {
-            throw new IllegalArgumentException("source is null");
+            return getEnumerator();
         }
 
-        return source.createOrderedEnumerable(keySelector, keyType, comparer, true);
-    }
+        @Override
+        public IEnumerator<T> getEnumerator()
+        {
+            int count = size();
+            if (count == 0)
+            {
+                return new EmptyEnumerator<T>();
+            }
 
-    // endregion
+            ListIterator<T> iterator = source.listIterator(start);
+            return new SimpleIterator<T>()
+            {
+                private int remaining = count;
 
-    // region: Ordered Enumerable Class
+                @Override
+                public boolean moveNext()
+                {
+                    if (remaining > 0)
+                    {
+                        remaining--;
+                        setCurrent(iterator.next());
+                        return true;
+                    }
 
-    // Reference:
-    // http://referencesource.microsoft.com/#System.Core/System/Linq/Enumerable.cs,ffb8de6aefac77cc,references
-    // (5/26/2017)
+                    return false;
+                }
+            };
+        }
 
-    private static abstract class OrderedEnumerable<TElement> implements IOrderedEnumerable<TElement>
-    {
-        public OrderedEnumerable(Iterable<TElement> source)
+        @Override
+        public void forEach(Consumer<? super T> action)
         {
-            if (source == null)
+            if (action == null)
             {
-                throw new IllegalArgumentException("source is null.");
+                throw new IllegalArgumentException("action is null.");
             }
 
-            this.source = source;
+            int count = size();
+            if (count > 0)
+            {
+                ListIterator<T> iterator = source.listIterator(start);
+                for (int index = 0; index < count; index++)
+                {
+                    action.accept(iterator.next());
+                }
+            }
         }
 
-        private final Iterable<TElement> source;
-
         @Override
-        public Iterator<TElement> iterator()
+        public boolean equals(Object obj)
         {
-            return getEnumerator();
+            return this == obj;
         }
 
         @Override
-        public IEnumerator<TElement> getEnumerator()
+        public int hashCode()
         {
-            ArrayList<TElement> items = Linq.toArrayList(source);
-            int itemCount = items.size();
-            if (itemCount > 0)
-            {
-                EnumerableSorter<TElement> sorter = getEnumerableSorter(null);
-                int[] map = sorter.sort(items, itemCount);
-                sorter = null;
-
-                return new SimpleIterator<TElement>()
-                {
-                    private int index;
-
-                    @Override
-                    public boolean moveNext()
-                    {
-                        if (index < itemCount)
-                        {
-                            TElement element = items.get(map[index++]);
-
-                            setCurrent(element);
-                            return true;
-                        }
-
-                        return false;
-                    }
-                };
-            }
+            return System.identityHashCode(this);
+        }
 
-            return new EmptyEnumerator<TElement>();
+        @Override
+        public Spliterator<T> spliterator()
+        {
+            return Linq.spliterator(this, Spliterator.ORDERED);
         }
 
-        public abstract EnumerableSorter<TElement> getEnumerableSorter(EnumerableSorter<TElement> next);
+        @Override
+        public Stream<T> stream()
+        {
+            return IEnumerable.super.stream();
+        }
 
         @Override
-        public <TKey> IOrderedEnumerable<TElement> createOrderedEnumerable(Function<TElement, TKey> keySelector,
-            Class<TKey> keyType, Comparator<TKey> comparer, boolean descending)
+        public Stream<T> parallelStream()
         {
-            KeyedOrderedEnumerable<TElement, TKey> result
-                = new KeyedOrderedEnumerable<>(source, keySelector, keyType, comparer, descending);
+            return IEnumerable.super.parallelStream();
+        }
 
-            result.parent = this;
-            return result;
+        @Override
+        public T[] toArray(Object[] array)
+        {
+            return (T[]) super.toArray(array);
         }
     }
 
-    private static class KeyedOrderedEnumerable<TElement, TKey> extends OrderedEnumerable<TElement>
+    /**
+     * A view of a random access list in reverse order, used by
+     * <code>reverse</code>. An enumerator walks a list iterator backwards from
+     * the last element present when it was created, so it fails fast on
+     * structural changes like the list itself. Equality is identity, as for
+     * the other sequences returned by queries.
+     */
+    @SuppressWarnings("unchecked")
+    private static class ReverseList<T> extends AbstractList<T> implements IEnumerable<T>, RandomAccess
     {
-        public KeyedOrderedEnumerable(Iterable<TElement> source, Function<TElement, TKey> keySelector,
-            Class<TKey> keyType, Comparator<TKey> comparer, boolean descending)
+        public ReverseList(List<T> source)
         {
-            super(source);
-
-            if (keySelector == null)
-            {
-                throw new IllegalArgumentException("keySelector is null.");
-            }
-
-            this.parent = null;
-            this.keySelector = keySelector;
-            this.descending = descending;
-
-            if (comparer == null)
-            {
-                if (keyType == null)
-                {
-                    throw new IllegalArgumentException("keyType is null.");
-                }
-
-                comparer = DefaultComparator.getDefault(keyType);
-            }
-
-            this.comparer = comparer;
+            this.source = source;
         }
 
-        private OrderedEnumerable<TElement> parent;
-        private final Function<TElement, TKey> keySelector;
-        private final Comparator<TKey> comparer;
-        private final boolean descending;
+        private final List<T> source;
 
         @Override
-        public EnumerableSorter<TElement> getEnumerableSorter(EnumerableSorter<TElement> next)
+        public int size()
         {
-            EnumerableSorter<TElement> sorter
-                = new KeyedEnumerableSorter<TElement, TKey>(keySelector, comparer, descending, next);
+            return source.size();
+        }
 
-            if (parent != null)
+        @Override
+        public T get(int index)
+        {
+            int size = source.size();
+            if (index < 0 || index >= size)
             {
-                sorter = parent.getEnumerableSorter(sorter);
+                throw new IndexOutOfBoundsException("index is out of range.");
             }
 
-            return sorter;
+            return source.get(size - 1 - index);
         }
-    }
-
-    private static abstract class EnumerableSorter<TElement>
-    {
-        public abstract void computeKeys(ArrayList<TElement> elements, int count);
-
-        public abstract int compareKeys(int index1, int index2);
 
-        public int[] sort(ArrayList<TElement> elements, int count)
+        @Override
+        public Iterator<T> iterator()
         {
-            computeKeys(elements, count);
-            int[] map = new int[count];
-            for (int index = 0; index < count; index++)
-            {
-                map[index] = index;
-            }
-
-            quickSort(map, 0, count - 1);
-            return map;
+            return getEnumerator();
         }
 
-        private void quickSort(int[] map, int left, int right)
+        @Override
+        public IEnumerator<T> getEnumerator()
         {
-            do
+            ListIterator<T> iterator = source.listIterator(source.size());
+            return new SimpleIterator<T>()
             {
-                int leftIndex = left;
-                int rightIndex = right;
-                int pivotIndex = map[leftIndex + ((rightIndex - leftIndex) >> 1)];
-                do
+                @Override
+                public boolean moveNext()
                 {
-                    while (leftIndex < map.length && compareKeys(pivotIndex, map[leftIndex]) > 0)
-                    {
-                        leftIndex++;
-                    }
-                    while (rightIndex >= 0 && compareKeys(pivotIndex, map[rightIndex]) < 0)
-                    {
-                        rightIndex--;
-                    }
-                    if (leftIndex > rightIndex)
-                    {
-                        break;
-                    }
-                    if (leftIndex < rightIndex)
-                    {
-                        int temp = map[leftIndex];
-                        map[leftIndex] = map[rightIndex];
-                        map[rightIndex] = temp;
-                    }
-                    leftIndex++;
-                    rightIndex--;
-                }
-                while (leftIndex <= rightIndex);
-                if (rightIndex - left <= right - leftIndex)
-                {
-                    if (left < rightIndex)
-                    {
-                        quickSort(map, left, rightIndex);
-                    }
-                    left = leftIndex;
-                }
-                else
-                {
-                    if (leftIndex < right)
+                    if (iterator.hasPrevious())
                     {
-                        quickSort(map, leftIndex, right);
+                        setCurrent(iterator.previous());
+                        return true;
                     }
-                    right = rightIndex;
-                }
-            }
-            while (left < right);
-        }
-    }
 
-    private static class KeyedEnumerableSorter<TElement, TKey> extends EnumerableSorter<TElement>
-    {
-        public KeyedEnumerableSorter(Function<TElement, TKey> keySelector, Comparator<TKey> comparer,
-            boolean descending, EnumerableSorter<TElement> next)
-        {
-            this.keySelector = keySelector;
-            this.comparer = comparer;
-            this.descending = descending;
-            this.next = next;
+                    return false;
+                }
+            };
         }
 
-        private final Function<TElement, TKey> keySelector;
-        private final Comparator<TKey> comparer;
-        private final boolean descending;
-        private final EnumerableSorter<TElement> next;
-        private ArrayList<TKey> keys;
-
         @Override
-        public void computeKeys(ArrayList<TElement> elements, int count)
+        public void forEach(Consumer<? super T> action)
         {
-            keys = new ArrayList<TKey>(count);
-            for (int index = 0; index < count; index++)
+            if (action == null)
             {
-                keys.add(keySelector.apply(elements.get(index)));
+                throw new IllegalArgumentException("action is null.");
             }
 
-            if (next != null)
+            ListIterator<T> iterator = source.listIterator(source.size());
+            while (iterator.hasPrevious())
             {
-                next.computeKeys(elements, count);
+                action.accept(iterator.previous());
             }
         }
 
         @Override
-        public int compareKeys(int index1, int index2)
+        public boolean equals(Object obj)
         {
-            int order = comparer.compare(keys.get(index1), keys.get(index2));
-            if (order == 0)
-            {
-                if (next == null)
-                {
-                    return index1 - index2;
-                }
+            return this == obj;
+        }
 
-                return next.compareKeys(index1, index2);
-            }
+        @Override
+        public int hashCode()
+        {
+            return System.identityHashCode(this);
+        }
 
-            return descending ? -order : order;
+        @Override
+        public Spliterator<T> spliterator()
+        {
+            return Linq.spliterator(this, Spliterator.ORDERED);
+        }
+
+        @Override
+        public Stream<T> stream()
+        {
+            return IEnumerable.super.stream();
+        }
+
+        @Override
+        public Stream<T> parallelStream()
+        {
+            return IEnumerable.super.parallelStream();
+        }
+
+        @Override
+        public T[] toArray(Object[] array)
+        {
+            return (T[]) super.toArray(array);
         }
     }
 
@@ -1918,319 +2727,3104 @@ public class Linq
 
     // endregion
 
-    // region: Grouping
+    // region: Sorting
 
-    // region: Group By
+    // region: Order By
 
     /**
-     * Groups the elements of a sequence according to a specified key selector
-     * function.
-     * 
+     * Sorts the elements of a sequence in ascending order according to a key.
+     *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param <TKey>
      *            The type of the key returned by <code>keySelector</code>.
      * @param source
-     *            An {@link Iterable} with the elements to group.
+     *            A sequence of values to order.
      * @param keySelector
-     *            A function to extract the key for each element.
+     *            A function to extract a key from an element.
      * @param keyType
-     *            The type of the key returned by <code>keySelector</code>.
-     * @param elementType
-     *            The type of the elements of <code>source</code>.
-     * @return An {@link IEnumerable} where each {@link IGrouping} object
-     *         contains a sequence of objects and a key.
+     *            The type of the key that will be compared while ordering.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
      */
-    public static <TSource, TKey> IEnumerable<IGrouping<TKey, TSource>> groupBy(Iterable<TSource> source,
-        Function<TSource, TKey> keySelector,
-        Class<TKey> keyType,
-        Class<TSource> elementType)
+    public static <TSource, TKey> IOrderedEnumerable<TSource> orderBy(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector, Class<TKey> keyType)
     {
-        return new GroupedEnumerable<TSource, TKey, TSource>(source,
-            keySelector, x -> x,
-            null, keyType, elementType);
+        return new KeyedOrderedEnumerable<TSource, TKey>(source, keySelector, keyType, null, false);
     }
 
     /**
-     * Groups the elements of a sequence according to a specified key selector
-     * function and compares the keys by using a specified comparer.
-     * 
+     * Sorts the elements of a sequence in ascending order by using a specified
+     * comparer.
+     *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param <TKey>
      *            The type of the key returned by <code>keySelector</code>.
      * @param source
-     *            An {@link Iterable} with the elements to group.
+     *            A sequence of values to order.
      * @param keySelector
-     *            A function to extract the key for each element.
-     * @param comparer
-     *            An {@link IEqualityComparer} with which to compare keys.
+     *            A function to extract a key from an element.
      * @param keyType
-     *            The type of the key returned by <code>keySelector</code>.
-     * @param elementType
-     *            The type of the elements of <code>source</code>.
-     * @return An {@link IEnumerable} where each {@link IGrouping} object
-     *         contains a sequence of objects and a key.
+     *            The type of the key that will be compared while ordering.
+     * @param comparer
+     *            A {@link Comparator} to compare keys.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
      */
-    public static <TSource, TKey> IEnumerable<IGrouping<TKey, TSource>> groupBy(Iterable<TSource> source,
-        Function<TSource, TKey> keySelector,
-        IEqualityComparer<TKey> comparer,
-        Class<TKey> keyType,
-        Class<TSource> elementType)
+    public static <TSource, TKey> IOrderedEnumerable<TSource> orderBy(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector, Class<TKey> keyType, Comparator<TKey> comparer)
     {
-        return new GroupedEnumerable<TSource, TKey, TSource>(source,
-            keySelector, x -> x,
-            comparer, keyType, elementType);
+        return new KeyedOrderedEnumerable<TSource, TKey>(source, keySelector, keyType, comparer, false);
     }
 
     /**
-     * Groups the elements of a sequence according to a specified key selector
-     * function and projects the elements for each group by using a specified
-     * function.
-     * 
+     * Sorts the elements of a sequence in descending order according to a key.
+     *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param <TKey>
      *            The type of the key returned by <code>keySelector</code>.
-     * @param <TElement>
-     *            The type of the elements in the {@link IGrouping}.
      * @param source
-     *            An {@link Iterable} with the elements to group.
+     *            A sequence of values to order.
      * @param keySelector
-     *            A function to extract the key for each element.
-     * @param elementSelector
-     *            A function to map each source element to an element in the
-     *            {@link IGrouping}.
+     *            A function to extract a key from an element.
      * @param keyType
-     *            The type of the key returned by <code>keySelector</code>.
-     * @param elementType
-     *            The type of the elements in the {@link IGrouping}.
-     * @return An {@link IEnumerable} where each {@link IGrouping} object
-     *         contains a collection of objects of type <code>TElement</code>
-     *         and a key.
+     *            The type of the key that will be compared while ordering.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
      */
-    public static <TSource, TKey, TElement> IEnumerable<IGrouping<TKey, TElement>> groupBy(Iterable<TSource> source,
-        Function<TSource, TKey> keySelector,
-        Function<TSource, TElement> elementSelector,
-        Class<TKey> keyType,
-        Class<TElement> elementType)
+    public static <TSource, TKey> IOrderedEnumerable<TSource> orderByDescending(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector, Class<TKey> keyType)
     {
-        return new GroupedEnumerable<TSource, TKey, TElement>(source,
-            keySelector, elementSelector,
-            null, keyType, elementType);
+        return new KeyedOrderedEnumerable<TSource, TKey>(source, keySelector, keyType, null, true);
     }
 
     /**
-     * Groups the elements of a sequence according to a key selector function.
-     * The keys are compared by using a comparer and each group's elements are
-     * projected by using a specified function.
-     * 
+     * Sorts the elements of a sequence in descending order by using a specified
+     * comparer.
+     *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param <TKey>
      *            The type of the key returned by <code>keySelector</code>.
-     * @param <TElement>
-     *            The type of the elements in the {@link IGrouping}.
      * @param source
-     *            An {@link Iterable} with the elements to group.
+     *            A sequence of values to order.
      * @param keySelector
-     *            A function to extract the key for each element.
-     * @param elementSelector
-     *            A function to map each source element to an element in the
-     *            {@link IGrouping}.
-     * @param comparer
-     *            An {@link IEqualityComparer} with which to compare keys.
+     *            A function to extract a key from an element.
      * @param keyType
-     *            The type of the key returned by <code>keySelector</code>.
-     * @param elementType
-     *            The type of the elements in the {@link IGrouping}.
-     * @return An {@link IEnumerable} where each {@link IGrouping} object
-     *         contains a collection of objects of type <code>TElement</code>
-     *         and a key.
+     *            The type of the key that will be compared while ordering.
+     * @param comparer
+     *            A {@link Comparator} to compare keys.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
      */
-    public static <TSource, TKey, TElement> IEnumerable<IGrouping<TKey, TElement>> groupBy(Iterable<TSource> source,
-        Function<TSource, TKey> keySelector,
-        Function<TSource, TElement> elementSelector,
-        IEqualityComparer<TKey> comparer,
-        Class<TKey> keyType,
-        Class<TElement> elementType)
+    public static <TSource, TKey> IOrderedEnumerable<TSource> orderByDescending(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector, Class<TKey> keyType, Comparator<TKey> comparer)
     {
-        return new GroupedEnumerable<TSource, TKey, TElement>(source,
-            keySelector, elementSelector,
-            comparer, keyType, elementType);
+        return new KeyedOrderedEnumerable<TSource, TKey>(source, keySelector, keyType, comparer, true);
     }
 
+    // endregion
+
+    // region: Then By
+
     /**
-     * Groups the elements of a sequence according to a specified key selector
-     * function and creates a result value from each group and its key.
-     * 
+     * Performs a subsequent ordering of the elements in a sequence in ascending
+     * order according to a key.
+     *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param <TKey>
      *            The type of the key returned by <code>keySelector</code>.
-     * @param <TResult>
-     *            The type of the result value returned by
-     *            <code>resultSelector</code>.
      * @param source
-     *            An {@link Iterable} with the elements to group.
+     *            An {@link IOrderedEnumerable} that contains elements to sort.
      * @param keySelector
-     *            A function to extract the key for each element.
-     * @param resultSelector
-     *            A function to create a result value from each group.
+     *            A function to extract a key from each element.
      * @param keyType
-     *            The type of the key returned by <code>keySelector</code>.
-     * @param elementType
-     *            The type of the elements of <code>source</code>.
-     * @return A collection of elements of type <code>TResult</code> where each
-     *         element represents a projection over a group and its key.
+     *            The type of the key that will be compared while ordering.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
      */
-    public static <TSource, TKey, TResult> IEnumerable<TResult> groupBy(Iterable<TSource> source,
-        Function<TSource, TKey> keySelector,
-        BiFunction<TKey, IEnumerable<TSource>, TResult> resultSelector,
-        Class<TKey> keyType,
-        Class<TSource> elementType)
+    public static <TSource, TKey> IOrderedEnumerable<TSource> thenBy(IOrderedEnumerable<TSource> source,
+        Function<TSource, TKey> keySelector, Class<TKey> keyType)
     {
-        return new GroupedResultEnumerable<TSource, TKey, TSource, TResult>(source,
-            keySelector, x -> x, resultSelector,
-            null, keyType, elementType);
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        return source.createOrderedEnumerable(keySelector, keyType, null, false);
     }
 
     /**
-     * Groups the elements of a sequence according to a specified key selector
-     * function and creates a result value from each group and its key. The keys
-     * are compared by using a specified comparer.
-     * 
+     * Performs a subsequent ordering of the elements in a sequence in ascending
+     * order by using a specified comparer.
+     *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param <TKey>
      *            The type of the key returned by <code>keySelector</code>.
-     * @param <TResult>
-     *            The type of the result value returned by
-     *            <code>resultSelector</code>.
      * @param source
-     *            An {@link Iterable} with the elements to group.
+     *            An {@link IOrderedEnumerable} that contains elements to sort.
      * @param keySelector
-     *            A function to extract the key for each element.
-     * @param resultSelector
-     *            A function to create a result value from each group.
-     * @param comparer
-     *            An {@link IEqualityComparer} with which to compare keys.
+     *            A function to extract a key from each element.
      * @param keyType
-     *            The type of the key returned by <code>keySelector</code>.
-     * @param elementType
-     *            The type of the elements of <code>source</code>.
-     * @return A collection of elements of type <code>TResult</code> where each
-     *         element represents a projection over a group and its key.
+     *            The type of the key that will be compared while ordering.
+     * @param comparer
+     *            A {@link Comparator} to compare keys.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
      */
-    public static <TSource, TKey, TResult> IEnumerable<TResult> groupBy(Iterable<TSource> source,
-        Function<TSource, TKey> keySelector,
-        BiFunction<TKey, IEnumerable<TSource>, TResult> resultSelector,
-        IEqualityComparer<TKey> comparer,
-        Class<TKey> keyType,
-        Class<TSource> elementType)
+    public static <TSource, TKey> IOrderedEnumerable<TSource> thenBy(IOrderedEnumerable<TSource> source,
+        Function<TSource, TKey> keySelector, Class<TKey> keyType, Comparator<TKey> comparer)
     {
-        return new GroupedResultEnumerable<TSource, TKey, TSource, TResult>(source,
-            keySelector, x -> x, resultSelector,
-            comparer, keyType, elementType);
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        return source.createOrderedEnumerable(keySelector, keyType, comparer, false);
     }
 
     /**
-     * Groups the elements of a sequence according to a specified key selector
-     * function and creates a result value from each group and its key. The
-     * elements of each group are projected by using a specified function.
-     * 
+     * Performs a subsequent ordering of the elements in a sequence in
+     * descending order, according to a key.
+     *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param <TKey>
      *            The type of the key returned by <code>keySelector</code>.
-     * @param <TElement>
-     *            The type of the elements in the {@link IGrouping}.
+     * @param source
+     *            An {@link IOrderedEnumerable} that contains elements to sort.
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @param keyType
+     *            The type of the key that will be compared while ordering.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
+     */
+    public static <TSource, TKey> IOrderedEnumerable<TSource> thenByDescending(IOrderedEnumerable<TSource> source,
+        Function<TSource, TKey> keySelector, Class<TKey> keyType)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        return source.createOrderedEnumerable(keySelector, keyType, null, true);
+    }
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in
+     * descending order by using a specified comparer.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param source
+     *            An {@link IOrderedEnumerable} that contains elements to sort.
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @param keyType
+     *            The type of the key that will be compared while ordering.
+     * @param comparer
+     *            A {@link Comparator} to compare keys.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
+     */
+    public static <TSource, TKey> IOrderedEnumerable<TSource> thenByDescending(IOrderedEnumerable<TSource> source,
+        Function<TSource, TKey> keySelector, Class<TKey> keyType, Comparator<TKey> comparer)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null");
+        }
+
+        return source.createOrderedEnumerable(keySelector, keyType, comparer, true);
+    }
+
+    // endregion
+
+    // region: Order By Primitive Key
+
+    /**
+     * Sorts the elements of a sequence in ascending order according to a
+     * <code>int</code> key. Keys are stored and compared as primitives.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            A sequence of values to order.
+     * @param keySelector
+     *            A function to extract a key from an element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
+     */
+    public static <TSource> IOrderedEnumerable<TSource> orderByInt(Iterable<TSource> source,
+        ToIntFunction<TSource> keySelector)
+    {
+        if (keySelector == null)
+        {
+            throw new IllegalArgumentException("keySelector is null.");
+        }
+
+        return new SorterOrderedEnumerable<TSource>(source,
+            next -> new IntEnumerableSorter<TSource>(keySelector, false, next));
+    }
+
+    /**
+     * Sorts the elements of a sequence in descending order according to a
+     * <code>int</code> key. Keys are stored and compared as primitives.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            A sequence of values to order.
+     * @param keySelector
+     *            A function to extract a key from an element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
+     */
+    public static <TSource> IOrderedEnumerable<TSource> orderByIntDescending(Iterable<TSource> source,
+        ToIntFunction<TSource> keySelector)
+    {
+        if (keySelector == null)
+        {
+            throw new IllegalArgumentException("keySelector is null.");
+        }
+
+        return new SorterOrderedEnumerable<TSource>(source,
+            next -> new IntEnumerableSorter<TSource>(keySelector, true, next));
+    }
+
+    /**
+     * Sorts the elements of a sequence in ascending order according to a
+     * <code>long</code> key. Keys are stored and compared as primitives.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            A sequence of values to order.
+     * @param keySelector
+     *            A function to extract a key from an element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
+     */
+    public static <TSource> IOrderedEnumerable<TSource> orderByLong(Iterable<TSource> source,
+        ToLongFunction<TSource> keySelector)
+    {
+        if (keySelector == null)
+        {
+            throw new IllegalArgumentException("keySelector is null.");
+        }
+
+        return new SorterOrderedEnumerable<TSource>(source,
+            next -> new LongEnumerableSorter<TSource>(keySelector, false, next));
+    }
+
+    /**
+     * Sorts the elements of a sequence in descending order according to a
+     * <code>long</code> key. Keys are stored and compared as primitives.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            A sequence of values to order.
+     * @param keySelector
+     *            A function to extract a key from an element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
+     */
+    public static <TSource> IOrderedEnumerable<TSource> orderByLongDescending(Iterable<TSource> source,
+        ToLongFunction<TSource> keySelector)
+    {
+        if (keySelector == null)
+        {
+            throw new IllegalArgumentException("keySelector is null.");
+        }
+
+        return new SorterOrderedEnumerable<TSource>(source,
+            next -> new LongEnumerableSorter<TSource>(keySelector, true, next));
+    }
+
+    /**
+     * Sorts the elements of a sequence in ascending order according to a
+     * <code>double</code> key. Keys are stored and compared as primitives.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            A sequence of values to order.
+     * @param keySelector
+     *            A function to extract a key from an element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
+     */
+    public static <TSource> IOrderedEnumerable<TSource> orderByDouble(Iterable<TSource> source,
+        ToDoubleFunction<TSource> keySelector)
+    {
+        if (keySelector == null)
+        {
+            throw new IllegalArgumentException("keySelector is null.");
+        }
+
+        return new SorterOrderedEnumerable<TSource>(source,
+            next -> new DoubleEnumerableSorter<TSource>(keySelector, false, next));
+    }
+
+    /**
+     * Sorts the elements of a sequence in descending order according to a
+     * <code>double</code> key. Keys are stored and compared as primitives.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            A sequence of values to order.
+     * @param keySelector
+     *            A function to extract a key from an element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
+     */
+    public static <TSource> IOrderedEnumerable<TSource> orderByDoubleDescending(Iterable<TSource> source,
+        ToDoubleFunction<TSource> keySelector)
+    {
+        if (keySelector == null)
+        {
+            throw new IllegalArgumentException("keySelector is null.");
+        }
+
+        return new SorterOrderedEnumerable<TSource>(source,
+            next -> new DoubleEnumerableSorter<TSource>(keySelector, true, next));
+    }
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in
+     * ascending order according to an <code>int</code> key. Keys are stored and
+     * compared as primitives.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            An {@link IOrderedEnumerable} that contains elements to sort.
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
+     */
+    public static <TSource> IOrderedEnumerable<TSource> thenByInt(IOrderedEnumerable<TSource> source,
+        ToIntFunction<TSource> keySelector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (keySelector == null)
+        {
+            throw new IllegalArgumentException("keySelector is null.");
+        }
+
+        if (source instanceof OrderedEnumerable<?>)
+        {
+            return ((OrderedEnumerable<TSource>) source).createOrderedEnumerable(
+                next -> new IntEnumerableSorter<TSource>(keySelector, false, next));
+        }
+
+        return source.createOrderedEnumerable(item -> keySelector.applyAsInt(item), Integer.class, null, false);
+    }
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in
+     * descending order according to an <code>int</code> key. Keys are stored and
+     * compared as primitives.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            An {@link IOrderedEnumerable} that contains elements to sort.
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
+     */
+    public static <TSource> IOrderedEnumerable<TSource> thenByIntDescending(IOrderedEnumerable<TSource> source,
+        ToIntFunction<TSource> keySelector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (keySelector == null)
+        {
+            throw new IllegalArgumentException("keySelector is null.");
+        }
+
+        if (source instanceof OrderedEnumerable<?>)
+        {
+            return ((OrderedEnumerable<TSource>) source).createOrderedEnumerable(
+                next -> new IntEnumerableSorter<TSource>(keySelector, true, next));
+        }
+
+        return source.createOrderedEnumerable(item -> keySelector.applyAsInt(item), Integer.class, null, true);
+    }
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in
+     * ascending order according to a <code>long</code> key. Keys are stored and
+     * compared as primitives.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            An {@link IOrderedEnumerable} that contains elements to sort.
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
+     */
+    public static <TSource> IOrderedEnumerable<TSource> thenByLong(IOrderedEnumerable<TSource> source,
+        ToLongFunction<TSource> keySelector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (keySelector == null)
+        {
+            throw new IllegalArgumentException("keySelector is null.");
+        }
+
+        if (source instanceof OrderedEnumerable<?>)
+        {
+            return ((OrderedEnumerable<TSource>) source).createOrderedEnumerable(
+                next -> new LongEnumerableSorter<TSource>(keySelector, false, next));
+        }
+
+        return source.createOrderedEnumerable(item -> keySelector.applyAsLong(item), Long.class, null, false);
+    }
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in
+     * descending order according to a <code>long</code> key. Keys are stored and
+     * compared as primitives.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            An {@link IOrderedEnumerable} that contains elements to sort.
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
+     */
+    public static <TSource> IOrderedEnumerable<TSource> thenByLongDescending(IOrderedEnumerable<TSource> source,
+        ToLongFunction<TSource> keySelector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (keySelector == null)
+        {
+            throw new IllegalArgumentException("keySelector is null.");
+        }
+
+        if (source instanceof OrderedEnumerable<?>)
+        {
+            return ((OrderedEnumerable<TSource>) source).createOrderedEnumerable(
+                next -> new LongEnumerableSorter<TSource>(keySelector, true, next));
+        }
+
+        return source.createOrderedEnumerable(item -> keySelector.applyAsLong(item), Long.class, null, true);
+    }
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in
+     * ascending order according to a <code>double</code> key. Keys are stored and
+     * compared as primitives.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            An {@link IOrderedEnumerable} that contains elements to sort.
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted according
+     *         to a key.
+     */
+    public static <TSource> IOrderedEnumerable<TSource> thenByDouble(IOrderedEnumerable<TSource> source,
+        ToDoubleFunction<TSource> keySelector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (keySelector == null)
+        {
+            throw new IllegalArgumentException("keySelector is null.");
+        }
+
+        if (source instanceof OrderedEnumerable<?>)
+        {
+            return ((OrderedEnumerable<TSource>) source).createOrderedEnumerable(
+                next -> new DoubleEnumerableSorter<TSource>(keySelector, false, next));
+        }
+
+        return source.createOrderedEnumerable(item -> keySelector.applyAsDouble(item), Double.class, null, false);
+    }
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in
+     * descending order according to a <code>double</code> key. Keys are stored and
+     * compared as primitives.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            An {@link IOrderedEnumerable} that contains elements to sort.
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in
+     *         descending order according to a key.
+     */
+    public static <TSource> IOrderedEnumerable<TSource> thenByDoubleDescending(IOrderedEnumerable<TSource> source,
+        ToDoubleFunction<TSource> keySelector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (keySelector == null)
+        {
+            throw new IllegalArgumentException("keySelector is null.");
+        }
+
+        if (source instanceof OrderedEnumerable<?>)
+        {
+            return ((OrderedEnumerable<TSource>) source).createOrderedEnumerable(
+                next -> new DoubleEnumerableSorter<TSource>(keySelector, true, next));
+        }
+
+        return source.createOrderedEnumerable(item -> keySelector.applyAsDouble(item), Double.class, null, true);
+    }
+
+    // endregion
+
+    // region: Parallel Sort
+
+    /**
+     * Enables parallel sorting of an ordered sequence. When at least
+     * <code>threshold</code> elements are sorted at once, keys are extracted
+     * and the elements are merge sorted on the common fork/join pool; ties are
+     * still broken by the original index, so the result is the same as a
+     * sequential sort. Ordered sequences are sorted sequentially unless this
+     * is called.
+     * <p>
+     * The key selectors and comparers of every ordering are then invoked
+     * concurrently from several threads, so they must be thread-safe.
+     * Subsequent orderings created with <code>thenBy</code> keep the
+     * threshold.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            An ordered sequence created by <code>orderBy</code> or
+     *            <code>thenBy</code>.
+     * @param threshold
+     *            The number of elements at or above which the sequence is
+     *            sorted in parallel.
+     * @return An {@link IOrderedEnumerable} whose elements are sorted in the
+     *         same order as <code>source</code>.
+     */
+    public static <TSource> IOrderedEnumerable<TSource> withParallelSort(IOrderedEnumerable<TSource> source,
+        int threshold)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (threshold < 1)
+        {
+            throw new IllegalArgumentException("threshold is less than 1.");
+        }
+        if (source instanceof OrderedEnumerable<?> == false)
+        {
+            throw new IllegalArgumentException("source does not support parallel sorting.");
+        }
+
+        return new ParallelOrderedEnumerable<>((OrderedEnumerable<TSource>) source, threshold);
+    }
+
+    // endregion
+
+    // region: External Sort
+
+    /**
+     * Enumerates an ordered sequence with an external merge sort, so that the
+     * sequence does not have to fit in memory. The source is read in runs of
+     * at most <code>maxElementsInMemory</code> elements; each run is sorted in
+     * memory and written to a temporary file with <code>codec</code>, and the
+     * runs are merged lazily while the result is enumerated. A source that
+     * fits in a single run is sorted in memory without touching the disk.
+     * <p>
+     * Temporary files are deleted when enumeration completes or fails. An
+     * enumerator that is abandoned before the end keeps its run files open
+     * until it is closed: when runs are written, the enumerator implements
+     * {@link AutoCloseable}, so either enumerate it to the end or close it.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            An ordered sequence created by <code>orderBy</code> or
+     *            <code>thenBy</code>.
+     * @param codec
+     *            The codec used to write elements to the temporary files.
+     * @param maxElementsInMemory
+     *            The maximum number of elements to sort in memory at once.
+     * @return An {@link IEnumerable} whose elements are sorted in the same
+     *         order as <code>source</code>.
+     */
+    public static <TSource> IEnumerable<TSource> withExternalSort(IOrderedEnumerable<TSource> source,
+        IElementCodec<TSource> codec, int maxElementsInMemory)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (codec == null)
+        {
+            throw new IllegalArgumentException("codec is null.");
+        }
+        if (maxElementsInMemory < 1)
+        {
+            throw new IllegalArgumentException("maxElementsInMemory is less than 1.");
+        }
+        if (source instanceof OrderedEnumerable<?> == false)
+        {
+            throw new IllegalArgumentException("source does not support external sorting.");
+        }
+
+        return new ExternalSortEnumerable<>((OrderedEnumerable<TSource>) source, codec, maxElementsInMemory);
+    }
+
+    private static class ExternalSortEnumerable<TElement> implements IEnumerable<TElement>
+    {
+        public ExternalSortEnumerable(OrderedEnumerable<TElement> source, IElementCodec<TElement> codec,
+            int maxElementsInMemory)
+        {
+            this.source = source;
+            this.codec = codec;
+            this.maxElementsInMemory = maxElementsInMemory;
+        }
+
+        private final OrderedEnumerable<TElement> source;
+        private final IElementCodec<TElement> codec;
+        private final int maxElementsInMemory;
+
+        @Override
+        public int tryGetCount()
+        {
+            return source.tryGetCount();
+        }
+
+        @Override
+        public Iterator<TElement> iterator()
+        {
+            return getEnumerator();
+        }
+
+        @Override
+        public IEnumerator<TElement> getEnumerator()
+        {
+            Iterator<TElement> iterator = source.source.iterator();
+            ArrayList<TElement> run = readRun(iterator);
+            if (iterator.hasNext() == false)
+            {
+                ArrayList<TElement> items = run;
+                int[] map = sortRun(items);
+                return new SimpleIterator<TElement>()
+                {
+                    private int index;
+
+                    @Override
+                    public boolean moveNext()
+                    {
+                        if (index < map.length)
+                        {
+                            setCurrent(items.get(map[index++]));
+                            return true;
+                        }
+
+                        return false;
+                    }
+                };
+            }
+
+            ArrayList<Path> files = new ArrayList<>();
+            ArrayList<Integer> sizes = new ArrayList<>();
+            try
+            {
+                do
+                {
+                    writeRun(run, files);
+                    sizes.add(run.size());
+                    run = readRun(iterator);
+                }
+                while (run.isEmpty() == false);
+
+                return new ExternalMergeIterator<>(files, sizes, codec, source.getEnumerableSorter(null));
+            }
+            catch (IOException e)
+            {
+                deleteFiles(files);
+                throw new UncheckedIOException(e);
+            }
+            catch (Throwable e)
+            {
+                deleteFiles(files);
+                throw e;
+            }
+        }
+
+        private ArrayList<TElement> readRun(Iterator<TElement> iterator)
+        {
+            ArrayList<TElement> run = new ArrayList<>();
+            while (run.size() < maxElementsInMemory && iterator.hasNext())
+            {
+                run.add(iterator.next());
+            }
+
+            return run;
+        }
+
+        private int[] sortRun(ArrayList<TElement> run)
+        {
+            if (run.isEmpty())
+            {
+                return new int[0];
+            }
+
+            EnumerableSorter<TElement> sorter = source.getEnumerableSorter(null);
+            if (run.size() >= source.parallelSortThreshold)
+            {
+                return sorter.sortParallel(run, run.size());
+            }
+
+            return sorter.sort(run, run.size());
+        }
+
+        /**
+         * Sorts a run and writes it to a new temporary file, which is added to
+         * <code>files</code> before it is written so that it can be deleted
+         * if writing fails.
+         */
+        private void writeRun(ArrayList<TElement> run, ArrayList<Path> files) throws IOException
+        {
+            int[] map = sortRun(run);
+
+            Path file = Files.createTempFile("javalinq-sort-", ".run");
+            files.add(file);
+            try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)))
+            {
+                for (int index : map)
+                {
+                    codec.write(output, run.get(index));
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges sorted run files. Runs are consecutive slices of the source, so
+     * ties are broken by run number to keep the sort stable.
+     */
+    private static class ExternalMergeIterator<TElement> extends SimpleIterator<TElement> implements AutoCloseable
+    {
+        @SuppressWarnings("unchecked")
+        public ExternalMergeIterator(ArrayList<Path> files, ArrayList<Integer> sizes, IElementCodec<TElement> codec,
+            EnumerableSorter<TElement> sorter) throws IOException
+        {
+            this.files = files;
+            this.codec = codec;
+
+            int runCount = files.size();
+            inputs = new DataInputStream[runCount];
+            remaining = new int[runCount];
+            heads = (TElement[]) new Object[runCount];
+            queue = new PriorityQueue<>(runCount, (run1, run2) ->
+            {
+                int order = sorter.compareElements(heads[run1], heads[run2]);
+                return order != 0 ? order : run1 - run2;
+            });
+
+            try
+            {
+                for (int run = 0; run < runCount; run++)
+                {
+                    inputs[run] = new DataInputStream(
+                        new BufferedInputStream(Files.newInputStream(files.get(run)), 1 << 16));
+                    remaining[run] = sizes.get(run);
+                    advance(run);
+                }
+            }
+            catch (Throwable e)
+            {
+                close();
+                throw e;
+            }
+        }
+
+        private final ArrayList<Path> files;
+        private final IElementCodec<TElement> codec;
+        private final DataInputStream[] inputs;
+        private final int[] remaining;
+        private final TElement[] heads;
+        private final PriorityQueue<Integer> queue;
+
+        @Override
+        public boolean moveNext()
+        {
+            Integer run = queue.poll();
+            if (run == null)
+            {
+                close();
+                return false;
+            }
+
+            setCurrent(heads[run]);
+            try
+            {
+                advance(run);
+            }
+            catch (IOException e)
+            {
+                close();
+                throw new UncheckedIOException(e);
+            }
+            catch (Throwable e)
+            {
+                close();
+                throw e;
+            }
+
+            return true;
+        }
+
+        private void advance(int run) throws IOException
+        {
+            if (remaining[run] > 0)
+            {
+                heads[run] = codec.read(inputs[run]);
+                remaining[run]--;
+                queue.add(run);
+            }
+            else
+            {
+                heads[run] = null;
+            }
+        }
+
+        /**
+         * Closes and deletes every run file. The enumerator is exhausted
+         * afterwards.
+         */
+        @Override
+        public void close()
+        {
+            for (int run = 0; run < inputs.length; run++)
+            {
+                if (inputs[run] != null)
+                {
+                    try
+                    {
+                        inputs[run].close();
+                    }
+                    catch (IOException e)
+                    {
+                        // The file is deleted next, so a failed close is harmless.
+                    }
+
+                    inputs[run] = null;
+                }
+            }
+
+            queue.clear();
+            Arrays.fill(heads, null);
+            deleteFiles(files);
+            files.clear();
+        }
+    }
+
+    private static void deleteFiles(ArrayList<Path> files)
+    {
+        for (Path file : files)
+        {
+            try
+            {
+                Files.deleteIfExists(file);
+            }
+            catch (IOException e)
+            {
+                // Nothing more can be done; the file stays in the temporary
+                // directory.
+            }
+        }
+    }
+
+    // endregion
+
+    // region: Ordered Enumerable Class
+
+    // Reference:
+    // http://referencesource.microsoft.com/#System.Core/System/Linq/Enumerable.cs,ffb8de6aefac77cc,references
+    // (5/26/2017)
+
+    private static abstract class OrderedEnumerable<TElement> implements IOrderedEnumerable<TElement>
+    {
+        public OrderedEnumerable(Iterable<TElement> source)
+        {
+            if (source == null)
+            {
+                throw new IllegalArgumentException("source is null.");
+            }
+
+            this.source = source;
+        }
+
+        private final Iterable<TElement> source;
+
+        /**
+         * The number of elements at or above which this sequence is sorted in
+         * parallel, set by {@link Linq#withParallelSort}.
+         */
+        int parallelSortThreshold = Integer.MAX_VALUE;
+
+        @Override
+        public int tryGetCount()
+        {
+            return Linq.tryGetCount(source);
+        }
+
+        @Override
+        public Iterator<TElement> iterator()
+        {
+            return getEnumerator();
+        }
+
+        @Override
+        public IEnumerator<TElement> getEnumerator()
+        {
+            return getEnumerator(0, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public Spliterator<TElement> spliterator()
+        {
+            Comparator<TElement> comparator = getComparator();
+            int characteristics = (comparator != null)
+                ? Spliterator.ORDERED | Spliterator.SORTED
+                : Spliterator.ORDERED;
+
+            return new ListSpliterator<>(() -> Linq.toArrayList(this), characteristics, comparator);
+        }
+
+        /**
+         * Returns an enumerator over a range of the sorted sequence. Only the
+         * part of the sequence that falls in the range is fully sorted, and
+         * it is sorted incrementally as the enumerator advances. Ranges of at
+         * least {@link #parallelSortThreshold} elements are sorted in
+         * parallel up front instead.
+         *
+         * @param minIndexInclusive
+         *            The index of the first element to return.
+         * @param maxIndexInclusive
+         *            The index of the last element to return.
+         * @return An enumerator over the range of the sorted sequence.
+         */
+        public IEnumerator<TElement> getEnumerator(int minIndexInclusive, int maxIndexInclusive)
+        {
+            ArrayList<TElement> items = Linq.toArrayList(source);
+            int itemCount = items.size();
+            if (itemCount > minIndexInclusive && minIndexInclusive <= maxIndexInclusive)
+            {
+                int lastIndex = Math.min(maxIndexInclusive, itemCount - 1);
+
+                EnumerableSorter<TElement> sorter = getEnumerableSorter(null);
+                IntUnaryOperator map;
+                if (lastIndex - minIndexInclusive + 1 >= parallelSortThreshold)
+                {
+                    int[] sortedMap = sorter.sortParallel(items, itemCount);
+                    map = index -> sortedMap[index];
+                }
+                else
+                {
+                    map = sorter.sortIncrementally(items, itemCount, minIndexInclusive, lastIndex)::get;
+                }
+                sorter = null;
+
+                return new SimpleIterator<TElement>()
+                {
+                    private int index = minIndexInclusive;
+
+                    @Override
+                    public boolean moveNext()
+                    {
+                        if (index <= lastIndex)
+                        {
+                            TElement element = items.get(map.applyAsInt(index++));
+
+                            setCurrent(element);
+                            return true;
+                        }
+
+                        return false;
+                    }
+                };
+            }
+
+            return new EmptyEnumerator<TElement>();
+        }
+
+        public abstract EnumerableSorter<TElement> getEnumerableSorter(EnumerableSorter<TElement> next);
+
+        /**
+         * Gets a comparator that orders elements the same way as this
+         * sequence, ignoring the original order of equal elements.
+         *
+         * @return The comparator, or <code>null</code> if the ordering cannot
+         *         be expressed as a {@link Comparator}.
+         */
+        public abstract Comparator<TElement> getComparator();
+
+        @Override
+        public <TKey> IOrderedEnumerable<TElement> createOrderedEnumerable(Function<TElement, TKey> keySelector,
+            Class<TKey> keyType, Comparator<TKey> comparer, boolean descending)
+        {
+            KeyedOrderedEnumerable<TElement, TKey> result
+                = new KeyedOrderedEnumerable<>(source, keySelector, keyType, comparer, descending);
+
+            result.parent = this;
+            result.parallelSortThreshold = parallelSortThreshold;
+            return result;
+        }
+
+        /**
+         * Performs a subsequent ordering with a sorter created by a factory.
+         *
+         * @param sorterFactory
+         *            Creates the sorter for the new ordering given the sorter
+         *            of the ordering that follows it.
+         * @return An {@link IOrderedEnumerable} whose elements are sorted by
+         *         this ordering and then by the new sorter.
+         */
+        public IOrderedEnumerable<TElement> createOrderedEnumerable(
+            Function<EnumerableSorter<TElement>, EnumerableSorter<TElement>> sorterFactory)
+        {
+            SorterOrderedEnumerable<TElement> result = new SorterOrderedEnumerable<>(source, sorterFactory);
+
+            result.parent = this;
+            result.parallelSortThreshold = parallelSortThreshold;
+            return result;
+        }
+    }
+
+    private static class ParallelOrderedEnumerable<TElement> extends OrderedEnumerable<TElement>
+    {
+        public ParallelOrderedEnumerable(OrderedEnumerable<TElement> ordering, int threshold)
+        {
+            super(ordering.source);
+
+            this.ordering = ordering;
+            this.parallelSortThreshold = threshold;
+        }
+
+        private final OrderedEnumerable<TElement> ordering;
+
+        @Override
+        public Comparator<TElement> getComparator()
+        {
+            return ordering.getComparator();
+        }
+
+        @Override
+        public EnumerableSorter<TElement> getEnumerableSorter(EnumerableSorter<TElement> next)
+        {
+            return ordering.getEnumerableSorter(next);
+        }
+    }
+
+    private static class SorterOrderedEnumerable<TElement> extends OrderedEnumerable<TElement>
+    {
+        public SorterOrderedEnumerable(Iterable<TElement> source,
+            Function<EnumerableSorter<TElement>, EnumerableSorter<TElement>> sorterFactory)
+        {
+            super(source);
+
+            this.parent = null;
+            this.sorterFactory = sorterFactory;
+        }
+
+        private OrderedEnumerable<TElement> parent;
+        private final Function<EnumerableSorter<TElement>, EnumerableSorter<TElement>> sorterFactory;
+
+        @Override
+        public Comparator<TElement> getComparator()
+        {
+            return null;
+        }
+
+        @Override
+        public EnumerableSorter<TElement> getEnumerableSorter(EnumerableSorter<TElement> next)
+        {
+            EnumerableSorter<TElement> sorter = sorterFactory.apply(next);
+
+            if (parent != null)
+            {
+                sorter = parent.getEnumerableSorter(sorter);
+            }
+
+            return sorter;
+        }
+    }
+
+    private static class KeyedOrderedEnumerable<TElement, TKey> extends OrderedEnumerable<TElement>
+    {
+        public KeyedOrderedEnumerable(Iterable<TElement> source, Function<TElement, TKey> keySelector,
+            Class<TKey> keyType, Comparator<TKey> comparer, boolean descending)
+        {
+            super(source);
+
+            if (keySelector == null)
+            {
+                throw new IllegalArgumentException("keySelector is null.");
+            }
+
+            this.parent = null;
+            this.keySelector = keySelector;
+            this.descending = descending;
+
+            if (comparer == null)
+            {
+                if (keyType == null)
+                {
+                    throw new IllegalArgumentException("keyType is null.");
+                }
+
+                comparer = DefaultComparator.getDefault(keyType);
+            }
+
+            this.comparer = comparer;
+        }
+
+        private OrderedEnumerable<TElement> parent;
+        private final Function<TElement, TKey> keySelector;
+        private final Comparator<TKey> comparer;
+        private final boolean descending;
+
+        @Override
+        public Comparator<TElement> getComparator()
+        {
+            Comparator<TElement> comparator
+                = Comparator.comparing(keySelector, descending ? comparer.reversed() : comparer);
+
+            if (parent != null)
+            {
+                Comparator<TElement> parentComparator = parent.getComparator();
+                return (parentComparator != null) ? parentComparator.thenComparing(comparator) : null;
+            }
+
+            return comparator;
+        }
+
+        @Override
+        public EnumerableSorter<TElement> getEnumerableSorter(EnumerableSorter<TElement> next)
+        {
+            EnumerableSorter<TElement> sorter
+                = new KeyedEnumerableSorter<TElement, TKey>(keySelector, comparer, descending, next);
+
+            if (parent != null)
+            {
+                sorter = parent.getEnumerableSorter(sorter);
+            }
+
+            return sorter;
+        }
+    }
+
+    private static abstract class EnumerableSorter<TElement>
+    {
+        /**
+         * The size under which a partition is insertion sorted instead of
+         * partitioned further by an {@link IncrementalMap}.
+         */
+        private static final int INSERTION_SORT_THRESHOLD = 16;
+
+        /**
+         * The size under which a parallel sort or merge runs sequentially.
+         */
+        private static final int PARALLEL_SORT_GRAIN = 1 << 13;
+
+        public void computeKeys(ArrayList<TElement> elements, int count)
+        {
+            computeKeys(elements, count, false);
+        }
+
+        public abstract void computeKeys(ArrayList<TElement> elements, int count, boolean parallel);
+
+        public abstract int compareKeys(int index1, int index2);
+
+        /**
+         * Compares two elements by extracting their keys, without computing
+         * keys for a whole array of elements first.
+         *
+         * @param element1
+         *            The first element to compare.
+         * @param element2
+         *            The second element to compare.
+         * @return A negative number, zero, or a positive number as the first
+         *         element sorts before, equal to, or after the second.
+         */
+        public abstract int compareElements(TElement element1, TElement element2);
+
+        public int[] sort(ArrayList<TElement> elements, int count)
+        {
+            return sort(elements, count, 0, count - 1);
+        }
+
+        /**
+         * Sorts the elements that belong between two indexes of the sorted
+         * sequence. Elements outside of the range are only partitioned, so
+         * selecting <i>k</i> elements costs <i>O(n + k log k)</i>.
+         *
+         * @param elements
+         *            The elements to sort.
+         * @param count
+         *            The number of elements to sort.
+         * @param minIndexInclusive
+         *            The first index of the map that must be sorted.
+         * @param maxIndexInclusive
+         *            The last index of the map that must be sorted.
+         * @return A map from sorted positions to indexes of
+         *         <code>elements</code>.
+         */
+        public int[] sort(ArrayList<TElement> elements, int count, int minIndexInclusive, int maxIndexInclusive)
+        {
+            computeKeys(elements, count);
+            int[] map = new int[count];
+            for (int index = 0; index < count; index++)
+            {
+                map[index] = index;
+            }
+
+            quickSort(map, 0, count - 1, minIndexInclusive, maxIndexInclusive);
+            return map;
+        }
+
+        private void quickSort(int[] map, int left, int right, int minIndexInclusive, int maxIndexInclusive)
+        {
+            do
+            {
+                int leftIndex = left;
+                int rightIndex = right;
+                int pivotIndex = map[leftIndex + ((rightIndex - leftIndex) >> 1)];
+                do
+                {
+                    while (leftIndex < map.length && compareKeys(pivotIndex, map[leftIndex]) > 0)
+                    {
+                        leftIndex++;
+                    }
+                    while (rightIndex >= 0 && compareKeys(pivotIndex, map[rightIndex]) < 0)
+                    {
+                        rightIndex--;
+                    }
+                    if (leftIndex > rightIndex)
+                    {
+                        break;
+                    }
+                    if (leftIndex < rightIndex)
+                    {
+                        int temp = map[leftIndex];
+                        map[leftIndex] = map[rightIndex];
+                        map[rightIndex] = temp;
+                    }
+                    leftIndex++;
+                    rightIndex--;
+                }
+                while (leftIndex <= rightIndex);
+
+                // Partitions that lie entirely outside of the requested range
+                // never have to be sorted.
+                boolean sortLeft = left < rightIndex && minIndexInclusive <= rightIndex;
+                boolean sortRight = leftIndex < right && maxIndexInclusive >= leftIndex;
+                if (sortLeft && sortRight)
+                {
+                    if (rightIndex - left <= right - leftIndex)
+                    {
+                        quickSort(map, left, rightIndex, minIndexInclusive, maxIndexInclusive);
+                        left = leftIndex;
+                    }
+                    else
+                    {
+                        quickSort(map, leftIndex, right, minIndexInclusive, maxIndexInclusive);
+                        right = rightIndex;
+                    }
+                }
+                else if (sortLeft)
+                {
+                    right = rightIndex;
+                }
+                else if (sortRight)
+                {
+                    left = leftIndex;
+                }
+                else
+                {
+                    break;
+                }
+            }
+            while (left < right);
+        }
+
+        /**
+         * Computes the keys of the elements and returns a map that is sorted
+         * on demand, so the first elements can be read after a single
+         * partitioning pass instead of a full sort.
+         *
+         * @param elements
+         *            The elements to sort.
+         * @param count
+         *            The number of elements to sort.
+         * @param minIndexInclusive
+         *            The first index of the map that will be read.
+         * @param maxIndexInclusive
+         *            The last index of the map that will be read.
+         * @return A map from sorted positions to indexes of
+         *         <code>elements</code> that must be read in ascending order.
+         */
+        public IncrementalMap sortIncrementally(ArrayList<TElement> elements, int count, int minIndexInclusive,
+            int maxIndexInclusive)
+        {
+            computeKeys(elements, count);
+            int[] map = new int[count];
+            for (int index = 0; index < count; index++)
+            {
+                map[index] = index;
+            }
+
+            return new IncrementalMap(map, maxIndexInclusive);
+        }
+
+        /**
+         * Sorts the elements with a parallel merge sort. The keys of every
+         * level are extracted in parallel, halves below
+         * {@link #PARALLEL_SORT_GRAIN} are sorted with the sequential
+         * quicksort, and sorted halves are combined with a parallel merge.
+         *
+         * @param elements
+         *            The elements to sort.
+         * @param count
+         *            The number of elements to sort.
+         * @return A map from sorted positions to indexes of
+         *         <code>elements</code>.
+         */
+        public int[] sortParallel(ArrayList<TElement> elements, int count)
+        {
+            computeKeys(elements, count, true);
+            int[] map = new int[count];
+            Arrays.parallelSetAll(map, index -> index);
+
+            ForkJoinPool.commonPool().invoke(new SortAction(map, new int[count], 0, count));
+            return map;
+        }
+
+        /**
+         * Sorts <code>map[from, to)</code>, using the same range of
+         * <code>buffer</code> to merge the sorted halves.
+         */
+        private class SortAction extends RecursiveAction
+        {
+            private static final long serialVersionUID = 1L;
+
+            public SortAction(int[] map, int[] buffer, int from, int to)
+            {
+                this.map = map;
+                this.buffer = buffer;
+                this.from = from;
+                this.to = to;
+            }
+
+            private final int[] map;
+            private final int[] buffer;
+            private final int from;
+            private final int to;
+
+            @Override
+            protected void compute()
+            {
+                if (to - from <= PARALLEL_SORT_GRAIN)
+                {
+                    quickSort(map, from, to - 1, from, to - 1);
+                    return;
+                }
+
+                int middle = (from + to) >>> 1;
+                invokeAll(new SortAction(map, buffer, from, middle), new SortAction(map, buffer, middle, to));
+                new MergeAction(map, from, middle, middle, to, buffer, from).invoke();
+                System.arraycopy(buffer, from, map, from, to - from);
+            }
+        }
+
+        /**
+         * Merges the sorted ranges <code>source[leftFrom, leftTo)</code> and
+         * <code>source[rightFrom, rightTo)</code> into
+         * <code>destination</code>, starting at <code>destinationFrom</code>.
+         * Large merges are split around the median of the larger range.
+         */
+        private class MergeAction extends RecursiveAction
+        {
+            private static final long serialVersionUID = 1L;
+
+            public MergeAction(int[] source, int leftFrom, int leftTo, int rightFrom, int rightTo,
+                int[] destination, int destinationFrom)
+            {
+                this.source = source;
+                this.leftFrom = leftFrom;
+                this.leftTo = leftTo;
+                this.rightFrom = rightFrom;
+                this.rightTo = rightTo;
+                this.destination = destination;
+                this.destinationFrom = destinationFrom;
+            }
+
+            private final int[] source;
+            private final int leftFrom;
+            private final int leftTo;
+            private final int rightFrom;
+            private final int rightTo;
+            private final int[] destination;
+            private final int destinationFrom;
+
+            @Override
+            protected void compute()
+            {
+                int leftCount = leftTo - leftFrom;
+                int rightCount = rightTo - rightFrom;
+                if (leftCount + rightCount <= PARALLEL_SORT_GRAIN)
+                {
+                    merge();
+                    return;
+                }
+
+                // Keys never compare equal because ties are broken by index,
+                // so the ranges can be swapped without affecting stability.
+                if (leftCount < rightCount)
+                {
+                    new MergeAction(source, rightFrom, rightTo, leftFrom, leftTo, destination, destinationFrom)
+                        .compute();
+                    return;
+                }
+
+                int leftMiddle = (leftFrom + leftTo) >>> 1;
+                int pivot = source[leftMiddle];
+
+                int low = rightFrom;
+                int high = rightTo;
+                while (low < high)
+                {
+                    int middle = (low + high) >>> 1;
+                    if (compareKeys(source[middle], pivot) < 0)
+                    {
+                        low = middle + 1;
+                    }
+                    else
+                    {
+                        high = middle;
+                    }
+                }
+
+                int destinationMiddle = destinationFrom + (leftMiddle - leftFrom) + (low - rightFrom);
+                destination[destinationMiddle] = pivot;
+
+                invokeAll(new MergeAction(source, leftFrom, leftMiddle, rightFrom, low, destination, destinationFrom),
+                    new MergeAction(source, leftMiddle + 1, leftTo, low, rightTo, destination,
+                        destinationMiddle + 1));
+            }
+
+            private void merge()
+            {
+                int left = leftFrom;
+                int right = rightFrom;
+                int index = destinationFrom;
+                while (left < leftTo && right < rightTo)
+                {
+                    if (compareKeys(source[left], source[right]) < 0)
+                    {
+                        destination[index++] = source[left++];
+                    }
+                    else
+                    {
+                        destination[index++] = source[right++];
+                    }
+                }
+
+                System.arraycopy(source, left, destination, index, leftTo - left);
+                index += leftTo - left;
+                System.arraycopy(source, right, destination, index, rightTo - right);
+            }
+        }
+
+        /**
+         * A map from sorted positions to element indexes that is sorted by an
+         * incremental quicksort. Unsorted partitions are kept on a stack with
+         * the leftmost partition on top; reading a position splits the top
+         * partition until the position is in its final place.
+         */
+        public class IncrementalMap
+        {
+            public IncrementalMap(int[] map, int maxIndexInclusive)
+            {
+                this.map = map;
+                this.maxIndexInclusive = maxIndexInclusive;
+
+                if (map.length > 1)
+                {
+                    push(0, map.length - 1);
+                }
+            }
+
+            private final int[] map;
+            private final int maxIndexInclusive;
+            private int[] partitions = new int[32];
+            private int partitionCount;
+
+            /**
+             * Gets the index of the element at a sorted position. Positions
+             * must be read in ascending order.
+             *
+             * @param index
+             *            The sorted position.
+             * @return The index of the element at the sorted position.
+             */
+            public int get(int index)
+            {
+                while (partitionCount > 0)
+                {
+                    int left = partitions[partitionCount * 2 - 2];
+                    int right = partitions[partitionCount * 2 - 1];
+                    if (index < left)
+                    {
+                        break;
+                    }
+
+                    partitionCount--;
+                    if (right < index)
+                    {
+                        continue;
+                    }
+
+                    if (right - left < INSERTION_SORT_THRESHOLD)
+                    {
+                        insertionSort(left, right);
+                        break;
+                    }
+
+                    int leftIndex = left;
+                    int rightIndex = right;
+                    int pivotIndex = map[leftIndex + ((rightIndex - leftIndex) >> 1)];
+                    do
+                    {
+                        while (leftIndex < map.length && compareKeys(pivotIndex, map[leftIndex]) > 0)
+                        {
+                            leftIndex++;
+                        }
+                        while (rightIndex >= 0 && compareKeys(pivotIndex, map[rightIndex]) < 0)
+                        {
+                            rightIndex--;
+                        }
+                        if (leftIndex > rightIndex)
+                        {
+                            break;
+                        }
+                        if (leftIndex < rightIndex)
+                        {
+                            int temp = map[leftIndex];
+                            map[leftIndex] = map[rightIndex];
+                            map[rightIndex] = temp;
+                        }
+                        leftIndex++;
+                        rightIndex--;
+                    }
+                    while (leftIndex <= rightIndex);
+
+                    // The right partition goes on the stack first so that the
+                    // left partition is split next. Partitions past the range
+                    // being read are dropped.
+                    if (leftIndex < right && leftIndex <= maxIndexInclusive)
+                    {
+                        push(leftIndex, right);
+                    }
+                    if (left < rightIndex && index <= rightIndex)
+                    {
+                        push(left, rightIndex);
+                    }
+                }
+
+                return map[index];
+            }
+
+            private void insertionSort(int left, int right)
+            {
+                for (int i = left + 1; i <= right; i++)
+                {
+                    int current = map[i];
+                    int j = i - 1;
+                    while (j >= left && compareKeys(map[j], current) > 0)
+                    {
+                        map[j + 1] = map[j];
+                        j--;
+                    }
+
+                    map[j + 1] = current;
+                }
+            }
+
+            private void push(int left, int right)
+            {
+                if (partitionCount * 2 == partitions.length)
+                {
+                    partitions = Arrays.copyOf(partitions, partitions.length * 2);
+                }
+
+                partitions[partitionCount * 2] = left;
+                partitions[partitionCount * 2 + 1] = right;
+                partitionCount++;
+            }
+        }
+    }
+
+    private static class KeyedEnumerableSorter<TElement, TKey> extends EnumerableSorter<TElement>
+    {
+        public KeyedEnumerableSorter(Function<TElement, TKey> keySelector, Comparator<TKey> comparer,
+            boolean descending, EnumerableSorter<TElement> next)
+        {
+            this.keySelector = keySelector;
+            this.comparer = comparer;
+            this.descending = descending;
+            this.next = next;
+        }
+
+        private final Function<TElement, TKey> keySelector;
+        private final Comparator<TKey> comparer;
+        private final boolean descending;
+        private final EnumerableSorter<TElement> next;
+        private TKey[] keys;
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void computeKeys(ArrayList<TElement> elements, int count, boolean parallel)
+        {
+            keys = (TKey[]) new Object[count];
+            if (parallel)
+            {
+                Arrays.parallelSetAll(keys, index -> keySelector.apply(elements.get(index)));
+            }
+            else
+            {
+                for (int index = 0; index < count; index++)
+                {
+                    keys[index] = keySelector.apply(elements.get(index));
+                }
+            }
+
+            if (next != null)
+            {
+                next.computeKeys(elements, count, parallel);
+            }
+        }
+
+        @Override
+        public int compareKeys(int index1, int index2)
+        {
+            int order = comparer.compare(keys[index1], keys[index2]);
+            if (order == 0)
+            {
+                if (next == null)
+                {
+                    return index1 - index2;
+                }
+
+                return next.compareKeys(index1, index2);
+            }
+
+            return descending ? -order : order;
+        }
+
+        @Override
+        public int compareElements(TElement element1, TElement element2)
+        {
+            int order = comparer.compare(keySelector.apply(element1), keySelector.apply(element2));
+            if (order == 0)
+            {
+                return next == null ? 0 : next.compareElements(element1, element2);
+            }
+
+            return descending ? -order : order;
+        }
+    }
+
+    private static class IntEnumerableSorter<TElement> extends EnumerableSorter<TElement>
+    {
+        public IntEnumerableSorter(ToIntFunction<TElement> keySelector, boolean descending,
+            EnumerableSorter<TElement> next)
+        {
+            this.keySelector = keySelector;
+            this.descending = descending;
+            this.next = next;
+        }
+
+        private final ToIntFunction<TElement> keySelector;
+        private final boolean descending;
+        private final EnumerableSorter<TElement> next;
+        private int[] keys;
+
+        @Override
+        public void computeKeys(ArrayList<TElement> elements, int count, boolean parallel)
+        {
+            keys = new int[count];
+            if (parallel)
+            {
+                Arrays.parallelSetAll(keys, index -> keySelector.applyAsInt(elements.get(index)));
+            }
+            else
+            {
+                for (int index = 0; index < count; index++)
+                {
+                    keys[index] = keySelector.applyAsInt(elements.get(index));
+                }
+            }
+
+            if (next != null)
+            {
+                next.computeKeys(elements, count, parallel);
+            }
+        }
+
+        @Override
+        public int compareKeys(int index1, int index2)
+        {
+            int order = Integer.compare(keys[index1], keys[index2]);
+            if (order == 0)
+            {
+                if (next == null)
+                {
+                    return index1 - index2;
+                }
+
+                return next.compareKeys(index1, index2);
+            }
+
+            return descending ? -order : order;
+        }
+
+        @Override
+        public int compareElements(TElement element1, TElement element2)
+        {
+            int order = Integer.compare(keySelector.applyAsInt(element1), keySelector.applyAsInt(element2));
+            if (order == 0)
+            {
+                return next == null ? 0 : next.compareElements(element1, element2);
+            }
+
+            return descending ? -order : order;
+        }
+    }
+
+    private static class LongEnumerableSorter<TElement> extends EnumerableSorter<TElement>
+    {
+        public LongEnumerableSorter(ToLongFunction<TElement> keySelector, boolean descending,
+            EnumerableSorter<TElement> next)
+        {
+            this.keySelector = keySelector;
+            this.descending = descending;
+            this.next = next;
+        }
+
+        private final ToLongFunction<TElement> keySelector;
+        private final boolean descending;
+        private final EnumerableSorter<TElement> next;
+        private long[] keys;
+
+        @Override
+        public void computeKeys(ArrayList<TElement> elements, int count, boolean parallel)
+        {
+            keys = new long[count];
+            if (parallel)
+            {
+                Arrays.parallelSetAll(keys, index -> keySelector.applyAsLong(elements.get(index)));
+            }
+            else
+            {
+                for (int index = 0; index < count; index++)
+                {
+                    keys[index] = keySelector.applyAsLong(elements.get(index));
+                }
+            }
+
+            if (next != null)
+            {
+                next.computeKeys(elements, count, parallel);
+            }
+        }
+
+        @Override
+        public int compareKeys(int index1, int index2)
+        {
+            int order = Long.compare(keys[index1], keys[index2]);
+            if (order == 0)
+            {
+                if (next == null)
+                {
+                    return index1 - index2;
+                }
+
+                return next.compareKeys(index1, index2);
+            }
+
+            return descending ? -order : order;
+        }
+
+        @Override
+        public int compareElements(TElement element1, TElement element2)
+        {
+            int order = Long.compare(keySelector.applyAsLong(element1), keySelector.applyAsLong(element2));
+            if (order == 0)
+            {
+                return next == null ? 0 : next.compareElements(element1, element2);
+            }
+
+            return descending ? -order : order;
+        }
+    }
+
+    private static class DoubleEnumerableSorter<TElement> extends EnumerableSorter<TElement>
+    {
+        public DoubleEnumerableSorter(ToDoubleFunction<TElement> keySelector, boolean descending,
+            EnumerableSorter<TElement> next)
+        {
+            this.keySelector = keySelector;
+            this.descending = descending;
+            this.next = next;
+        }
+
+        private final ToDoubleFunction<TElement> keySelector;
+        private final boolean descending;
+        private final EnumerableSorter<TElement> next;
+        private double[] keys;
+
+        @Override
+        public void computeKeys(ArrayList<TElement> elements, int count, boolean parallel)
+        {
+            keys = new double[count];
+            if (parallel)
+            {
+                Arrays.parallelSetAll(keys, index -> keySelector.applyAsDouble(elements.get(index)));
+            }
+            else
+            {
+                for (int index = 0; index < count; index++)
+                {
+                    keys[index] = keySelector.applyAsDouble(elements.get(index));
+                }
+            }
+
+            if (next != null)
+            {
+                next.computeKeys(elements, count, parallel);
+            }
+        }
+
+        @Override
+        public int compareKeys(int index1, int index2)
+        {
+            int order = Double.compare(keys[index1], keys[index2]);
+            if (order == 0)
+            {
+                if (next == null)
+                {
+                    return index1 - index2;
+                }
+
+                return next.compareKeys(index1, index2);
+            }
+
+            return descending ? -order : order;
+        }
+
+        @Override
+        public int compareElements(TElement element1, TElement element2)
+        {
+            int order = Double.compare(keySelector.applyAsDouble(element1), keySelector.applyAsDouble(element2));
+            if (order == 0)
+            {
+                return next == null ? 0 : next.compareElements(element1, element2);
+            }
+
+            return descending ? -order : order;
+        }
+    }
+
+    /**
+     * Represents a contiguous range of an ordered sequence, created when
+     * <code>skip</code> or <code>take</code> is applied to an
+     * {@link OrderedEnumerable}. Only the elements in the range are sorted.
+     */
+    private static class OrderedPartition<TElement> implements IEnumerable<TElement>
+    {
+        public OrderedPartition(OrderedEnumerable<TElement> source, int minIndexInclusive, int maxIndexInclusive)
+        {
+            this.source = source;
+            this.minIndexInclusive = minIndexInclusive;
+            this.maxIndexInclusive = maxIndexInclusive;
+        }
+
+        private final OrderedEnumerable<TElement> source;
+        private final int minIndexInclusive;
+        private final int maxIndexInclusive;
+
+        public static <TElement> OrderedPartition<TElement> from(Iterable<TElement> source)
+        {
+            if (source instanceof OrderedPartition<?>)
+            {
+                return (OrderedPartition<TElement>) source;
+            }
+
+            if (source instanceof OrderedEnumerable<?>)
+            {
+                return new OrderedPartition<>((OrderedEnumerable<TElement>) source, 0, Integer.MAX_VALUE);
+            }
+
+            return null;
+        }
+
+        @Override
+        public int tryGetCount()
+        {
+            int sourceCount = source.tryGetCount();
+            if (sourceCount < 0)
+            {
+                return -1;
+            }
+
+            int lastIndex = Math.min(sourceCount - 1, maxIndexInclusive);
+            return Math.max(lastIndex - minIndexInclusive + 1, 0);
+        }
+
+        @Override
+        public Iterator<TElement> iterator()
+        {
+            return getEnumerator();
+        }
+
+        @Override
+        public IEnumerator<TElement> getEnumerator()
+        {
+            return source.getEnumerator(minIndexInclusive, maxIndexInclusive);
+        }
+
+        @Override
+        public IEnumerable<TElement> skip(int count)
+        {
+            if (count <= 0)
+            {
+                return this;
+            }
+
+            int minIndex = (int) Math.min((long) minIndexInclusive + count, Integer.MAX_VALUE);
+            return new OrderedPartition<>(source, minIndex, maxIndexInclusive);
+        }
+
+        @Override
+        public IEnumerable<TElement> take(int count)
+        {
+            long maxIndex = (long) minIndexInclusive + Math.max(count, 0) - 1;
+            return new OrderedPartition<>(source, minIndexInclusive,
+                (int) Math.min(maxIndex, maxIndexInclusive));
+        }
+    }
+
+    // endregion
+
+    // endregion
+
+    // region: Grouping
+
+    // region: Group By
+
+    /**
+     * Groups the elements of a sequence according to a specified key selector
+     * function.
+     * 
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param source
+     *            An {@link Iterable} with the elements to group.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements of <code>source</code>.
+     * @return An {@link IEnumerable} where each {@link IGrouping} object
+     *         contains a sequence of objects and a key.
+     */
+    public static <TSource, TKey> IEnumerable<IGrouping<TKey, TSource>> groupBy(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector,
+        Class<TKey> keyType,
+        Class<TSource> elementType)
+    {
+        return new GroupedEnumerable<TSource, TKey, TSource>(source,
+            keySelector, x -> x,
+            null, keyType, elementType);
+    }
+
+    /**
+     * Groups the elements of a sequence according to a specified key selector
+     * function and compares the keys by using a specified comparer.
+     * 
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param source
+     *            An {@link Iterable} with the elements to group.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param comparer
+     *            An {@link IEqualityComparer} with which to compare keys.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements of <code>source</code>.
+     * @return An {@link IEnumerable} where each {@link IGrouping} object
+     *         contains a sequence of objects and a key.
+     */
+    public static <TSource, TKey> IEnumerable<IGrouping<TKey, TSource>> groupBy(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TSource> elementType)
+    {
+        return new GroupedEnumerable<TSource, TKey, TSource>(source,
+            keySelector, x -> x,
+            comparer, keyType, elementType);
+    }
+
+    /**
+     * Groups the elements of a sequence according to a specified key selector
+     * function and projects the elements for each group by using a specified
+     * function.
+     * 
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param <TElement>
+     *            The type of the elements in the {@link IGrouping}.
+     * @param source
+     *            An {@link Iterable} with the elements to group.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param elementSelector
+     *            A function to map each source element to an element in the
+     *            {@link IGrouping}.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements in the {@link IGrouping}.
+     * @return An {@link IEnumerable} where each {@link IGrouping} object
+     *         contains a collection of objects of type <code>TElement</code>
+     *         and a key.
+     */
+    public static <TSource, TKey, TElement> IEnumerable<IGrouping<TKey, TElement>> groupBy(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector,
+        Function<TSource, TElement> elementSelector,
+        Class<TKey> keyType,
+        Class<TElement> elementType)
+    {
+        return new GroupedEnumerable<TSource, TKey, TElement>(source,
+            keySelector, elementSelector,
+            null, keyType, elementType);
+    }
+
+    /**
+     * Groups the elements of a sequence according to a key selector function.
+     * The keys are compared by using a comparer and each group's elements are
+     * projected by using a specified function.
+     * 
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param <TElement>
+     *            The type of the elements in the {@link IGrouping}.
+     * @param source
+     *            An {@link Iterable} with the elements to group.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param elementSelector
+     *            A function to map each source element to an element in the
+     *            {@link IGrouping}.
+     * @param comparer
+     *            An {@link IEqualityComparer} with which to compare keys.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements in the {@link IGrouping}.
+     * @return An {@link IEnumerable} where each {@link IGrouping} object
+     *         contains a collection of objects of type <code>TElement</code>
+     *         and a key.
+     */
+    public static <TSource, TKey, TElement> IEnumerable<IGrouping<TKey, TElement>> groupBy(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector,
+        Function<TSource, TElement> elementSelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TElement> elementType)
+    {
+        return new GroupedEnumerable<TSource, TKey, TElement>(source,
+            keySelector, elementSelector,
+            comparer, keyType, elementType);
+    }
+
+    /**
+     * Groups the elements of a sequence according to a specified key selector
+     * function and creates a result value from each group and its key.
+     * 
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param <TResult>
+     *            The type of the result value returned by
+     *            <code>resultSelector</code>.
+     * @param source
+     *            An {@link Iterable} with the elements to group.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param resultSelector
+     *            A function to create a result value from each group.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements of <code>source</code>.
+     * @return A collection of elements of type <code>TResult</code> where each
+     *         element represents a projection over a group and its key.
+     */
+    public static <TSource, TKey, TResult> IEnumerable<TResult> groupBy(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector,
+        BiFunction<TKey, IEnumerable<TSource>, TResult> resultSelector,
+        Class<TKey> keyType,
+        Class<TSource> elementType)
+    {
+        return new GroupedResultEnumerable<TSource, TKey, TSource, TResult>(source,
+            keySelector, x -> x, resultSelector,
+            null, keyType, elementType);
+    }
+
+    /**
+     * Groups the elements of a sequence according to a specified key selector
+     * function and creates a result value from each group and its key. The keys
+     * are compared by using a specified comparer.
+     * 
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param <TResult>
+     *            The type of the result value returned by
+     *            <code>resultSelector</code>.
+     * @param source
+     *            An {@link Iterable} with the elements to group.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param resultSelector
+     *            A function to create a result value from each group.
+     * @param comparer
+     *            An {@link IEqualityComparer} with which to compare keys.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements of <code>source</code>.
+     * @return A collection of elements of type <code>TResult</code> where each
+     *         element represents a projection over a group and its key.
+     */
+    public static <TSource, TKey, TResult> IEnumerable<TResult> groupBy(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector,
+        BiFunction<TKey, IEnumerable<TSource>, TResult> resultSelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TSource> elementType)
+    {
+        return new GroupedResultEnumerable<TSource, TKey, TSource, TResult>(source,
+            keySelector, x -> x, resultSelector,
+            comparer, keyType, elementType);
+    }
+
+    /**
+     * Groups the elements of a sequence according to a specified key selector
+     * function and creates a result value from each group and its key. The
+     * elements of each group are projected by using a specified function.
+     * 
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param <TElement>
+     *            The type of the elements in the {@link IGrouping}.
+     * @param <TResult>
+     *            The type of the result value returned by
+     *            <code>resultSelector</code>.
+     * @param source
+     *            An {@link Iterable} with the elements to group.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param elementSelector
+     *            A function to map each source element to an element in the
+     *            {@link IGrouping}.
+     * @param resultSelector
+     *            A function to create a result value from each group.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements of <code>source</code>.
+     * @return A collection of elements of type <code>TResult</code> where each
+     *         element represents a projection over a group and its key.
+     */
+    public static <TSource, TKey, TElement, TResult> IEnumerable<TResult> groupBy(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector,
+        Function<TSource, TElement> elementSelector,
+        BiFunction<TKey, IEnumerable<TElement>, TResult> resultSelector,
+        Class<TKey> keyType,
+        Class<TElement> elementType)
+    {
+        return new GroupedResultEnumerable<TSource, TKey, TElement, TResult>(source,
+            keySelector, elementSelector, resultSelector,
+            null, keyType, elementType);
+    }
+
+    /**
+     * Groups the elements of a sequence according to a specified key selector
+     * function and creates a result value from each group and its key. Key
+     * values are compared by using a specified comparer, and the elements of
+     * each group are projected by using a specified function.
+     * 
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param <TElement>
+     *            The type of the elements in the {@link IGrouping}.
+     * @param <TResult>
+     *            The type of the result value returned by
+     *            <code>resultSelector</code>.
+     * @param source
+     *            An {@link Iterable} with the elements to group.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param elementSelector
+     *            A function to map each source element to an element in the
+     *            {@link IGrouping}.
+     * @param resultSelector
+     *            A function to create a result value from each group.
+     * @param comparer
+     *            An {@link IEqualityComparer} with which to compare keys.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements of <code>source</code>.
+     * @return A collection of elements of type <code>TResult</code> where each
+     *         element represents a projection over a group and its key.
+     */
+    public static <TSource, TKey, TElement, TResult> IEnumerable<TResult> groupBy(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector,
+        Function<TSource, TElement> elementSelector,
+        BiFunction<TKey, IEnumerable<TElement>, TResult> resultSelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TElement> elementType)
+    {
+        return new GroupedResultEnumerable<TSource, TKey, TElement, TResult>(source,
+            keySelector, elementSelector, resultSelector,
+            comparer, keyType, elementType);
+    }
+
+    // endregion
+
+    // region: Group Adjacent
+
+    /**
+     * Groups consecutive elements of a sequence that have equal keys. A new
+     * {@link IGrouping} starts each time the key changes, so only the current
+     * group is held in memory and groups are returned as soon as they are
+     * complete. When all elements with equal keys are already adjacent, the
+     * result is the same as {@link #groupBy(Iterable, Function, Class, Class)}.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param source
+     *            An {@link Iterable} with the elements to group.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements of <code>source</code>.
+     * @return An {@link IEnumerable} where each {@link IGrouping} object
+     *         contains a run of consecutive elements and their key.
+     */
+    public static <TSource, TKey> IEnumerable<IGrouping<TKey, TSource>> groupAdjacent(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector,
+        Class<TKey> keyType,
+        Class<TSource> elementType)
+    {
+        return groupAdjacent(source, keySelector, x -> x, null, keyType, elementType);
+    }
+
+    /**
+     * Groups consecutive elements of a sequence that have equal keys and
+     * compares the keys by using a specified comparer. Only the current group
+     * is held in memory.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param source
+     *            An {@link Iterable} with the elements to group.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param comparer
+     *            An {@link IEqualityComparer} with which to compare keys.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements of <code>source</code>.
+     * @return An {@link IEnumerable} where each {@link IGrouping} object
+     *         contains a run of consecutive elements and their key.
+     */
+    public static <TSource, TKey> IEnumerable<IGrouping<TKey, TSource>> groupAdjacent(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TSource> elementType)
+    {
+        return groupAdjacent(source, keySelector, x -> x, comparer, keyType, elementType);
+    }
+
+    /**
+     * Groups consecutive elements of a sequence that have equal keys and
+     * projects the elements for each group by using a specified function.
+     * Only the current group is held in memory.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param <TElement>
+     *            The type of the elements in the {@link IGrouping}.
+     * @param source
+     *            An {@link Iterable} with the elements to group.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param elementSelector
+     *            A function to map each source element to an element in the
+     *            {@link IGrouping}.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements in the {@link IGrouping}.
+     * @return An {@link IEnumerable} where each {@link IGrouping} object
+     *         contains a run of projected elements and their key.
+     */
+    public static <TSource, TKey, TElement> IEnumerable<IGrouping<TKey, TElement>> groupAdjacent(
+        Iterable<TSource> source,
+        Function<TSource, TKey> keySelector,
+        Function<TSource, TElement> elementSelector,
+        Class<TKey> keyType,
+        Class<TElement> elementType)
+    {
+        return groupAdjacent(source, keySelector, elementSelector, null, keyType, elementType);
+    }
+
+    /**
+     * Groups consecutive elements of a sequence that have equal keys by using
+     * a specified comparer and projects the elements for each group by using a
+     * specified function. Only the current group is held in memory.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param <TElement>
+     *            The type of the elements in the {@link IGrouping}.
+     * @param source
+     *            An {@link Iterable} with the elements to group.
+     * @param keySelector
+     *            A function to extract the key for each element.
+     * @param elementSelector
+     *            A function to map each source element to an element in the
+     *            {@link IGrouping}.
+     * @param comparer
+     *            An {@link IEqualityComparer} with which to compare keys.
+     * @param keyType
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param elementType
+     *            The type of the elements in the {@link IGrouping}.
+     * @return An {@link IEnumerable} where each {@link IGrouping} object
+     *         contains a run of projected elements and their key.
+     */
+    public static <TSource, TKey, TElement> IEnumerable<IGrouping<TKey, TElement>> groupAdjacent(
+        Iterable<TSource> source,
+        Function<TSource, TKey> keySelector,
+        Function<TSource, TElement> elementSelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TElement> elementType)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (keySelector == null)
+        {
+            throw new IllegalArgumentException("keySelector is null.");
+        }
+        if (elementSelector == null)
+        {
+            throw new IllegalArgumentException("elementSelector is null.");
+        }
+        if (keyType == null)
+        {
+            throw new IllegalArgumentException("keyType is null.");
+        }
+        if (elementType == null)
+        {
+            throw new IllegalArgumentException("elementType is null.");
+        }
+
+        IEqualityComparer<TKey> keyComparer = (comparer != null) ? comparer : EqualityComparer.getDefault(keyType);
+        return new EnumerableAdapter<>(
+            () -> new GroupAdjacentIterator<>(source, keySelector, elementSelector, keyComparer));
+    }
+
+    private static class GroupAdjacentIterator<TSource, TKey, TElement> extends SimpleIterator<IGrouping<TKey, TElement>>
+    {
+        public GroupAdjacentIterator(Iterable<TSource> source,
+            Function<TSource, TKey> keySelector,
+            Function<TSource, TElement> elementSelector,
+            IEqualityComparer<TKey> comparer)
+        {
+            this.keySelector = keySelector;
+            this.elementSelector = elementSelector;
+            this.comparer = comparer;
+
+            iterator = source.iterator();
+        }
+
+        private final Function<TSource, TKey> keySelector;
+        private final Function<TSource, TElement> elementSelector;
+        private final IEqualityComparer<TKey> comparer;
+        private final Iterator<TSource> iterator;
+
+        private TSource pending;
+        private TKey pendingKey;
+        private boolean hasPending;
+
+        @Override
+        public boolean moveNext()
+        {
+            if (hasPending == false)
+            {
+                if (iterator.hasNext() == false)
+                {
+                    return false;
+                }
+
+                pending = iterator.next();
+                pendingKey = keySelector.apply(pending);
+            }
+
+            TKey key = pendingKey;
+            ArrayList<TElement> elements = new ArrayList<>();
+            elements.add(elementSelector.apply(pending));
+            hasPending = false;
+
+            while (iterator.hasNext())
+            {
+                TSource item = iterator.next();
+                TKey itemKey = keySelector.apply(item);
+                if (comparer.equals(key, itemKey) == false)
+                {
+                    pending = item;
+                    pendingKey = itemKey;
+                    hasPending = true;
+                    break;
+                }
+
+                elements.add(elementSelector.apply(item));
+            }
+
+            if (hasPending == false)
+            {
+                pending = null;
+                pendingKey = null;
+            }
+
+            setCurrent(new AdjacentGrouping<>(key, elements));
+            return true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static class AdjacentGrouping<TKey, TElement> extends AbstractList<TElement>
+        implements IGrouping<TKey, TElement>, RandomAccess
+    {
+        public AdjacentGrouping(TKey key, ArrayList<TElement> elements)
+        {
+            this.key = key;
+            this.elements = elements;
+        }
+
+        private final TKey key;
+        private final ArrayList<TElement> elements;
+
+        @Override
+        public TKey getKey()
+        {
+            return key;
+        }
+
+        @Override
+        public IEnumerator<TElement> getEnumerator()
+        {
+            return new EnumeratorAdapter<>(elements.iterator());
+        }
+
+        @Override
+        public Iterator<TElement> iterator()
+        {
+            return getEnumerator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super TElement> action)
+        {
+            if (action == null)
+            {
+                throw new IllegalArgumentException("action is null.");
+            }
+
+            elements.forEach(action);
+        }
+
+        @Override
+        public Spliterator<TElement> spliterator()
+        {
+            return elements.spliterator();
+        }
+
+        @Override
+        public Stream<TElement> stream()
+        {
+            return IGrouping.super.stream();
+        }
+
+        @Override
+        public Stream<TElement> parallelStream()
+        {
+            return IGrouping.super.parallelStream();
+        }
+
+        @Override
+        public TElement get(int index)
+        {
+            return elements.get(index);
+        }
+
+        @Override
+        public int size()
+        {
+            return elements.size();
+        }
+
+        @Override
+        public Object[] toArray()
+        {
+            return elements.toArray();
+        }
+
+        @Override
+        public TElement[] toArray(Object[] array)
+        {
+            return (TElement[]) elements.toArray(array);
+        }
+
+        /**
+         * Groupings use identity equality like lookup groupings, rather than
+         * list equality, which would ignore the key.
+         */
+        @Override
+        public boolean equals(Object obj)
+        {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return System.identityHashCode(this);
+        }
+    }
+
+    // endregion
+
+    // region: Group Join
+
+    /**
+     * Correlates the elements of two sequences based on equality of keys and
+     * groups the results. The default equality comparer is used to compare
+     * keys.
+     * 
+     * @param <TOuter>
+     *            The type of the elements of the first sequence.
+     * @param <TInner>
+     *            The type of the elements of the second sequence.
+     * @param <TKey>
+     *            The type of the keys returned by the key selector functions.
+     * @param <TResult>
+     *            The type of the result elements.
+     * @param outer
+     *            The first sequence to join.
+     * @param inner
+     *            The sequence to join to the first sequence.
+     * @param outerKeySelector
+     *            A function to extract the join key from each element of the
+     *            first sequence.
+     * @param innerKeySelector
+     *            A function to extract the join key from each element of the
+     *            second sequence.
+     * @param resultSelector
+     *            A function to create a result element from an element from the
+     *            first sequence and a collection of matching elements from the
+     *            second sequence.
+     * @param keyType
+     *            The type of the keys returned by the key selector functions.
+     * @param elementType
+     *            The type of the elements of the second sequence.
+     * @return An IEnumerable<T> that contains elements of type TResult that are
+     *         obtained by performing a grouped join on two sequences.
+     */
+    public static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> groupJoin(
+        Iterable<TOuter> outer,
+        Iterable<TInner> inner,
+        Function<TOuter, TKey> outerKeySelector,
+        Function<TInner, TKey> innerKeySelector,
+        BiFunction<TOuter, IEnumerable<TInner>, TResult> resultSelector,
+        Class<TKey> keyType,
+        Class<TInner> elementType)
+    {
+        if (outer == null)
+        {
+            throw new IllegalArgumentException("outer");
+        }
+        if (inner == null)
+        {
+            throw new IllegalArgumentException("inner");
+        }
+        if (outerKeySelector == null)
+        {
+            throw new IllegalArgumentException("outerKeySelector");
+        }
+        if (innerKeySelector == null)
+        {
+            throw new IllegalArgumentException("innerKeySelector");
+        }
+        if (resultSelector == null)
+        {
+            throw new IllegalArgumentException("resultSelector");
+        }
+        if (keyType == null)
+        {
+            throw new IllegalArgumentException("keyType is null.");
+        }
+        if (elementType == null)
+        {
+            throw new IllegalArgumentException("elementType is null.");
+        }
+
+        return new EnumerableAdapter<>(
+            () -> new GroupJoinIterator<>(outer, inner,
+                outerKeySelector, innerKeySelector, resultSelector,
+                null, keyType, elementType));
+    }
+
+    /**
+     * Correlates the elements of two sequences based on equality of keys and
+     * groups the results. A specified {@link IEqualityComparer} is used to
+     * compare keys.
+     * 
+     * @param <TOuter>
+     *            The type of the elements of the first sequence.
+     * @param <TInner>
+     *            The type of the elements of the second sequence.
+     * @param <TKey>
+     *            The type of the keys returned by the key selector functions.
+     * @param <TResult>
+     *            The type of the result elements.
+     * @param outer
+     *            The first sequence to join.
+     * @param inner
+     *            The sequence to join to the first sequence.
+     * @param outerKeySelector
+     *            A function to extract the join key from each element of the
+     *            first sequence.
+     * @param innerKeySelector
+     *            A function to extract the join key from each element of the
+     *            second sequence.
+     * @param resultSelector
+     *            A function to create a result element from an element from the
+     *            first sequence and a collection of matching elements from the
+     *            second sequence.
+     * @param comparer
+     *            An {@link IEqualityComparer} to hash and compare keys.
+     * @param keyType
+     *            The type of the keys returned by the key selector functions.
+     * @param elementType
+     *            The type of the elements of the second sequence.
+     * @return An IEnumerable<T> that contains elements of type TResult that are
+     *         obtained by performing a grouped join on two sequences.
+     */
+    public static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> groupJoin(
+        Iterable<TOuter> outer,
+        Iterable<TInner> inner,
+        Function<TOuter, TKey> outerKeySelector,
+        Function<TInner, TKey> innerKeySelector,
+        BiFunction<TOuter, IEnumerable<TInner>, TResult> resultSelector,
+        IEqualityComparer<TKey> comparer,
+        Class<TKey> keyType,
+        Class<TInner> elementType)
+    {
+        if (outer == null)
+        {
+            throw new IllegalArgumentException("outer");
+        }
+        if (inner == null)
+        {
+            throw new IllegalArgumentException("inner");
+        }
+        if (outerKeySelector == null)
+        {
+            throw new IllegalArgumentException("outerKeySelector");
+        }
+        if (innerKeySelector == null)
+        {
+            throw new IllegalArgumentException("innerKeySelector");
+        }
+        if (resultSelector == null)
+        {
+            throw new IllegalArgumentException("resultSelector");
+        }
+        if (keyType == null)
+        {
+            throw new IllegalArgumentException("keyType is null.");
+        }
+        if (elementType == null)
+        {
+            throw new IllegalArgumentException("elementType is null.");
+        }
+
+        return new EnumerableAdapter<>(
+            () -> new GroupJoinIterator<>(outer, inner,
+                outerKeySelector, innerKeySelector, resultSelector,
+                comparer, keyType, elementType));
+    }
+
+    private static class GroupJoinIterator<TOuter, TInner, TKey, TResult> extends SimpleIterator<TResult>
+    {
+        public GroupJoinIterator(Iterable<TOuter> outer, Iterable<TInner> inner,
+            Function<TOuter, TKey> outerKeySelector, Function<TInner, TKey> innerKeySelector,
+            BiFunction<TOuter, IEnumerable<TInner>, TResult> resultSelector, IEqualityComparer<TKey> comparer,
+            Class<TKey> keyType,
+            Class<TInner> elementType)
+        {
+            lookup = CompactLookup.createForJoin(inner, innerKeySelector, comparer, keyType, elementType);
+            this.outerKeySelector = outerKeySelector;
+            this.resultSelector = resultSelector;
+
+            outerIterator = outer.iterator();
+        }
+
+        private final CompactLookup<TKey, TInner> lookup;
+        private final Function<TOuter, TKey> outerKeySelector;
+        private final BiFunction<TOuter, IEnumerable<TInner>, TResult> resultSelector;
+
+        private TOuter currentOuter;
+        private Iterator<TOuter> outerIterator;
+
+        @Override
+        public boolean moveNext()
+        {
+            while (outerIterator.hasNext())
+            {
+                currentOuter = outerIterator.next();
+                IEnumerable<TInner> innerItems = lookup.get(outerKeySelector.apply(currentOuter));
+                setCurrent(resultSelector.apply(currentOuter, innerItems));
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    // endregion
+
+    // region: Join
+
+    /**
+     * Correlates the elements of two sequences based on matching keys. The
+     * default equality comparer is used to compare keys.
+     *
+     * @param <TOuter>
+     *            The type of the elements of the first sequence.
+     * @param <TInner>
+     *            The type of the elements of the second sequence.
+     * @param <TKey>
+     *            The type of the keys returned by the key selector functions.
      * @param <TResult>
-     *            The type of the result value returned by
-     *            <code>resultSelector</code>.
-     * @param source
-     *            An {@link Iterable} with the elements to group.
-     * @param keySelector
-     *            A function to extract the key for each element.
-     * @param elementSelector
-     *            A function to map each source element to an element in the
-     *            {@link IGrouping}.
+     *            The type of the result elements.
+     * @param outer
+     *            The first sequence to join.
+     * @param inner
+     *            The sequence to join to the first sequence.
+     * @param outerKeySelector
+     *            A function to extract the join key from each element of the
+     *            first sequence.
+     * @param innerKeySelector
+     *            A function to extract the join key from each element of the
+     *            second sequence.
      * @param resultSelector
-     *            A function to create a result value from each group.
+     *            A function to create a result element from two matching
+     *            elements.
      * @param keyType
-     *            The type of the key returned by <code>keySelector</code>.
+     *            The type of the keys returned by the key selector functions.
      * @param elementType
-     *            The type of the elements of <code>source</code>.
-     * @return A collection of elements of type <code>TResult</code> where each
-     *         element represents a projection over a group and its key.
+     *            The type of the elements of the second sequence.
+     * @return An {@link IEnumerable} that has elements of type
+     *         <code>TResult</code> that are obtained by performing an inner
+     *         join on two sequences.
      */
-    public static <TSource, TKey, TElement, TResult> IEnumerable<TResult> groupBy(Iterable<TSource> source,
-        Function<TSource, TKey> keySelector,
-        Function<TSource, TElement> elementSelector,
-        BiFunction<TKey, IEnumerable<TElement>, TResult> resultSelector,
+    public static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> join(
+        Iterable<TOuter> outer,
+        Iterable<TInner> inner,
+        Function<TOuter, TKey> outerKeySelector,
+        Function<TInner, TKey> innerKeySelector,
+        BiFunction<TOuter, TInner, TResult> resultSelector,
         Class<TKey> keyType,
-        Class<TElement> elementType)
+        Class<TInner> elementType)
     {
-        return new GroupedResultEnumerable<TSource, TKey, TElement, TResult>(source,
-            keySelector, elementSelector, resultSelector,
-            null, keyType, elementType);
+        if (outer == null)
+        {
+            throw new IllegalArgumentException("outer is null.");
+        }
+        if (inner == null)
+        {
+            throw new IllegalArgumentException("inner is null.");
+        }
+        if (outerKeySelector == null)
+        {
+            throw new IllegalArgumentException("outerKeySelector is null.");
+        }
+        if (innerKeySelector == null)
+        {
+            throw new IllegalArgumentException("innerKeySelector is null.");
+        }
+        if (resultSelector == null)
+        {
+            throw new IllegalArgumentException("resultSelector is null.");
+        }
+        if (keyType == null)
+        {
+            throw new IllegalArgumentException("keyType is null.");
+        }
+        if (elementType == null)
+        {
+            throw new IllegalArgumentException("elementType is null.");
+        }
+
+        return new EnumerableAdapter<>(
+            () -> new JoinIterator<>(outer, inner,
+                outerKeySelector, innerKeySelector, resultSelector,
+                null, keyType, elementType));
     }
 
     /**
-     * Groups the elements of a sequence according to a specified key selector
-     * function and creates a result value from each group and its key. Key
-     * values are compared by using a specified comparer, and the elements of
-     * each group are projected by using a specified function.
-     * 
-     * @param <TSource>
-     *            The type of the elements of <code>source</code>.
+     * Correlates the elements of two sequences based on matching keys. The
+     * default equality comparer is used to compare keys.
+     *
+     * @param <TOuter>
+     *            The type of the elements of the first sequence.
+     * @param <TInner>
+     *            The type of the elements of the second sequence.
      * @param <TKey>
-     *            The type of the key returned by <code>keySelector</code>.
-     * @param <TElement>
-     *            The type of the elements in the {@link IGrouping}.
+     *            The type of the keys returned by the key selector functions.
      * @param <TResult>
-     *            The type of the result value returned by
-     *            <code>resultSelector</code>.
-     * @param source
-     *            An {@link Iterable} with the elements to group.
-     * @param keySelector
-     *            A function to extract the key for each element.
-     * @param elementSelector
-     *            A function to map each source element to an element in the
-     *            {@link IGrouping}.
+     *            The type of the result elements.
+     * @param outer
+     *            The first sequence to join.
+     * @param inner
+     *            The sequence to join to the first sequence.
+     * @param outerKeySelector
+     *            A function to extract the join key from each element of the
+     *            first sequence.
+     * @param innerKeySelector
+     *            A function to extract the join key from each element of the
+     *            second sequence.
      * @param resultSelector
-     *            A function to create a result value from each group.
+     *            A function to create a result element from two matching
+     *            elements.
      * @param comparer
-     *            An {@link IEqualityComparer} with which to compare keys.
+     *            An {@link IEqualityComparer} to hash and compare keys.
      * @param keyType
-     *            The type of the key returned by <code>keySelector</code>.
+     *            The type of the keys returned by the key selector functions.
      * @param elementType
-     *            The type of the elements of <code>source</code>.
-     * @return A collection of elements of type <code>TResult</code> where each
-     *         element represents a projection over a group and its key.
+     *            The type of the elements of the second sequence.
+     * @return An {@link IEnumerable} that has elements of type
+     *         <code>TResult</code> that are obtained by performing an inner
+     *         join on two sequences.
      */
-    public static <TSource, TKey, TElement, TResult> IEnumerable<TResult> groupBy(Iterable<TSource> source,
-        Function<TSource, TKey> keySelector,
-        Function<TSource, TElement> elementSelector,
-        BiFunction<TKey, IEnumerable<TElement>, TResult> resultSelector,
+    public static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> join(
+        Iterable<TOuter> outer,
+        Iterable<TInner> inner,
+        Function<TOuter, TKey> outerKeySelector,
+        Function<TInner, TKey> innerKeySelector,
+        BiFunction<TOuter, TInner, TResult> resultSelector,
         IEqualityComparer<TKey> comparer,
         Class<TKey> keyType,
-        Class<TElement> elementType)
+        Class<TInner> elementType)
+    {
+        if (outer == null)
+        {
+            throw new IllegalArgumentException("outer is null.");
+        }
+        if (inner == null)
+        {
+            throw new IllegalArgumentException("inner is null.");
+        }
+        if (outerKeySelector == null)
+        {
+            throw new IllegalArgumentException("outerKeySelector is null.");
+        }
+        if (innerKeySelector == null)
+        {
+            throw new IllegalArgumentException("innerKeySelector is null.");
+        }
+        if (resultSelector == null)
+        {
+            throw new IllegalArgumentException("resultSelector is null.");
+        }
+        if (keyType == null)
+        {
+            throw new IllegalArgumentException("keyType is null.");
+        }
+        if (elementType == null)
+        {
+            throw new IllegalArgumentException("elementType is null.");
+        }
+
+        return new EnumerableAdapter<>(
+            () -> new JoinIterator<>(outer, inner,
+                outerKeySelector, innerKeySelector, resultSelector,
+                comparer, keyType, elementType));
+    }
+
+    private static class JoinIterator<TOuter, TInner, TKey, TResult> extends SimpleIterator<TResult>
     {
-        return new GroupedResultEnumerable<TSource, TKey, TElement, TResult>(source,
-            keySelector, elementSelector, resultSelector,
-            comparer, keyType, elementType);
+        public JoinIterator(Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<TOuter, TKey> outerKeySelector,
+            Function<TInner, TKey> innerKeySelector,
+            BiFunction<TOuter, TInner, TResult> resultSelector,
+            IEqualityComparer<TKey> comparer,
+            Class<TKey> keyType,
+            Class<TInner> elementType)
+        {
+            lookup = CompactLookup.createForJoin(inner, innerKeySelector, comparer, keyType, elementType);
+            this.outerKeySelector = outerKeySelector;
+            this.resultSelector = resultSelector;
+
+            outerIterator = outer.iterator();
+        }
+
+        private final CompactLookup<TKey, TInner> lookup;
+        private final Function<TOuter, TKey> outerKeySelector;
+        private final BiFunction<TOuter, TInner, TResult> resultSelector;
+
+        private TOuter currentOuter;
+        private Iterator<TOuter> outerIterator;
+        private int innerIndex;
+        private int innerEnd;
+
+        @Override
+        public boolean moveNext()
+        {
+            while (innerIndex == innerEnd)
+            {
+                if (outerIterator.hasNext() == false)
+                {
+                    return false;
+                }
+
+                currentOuter = outerIterator.next();
+                int group = lookup.findGroup(outerKeySelector.apply(currentOuter));
+                if (group >= 0)
+                {
+                    innerIndex = lookup.getGroupStart(group);
+                    innerEnd = lookup.getGroupEnd(group);
+                }
+            }
+
+            setCurrent(resultSelector.apply(currentOuter, lookup.getElement(innerIndex++)));
+            return true;
+        }
     }
 
     // endregion
 
-    // region: Group Join
+    // region: Spilling Join
 
     /**
-     * Correlates the elements of two sequences based on equality of keys and
-     * groups the results. The default equality comparer is used to compare
-     * keys.
-     * 
+     * Correlates the elements of two sequences based on matching keys, like
+     * {@link #join(Iterable, Iterable, Function, Function, BiFunction, IEqualityComparer, Class, Class)},
+     * without requiring the second sequence to fit in memory.
+     * <p>
+     * If the second sequence has at most <code>maxInnerElementsInMemory</code>
+     * elements, the join runs in memory and results are returned in the order
+     * of the first sequence. Otherwise both sequences are hash partitioned by
+     * key into temporary files, and each partition is joined in turn; results
+     * are then grouped by partition rather than ordered by the first sequence.
+     * Partitions whose second sequence is still too large are partitioned
+     * again. Temporary files are deleted as partitions are consumed and when
+     * enumeration fails. An enumerator that is abandoned before the end keeps
+     * its remaining files until it is closed: when partitioning occurs, the
+     * enumerator implements {@link AutoCloseable}, so either enumerate it to
+     * the end or close it.
+     *
      * @param <TOuter>
      *            The type of the elements of the first sequence.
      * @param <TInner>
@@ -2250,44 +5844,60 @@ public class Linq
      *            A function to extract the join key from each element of the
      *            second sequence.
      * @param resultSelector
-     *            A function to create a result element from an element from the
-     *            first sequence and a collection of matching elements from the
-     *            second sequence.
+     *            A function to create a result element from two matching
+     *            elements.
+     * @param comparer
+     *            An {@link IEqualityComparer} to hash and compare keys, or
+     *            <code>null</code> to use the default comparer.
      * @param keyType
      *            The type of the keys returned by the key selector functions.
      * @param elementType
      *            The type of the elements of the second sequence.
-     * @return An IEnumerable<T> that contains elements of type TResult that are
-     *         obtained by performing a grouped join on two sequences.
+     * @param outerCodec
+     *            The codec used to write elements of the first sequence to the
+     *            temporary files.
+     * @param innerCodec
+     *            The codec used to write elements of the second sequence to the
+     *            temporary files.
+     * @param maxInnerElementsInMemory
+     *            The maximum number of elements of the second sequence to hold
+     *            in memory at once.
+     * @return An {@link IEnumerable} that has elements of type
+     *         <code>TResult</code> that are obtained by performing an inner
+     *         join on two sequences.
      */
-    public static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> groupJoin(
+    public static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> spillingJoin(
         Iterable<TOuter> outer,
         Iterable<TInner> inner,
         Function<TOuter, TKey> outerKeySelector,
         Function<TInner, TKey> innerKeySelector,
-        BiFunction<TOuter, IEnumerable<TInner>, TResult> resultSelector,
+        BiFunction<TOuter, TInner, TResult> resultSelector,
+        IEqualityComparer<TKey> comparer,
         Class<TKey> keyType,
-        Class<TInner> elementType)
+        Class<TInner> elementType,
+        IElementCodec<TOuter> outerCodec,
+        IElementCodec<TInner> innerCodec,
+        int maxInnerElementsInMemory)
     {
         if (outer == null)
         {
-            throw new IllegalArgumentException("outer");
+            throw new IllegalArgumentException("outer is null.");
         }
         if (inner == null)
         {
-            throw new IllegalArgumentException("inner");
+            throw new IllegalArgumentException("inner is null.");
         }
         if (outerKeySelector == null)
         {
-            throw new IllegalArgumentException("outerKeySelector");
+            throw new IllegalArgumentException("outerKeySelector is null.");
         }
         if (innerKeySelector == null)
         {
-            throw new IllegalArgumentException("innerKeySelector");
+            throw new IllegalArgumentException("innerKeySelector is null.");
         }
         if (resultSelector == null)
         {
-            throw new IllegalArgumentException("resultSelector");
+            throw new IllegalArgumentException("resultSelector is null.");
         }
         if (keyType == null)
         {
@@ -2297,18 +5907,35 @@ public class Linq
         {
             throw new IllegalArgumentException("elementType is null.");
         }
+        if (outerCodec == null)
+        {
+            throw new IllegalArgumentException("outerCodec is null.");
+        }
+        if (innerCodec == null)
+        {
+            throw new IllegalArgumentException("innerCodec is null.");
+        }
+        if (maxInnerElementsInMemory < 1)
+        {
+            throw new IllegalArgumentException("maxInnerElementsInMemory is less than 1.");
+        }
 
-        return new EnumerableAdapter<>(
-            () -> new GroupJoinIterator<>(outer, inner,
-                outerKeySelector, innerKeySelector, resultSelector,
-                null, keyType, elementType));
+        return GraceHashJoin.join(outer, inner, outerKeySelector, innerKeySelector, resultSelector, comparer,
+            keyType, elementType, outerCodec, innerCodec, maxInnerElementsInMemory);
     }
 
     /**
-     * Correlates the elements of two sequences based on equality of keys and
-     * groups the results. A specified {@link IEqualityComparer} is used to
-     * compare keys.
-     * 
+     * Correlates the elements of two sequences based on key equality and
+     * groups the results, like
+     * {@link #groupJoin(Iterable, Iterable, Function, Function, BiFunction, IEqualityComparer, Class, Class)},
+     * without requiring the second sequence to fit in memory.
+     * <p>
+     * Partitioning works as described for
+     * {@link #spillingJoin(Iterable, Iterable, Function, Function, BiFunction, IEqualityComparer, Class, Class, IElementCodec, IElementCodec, int)}.
+     * Every element of the first sequence still produces exactly one result,
+     * but when partitioning occurs the results are not in the order of the
+     * first sequence.
+     *
      * @param <TOuter>
      *            The type of the elements of the first sequence.
      * @param <TInner>
@@ -2332,15 +5959,26 @@ public class Linq
      *            first sequence and a collection of matching elements from the
      *            second sequence.
      * @param comparer
-     *            An {@link IEqualityComparer} to hash and compare keys.
+     *            An {@link IEqualityComparer} to hash and compare keys, or
+     *            <code>null</code> to use the default comparer.
      * @param keyType
      *            The type of the keys returned by the key selector functions.
      * @param elementType
      *            The type of the elements of the second sequence.
-     * @return An IEnumerable<T> that contains elements of type TResult that are
-     *         obtained by performing a grouped join on two sequences.
+     * @param outerCodec
+     *            The codec used to write elements of the first sequence to the
+     *            temporary files.
+     * @param innerCodec
+     *            The codec used to write elements of the second sequence to the
+     *            temporary files.
+     * @param maxInnerElementsInMemory
+     *            The maximum number of elements of the second sequence to hold
+     *            in memory at once.
+     * @return An {@link IEnumerable} that has elements of type
+     *         <code>TResult</code> that are obtained by performing a grouped
+     *         join on two sequences.
      */
-    public static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> groupJoin(
+    public static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> spillingGroupJoin(
         Iterable<TOuter> outer,
         Iterable<TInner> inner,
         Function<TOuter, TKey> outerKeySelector,
@@ -2348,27 +5986,30 @@ public class Linq
         BiFunction<TOuter, IEnumerable<TInner>, TResult> resultSelector,
         IEqualityComparer<TKey> comparer,
         Class<TKey> keyType,
-        Class<TInner> elementType)
+        Class<TInner> elementType,
+        IElementCodec<TOuter> outerCodec,
+        IElementCodec<TInner> innerCodec,
+        int maxInnerElementsInMemory)
     {
         if (outer == null)
         {
-            throw new IllegalArgumentException("outer");
+            throw new IllegalArgumentException("outer is null.");
         }
         if (inner == null)
         {
-            throw new IllegalArgumentException("inner");
+            throw new IllegalArgumentException("inner is null.");
         }
         if (outerKeySelector == null)
         {
-            throw new IllegalArgumentException("outerKeySelector");
+            throw new IllegalArgumentException("outerKeySelector is null.");
         }
         if (innerKeySelector == null)
         {
-            throw new IllegalArgumentException("innerKeySelector");
+            throw new IllegalArgumentException("innerKeySelector is null.");
         }
         if (resultSelector == null)
         {
-            throw new IllegalArgumentException("resultSelector");
+            throw new IllegalArgumentException("resultSelector is null.");
         }
         if (keyType == null)
         {
@@ -2378,57 +6019,205 @@ public class Linq
         {
             throw new IllegalArgumentException("elementType is null.");
         }
+        if (outerCodec == null)
+        {
+            throw new IllegalArgumentException("outerCodec is null.");
+        }
+        if (innerCodec == null)
+        {
+            throw new IllegalArgumentException("innerCodec is null.");
+        }
+        if (maxInnerElementsInMemory < 1)
+        {
+            throw new IllegalArgumentException("maxInnerElementsInMemory is less than 1.");
+        }
 
-        return new EnumerableAdapter<>(
-            () -> new GroupJoinIterator<>(outer, inner,
-                outerKeySelector, innerKeySelector, resultSelector,
-                comparer, keyType, elementType));
+        return GraceHashJoin.groupJoin(outer, inner, outerKeySelector, innerKeySelector, resultSelector, comparer,
+            keyType, elementType, outerCodec, innerCodec, maxInnerElementsInMemory);
     }
 
-    private static class GroupJoinIterator<TOuter, TInner, TKey, TResult> extends SimpleIterator<TResult>
-    {
-        public GroupJoinIterator(Iterable<TOuter> outer, Iterable<TInner> inner,
-            Function<TOuter, TKey> outerKeySelector, Function<TInner, TKey> innerKeySelector,
-            BiFunction<TOuter, IEnumerable<TInner>, TResult> resultSelector, IEqualityComparer<TKey> comparer,
-            Class<TKey> keyType,
-            Class<TInner> elementType)
-        {
-            lookup = Lookup.createForJoin(inner, innerKeySelector, comparer, keyType, elementType);
-            this.outerKeySelector = outerKeySelector;
-            this.resultSelector = resultSelector;
+    // endregion
 
-            outerIterator = outer.iterator();
-        }
+    // region: Merge Join
 
-        private final Lookup<TKey, TInner> lookup;
-        private final Function<TOuter, TKey> outerKeySelector;
-        private final BiFunction<TOuter, IEnumerable<TInner>, TResult> resultSelector;
+    /**
+     * Correlates the elements of two sequences that are both ordered by their
+     * join keys, such as sequences created by <code>orderBy</code> or read from
+     * sorted files. Both sequences are enumerated once in lockstep, so only the
+     * run of elements of the second sequence that share the current key is
+     * held in memory. Results are returned in the order of the first sequence.
+     * <p>
+     * Elements whose key is <code>null</code> never match. An
+     * {@link IllegalStateException} is thrown if either sequence is found not
+     * to be in ascending key order.
+     *
+     * @param <TOuter>
+     *            The type of the elements of the first sequence.
+     * @param <TInner>
+     *            The type of the elements of the second sequence.
+     * @param <TKey>
+     *            The type of the keys returned by the key selector functions.
+     * @param <TResult>
+     *            The type of the result elements.
+     * @param outer
+     *            The first sequence to join, ordered by
+     *            <code>outerKeySelector</code>.
+     * @param inner
+     *            The sequence to join to the first sequence, ordered by
+     *            <code>innerKeySelector</code>.
+     * @param outerKeySelector
+     *            A function to extract the join key from each element of the
+     *            first sequence.
+     * @param innerKeySelector
+     *            A function to extract the join key from each element of the
+     *            second sequence.
+     * @param resultSelector
+     *            A function to create a result element from two matching
+     *            elements.
+     * @param keyType
+     *            The type of the keys returned by the key selector functions.
+     * @return An {@link IEnumerable} that has elements of type
+     *         <code>TResult</code> that are obtained by performing an inner
+     *         join on two sequences.
+     */
+    public static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> mergeJoin(
+        Iterable<TOuter> outer,
+        Iterable<TInner> inner,
+        Function<TOuter, TKey> outerKeySelector,
+        Function<TInner, TKey> innerKeySelector,
+        BiFunction<TOuter, TInner, TResult> resultSelector,
+        Class<TKey> keyType)
+    {
+        return mergeJoin(outer, inner, outerKeySelector, innerKeySelector, resultSelector, null, keyType);
+    }
 
-        private TOuter currentOuter;
-        private Iterator<TOuter> outerIterator;
+    /**
+     * Correlates the elements of two sequences that are both ordered by their
+     * join keys according to a specified comparer. Both sequences are
+     * enumerated once in lockstep, so only the run of elements of the second
+     * sequence that share the current key is held in memory. Results are
+     * returned in the order of the first sequence.
+     * <p>
+     * Elements whose key is <code>null</code> never match. An
+     * {@link IllegalStateException} is thrown if either sequence is found not
+     * to be in ascending key order.
+     *
+     * @param <TOuter>
+     *            The type of the elements of the first sequence.
+     * @param <TInner>
+     *            The type of the elements of the second sequence.
+     * @param <TKey>
+     *            The type of the keys returned by the key selector functions.
+     * @param <TResult>
+     *            The type of the result elements.
+     * @param outer
+     *            The first sequence to join, ordered by
+     *            <code>outerKeySelector</code>.
+     * @param inner
+     *            The sequence to join to the first sequence, ordered by
+     *            <code>innerKeySelector</code>.
+     * @param outerKeySelector
+     *            A function to extract the join key from each element of the
+     *            first sequence.
+     * @param innerKeySelector
+     *            A function to extract the join key from each element of the
+     *            second sequence.
+     * @param resultSelector
+     *            A function to create a result element from two matching
+     *            elements.
+     * @param comparer
+     *            The {@link Comparator} both sequences are ordered by, or
+     *            <code>null</code> to use the default comparer.
+     * @param keyType
+     *            The type of the keys returned by the key selector functions.
+     * @return An {@link IEnumerable} that has elements of type
+     *         <code>TResult</code> that are obtained by performing an inner
+     *         join on two sequences.
+     */
+    public static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> mergeJoin(
+        Iterable<TOuter> outer,
+        Iterable<TInner> inner,
+        Function<TOuter, TKey> outerKeySelector,
+        Function<TInner, TKey> innerKeySelector,
+        BiFunction<TOuter, TInner, TResult> resultSelector,
+        Comparator<TKey> comparer,
+        Class<TKey> keyType)
+    {
+        if (outer == null)
+        {
+            throw new IllegalArgumentException("outer is null.");
+        }
+        if (inner == null)
+        {
+            throw new IllegalArgumentException("inner is null.");
+        }
+        if (outerKeySelector == null)
+        {
+            throw new IllegalArgumentException("outerKeySelector is null.");
+        }
+        if (innerKeySelector == null)
+        {
+            throw new IllegalArgumentException("innerKeySelector is null.");
+        }
+        if (resultSelector == null)
+        {
+            throw new IllegalArgumentException("resultSelector is null.");
+        }
+        if (keyType == null)
+        {
+            throw new IllegalArgumentException("keyType is null.");
+        }
 
-        @Override
-        public boolean moveNext()
+        Comparator<TKey> keyComparer = (comparer != null) ? comparer : DefaultComparator.getDefault(keyType);
+        return new EnumerableAdapter<>(() -> new MergeIterator<TOuter, TInner, TKey, TResult>(outer, inner,
+            outerKeySelector, innerKeySelector, keyComparer)
         {
-            while (outerIterator.hasNext())
+            private TOuter currentOuter;
+            private ArrayList<TInner> currentRun;
+            private int innerIndex;
+
+            @Override
+            public boolean moveNext()
             {
-                currentOuter = outerIterator.next();
-                IEnumerable<TInner> innerItems = lookup.get(outerKeySelector.apply(currentOuter));
-                setCurrent(resultSelector.apply(currentOuter, innerItems));
-                return true;
-            }
+                while (currentRun == null || innerIndex == currentRun.size())
+                {
+                    currentRun = null;
+                    if (outerIterator.hasNext() == false)
+                    {
+                        return false;
+                    }
 
-            return false;
-        }
-    }
+                    currentOuter = outerIterator.next();
+                    TKey key = nextOuterKey(currentOuter);
+                    if (key != null)
+                    {
+                        currentRun = seekRun(key);
+                        if (currentRun == null && isInnerExhausted())
+                        {
+                            // Later outer keys are greater, so nothing else can match.
+                            return false;
+                        }
 
-    // endregion
+                        innerIndex = 0;
+                    }
+                }
 
-    // region: Join
+                setCurrent(resultSelector.apply(currentOuter, currentRun.get(innerIndex++)));
+                return true;
+            }
+        });
+    }
 
     /**
-     * Correlates the elements of two sequences based on matching keys. The
-     * default equality comparer is used to compare keys.
+     * Correlates the elements of two sequences that are both ordered by their
+     * join keys and groups the results. Both sequences are enumerated once in
+     * lockstep, so only the run of elements of the second sequence that share
+     * the current key is held in memory. Every element of the first sequence
+     * produces one result, in the order of the first sequence.
+     * <p>
+     * Elements whose key is <code>null</code> never match. An
+     * {@link IllegalStateException} is thrown if either sequence is found not
+     * to be in ascending key order.
      *
      * @param <TOuter>
      *            The type of the elements of the first sequence.
@@ -2439,9 +6228,11 @@ public class Linq
      * @param <TResult>
      *            The type of the result elements.
      * @param outer
-     *            The first sequence to join.
+     *            The first sequence to join, ordered by
+     *            <code>outerKeySelector</code>.
      * @param inner
-     *            The sequence to join to the first sequence.
+     *            The sequence to join to the first sequence, ordered by
+     *            <code>innerKeySelector</code>.
      * @param outerKeySelector
      *            A function to extract the join key from each element of the
      *            first sequence.
@@ -2449,63 +6240,41 @@ public class Linq
      *            A function to extract the join key from each element of the
      *            second sequence.
      * @param resultSelector
-     *            A function to create a result element from two matching
-     *            elements.
+     *            A function to create a result element from an element from the
+     *            first sequence and a collection of matching elements from the
+     *            second sequence.
      * @param keyType
      *            The type of the keys returned by the key selector functions.
      * @param elementType
      *            The type of the elements of the second sequence.
      * @return An {@link IEnumerable} that has elements of type
-     *         <code>TResult</code> that are obtained by performing an inner
+     *         <code>TResult</code> that are obtained by performing a grouped
      *         join on two sequences.
      */
-    public static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> join(
+    public static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> mergeGroupJoin(
         Iterable<TOuter> outer,
         Iterable<TInner> inner,
         Function<TOuter, TKey> outerKeySelector,
         Function<TInner, TKey> innerKeySelector,
-        BiFunction<TOuter, TInner, TResult> resultSelector,
+        BiFunction<TOuter, IEnumerable<TInner>, TResult> resultSelector,
         Class<TKey> keyType,
         Class<TInner> elementType)
     {
-        if (outer == null)
-        {
-            throw new IllegalArgumentException("outer is null.");
-        }
-        if (inner == null)
-        {
-            throw new IllegalArgumentException("inner is null.");
-        }
-        if (outerKeySelector == null)
-        {
-            throw new IllegalArgumentException("outerKeySelector is null.");
-        }
-        if (innerKeySelector == null)
-        {
-            throw new IllegalArgumentException("innerKeySelector is null.");
-        }
-        if (resultSelector == null)
-        {
-            throw new IllegalArgumentException("resultSelector is null.");
-        }
-        if (keyType == null)
-        {
-            throw new IllegalArgumentException("keyType is null.");
-        }
-        if (elementType == null)
-        {
-            throw new IllegalArgumentException("elementType is null.");
-        }
-
-        return new EnumerableAdapter<>(
-            () -> new JoinIterator<>(outer, inner,
-                outerKeySelector, innerKeySelector, resultSelector,
-                null, keyType, elementType));
+        return mergeGroupJoin(outer, inner, outerKeySelector, innerKeySelector, resultSelector, null, keyType,
+            elementType);
     }
 
     /**
-     * Correlates the elements of two sequences based on matching keys. The
-     * default equality comparer is used to compare keys.
+     * Correlates the elements of two sequences that are both ordered by their
+     * join keys according to a specified comparer and groups the results. Both
+     * sequences are enumerated once in lockstep, so only the run of elements
+     * of the second sequence that share the current key is held in memory.
+     * Every element of the first sequence produces one result, in the order of
+     * the first sequence.
+     * <p>
+     * Elements whose key is <code>null</code> never match. An
+     * {@link IllegalStateException} is thrown if either sequence is found not
+     * to be in ascending key order.
      *
      * @param <TOuter>
      *            The type of the elements of the first sequence.
@@ -2516,9 +6285,11 @@ public class Linq
      * @param <TResult>
      *            The type of the result elements.
      * @param outer
-     *            The first sequence to join.
+     *            The first sequence to join, ordered by
+     *            <code>outerKeySelector</code>.
      * @param inner
-     *            The sequence to join to the first sequence.
+     *            The sequence to join to the first sequence, ordered by
+     *            <code>innerKeySelector</code>.
      * @param outerKeySelector
      *            A function to extract the join key from each element of the
      *            first sequence.
@@ -2526,25 +6297,27 @@ public class Linq
      *            A function to extract the join key from each element of the
      *            second sequence.
      * @param resultSelector
-     *            A function to create a result element from two matching
-     *            elements.
+     *            A function to create a result element from an element from the
+     *            first sequence and a collection of matching elements from the
+     *            second sequence.
      * @param comparer
-     *            An {@link IEqualityComparer} to hash and compare keys.
+     *            The {@link Comparator} both sequences are ordered by, or
+     *            <code>null</code> to use the default comparer.
      * @param keyType
      *            The type of the keys returned by the key selector functions.
      * @param elementType
      *            The type of the elements of the second sequence.
      * @return An {@link IEnumerable} that has elements of type
-     *         <code>TResult</code> that are obtained by performing an inner
+     *         <code>TResult</code> that are obtained by performing a grouped
      *         join on two sequences.
      */
-    public static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> join(
+    public static <TOuter, TInner, TKey, TResult> IEnumerable<TResult> mergeGroupJoin(
         Iterable<TOuter> outer,
         Iterable<TInner> inner,
         Function<TOuter, TKey> outerKeySelector,
         Function<TInner, TKey> innerKeySelector,
-        BiFunction<TOuter, TInner, TResult> resultSelector,
-        IEqualityComparer<TKey> comparer,
+        BiFunction<TOuter, IEnumerable<TInner>, TResult> resultSelector,
+        Comparator<TKey> comparer,
         Class<TKey> keyType,
         Class<TInner> elementType)
     {
@@ -2577,66 +6350,162 @@ public class Linq
             throw new IllegalArgumentException("elementType is null.");
         }
 
-        return new EnumerableAdapter<>(
-            () -> new JoinIterator<>(outer, inner,
-                outerKeySelector, innerKeySelector, resultSelector,
-                comparer, keyType, elementType));
+        Comparator<TKey> keyComparer = (comparer != null) ? comparer : DefaultComparator.getDefault(keyType);
+        return new EnumerableAdapter<>(() -> new MergeIterator<TOuter, TInner, TKey, TResult>(outer, inner,
+            outerKeySelector, innerKeySelector, keyComparer)
+        {
+            private ArrayList<TInner> lastRun;
+            private IEnumerable<TInner> lastGroup;
+
+            @Override
+            public boolean moveNext()
+            {
+                if (outerIterator.hasNext() == false)
+                {
+                    return false;
+                }
+
+                TOuter currentOuter = outerIterator.next();
+                TKey key = nextOuterKey(currentOuter);
+                ArrayList<TInner> run = (key != null) ? seekRun(key) : null;
+                if (run == null)
+                {
+                    setCurrent(resultSelector.apply(currentOuter, EmptyEnumerable.getInstance(elementType)));
+                    return true;
+                }
+
+                // Outer elements with the same key share one group.
+                if (run != lastRun)
+                {
+                    lastRun = run;
+                    lastGroup = new EnumerableAdapter<>(run);
+                }
+
+                setCurrent(resultSelector.apply(currentOuter, lastGroup));
+                return true;
+            }
+        });
     }
 
-    private static class JoinIterator<TOuter, TInner, TKey, TResult> extends SimpleIterator<TResult>
+    /**
+     * Enumerates two sequences ordered by key in lockstep, collecting the run
+     * of inner elements that share each outer key.
+     */
+    private static abstract class MergeIterator<TOuter, TInner, TKey, TResult> extends SimpleIterator<TResult>
     {
-        public JoinIterator(Iterable<TOuter> outer,
+        public MergeIterator(Iterable<TOuter> outer,
             Iterable<TInner> inner,
             Function<TOuter, TKey> outerKeySelector,
             Function<TInner, TKey> innerKeySelector,
-            BiFunction<TOuter, TInner, TResult> resultSelector,
-            IEqualityComparer<TKey> comparer,
-            Class<TKey> keyType,
-            Class<TInner> elementType)
+            Comparator<TKey> comparer)
         {
-            lookup = Lookup.createForJoin(inner, innerKeySelector, comparer, keyType, elementType);
             this.outerKeySelector = outerKeySelector;
-            this.resultSelector = resultSelector;
+            this.innerKeySelector = innerKeySelector;
+            this.comparer = comparer;
 
             outerIterator = outer.iterator();
+            innerIterator = inner.iterator();
         }
 
-        private final Lookup<TKey, TInner> lookup;
         private final Function<TOuter, TKey> outerKeySelector;
-        private final BiFunction<TOuter, TInner, TResult> resultSelector;
+        private final Function<TInner, TKey> innerKeySelector;
+        private final Comparator<TKey> comparer;
 
-        private TOuter currentOuter;
-        private Iterator<TOuter> outerIterator;
-        private IEnumerator<TInner> groupEnumerator;
+        protected final Iterator<TOuter> outerIterator;
+        private final Iterator<TInner> innerIterator;
 
-        @Override
-        public boolean moveNext()
+        private TKey lastOuterKey;
+        private TInner pendingInner;
+        private TKey pendingInnerKey;
+        private boolean hasPendingInner;
+        private TKey runKey;
+        private ArrayList<TInner> run;
+
+        /**
+         * Gets the key of an outer element and checks that the outer sequence
+         * is still in ascending key order.
+         */
+        protected TKey nextOuterKey(TOuter item)
         {
-            while (groupEnumerator != null)
+            TKey key = outerKeySelector.apply(item);
+            if (key != null)
             {
-                if (groupEnumerator.moveNext())
+                if (lastOuterKey != null && comparer.compare(lastOuterKey, key) > 0)
                 {
-                    setCurrent(resultSelector.apply(currentOuter, groupEnumerator.getCurrent()));
-                    return true;
+                    throw new IllegalStateException("outer is not ordered by key.");
                 }
 
-                groupEnumerator = null;
+                lastOuterKey = key;
+            }
+
+            return key;
+        }
+
+        /**
+         * Gets the inner elements whose key equals <code>key</code>, skipping
+         * inner elements with smaller keys. The same list is returned for
+         * consecutive calls with equal keys.
+         *
+         * @return The matching inner elements, or <code>null</code> if there
+         *         are none.
+         */
+        protected ArrayList<TInner> seekRun(TKey key)
+        {
+            if (run != null && comparer.compare(runKey, key) == 0)
+            {
+                return run;
             }
 
-            while (groupEnumerator == null && outerIterator.hasNext())
+            run = null;
+            while (hasPendingInner || advanceInner())
             {
-                currentOuter = outerIterator.next();
-                Lookup<TKey, TInner>.Grouping group = lookup.getGrouping(outerKeySelector.apply(currentOuter), false);
-                if (group != null)
+                int comparison = comparer.compare(pendingInnerKey, key);
+                if (comparison > 0)
+                {
+                    return null;
+                }
+
+                hasPendingInner = false;
+                if (comparison == 0)
                 {
-                    groupEnumerator = group.getEnumerator();
-                    if (groupEnumerator.moveNext())
+                    runKey = key;
+                    run = new ArrayList<>();
+                    run.add(pendingInner);
+                    while (advanceInner() && comparer.compare(pendingInnerKey, key) == 0)
                     {
-                        setCurrent(resultSelector.apply(currentOuter, groupEnumerator.getCurrent()));
-                        return true;
+                        run.add(pendingInner);
+                        hasPendingInner = false;
+                    }
+
+                    return run;
+                }
+            }
+
+            return null;
+        }
+
+        protected boolean isInnerExhausted()
+        {
+            return hasPendingInner == false && innerIterator.hasNext() == false;
+        }
+
+        private boolean advanceInner()
+        {
+            while (innerIterator.hasNext())
+            {
+                TInner item = innerIterator.next();
+                TKey key = innerKeySelector.apply(item);
+                if (key != null)
+                {
+                    if (pendingInnerKey != null && comparer.compare(pendingInnerKey, key) > 0)
+                    {
+                        throw new IllegalStateException("inner is not ordered by key.");
                     }
 
-                    groupEnumerator = null;
+                    pendingInner = item;
+                    pendingInnerKey = key;
+                    hasPendingInner = true;
+                    return true;
                 }
             }
 
@@ -2696,7 +6565,8 @@ public class Linq
         @Override
         public IEnumerator<IGrouping<TKey, TElement>> getEnumerator()
         {
-            return Lookup.create(source, keySelector, elementSelector, comparer, keyType, elementType).getEnumerator();
+            return CompactLookup.create(source, keySelector, elementSelector, comparer, keyType, elementType)
+                .getEnumerator();
         }
 
         @Override
@@ -2761,8 +6631,8 @@ public class Linq
         @Override
         public IEnumerator<TResult> getEnumerator()
         {
-            Lookup<TKey, TElement> lookup
-                = Lookup.create(source, keySelector, elementSelector, comparer, keyType, elementType);
+            CompactLookup<TKey, TElement> lookup
+                = CompactLookup.create(source, keySelector, elementSelector, comparer, keyType, elementType);
             return lookup.applyResultSelector(resultSelector).getEnumerator();
         }
 
@@ -2803,21 +6673,18 @@ public class Linq
             throw new IllegalArgumentException("function is null.");
         }
 
-        Iterator<TSource> iterator = source.iterator();
-
-        if (iterator.hasNext() == false)
+        ObjectAggregate<TSource> aggregate = new ObjectAggregate<>(null);
+        source.forEach(item ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
+            aggregate.value = (aggregate.count++ == 0) ? item : function.apply(aggregate.value, item);
+        });
 
-        TSource current = iterator.next();
-        while (iterator.hasNext())
+        if (aggregate.count == 0)
         {
-            TSource nextItem = iterator.next();
-            current = function.apply(current, nextItem);
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return current;
+        return aggregate.value;
     }
 
     /**
@@ -2847,22 +6714,19 @@ public class Linq
             throw new IllegalArgumentException("function is null.");
         }
 
-        Iterator<TSource> iterator = source.iterator();
-
-        if (iterator.hasNext() == false)
+        ObjectAggregate<TAccumulate> aggregate = new ObjectAggregate<>(seed);
+        source.forEach(item ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
+            aggregate.count++;
+            aggregate.value = function.apply(aggregate.value, item);
+        });
 
-        TAccumulate current = seed;
-        do
+        if (aggregate.count == 0)
         {
-            TSource nextItem = iterator.next();
-            current = function.apply(current, nextItem);
+            throw new IllegalStateException("source contains no elements.");
         }
-        while (iterator.hasNext());
 
-        return current;
+        return aggregate.value;
     }
 
     /**
@@ -2901,22 +6765,176 @@ public class Linq
             throw new IllegalArgumentException("resultSelector is null.");
         }
 
-        Iterator<TSource> iterator = source.iterator();
+        ObjectAggregate<TAccumulate> aggregate = new ObjectAggregate<>(seed);
+        source.forEach(item ->
+        {
+            aggregate.count++;
+            aggregate.value = function.apply(aggregate.value, item);
+        });
 
-        if (iterator.hasNext() == false)
+        if (aggregate.count == 0)
         {
             throw new IllegalStateException("source contains no elements.");
         }
 
-        TAccumulate current = seed;
-        do
+        return resultSelector.apply(aggregate.value);
+    }
+
+    /**
+     * Applies an accumulator function over a sequence, starting from a seed
+     * created by a factory. Sequences that are processed in parallel create a
+     * seed for each partition and merge the partial accumulators with
+     * <code>combineFunction</code>; a sequential sequence uses a single seed
+     * and never calls it.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TAccumulate>
+     *            The type of the accumulator value.
+     * @param <TResult>
+     *            The type of the resulting value.
+     * @param source
+     *            An {@link Iterable} over which to aggregate.
+     * @param seedFactory
+     *            A function that creates an initial accumulator value.
+     * @param updateFunction
+     *            An accumulator function to be invoked on each element.
+     * @param combineFunction
+     *            A function that merges two accumulator values, the second of
+     *            which follows the first in the sequence.
+     * @param resultSelector
+     *            A function to transform the final accumulator value into the
+     *            result value.
+     * @return The transformed final accumulator value.
+     */
+    public static <TSource, TAccumulate, TResult> TResult aggregate(Iterable<TSource> source,
+        Supplier<TAccumulate> seedFactory, BiFunction<TAccumulate, TSource, TAccumulate> updateFunction,
+        BiFunction<TAccumulate, TAccumulate, TAccumulate> combineFunction, Function<TAccumulate, TResult> resultSelector)
+    {
+        if (source == null)
         {
-            TSource nextItem = iterator.next();
-            current = function.apply(current, nextItem);
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (seedFactory == null)
+        {
+            throw new IllegalArgumentException("seedFactory is null.");
+        }
+        if (updateFunction == null)
+        {
+            throw new IllegalArgumentException("updateFunction is null.");
+        }
+        if (combineFunction == null)
+        {
+            throw new IllegalArgumentException("combineFunction is null.");
+        }
+        if (resultSelector == null)
+        {
+            throw new IllegalArgumentException("resultSelector is null.");
+        }
+
+        if (source instanceof ParallelEnumerable<?>)
+        {
+            return ((ParallelEnumerable<TSource>) source).aggregate(seedFactory, updateFunction, combineFunction,
+                resultSelector);
+        }
+
+        return aggregate(source, seedFactory.get(), updateFunction, resultSelector);
+    }
+
+    // endregion
+
+    // region: Aggregate Many
+
+    /**
+     * Combines two {@link Collector} instances into one that passes every
+     * element to both, so that several aggregates can be computed in a single
+     * traversal of a sequence. The result can itself be combined again to
+     * compute any number of aggregates at once.
+     *
+     * @param <TSource>
+     *            The type of the elements to collect.
+     * @param <TResult1>
+     *            The type of the result of <code>first</code>.
+     * @param <TResult2>
+     *            The type of the result of <code>second</code>.
+     * @param <TResult>
+     *            The type of the combined result.
+     * @param first
+     *            The first collector.
+     * @param second
+     *            The second collector.
+     * @param resultSelector
+     *            A function to create a result from the results of both
+     *            collectors.
+     * @return A {@link Collector} that computes both results in one pass.
+     */
+    public static <TSource, TResult1, TResult2, TResult> Collector<TSource, ?, TResult> aggregateMany(
+        Collector<? super TSource, ?, TResult1> first, Collector<? super TSource, ?, TResult2> second,
+        BiFunction<? super TResult1, ? super TResult2, TResult> resultSelector)
+    {
+        if (first == null)
+        {
+            throw new IllegalArgumentException("first is null.");
+        }
+        if (second == null)
+        {
+            throw new IllegalArgumentException("second is null.");
+        }
+        if (resultSelector == null)
+        {
+            throw new IllegalArgumentException("resultSelector is null.");
+        }
+
+        return combineCollectors(first, second, resultSelector);
+    }
+
+    private static <TSource, TAccumulate1, TAccumulate2, TResult1, TResult2, TResult> Collector<TSource, ?, TResult> combineCollectors(
+        Collector<? super TSource, TAccumulate1, TResult1> first,
+        Collector<? super TSource, TAccumulate2, TResult2> second,
+        BiFunction<? super TResult1, ? super TResult2, TResult> resultSelector)
+    {
+        Supplier<TAccumulate1> firstSupplier = first.supplier();
+        Supplier<TAccumulate2> secondSupplier = second.supplier();
+        BiConsumer<TAccumulate1, ? super TSource> firstAccumulator = first.accumulator();
+        BiConsumer<TAccumulate2, ? super TSource> secondAccumulator = second.accumulator();
+        BinaryOperator<TAccumulate1> firstCombiner = first.combiner();
+        BinaryOperator<TAccumulate2> secondCombiner = second.combiner();
+        Function<TAccumulate1, TResult1> firstFinisher = first.finisher();
+        Function<TAccumulate2, TResult2> secondFinisher = second.finisher();
+
+        Collector.Characteristics[] characteristics = (first.characteristics()
+            .contains(Collector.Characteristics.UNORDERED)
+            && second.characteristics().contains(Collector.Characteristics.UNORDERED))
+                ? new Collector.Characteristics[] { Collector.Characteristics.UNORDERED }
+                : new Collector.Characteristics[0];
+
+        return Collector.<TSource, AccumulatorPair<TAccumulate1, TAccumulate2>, TResult>of(
+            () -> new AccumulatorPair<>(firstSupplier.get(), secondSupplier.get()),
+            (pair, item) ->
+            {
+                firstAccumulator.accept(pair.first, item);
+                secondAccumulator.accept(pair.second, item);
+            },
+            (left, right) ->
+            {
+                left.first = firstCombiner.apply(left.first, right.first);
+                left.second = secondCombiner.apply(left.second, right.second);
+                return left;
+            },
+            pair -> resultSelector.apply(firstFinisher.apply(pair.first), secondFinisher.apply(pair.second)),
+            characteristics);
+    }
+
+    private static final class AccumulatorPair<TAccumulate1, TAccumulate2>
+    {
+        public AccumulatorPair(TAccumulate1 first, TAccumulate2 second)
+        {
+            this.first = first;
+            this.second = second;
         }
-        while (iterator.hasNext());
 
-        return resultSelector.apply(current);
+        public TAccumulate1 first;
+        public TAccumulate2 second;
     }
 
     // endregion
@@ -3008,15 +7026,60 @@ public class Linq
             throw new IllegalArgumentException("predicate is null.");
         }
 
-        for (TSource item : source)
+        for (TSource item : source)
+        {
+            if (predicate.apply(item))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // endregion
+
+    // region: Collect
+
+    /**
+     * Performs a reduction on the elements of a sequence using a
+     * {@link Collector}, enumerating the sequence once.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TAccumulate>
+     *            The type of the intermediate accumulation of the collector.
+     * @param <TResult>
+     *            The type of the result.
+     * @param source
+     *            An {@link Iterable} to reduce.
+     * @param collector
+     *            The {@link Collector} describing the reduction.
+     * @return The result of the reduction.
+     */
+    @SuppressWarnings("unchecked")
+    public static <TSource, TAccumulate, TResult> TResult collect(Iterable<TSource> source,
+        Collector<? super TSource, TAccumulate, TResult> collector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (collector == null)
+        {
+            throw new IllegalArgumentException("collector is null.");
+        }
+
+        TAccumulate container = collector.supplier().get();
+        BiConsumer<TAccumulate, ? super TSource> accumulator = collector.accumulator();
+        source.forEach(item -> accumulator.accept(container, item));
+
+        if (collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH))
         {
-            if (predicate.apply(item))
-            {
-                return true;
-            }
+            return (TResult) container;
         }
 
-        return false;
+        return collector.finisher().apply(container);
     }
 
     // endregion
@@ -3196,9 +7259,22 @@ public class Linq
             throw new IndexOutOfBoundsException("index is out of range.");
         }
 
-        if (source instanceof List<?>)
+        List<TSource> list = (source instanceof List<?>) ? (List<TSource>) source : asRandomAccessList(source);
+        if (list != null)
         {
-            return ((List<TSource>) source).get(index);
+            if (index >= list.size())
+            {
+                throw new IndexOutOfBoundsException("index is out of range.");
+            }
+
+            return list.get(index);
+        }
+
+        OrderedPartition<TSource> orderedSource = OrderedPartition.from(source);
+        if (orderedSource != null)
+        {
+            source = orderedSource.skip(index).take(1);
+            index = 0;
         }
 
         Iterator<TSource> iterator = source.iterator();
@@ -3241,12 +7317,19 @@ public class Linq
             throw new IllegalArgumentException("source is null.");
         }
 
+        OrderedPartition<TSource> orderedSource = OrderedPartition.from(source);
+        if (orderedSource != null && index >= 0)
+        {
+            source = orderedSource.skip(index).take(1);
+            index = 0;
+        }
+
         if (index >= 0)
         {
-            if (source instanceof List<?>)
+            List<TSource> list = (source instanceof List<?>) ? (List<TSource>) source : asRandomAccessList(source);
+            if (list != null)
             {
-                List<TSource> list = (List<TSource>) source;
-                if (list != null && index < list.size())
+                if (index < list.size())
                 {
                     return list.get(index);
                 }
@@ -3295,27 +7378,278 @@ public class Linq
         {
             throw new IllegalArgumentException("source is null.");
         }
+
+        OrderedPartition<TSource> orderedSource = OrderedPartition.from(source);
+        if (orderedSource != null)
+        {
+            source = orderedSource.take(1);
+        }
+
+        Iterator<TSource> iterator = source.iterator();
+        if (iterator.hasNext() == false)
+        {
+            throw new IllegalStateException("The source sequence is empty.");
+        }
+
+        return iterator.next();
+    }
+
+    /**
+     * Returns the first element of a sequence.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            The {@link Iterable} of which to return the first element.
+     * @param predicate
+     *            A function to test each element for a condition.
+     * @return The first element in the sequence that passes the test in the
+     *         specified predicate function.
+     */
+    public static <TSource> TSource first(Iterable<TSource> source, Function<TSource, Boolean> predicate)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (predicate == null)
+        {
+            throw new IllegalArgumentException("predicate is null.");
+        }
         if (source.iterator().hasNext() == false)
         {
             throw new IllegalStateException("The source sequence is empty.");
         }
 
-        return source.iterator().next();
+        for (TSource item : source)
+        {
+            if (predicate.apply(item))
+            {
+                return item;
+            }
+        }
+
+        throw new IllegalStateException("No element satisfies the condition in predicate.");
+    }
+
+    /**
+     * Returns the first element of a sequence, or a default value if the
+     * sequence contains no elements.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            The {@link Iterable} of which to return the first element.
+     * @return <code>null</code> if <code>source</code> is empty; otherwise, the
+     *         first element in <code>source</code>.
+     */
+    public static <TSource> TSource firstOrDefault(Iterable<TSource> source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        OrderedPartition<TSource> orderedSource = OrderedPartition.from(source);
+        if (orderedSource != null)
+        {
+            source = orderedSource.take(1);
+        }
+
+        Iterator<TSource> iterator = source.iterator();
+        if (iterator.hasNext() == false)
+        {
+            return null;
+        }
+
+        return iterator.next();
+    }
+
+    /**
+     * Returns the first element of the sequence that satisfies a condition or a
+     * default value if no such element is found.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            The {@link Iterable} of which to return the first element.
+     * @param predicate
+     *            A function to test each element for a condition.
+     * @return <code>null</code> if <code>source</code> is empty or if no
+     *         element passes the test specified by <code>predicate</code>;
+     *         otherwise, the first element in <code>source</code> that passes
+     *         the test specified by <code>predicate</code>.
+     */
+    public static <TSource> TSource firstOrDefault(Iterable<TSource> source, Function<TSource, Boolean> predicate)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (predicate == null)
+        {
+            throw new IllegalArgumentException("predicate is null.");
+        }
+
+        for (TSource item : source)
+        {
+            if (predicate.apply(item))
+            {
+                return item;
+            }
+        }
+
+        return null;
+    }
+
+    // endregion
+
+    // region: Last
+
+    /**
+     * Returns the last element of a sequence.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            The {@link Iterable} of which to return the last element.
+     * @return The last element in the specified sequence.
+     */
+    public static <TSource> TSource last(Iterable<TSource> source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        Iterator<TSource> iterator = source.iterator();
+        if (iterator.hasNext() == false)
+        {
+            throw new IllegalStateException("The source sequence is empty.");
+        }
+
+        if (source instanceof List<?>)
+        {
+            List<TSource> sourceList = (List<TSource>) source;
+            return sourceList.get(sourceList.size() - 1);
+        }
+
+        TSource item = null;
+        do
+        {
+            item = iterator.next();
+        }
+        while (iterator.hasNext());
+
+        return item;
+    }
+
+    /**
+     * Returns the last element of a sequence.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            The {@link Iterable} of which to return the last element.
+     * @param predicate
+     *            A function to test each element for a condition.
+     * @return The last element in the sequence that passes the test in the
+     *         specified predicate function.
+     */
+    public static <TSource> TSource last(Iterable<TSource> source, Function<TSource, Boolean> predicate)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (predicate == null)
+        {
+            throw new IllegalArgumentException("predicate is null.");
+        }
+
+        Iterator<TSource> iterator = source.iterator();
+        if (iterator.hasNext() == false)
+        {
+            throw new IllegalStateException("The source sequence is empty.");
+        }
+
+        TSource item = null;
+        boolean hasMatched = false;
+        do
+        {
+            TSource current = iterator.next();
+            if (predicate.apply(current))
+            {
+                hasMatched = true;
+                item = current;
+            }
+        }
+        while (iterator.hasNext());
+
+        if (hasMatched)
+        {
+            return item;
+        }
+
+        throw new IllegalStateException("No element satisfies the condition in predicate.");
+    }
+
+    /**
+     * Returns the last element of a sequence, or a default value if the
+     * sequence contains no elements.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            The {@link Iterable} of which to return the last element.
+     * @return <code>null</code> if <code>source</code> is empty; otherwise, the
+     *         last element in the {@link Iterable}.
+     */
+    public static <TSource> TSource lastOrDefault(Iterable<TSource> source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        Iterator<TSource> iterator = source.iterator();
+        if (iterator.hasNext() == false)
+        {
+            return null;
+        }
+
+        if (source instanceof List<?>)
+        {
+            List<TSource> sourceList = (List<TSource>) source;
+            return sourceList.get(sourceList.size() - 1);
+        }
+
+        TSource item = null;
+        do
+        {
+            item = iterator.next();
+        }
+        while (iterator.hasNext());
+
+        return item;
     }
 
     /**
-     * Returns the first element of a sequence.
+     * Returns the last element of the sequence that satisfies a condition or a
+     * default value if no such element is found.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            The {@link Iterable} of which to return the first element.
+     *            The {@link Iterable} of which to return the last element.
      * @param predicate
      *            A function to test each element for a condition.
-     * @return The first element in the sequence that passes the test in the
-     *         specified predicate function.
+     * @return <code>null</code> if <code>source</code> is empty or if no
+     *         element passes the test specified by <code>predicate</code>;
+     *         otherwise, the last element in <code>source</code> that passes
+     *         the test specified by <code>predicate</code>.
      */
-    public static <TSource> TSource first(Iterable<TSource> source, Function<TSource, Boolean> predicate)
+    public static <TSource> TSource lastOrDefault(Iterable<TSource> source, Function<TSource, Boolean> predicate)
     {
         if (source == null)
         {
@@ -3325,64 +7659,141 @@ public class Linq
         {
             throw new IllegalArgumentException("predicate is null.");
         }
-        if (source.iterator().hasNext() == false)
+
+        Iterator<TSource> iterator = source.iterator();
+        if (iterator.hasNext() == false)
         {
-            throw new IllegalStateException("The source sequence is empty.");
+            return null;
         }
 
-        for (TSource item : source)
+        TSource item = null;
+        do
         {
-            if (predicate.apply(item))
+            TSource current = iterator.next();
+            if (predicate.apply(current))
             {
-                return item;
+                item = current;
             }
         }
+        while (iterator.hasNext());
 
-        throw new IllegalStateException("No element satisfies the condition in predicate.");
+        return item;
     }
 
+    // endregion
+
+    // region: Sequence Equal
+
     /**
-     * Returns the first element of a sequence, or a default value if the
-     * sequence contains no elements.
+     * Determines whether two sequences are equal by comparing the elements by
+     * using the default equality comparer for their type.
+     *
+     * @param <TSource>
+     *            The type of the elements of the input sequences.
+     * @param first
+     *            An {@link Iterable} to compare to second.
+     * @param second
+     *            An {@link Iterable} to compare to the first sequence.
+     * @return <code>true</code> if the two source sequences are of equal length
+     *         and their corresponding elements are equal according to the
+     *         default equality comparer for their type; otherwise,
+     *         <code>false</code>.
+     */
+    public static <TSource> boolean sequenceEqual(Iterable<TSource> first, Iterable<TSource> second)
+    {
+        if (first == null)
+        {
+            throw new IllegalArgumentException("first is null.");
+        }
+        if (second == null)
+        {
+            throw new IllegalArgumentException("second is null.");
+        }
+
+        Iterator<TSource> firstIterator = first.iterator();
+        Iterator<TSource> secondIterator = second.iterator();
+
+        while (firstIterator.hasNext())
+        {
+            if (secondIterator.hasNext() == false)
+            {
+                return false;
+            }
+
+            TSource firstItem = firstIterator.next();
+            TSource secondItem = secondIterator.next();
+
+            if (firstItem == null)
+            {
+                if (secondItem == null)
+                {
+                    continue;
+                }
+
+                return false;
+            }
+
+            if (firstItem.equals(secondItem) == false)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // endregion
+
+    // region: Single
+
+    /**
+     * Returns the only element of a sequence, and throws an exception if there
+     * is not exactly one element in the sequence.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            The {@link Iterable} of which to return the first element.
-     * @return <code>null</code> if <code>source</code> is empty; otherwise, the
-     *         first element in <code>source</code>.
+     *            An {@link Iterable} of which to return the single element.
+     * @return The single element of the input sequence.
      */
-    public static <TSource> TSource firstOrDefault(Iterable<TSource> source)
+    public static <TSource> TSource single(Iterable<TSource> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        Iterator<TSource> iterator = source.iterator();
+
+        if (iterator.hasNext() == false)
         {
-            return null;
+            throw new IllegalStateException("The input sequence is empty.");
+        }
+
+        TSource item = iterator.next();
+
+        if (iterator.hasNext())
+        {
+            throw new IllegalStateException("The input sequence contains more than one element.");
         }
 
-        return source.iterator().next();
+        return item;
     }
 
     /**
-     * Returns the first element of the sequence that satisfies a condition or a
-     * default value if no such element is found.
+     * Returns the only element of a sequence that satisfies a specified
+     * condition, and throws an exception if more than one such element exists.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            The {@link Iterable} of which to return the first element.
+     *            An {@link Iterable} from which to return a single element.
      * @param predicate
-     *            A function to test each element for a condition.
-     * @return <code>null</code> if <code>source</code> is empty or if no
-     *         element passes the test specified by <code>predicate</code>;
-     *         otherwise, the first element in <code>source</code> that passes
-     *         the test specified by <code>predicate</code>.
+     *            A function to test an element for a condition.
+     * @return The single element of the input sequence that satisfies a
+     *         condition.
      */
-    public static <TSource> TSource firstOrDefault(Iterable<TSource> source, Function<TSource, Boolean> predicate)
+    public static <TSource> TSource single(Iterable<TSource> source, Function<TSource, Boolean> predicate)
     {
         if (source == null)
         {
@@ -3393,31 +7804,54 @@ public class Linq
             throw new IllegalArgumentException("predicate is null.");
         }
 
-        for (TSource item : source)
+        Iterator<TSource> iterator = source.iterator();
+
+        if (iterator.hasNext() == false)
         {
-            if (predicate.apply(item))
+            throw new IllegalStateException("The source sequence is empty.");
+        }
+
+        TSource current, item = null;
+        boolean hasBeenFound = false;
+
+        do
+        {
+            current = iterator.next();
+            if (predicate.apply(current))
             {
-                return item;
+                if (hasBeenFound)
+                {
+                    throw new IllegalStateException(
+                        "More than one element satisfies the condition in predicate.");
+                }
+
+                item = current;
+                hasBeenFound = true;
             }
         }
+        while (iterator.hasNext());
 
-        return null;
-    }
-
-    // endregion
+        if (hasBeenFound == false)
+        {
+            throw new IllegalStateException("No element satisfies the condition in predicate.");
+        }
 
-    // region: Last
+        return item;
+    }
 
     /**
-     * Returns the last element of a sequence.
+     * Returns the only element of a sequence, or a default value if the
+     * sequence is empty; this method throws an exception if there is more than
+     * one element in the sequence.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            The {@link Iterable} of which to return the last element.
-     * @return The last element in the specified sequence.
+     *            An {@link Iterable} of which to return the single element.
+     * @return The single element of the input sequence, or <code>null</code> if
+     *         the sequence contains no elements.
      */
-    public static <TSource> TSource last(Iterable<TSource> source)
+    public static <TSource> TSource singleOrDefault(Iterable<TSource> source)
     {
         if (source == null)
         {
@@ -3425,40 +7859,37 @@ public class Linq
         }
 
         Iterator<TSource> iterator = source.iterator();
+
         if (iterator.hasNext() == false)
         {
-            throw new IllegalStateException("The source sequence is empty.");
+            return null;
         }
 
-        if (source instanceof List<?>)
-        {
-            List<TSource> sourceList = (List<TSource>) source;
-            return sourceList.get(sourceList.size() - 1);
-        }
+        TSource item = iterator.next();
 
-        TSource item = null;
-        do
+        if (iterator.hasNext())
         {
-            item = iterator.next();
+            throw new IllegalStateException("The input sequence contains more than one element.");
         }
-        while (iterator.hasNext());
 
         return item;
     }
 
     /**
-     * Returns the last element of a sequence.
+     * Returns the only element of a sequence that satisfies a specified
+     * condition or a default value if no such element exists; this method
+     * throws an exception if more than one element satisfies the condition.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            The {@link Iterable} of which to return the last element.
+     *            An {@link Iterable} from which to return a single element.
      * @param predicate
-     *            A function to test each element for a condition.
-     * @return The last element in the sequence that passes the test in the
-     *         specified predicate function.
+     *            A function to test an element for a condition.
+     * @return The single element of the input sequence that satisfies the
+     *         condition, or <code>null</code> if no such element is found.
      */
-    public static <TSource> TSource last(Iterable<TSource> source, Function<TSource, Boolean> predicate)
+    public static <TSource> TSource singleOrDefault(Iterable<TSource> source, Function<TSource, Boolean> predicate)
     {
         if (source == null)
         {
@@ -3470,621 +7901,675 @@ public class Linq
         }
 
         Iterator<TSource> iterator = source.iterator();
+
         if (iterator.hasNext() == false)
         {
-            throw new IllegalStateException("The source sequence is empty.");
+            return null;
         }
 
-        TSource item = null;
-        boolean hasMatched = false;
+        TSource current, item = null;
+        boolean hasBeenFound = false;
+
         do
         {
-            TSource current = iterator.next();
+            current = iterator.next();
             if (predicate.apply(current))
             {
-                hasMatched = true;
+                if (hasBeenFound)
+                {
+                    throw new IllegalStateException(
+                        "More than one element satisfies the condition in predicate.");
+                }
+
                 item = current;
+                hasBeenFound = true;
             }
         }
         while (iterator.hasNext());
 
-        if (hasMatched)
+        if (hasBeenFound == false)
         {
-            return item;
+            return null;
         }
 
-        throw new IllegalStateException("No element satisfies the condition in predicate.");
+        return item;
     }
 
+    // endregion
+
+    // region: To Array
+
     /**
-     * Returns the last element of a sequence, or a default value if the
-     * sequence contains no elements.
+     * Creates an array from an {@link Iterable}.
      *
-     * @param <TSource>
-     *            The type of the elements of <code>source</code>.
      * @param source
-     *            The {@link Iterable} of which to return the last element.
-     * @return <code>null</code> if <code>source</code> is empty; otherwise, the
-     *         last element in the {@link Iterable}.
+     *            An {@link Iterable} from which to create an array.
+     * @return An array that contains the elements from the input sequence.
      */
-    public static <TSource> TSource lastOrDefault(Iterable<TSource> source)
+    public static Object[] toArray(Iterable<?> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        Iterator<TSource> iterator = source.iterator();
-        if (iterator.hasNext() == false)
+        if (source instanceof Collection<?>)
         {
-            return null;
+            return ((Collection<?>) source).toArray();
         }
 
-        if (source instanceof List<?>)
+        int knownCount = tryGetCount(source);
+        if (knownCount >= 0)
         {
-            List<TSource> sourceList = (List<TSource>) source;
-            return sourceList.get(sourceList.size() - 1);
+            return fillArray(source, new Object[knownCount]);
         }
 
-        TSource item = null;
-        do
-        {
-            item = iterator.next();
-        }
-        while (iterator.hasNext());
+        ArrayList<?> list = toArrayList(source);
 
-        return item;
+        return list.toArray();
     }
 
     /**
-     * Returns the last element of the sequence that satisfies a condition or a
-     * default value if no such element is found.
+     * Creates an array from an {@link Iterable}.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            The {@link Iterable} of which to return the last element.
-     * @param predicate
-     *            A function to test each element for a condition.
-     * @return <code>null</code> if <code>source</code> is empty or if no
-     *         element passes the test specified by <code>predicate</code>;
-     *         otherwise, the last element in <code>source</code> that passes
-     *         the test specified by <code>predicate</code>.
+     *            An {@link Iterable} from which to create an array.
+     * @param array
+     *            The array to fill.
+     * @return An array that contains the elements from the input sequence.
      */
-    public static <TSource> TSource lastOrDefault(Iterable<TSource> source, Function<TSource, Boolean> predicate)
+    public static <TSource> TSource[] toArray(Iterable<TSource> source, TSource[] array)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-        if (predicate == null)
-        {
-            throw new IllegalArgumentException("predicate is null.");
-        }
-
-        Iterator<TSource> iterator = source.iterator();
-        if (iterator.hasNext() == false)
+        if (array == null)
         {
-            return null;
+            throw new IllegalArgumentException("array is null.");
         }
 
-        TSource item = null;
-        do
+        int index = 0;
+        for (TSource element : source)
         {
-            TSource current = iterator.next();
-            if (predicate.apply(current))
+            if (index < array.length)
             {
-                item = current;
+                array[index++] = element;
+            }
+            else
+            {
+                break;
             }
         }
-        while (iterator.hasNext());
 
-        return item;
+        return array;
     }
 
-    // endregion
-
-    // region: Sequence Equal
-
     /**
-     * Determines whether two sequences are equal by comparing the elements by
-     * using the default equality comparer for their type.
+     * Creates an array from an {@link Iterable}.
      *
      * @param <TSource>
-     *            The type of the elements of the input sequences.
-     * @param first
-     *            An {@link Iterable} to compare to second.
-     * @param second
-     *            An {@link Iterable} to compare to the first sequence.
-     * @return <code>true</code> if the two source sequences are of equal length
-     *         and their corresponding elements are equal according to the
-     *         default equality comparer for their type; otherwise,
-     *         <code>false</code>.
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            An {@link Iterable} from which to create an array.
+     * @param selector
+     *            Creates an array given the number of elements.
+     * @return An array that contains the elements from the input sequence.
      */
-    public static <TSource> boolean sequenceEqual(Iterable<TSource> first, Iterable<TSource> second)
+    public static <TSource> TSource[] toArray(Iterable<TSource> source, Function<Integer, TSource[]> selector)
     {
-        if (first == null)
+        if (source == null)
         {
-            throw new IllegalArgumentException("first is null.");
+            throw new IllegalArgumentException("source is null.");
         }
-        if (second == null)
+        if (selector == null)
         {
-            throw new IllegalArgumentException("second is null.");
+            throw new IllegalArgumentException("selector is null.");
         }
 
-        Iterator<TSource> firstIterator = first.iterator();
-        Iterator<TSource> secondIterator = second.iterator();
-
-        while (firstIterator.hasNext())
+        if (source instanceof Collection<?> == false)
         {
-            if (secondIterator.hasNext() == false)
+            int knownCount = tryGetCount(source);
+            if (knownCount >= 0)
             {
-                return false;
+                return fillArray(source, selector.apply(knownCount));
             }
+        }
 
-            TSource firstItem = firstIterator.next();
-            TSource secondItem = secondIterator.next();
-
-            if (firstItem == null)
-            {
-                if (secondItem == null)
-                {
-                    continue;
-                }
+        Collection<TSource> collection = (source instanceof Collection<?>)
+            ? (Collection<TSource>) source
+            : toArrayList(source);
 
-                return false;
-            }
+        TSource[] newArray = selector.apply(collection.size());
+        return collection.toArray(newArray);
+    }
 
-            if (firstItem.equals(secondItem) == false)
+    /**
+     * Copies the elements of a sequence into an array sized from
+     * {@link #tryGetCount(Iterable)}, resizing it if the sequence turns out to
+     * have a different number of elements.
+     */
+    private static <TSource> TSource[] fillArray(Iterable<? extends TSource> source, TSource[] array)
+    {
+        int index = 0;
+        for (TSource element : source)
+        {
+            if (index == array.length)
             {
-                return false;
+                array = Arrays.copyOf(array, Math.max(index * 2, 4));
             }
+
+            array[index++] = element;
         }
 
-        return true;
+        return (index == array.length) ? array : Arrays.copyOf(array, index);
     }
 
     // endregion
 
-    // region: Single
+    // region: To Array List
 
     /**
-     * Returns the only element of a sequence, and throws an exception if there
-     * is not exactly one element in the sequence.
+     * Creates an array from an {@link Iterable}.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            An {@link Iterable} of which to return the single element.
-     * @return The single element of the input sequence.
+     *            An {@link Iterable} to create an array from.
+     * @return An array that contains the elements from the input sequence.
      */
-    public static <TSource> TSource single(Iterable<TSource> source)
+    public static <TSource> ArrayList<TSource> toArrayList(Iterable<TSource> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        Iterator<TSource> iterator = source.iterator();
+        if (source instanceof Collection<?>)
+        {
+            return new ArrayList<>((Collection<TSource>) source);
+        }
 
-        if (iterator.hasNext() == false)
+        List<TSource> sourceList = asRandomAccessList(source);
+        if (sourceList != null)
         {
-            throw new IllegalStateException("The input sequence is empty.");
+            return new ArrayList<>(sourceList);
         }
 
-        TSource item = iterator.next();
+        int knownCount = tryGetCount(source);
+        ArrayList<TSource> list = (knownCount >= 0) ? new ArrayList<>(knownCount) : new ArrayList<>();
+        source.forEach(list::add);
+        return list;
+    }
 
-        if (iterator.hasNext())
+    // endregion
+
+    // region: To Hash Map
+
+    /**
+     * Creates a {@link HashMap} from an {@link Iterable} according to a
+     * specified key selector function.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param source
+     *            An {@link Iterable} from which to create a {@link HashMap}.
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @return A {@link HashMap} that contains keys and values.
+     */
+    public static <TSource, TKey> HashMap<TKey, TSource> toHashMap(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector)
+    {
+        if (source == null)
         {
-            throw new IllegalStateException("The input sequence contains more than one element.");
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (keySelector == null)
+        {
+            throw new IllegalArgumentException("keySelector is null.");
         }
 
-        return item;
+        HashMap<TKey, TSource> hashMap = new HashMap<TKey, TSource>(getHashMapCapacity(source));
+        source.forEach(value -> hashMap.put(keySelector.apply(value), value));
+
+        return hashMap;
     }
 
     /**
-     * Returns the only element of a sequence that satisfies a specified
-     * condition, and throws an exception if more than one such element exists.
+     * Creates a {@link HashMap} from an {@link Iterable} according to specified
+     * key selector and element selector functions.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
+     * @param <TKey>
+     *            The type of the key returned by <code>keySelector</code>.
+     * @param <TElement>
+     *            The type of the value returned by
+     *            <code>elementSelector</code>.
      * @param source
-     *            An {@link Iterable} from which to return a single element.
-     * @param predicate
-     *            A function to test an element for a condition.
-     * @return The single element of the input sequence that satisfies a
-     *         condition.
+     *            An {@link Iterable} to create a {@link HashMap} from.
+     * @param keySelector
+     *            A function to extract a key from each element.
+     * @param elementSelector
+     *            A transform function to produce a result element value from
+     *            each element.
+     * @return A {@link HashMap} that contains values of type
+     *         <code>TElement</code> selected from the input sequence.
      */
-    public static <TSource> TSource single(Iterable<TSource> source, Function<TSource, Boolean> predicate)
+    public static <TSource, TKey, TElement> HashMap<TKey, TElement> toHashMap(Iterable<TSource> source,
+        Function<TSource, TKey> keySelector, Function<TSource, TElement> elementSelector)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-        if (predicate == null)
+        if (keySelector == null)
         {
-            throw new IllegalArgumentException("predicate is null.");
+            throw new IllegalArgumentException("keySelector is null.");
+        }
+        if (elementSelector == null)
+        {
+            throw new IllegalArgumentException("elementSelector is null.");
         }
 
-        Iterator<TSource> iterator = source.iterator();
+        HashMap<TKey, TElement> hashMap = new HashMap<TKey, TElement>(getHashMapCapacity(source));
+        source.forEach(item ->
+        {
+            TKey key = keySelector.apply(item);
+            TElement value = elementSelector.apply(item);
+            hashMap.put(key, value);
+        });
 
-        if (iterator.hasNext() == false)
+        return hashMap;
+    }
+
+    /**
+     * Gets an initial {@link HashMap} capacity that holds every element of a
+     * sequence of known size without rehashing.
+     */
+    private static int getHashMapCapacity(Iterable<?> source)
+    {
+        int knownCount = tryGetCount(source);
+        if (knownCount < 0)
         {
-            throw new IllegalStateException("The source sequence is empty.");
+            return 16;
         }
 
-        TSource current, item = null;
-        boolean hasBeenFound = false;
+        return (int) Math.min(knownCount / 0.75 + 1, 1 << 30);
+    }
 
-        do
-        {
-            current = iterator.next();
-            if (predicate.apply(current))
-            {
-                if (hasBeenFound)
-                {
-                    throw new IllegalStateException(
-                        "More than one element satisfies the condition in predicate.");
-                }
+    // endregion
 
-                item = current;
-                hasBeenFound = true;
-            }
+    // endregion
+
+    // region: Metrics
+
+    // region: Average
+
+    /**
+     * Computes the average of a sequence of {@link Double} values.
+     *
+     * @param source
+     *            A sequence of {@link Double} values of which to calculate the
+     *            average.
+     * @return The average of the sequence of values.
+     */
+    public static double averageDouble(Iterable<Double> source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
         }
-        while (iterator.hasNext());
 
-        if (hasBeenFound == false)
+        DoubleAggregate aggregate = new DoubleAggregate(0d);
+        source.forEach(value ->
+        {
+            aggregate.count++;
+            aggregate.value += value;
+        });
+
+        if (aggregate.count == 0)
         {
-            throw new IllegalStateException("No element satisfies the condition in predicate.");
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return item;
+        return aggregate.value / aggregate.count;
     }
 
     /**
-     * Returns the only element of a sequence, or a default value if the
-     * sequence is empty; this method throws an exception if there is more than
-     * one element in the sequence.
+     * Computes the average of the sequence of {@link Double} values that are
+     * obtained by invoking a transform function on each element of the input
+     * sequence.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            An {@link Iterable} of which to return the single element.
-     * @return The single element of the input sequence, or <code>null</code> if
-     *         the sequence contains no elements.
+     *            A sequence of values of which to calculate the average.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return The average of the sequence of values.
      */
-    public static <TSource> TSource singleOrDefault(Iterable<TSource> source)
+    public static <TSource> double averageDouble(Iterable<TSource> source, Function<TSource, Double> selector)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-
-        Iterator<TSource> iterator = source.iterator();
-
-        if (iterator.hasNext() == false)
+        if (selector == null)
         {
-            return null;
+            throw new IllegalArgumentException("selector is null.");
         }
 
-        TSource item = iterator.next();
+        DoubleAggregate aggregate = new DoubleAggregate(0d);
+        source.forEach(item ->
+        {
+            aggregate.count++;
+            Double value = selector.apply(item);
+            aggregate.value += value;
+        });
 
-        if (iterator.hasNext())
+        if (aggregate.count == 0)
         {
-            throw new IllegalStateException("The input sequence contains more than one element.");
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return item;
+        return aggregate.value / aggregate.count;
     }
 
     /**
-     * Returns the only element of a sequence that satisfies a specified
-     * condition or a default value if no such element exists; this method
-     * throws an exception if more than one element satisfies the condition.
+     * Computes the average of the sequence of {@link Double} values that are
+     * obtained by invoking a transform function on each element of the input
+     * sequence, accumulating the sum as specified by a {@link SummationMode}.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            An {@link Iterable} from which to return a single element.
-     * @param predicate
-     *            A function to test an element for a condition.
-     * @return The single element of the input sequence that satisfies the
-     *         condition, or <code>null</code> if no such element is found.
+     *            A sequence of values of which to calculate the average.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @param mode
+     *            How the values are added.
+     * @return The average of the projected values.
      */
-    public static <TSource> TSource singleOrDefault(Iterable<TSource> source, Function<TSource, Boolean> predicate)
+    public static <TSource> double averageDouble(Iterable<TSource> source, Function<TSource, Double> selector,
+        SummationMode mode)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-        if (predicate == null)
-        {
-            throw new IllegalArgumentException("predicate is null.");
-        }
-
-        Iterator<TSource> iterator = source.iterator();
-
-        if (iterator.hasNext() == false)
+        if (selector == null)
         {
-            return null;
+            throw new IllegalArgumentException("selector is null.");
         }
 
-        TSource current, item = null;
-        boolean hasBeenFound = false;
-
-        do
-        {
-            current = iterator.next();
-            if (predicate.apply(current))
-            {
-                if (hasBeenFound)
-                {
-                    throw new IllegalStateException(
-                        "More than one element satisfies the condition in predicate.");
-                }
-
-                item = current;
-                hasBeenFound = true;
-            }
-        }
-        while (iterator.hasNext());
+        DoubleSummation summation = DoubleSummation.create(mode);
+        source.forEach(item -> summation.add(selector.apply(item)));
 
-        if (hasBeenFound == false)
+        if (summation.getCount() == 0)
         {
-            return null;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return item;
+        return summation.getSum() / summation.getCount();
     }
 
-    // endregion
-
-    // region: To Array
-
     /**
-     * Creates an array from an {@link Iterable}.
+     * Computes the average of a sequence of {@link Float} values.
      *
      * @param source
-     *            An {@link Iterable} from which to create an array.
-     * @return An array that contains the elements from the input sequence.
+     *            A sequence of {@link Float} values of which to calculate the
+     *            average.
+     * @return The average of the sequence of values.
      */
-    public static Object[] toArray(Iterable<?> source)
+    public static float averageFloat(Iterable<Float> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        ArrayList<?> list = toArrayList(source);
+        FloatAggregate aggregate = new FloatAggregate(0f);
+        source.forEach(value ->
+        {
+            aggregate.count++;
+            aggregate.value += value;
+        });
 
-        return list.toArray();
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return aggregate.value / aggregate.count;
     }
 
     /**
-     * Creates an array from an {@link Iterable}.
+     * Computes the average of the sequence of {@link Float} values that are
+     * obtained by invoking a transform function on each element of the input
+     * sequence.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            An {@link Iterable} from which to create an array.
-     * @param array
-     *            The array to fill.
-     * @return An array that contains the elements from the input sequence.
+     *            A sequence of values of which to calculate the average.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return The average of the sequence of values.
      */
-    public static <TSource> TSource[] toArray(Iterable<TSource> source, TSource[] array)
+    public static <TSource> float averageFloat(Iterable<TSource> source, Function<TSource, Float> selector)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-        if (array == null)
+        if (selector == null)
         {
-            throw new IllegalArgumentException("array is null.");
+            throw new IllegalArgumentException("selector is null.");
         }
 
-        int index = 0;
-        for (TSource element : source)
+        FloatAggregate aggregate = new FloatAggregate(0f);
+        source.forEach(item ->
         {
-            if (index < array.length)
-            {
-                array[index++] = element;
-            }
-            else
-            {
-                break;
-            }
+            aggregate.count++;
+            Float value = selector.apply(item);
+            aggregate.value += value;
+        });
+
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return array;
+        return aggregate.value / aggregate.count;
     }
 
     /**
-     * Creates an array from an {@link Iterable}.
+     * Computes the average of a sequence of {@link Integer} values.
      *
-     * @param <TSource>
-     *            The type of the elements of <code>source</code>.
      * @param source
-     *            An {@link Iterable} from which to create an array.
-     * @param selector
-     *            Creates an array given the number of elements.
-     * @return An array that contains the elements from the input sequence.
+     *            A sequence of {@link Integer} values of which to calculate the
+     *            average.
+     * @return The average of the sequence of values.
      */
-    public static <TSource> TSource[] toArray(Iterable<TSource> source, Function<Integer, TSource[]> selector)
+    public static int averageInteger(Iterable<Integer> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-        if (selector == null)
+
+        IntAggregate aggregate = new IntAggregate(0);
+        source.forEach(value ->
         {
-            throw new IllegalArgumentException("selector is null.");
-        }
+            aggregate.count++;
+            aggregate.value += value;
+        });
 
-        ArrayList<TSource> list = toArrayList(source);
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
 
-        TSource[] newArray = selector.apply(list.size());
-        return list.toArray(newArray);
+        return aggregate.value / aggregate.count;
     }
 
-    // endregion
-
-    // region: To Array List
-
     /**
-     * Creates an array from an {@link Iterable}.
+     * Computes the average of the sequence of {@link Integer} values that are
+     * obtained by invoking a transform function on each element of the input
+     * sequence.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            An {@link Iterable} to create an array from.
-     * @return An array that contains the elements from the input sequence.
+     *            A sequence of values of which to calculate the average.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return The average of the sequence of values.
      */
-    public static <TSource> ArrayList<TSource> toArrayList(Iterable<TSource> source)
+    public static <TSource> int averageInteger(Iterable<TSource> source, Function<TSource, Integer> selector)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-
-        ArrayList<TSource> list = new ArrayList<>();
-        for (TSource element : source)
+        if (selector == null)
         {
-            list.add(element);
+            throw new IllegalArgumentException("selector is null.");
         }
 
-        return list;
-    }
+        IntAggregate aggregate = new IntAggregate(0);
+        source.forEach(item ->
+        {
+            aggregate.count++;
+            Integer value = selector.apply(item);
+            aggregate.value += value;
+        });
 
-    // endregion
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
 
-    // region: To Hash Map
+        return aggregate.value / aggregate.count;
+    }
 
     /**
-     * Creates a {@link HashMap} from an {@link Iterable} according to a
-     * specified key selector function.
+     * Computes the average of a sequence of {@link Integer} values as a
+     * <code>double</code>.
+     * <p>
+     * The values are added in a <code>long</code>, so unlike
+     * {@link #averageInteger(Iterable)} the sum cannot overflow and the
+     * fractional part of the average is kept.
      *
-     * @param <TSource>
-     *            The type of the elements of <code>source</code>.
-     * @param <TKey>
-     *            The type of the key returned by <code>keySelector</code>.
      * @param source
-     *            An {@link Iterable} from which to create a {@link HashMap}.
-     * @param keySelector
-     *            A function to extract a key from each element.
-     * @return A {@link HashMap} that contains keys and values.
+     *            A sequence of {@link Integer} values of which to calculate the
+     *            average.
+     * @return The average of the sequence of values.
      */
-    public static <TSource, TKey> HashMap<TKey, TSource> toHashMap(Iterable<TSource> source,
-        Function<TSource, TKey> keySelector)
+    public static double averageIntegerAsDouble(Iterable<Integer> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-        if (keySelector == null)
+
+        LongAggregate aggregate = new LongAggregate(0l);
+        source.forEach(value ->
         {
-            throw new IllegalArgumentException("keySelector is null.");
-        }
+            aggregate.count++;
+            aggregate.value += value;
+        });
 
-        HashMap<TKey, TSource> hashMap = new HashMap<TKey, TSource>();
-        for (TSource value : source)
+        if (aggregate.count == 0)
         {
-            TKey key = keySelector.apply(value);
-            hashMap.put(key, value);
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return hashMap;
+        return (double) aggregate.value / aggregate.count;
     }
 
     /**
-     * Creates a {@link HashMap} from an {@link Iterable} according to specified
-     * key selector and element selector functions.
+     * Computes the average, as a <code>double</code>, of the sequence of
+     * {@link Integer} values that are obtained by invoking a transform function
+     * on each element of the input sequence.
+     * <p>
+     * The values are added in a <code>long</code>, so unlike
+     * {@link #averageInteger(Iterable)} the sum cannot overflow and the
+     * fractional part of the average is kept.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
-     * @param <TKey>
-     *            The type of the key returned by <code>keySelector</code>.
-     * @param <TElement>
-     *            The type of the value returned by
-     *            <code>elementSelector</code>.
      * @param source
-     *            An {@link Iterable} to create a {@link HashMap} from.
-     * @param keySelector
-     *            A function to extract a key from each element.
-     * @param elementSelector
-     *            A transform function to produce a result element value from
-     *            each element.
-     * @return A {@link HashMap} that contains values of type
-     *         <code>TElement</code> selected from the input sequence.
+     *            A sequence of values of which to calculate the average.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return The average of the projected values.
      */
-    public static <TSource, TKey, TElement> HashMap<TKey, TElement> toHashMap(Iterable<TSource> source,
-        Function<TSource, TKey> keySelector, Function<TSource, TElement> elementSelector)
+    public static <TSource> double averageIntegerAsDouble(Iterable<TSource> source, Function<TSource, Integer> selector)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-        if (keySelector == null)
+        if (selector == null)
         {
-            throw new IllegalArgumentException("keySelector is null.");
+            throw new IllegalArgumentException("selector is null.");
         }
-        if (elementSelector == null)
+
+        LongAggregate aggregate = new LongAggregate(0l);
+        source.forEach(item ->
         {
-            throw new IllegalArgumentException("elementSelector is null.");
-        }
+            aggregate.count++;
+            Integer value = selector.apply(item);
+            aggregate.value += value;
+        });
 
-        HashMap<TKey, TElement> hashMap = new HashMap<TKey, TElement>();
-        for (TSource item : source)
+        if (aggregate.count == 0)
         {
-            TKey key = keySelector.apply(item);
-            TElement value = elementSelector.apply(item);
-            hashMap.put(key, value);
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return hashMap;
+        return (double) aggregate.value / aggregate.count;
     }
 
-    // endregion
-
-    // endregion
-
-    // region: Metrics
-
-    // region: Average
-
     /**
-     * Computes the average of a sequence of {@link Double} values.
+     * Computes the average of a sequence of {@link Long} values.
      *
      * @param source
-     *            A sequence of {@link Double} values of which to calculate the
+     *            A sequence of {@link Long} values of which to calculate the
      *            average.
      * @return The average of the sequence of values.
      */
-    public static double averageDouble(Iterable<Double> source)
+    public static long averageLong(Iterable<Long> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        LongAggregate aggregate = new LongAggregate(0l);
+        source.forEach(value ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        Double sum = 0d;
-        int count = 0;
+            aggregate.count++;
+            aggregate.value += value;
+        });
 
-        for (Double value : source)
+        if (aggregate.count == 0)
         {
-            count++;
-            sum += value;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return sum / count;
+        return aggregate.value / aggregate.count;
     }
 
     /**
-     * Computes the average of the sequence of {@link Double} values that are
+     * Computes the average of the sequence of {@link Long} values that are
      * obtained by invoking a transform function on each element of the input
      * sequence.
      *
@@ -4096,7 +8581,7 @@ public class Linq
      *            A transform function to apply to each element.
      * @return The average of the sequence of values.
      */
-    public static <TSource> double averageDouble(Iterable<TSource> source, Function<TSource, Double> selector)
+    public static <TSource> long averageLong(Iterable<TSource> source, Function<TSource, Long> selector)
     {
         if (source == null)
         {
@@ -4107,144 +8592,232 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        LongAggregate aggregate = new LongAggregate(0l);
+        source.forEach(item ->
+        {
+            aggregate.count++;
+            Long value = selector.apply(item);
+            aggregate.value += value;
+        });
+
+        if (aggregate.count == 0)
         {
             throw new IllegalStateException("source contains no elements.");
         }
 
-        Double sum = 0d;
-        int count = 0;
+        return aggregate.value / aggregate.count;
+    }
 
-        for (TSource item : source)
+    // endregion
+
+    // region: Count
+
+    /**
+     * Gets the number of elements in a sequence if it is known without
+     * enumerating the sequence.
+     *
+     * @param source
+     *            A sequence whose size to get.
+     * @return The number of elements in <code>source</code>, or
+     *         <code>-1</code> if it is not known without enumerating it.
+     */
+    public static int tryGetCount(Iterable<?> source)
+    {
+        if (source == null)
         {
-            Double value = selector.apply(item);
-            count++;
-            sum += value;
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        if (source instanceof Collection<?>)
+        {
+            return ((Collection<?>) source).size();
+        }
+
+        if (source instanceof IEnumerable<?>)
+        {
+            return ((IEnumerable<?>) source).tryGetCount();
         }
 
-        return sum / count;
+        return -1;
     }
 
     /**
-     * Computes the average of a sequence of {@link Float} values.
+     * Returns the number of elements in a sequence.
      *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence of {@link Float} values of which to calculate the
-     *            average.
-     * @return The average of the sequence of values.
+     *            A sequence that contains elements to be counted.
+     * @return The number of elements in the input sequence.
      */
-    public static float averageFloat(Iterable<Float> source)
+    public static <TSource> int count(Iterable<TSource> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        int knownCount = tryGetCount(source);
+        if (knownCount >= 0)
         {
-            throw new IllegalStateException("source contains no elements.");
+            return knownCount;
         }
 
-        Float sum = 0f;
-        int count = 0;
+        IntAggregate aggregate = new IntAggregate(0);
+        source.forEach(item -> aggregate.value++);
+        return aggregate.value;
+    }
 
-        for (Float value : source)
+    /**
+     * Returns a number that represents how many elements in the specified
+     * sequence satisfy a condition.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            A sequence that contains elements to be tested and counted.
+     * @param predicate
+     *            A function to test each element for a condition.
+     * @return A number that represents how many elements in the sequence
+     *         satisfy the condition in the predicate function.
+     */
+    public static <TSource> int count(Iterable<TSource> source, Function<TSource, Boolean> predicate)
+    {
+        if (source == null)
         {
-            count++;
-            sum += value;
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (predicate == null)
+        {
+            throw new IllegalArgumentException("predicate is null.");
         }
 
-        return sum / count;
+        IntAggregate aggregate = new IntAggregate(0);
+        source.forEach(item ->
+        {
+            if (predicate.apply(item))
+            {
+                aggregate.value++;
+            }
+        });
+
+        return aggregate.value;
     }
 
     /**
-     * Computes the average of the sequence of {@link Float} values that are
-     * obtained by invoking a transform function on each element of the input
+     * Returns a {@link Long} that represents the total number of elements in a
      * sequence.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence of values of which to calculate the average.
-     * @param selector
-     *            A transform function to apply to each element.
-     * @return The average of the sequence of values.
+     *            An {@link Iterable} that contains elements to be counted.
+     * @return The number of elements in the input sequence.
      */
-    public static <TSource> float averageFloat(Iterable<TSource> source, Function<TSource, Float> selector)
+    public static <TSource> long longCount(Iterable<TSource> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-        if (selector == null)
-        {
-            throw new IllegalArgumentException("selector is null.");
-        }
 
-        if (source.iterator().hasNext() == false)
+        int knownCount = tryGetCount(source);
+        if (knownCount >= 0)
         {
-            throw new IllegalStateException("source contains no elements.");
+            return knownCount;
         }
 
-        Float sum = 0f;
-        int count = 0;
+        LongAggregate aggregate = new LongAggregate(0);
+        source.forEach(item -> aggregate.value++);
+        return aggregate.value;
+    }
 
-        for (TSource item : source)
+    /**
+     * Returns a {@link Long} that represents how many elements in a sequence
+     * satisfy a condition.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            An {@link Iterable} that contains elements to be counted.
+     * @param predicate
+     *            A function to test each element for a condition.
+     * @return A number that represents how many elements in the sequence
+     *         satisfy the condition in the predicate function.
+     */
+    public static <TSource> long longCount(Iterable<TSource> source, Function<TSource, Boolean> predicate)
+    {
+        if (source == null)
         {
-            Float value = selector.apply(item);
-            count++;
-            sum += value;
+            throw new IllegalArgumentException("source is null.");
         }
+        if (predicate == null)
+        {
+            throw new IllegalArgumentException("predicate is null.");
+        }
+
+        LongAggregate aggregate = new LongAggregate(0);
+        source.forEach(item ->
+        {
+            if (predicate.apply(item))
+            {
+                aggregate.value++;
+            }
+        });
 
-        return sum / count;
+        return aggregate.value;
     }
 
+    // endregion
+
+    // region: Max
+
     /**
-     * Computes the average of a sequence of {@link Integer} values.
+     * Returns the maximum value in a sequence of {@link Double} values.
      *
      * @param source
-     *            A sequence of {@link Integer} values of which to calculate the
-     *            average.
-     * @return The average of the sequence of values.
+     *            A sequence of {@link Double} values of which to determine the
+     *            maximum value.
+     * @return The maximum value in the sequence.
      */
-    public static int averageInteger(Iterable<Integer> source)
+    public static double maxDouble(Iterable<Double> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        DoubleAggregate aggregate = new DoubleAggregate(Double.MIN_VALUE);
+        source.forEach(value ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        Integer sum = 0;
-        int count = 0;
+            aggregate.count++;
+            if (value > aggregate.value)
+            {
+                aggregate.value = value;
+            }
+        });
 
-        for (Integer value : source)
+        if (aggregate.count == 0)
         {
-            count++;
-            sum += value;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return sum / count;
+        return aggregate.value;
     }
 
     /**
-     * Computes the average of the sequence of {@link Integer} values that are
-     * obtained by invoking a transform function on each element of the input
-     * sequence.
+     * Invokes a transform function on each element of a sequence and returns
+     * the maximum {@link Double} value.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence of values of which to calculate the average.
+     *            A sequence of values of which to determine the maximum value.
      * @param selector
      *            A transform function to apply to each element.
-     * @return The average of the sequence of values.
+     * @return The maximum value in the sequence.
      */
-    public static <TSource> int averageInteger(Iterable<TSource> source, Function<TSource, Integer> selector)
+    public static <TSource> double maxDouble(Iterable<TSource> source, Function<TSource, Double> selector)
     {
         if (source == null)
         {
@@ -4255,70 +8828,71 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        DoubleAggregate aggregate = new DoubleAggregate(Double.MIN_VALUE);
+        source.forEach(item ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        Integer sum = 0;
-        int count = 0;
+            aggregate.count++;
+            Double value = selector.apply(item);
+            if (value > aggregate.value)
+            {
+                aggregate.value = value;
+            }
+        });
 
-        for (TSource item : source)
+        if (aggregate.count == 0)
         {
-            Integer value = selector.apply(item);
-            count++;
-            sum += value;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return sum / count;
+        return aggregate.value;
     }
 
     /**
-     * Computes the average of a sequence of {@link Long} values.
+     * Returns the maximum value in a sequence of {@link Float} values.
      *
      * @param source
-     *            A sequence of {@link Long} values of which to calculate the
-     *            average.
-     * @return The average of the sequence of values.
+     *            A sequence of {@link Float} values of which to determine the
+     *            maximum value.
+     * @return The maximum value in the sequence.
      */
-    public static long averageLong(Iterable<Long> source)
+    public static float maxFloat(Iterable<Float> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        FloatAggregate aggregate = new FloatAggregate(Float.MIN_VALUE);
+        source.forEach(value ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        Long sum = 0l;
-        int count = 0;
+            aggregate.count++;
+            if (value > aggregate.value)
+            {
+                aggregate.value = value;
+            }
+        });
 
-        for (Long value : source)
+        if (aggregate.count == 0)
         {
-            count++;
-            sum += value;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return sum / count;
+        return aggregate.value;
     }
 
     /**
-     * Computes the average of the sequence of {@link Long} values that are
-     * obtained by invoking a transform function on each element of the input
-     * sequence.
+     * Invokes a transform function on each element of a sequence and returns
+     * the maximum {@link Float} value.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence of values of which to calculate the average.
+     *            A sequence of values of which to determine the maximum value.
      * @param selector
      *            A transform function to apply to each element.
-     * @return The average of the sequence of values.
+     * @return The maximum value in the sequence.
      */
-    public static <TSource> long averageLong(Iterable<TSource> source, Function<TSource, Long> selector)
+    public static <TSource> float maxFloat(Iterable<TSource> source, Function<TSource, Float> selector)
     {
         if (source == null)
         {
@@ -4329,204 +8903,225 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        FloatAggregate aggregate = new FloatAggregate(Float.MIN_VALUE);
+        source.forEach(item ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        Long sum = 0l;
-        int count = 0;
+            aggregate.count++;
+            Float value = selector.apply(item);
+            if (value > aggregate.value)
+            {
+                aggregate.value = value;
+            }
+        });
 
-        for (TSource item : source)
+        if (aggregate.count == 0)
         {
-            Long value = selector.apply(item);
-            count++;
-            sum += value;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return sum / count;
+        return aggregate.value;
     }
 
-    // endregion
-
-    // region: Count
-
     /**
-     * Returns the number of elements in a sequence.
+     * Returns the maximum value in a sequence of {@link Integer} values.
      *
-     * @param <TSource>
-     *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence that contains elements to be counted.
-     * @return The number of elements in the input sequence.
+     *            A sequence of {@link Integer} values of which to determine the
+     *            maximum value.
+     * @return The maximum value in the sequence.
      */
-    public static <TSource> int count(Iterable<TSource> source)
+    public static int maxInteger(Iterable<Integer> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        int count = 0;
-        Iterator<TSource> sequenceIterator = source.iterator();
-        while (sequenceIterator.hasNext())
+        IntAggregate aggregate = new IntAggregate(Integer.MIN_VALUE);
+        source.forEach(value ->
+        {
+            aggregate.count++;
+            if (value > aggregate.value)
+            {
+                aggregate.value = value;
+            }
+        });
+
+        if (aggregate.count == 0)
         {
-            sequenceIterator.next();
-            count++;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return count;
+        return aggregate.value;
     }
 
     /**
-     * Returns a number that represents how many elements in the specified
-     * sequence satisfy a condition.
+     * Invokes a transform function on each element of a sequence and returns
+     * the maximum {@link Integer} value.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence that contains elements to be tested and counted.
-     * @param predicate
-     *            A function to test each element for a condition.
-     * @return A number that represents how many elements in the sequence
-     *         satisfy the condition in the predicate function.
+     *            A sequence of values of which to determine the maximum value.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return The maximum value in the sequence.
      */
-    public static <TSource> int count(Iterable<TSource> source, Function<TSource, Boolean> predicate)
+    public static <TSource> int maxInteger(Iterable<TSource> source, Function<TSource, Integer> selector)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-        if (predicate == null)
+        if (selector == null)
         {
-            throw new IllegalArgumentException("predicate is null.");
+            throw new IllegalArgumentException("selector is null.");
         }
 
-        int count = 0;
-        for (TSource item : source)
+        IntAggregate aggregate = new IntAggregate(Integer.MIN_VALUE);
+        source.forEach(item ->
         {
-            if (predicate.apply(item))
+            aggregate.count++;
+            Integer value = selector.apply(item);
+            if (value > aggregate.value)
             {
-                count++;
+                aggregate.value = value;
             }
+        });
+
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return count;
+        return aggregate.value;
     }
 
     /**
-     * Returns a {@link Long} that represents the total number of elements in a
-     * sequence.
+     * Returns the maximum value in a sequence of {@link Long} values.
      *
-     * @param <TSource>
-     *            The type of the elements of <code>source</code>.
      * @param source
-     *            An {@link Iterable} that contains elements to be counted.
-     * @return The number of elements in the input sequence.
+     *            A sequence of {@link Long} values of which to determine the
+     *            maximum value.
+     * @return The maximum value in the sequence.
      */
-    public static <TSource> long longCount(Iterable<TSource> source)
+    public static long maxLong(Iterable<Long> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        long count = 0;
-        Iterator<TSource> sequenceIterator = source.iterator();
-        while (sequenceIterator.hasNext())
+        LongAggregate aggregate = new LongAggregate(Long.MIN_VALUE);
+        source.forEach(value ->
+        {
+            aggregate.count++;
+            if (value > aggregate.value)
+            {
+                aggregate.value = value;
+            }
+        });
+
+        if (aggregate.count == 0)
         {
-            sequenceIterator.next();
-            count++;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return count;
+        return aggregate.value;
     }
 
     /**
-     * Returns a {@link Long} that represents how many elements in a sequence
-     * satisfy a condition.
+     * Invokes a transform function on each element of a sequence and returns
+     * the maximum {@link Long} value.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            An {@link Iterable} that contains elements to be counted.
-     * @param predicate
-     *            A function to test each element for a condition.
-     * @return A number that represents how many elements in the sequence
-     *         satisfy the condition in the predicate function.
+     *            A sequence of values of which to determine the maximum value.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return The maximum value in the sequence.
      */
-    public static <TSource> long longCount(Iterable<TSource> source, Function<TSource, Boolean> predicate)
+    public static <TSource> long maxLong(Iterable<TSource> source, Function<TSource, Long> selector)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-        if (predicate == null)
+        if (selector == null)
         {
-            throw new IllegalArgumentException("predicate is null.");
+            throw new IllegalArgumentException("selector is null.");
         }
 
-        long count = 0;
-        for (TSource item : source)
+        LongAggregate aggregate = new LongAggregate(Long.MIN_VALUE);
+        source.forEach(item ->
         {
-            if (predicate.apply(item))
+            aggregate.count++;
+            Long value = selector.apply(item);
+            if (value > aggregate.value)
             {
-                count++;
+                aggregate.value = value;
             }
+        });
+
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return count;
+        return aggregate.value;
     }
 
     // endregion
 
-    // region: Max
+    // region: Min
 
     /**
-     * Returns the maximum value in a sequence of {@link Double} values.
+     * Returns the minimum value in a sequence of {@link Double} values.
      *
      * @param source
      *            A sequence of {@link Double} values of which to determine the
-     *            maximum value.
-     * @return The maximum value in the sequence.
+     *            minimum value.
+     * @return The minimum value in the sequence.
      */
-    public static double maxDouble(Iterable<Double> source)
+    public static double minDouble(Iterable<Double> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
-        {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        double maxValue = Double.MIN_VALUE;
-        for (Double value : source)
+        DoubleAggregate aggregate = new DoubleAggregate(Double.MAX_VALUE);
+        source.forEach(value ->
         {
-            if (value > maxValue)
+            aggregate.count++;
+            if (value < aggregate.value)
             {
-                maxValue = value;
+                aggregate.value = value;
             }
+        });
+
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return maxValue;
+        return aggregate.value;
     }
 
     /**
      * Invokes a transform function on each element of a sequence and returns
-     * the maximum {@link Double} value.
+     * the minimum {@link Double} value.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence of values of which to determine the maximum value.
+     *            A sequence of values of which to determine the minimum value.
      * @param selector
      *            A transform function to apply to each element.
-     * @return The maximum value in the sequence.
+     * @return The minimum value in the sequence.
      */
-    public static <TSource> double maxDouble(Iterable<TSource> source, Function<TSource, Double> selector)
+    public static <TSource> double minDouble(Iterable<TSource> source, Function<TSource, Double> selector)
     {
         if (source == null)
         {
@@ -4537,69 +9132,71 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        if (source.iterator().hasNext() == false)
-        {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        double maxValue = Double.MIN_VALUE;
-        for (TSource item : source)
+        DoubleAggregate aggregate = new DoubleAggregate(Double.MAX_VALUE);
+        source.forEach(item ->
         {
+            aggregate.count++;
             Double value = selector.apply(item);
-            if (value > maxValue)
+            if (value < aggregate.value)
             {
-                maxValue = value;
+                aggregate.value = value;
             }
+        });
+
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return maxValue;
+        return aggregate.value;
     }
 
     /**
-     * Returns the maximum value in a sequence of {@link Float} values.
+     * Returns the minimum value in a sequence of {@link Float} values.
      *
      * @param source
      *            A sequence of {@link Float} values of which to determine the
-     *            maximum value.
-     * @return The maximum value in the sequence.
+     *            minimum value.
+     * @return The minimum value in the sequence.
      */
-    public static float maxFloat(Iterable<Float> source)
+    public static float minFloat(Iterable<Float> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
-        {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        float maxValue = Float.MIN_VALUE;
-        for (Float value : source)
+        FloatAggregate aggregate = new FloatAggregate(Float.MAX_VALUE);
+        source.forEach(value ->
         {
-            if (value > maxValue)
+            aggregate.count++;
+            if (value < aggregate.value)
             {
-                maxValue = value;
+                aggregate.value = value;
             }
+        });
+
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return maxValue;
+        return aggregate.value;
     }
 
     /**
      * Invokes a transform function on each element of a sequence and returns
-     * the maximum {@link Float} value.
+     * the minimum {@link Float} value.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence of values of which to determine the maximum value.
+     *            A sequence of values of which to determine the minimum value.
      * @param selector
      *            A transform function to apply to each element.
-     * @return The maximum value in the sequence.
+     * @return The minimum value in the sequence.
      */
-    public static <TSource> float maxFloat(Iterable<TSource> source, Function<TSource, Float> selector)
+    public static <TSource> float minFloat(Iterable<TSource> source, Function<TSource, Float> selector)
     {
         if (source == null)
         {
@@ -4610,69 +9207,71 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        if (source.iterator().hasNext() == false)
-        {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        float maxValue = Float.MIN_VALUE;
-        for (TSource item : source)
+        FloatAggregate aggregate = new FloatAggregate(Float.MAX_VALUE);
+        source.forEach(item ->
         {
+            aggregate.count++;
             Float value = selector.apply(item);
-            if (value > maxValue)
+            if (value < aggregate.value)
             {
-                maxValue = value;
+                aggregate.value = value;
             }
+        });
+
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return maxValue;
+        return aggregate.value;
     }
 
     /**
-     * Returns the maximum value in a sequence of {@link Integer} values.
+     * Returns the minimum value in a sequence of {@link Integer} values.
      *
      * @param source
      *            A sequence of {@link Integer} values of which to determine the
-     *            maximum value.
-     * @return The maximum value in the sequence.
+     *            minimum value.
+     * @return The minimum value in the sequence.
      */
-    public static int maxInteger(Iterable<Integer> source)
+    public static int minInteger(Iterable<Integer> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
-        {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        int maxValue = Integer.MIN_VALUE;
-        for (Integer value : source)
+        IntAggregate aggregate = new IntAggregate(Integer.MAX_VALUE);
+        source.forEach(value ->
         {
-            if (value > maxValue)
+            aggregate.count++;
+            if (value < aggregate.value)
             {
-                maxValue = value;
+                aggregate.value = value;
             }
+        });
+
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return maxValue;
+        return aggregate.value;
     }
 
     /**
      * Invokes a transform function on each element of a sequence and returns
-     * the maximum {@link Integer} value.
+     * the minimum {@link Integer} value.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence of values of which to determine the maximum value.
+     *            A sequence of values of which to determine the minimum value.
      * @param selector
      *            A transform function to apply to each element.
-     * @return The maximum value in the sequence.
+     * @return The minimum value in the sequence.
      */
-    public static <TSource> int maxInteger(Iterable<TSource> source, Function<TSource, Integer> selector)
+    public static <TSource> int minInteger(Iterable<TSource> source, Function<TSource, Integer> selector)
     {
         if (source == null)
         {
@@ -4683,69 +9282,71 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        if (source.iterator().hasNext() == false)
-        {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        int maxValue = Integer.MIN_VALUE;
-        for (TSource item : source)
+        IntAggregate aggregate = new IntAggregate(Integer.MAX_VALUE);
+        source.forEach(item ->
         {
+            aggregate.count++;
             Integer value = selector.apply(item);
-            if (value > maxValue)
+            if (value < aggregate.value)
             {
-                maxValue = value;
+                aggregate.value = value;
             }
+        });
+
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return maxValue;
+        return aggregate.value;
     }
 
     /**
-     * Returns the maximum value in a sequence of {@link Long} values.
+     * Returns the minimum value in a sequence of {@link Long} values.
      *
      * @param source
      *            A sequence of {@link Long} values of which to determine the
-     *            maximum value.
-     * @return The maximum value in the sequence.
+     *            minimum value.
+     * @return The minimum value in the sequence.
      */
-    public static long maxLong(Iterable<Long> source)
+    public static long minLong(Iterable<Long> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
-        {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        long maxValue = Long.MIN_VALUE;
-        for (Long value : source)
+        LongAggregate aggregate = new LongAggregate(Long.MAX_VALUE);
+        source.forEach(value ->
         {
-            if (value > maxValue)
+            aggregate.count++;
+            if (value < aggregate.value)
             {
-                maxValue = value;
+                aggregate.value = value;
             }
+        });
+
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return maxValue;
+        return aggregate.value;
     }
 
     /**
      * Invokes a transform function on each element of a sequence and returns
-     * the maximum {@link Long} value.
+     * the minimum {@link Long} value.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence of values of which to determine the maximum value.
+     *            A sequence of values of which to determine the minimum value.
      * @param selector
      *            A transform function to apply to each element.
-     * @return The maximum value in the sequence.
+     * @return The minimum value in the sequence.
      */
-    public static <TSource> long maxLong(Iterable<TSource> source, Function<TSource, Long> selector)
+    public static <TSource> long minLong(Iterable<TSource> source, Function<TSource, Long> selector)
     {
         if (source == null)
         {
@@ -4756,73 +9357,115 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        if (source.iterator().hasNext() == false)
-        {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        long maxValue = Long.MIN_VALUE;
-        for (TSource item : source)
+        LongAggregate aggregate = new LongAggregate(Long.MAX_VALUE);
+        source.forEach(item ->
         {
+            aggregate.count++;
             Long value = selector.apply(item);
-            if (value > maxValue)
+            if (value < aggregate.value)
             {
-                maxValue = value;
+                aggregate.value = value;
             }
+        });
+
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return maxValue;
+        return aggregate.value;
     }
 
     // endregion
 
-    // region: Min
+    // region: Statistics
 
     /**
-     * Returns the minimum value in a sequence of {@link Double} values.
+     * Computes the count, sum, minimum, maximum and average of a sequence of
+     * {@link Double} values in a single pass.
      *
      * @param source
-     *            A sequence of {@link Double} values of which to determine the
-     *            minimum value.
-     * @return The minimum value in the sequence.
+     *            A sequence of {@link Double} values of which to calculate the
+     *            statistics.
+     * @return The statistics of the sequence of values.
      */
-    public static double minDouble(Iterable<Double> source)
+    public static DoubleStatistics statisticsDouble(Iterable<Double> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        DoubleStatistics statistics = new DoubleStatistics();
+        source.forEach(value -> statistics.accept(value));
+        return statistics;
+    }
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of the sequence of
+     * {@link Double} values that are obtained by invoking a transform function
+     * on each element of the input sequence, in a single pass.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            A sequence of values of which to calculate the statistics.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return The statistics of the projected values.
+     */
+    public static <TSource> DoubleStatistics statisticsDouble(Iterable<TSource> source,
+        Function<TSource, Double> selector)
+    {
+        if (source == null)
         {
-            throw new IllegalStateException("source contains no elements.");
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
         }
 
-        double minValue = Double.MAX_VALUE;
-        for (Double value : source)
+        DoubleStatistics statistics = new DoubleStatistics();
+        source.forEach(item -> statistics.accept(selector.apply(item)));
+        return statistics;
+    }
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of a sequence of
+     * {@link Long} values in a single pass.
+     *
+     * @param source
+     *            A sequence of {@link Long} values of which to calculate the
+     *            statistics.
+     * @return The statistics of the sequence of values.
+     */
+    public static LongStatistics statisticsLong(Iterable<Long> source)
+    {
+        if (source == null)
         {
-            if (value < minValue)
-            {
-                minValue = value;
-            }
+            throw new IllegalArgumentException("source is null.");
         }
 
-        return minValue;
+        LongStatistics statistics = new LongStatistics();
+        source.forEach(value -> statistics.accept(value));
+        return statistics;
     }
 
     /**
-     * Invokes a transform function on each element of a sequence and returns
-     * the minimum {@link Double} value.
+     * Computes the count, sum, minimum, maximum and average of the sequence of
+     * {@link Long} values that are obtained by invoking a transform function on
+     * each element of the input sequence, in a single pass.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence of values of which to determine the minimum value.
+     *            A sequence of values of which to calculate the statistics.
      * @param selector
      *            A transform function to apply to each element.
-     * @return The minimum value in the sequence.
+     * @return The statistics of the projected values.
      */
-    public static <TSource> double minDouble(Iterable<TSource> source, Function<TSource, Double> selector)
+    public static <TSource> LongStatistics statisticsLong(Iterable<TSource> source, Function<TSource, Long> selector)
     {
         if (source == null)
         {
@@ -4830,72 +9473,105 @@ public class Linq
         }
         if (selector == null)
         {
-            throw new IllegalArgumentException("selector is null.");
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        LongStatistics statistics = new LongStatistics();
+        source.forEach(item -> statistics.accept(selector.apply(item)));
+        return statistics;
+    }
+
+    // endregion
+
+    // region: Sum
+
+    /**
+     * Computes the sum of a sequence of {@link Double} values.
+     *
+     * @param source
+     *            A sequence of {@link Double} values of which to calculate the
+     *            sum.
+     * @return The sum of the values in the sequence.
+     */
+    public static double sumDouble(Iterable<Double> source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        DoubleAggregate aggregate = new DoubleAggregate(0d);
+        source.forEach(value ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
+            aggregate.count++;
+            aggregate.value += value;
+        });
 
-        double minValue = Double.MAX_VALUE;
-        for (TSource item : source)
+        if (aggregate.count == 0)
         {
-            Double value = selector.apply(item);
-            if (value < minValue)
-            {
-                minValue = value;
-            }
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return minValue;
+        return aggregate.value;
     }
 
     /**
-     * Returns the minimum value in a sequence of {@link Float} values.
+     * Computes the sum of the sequence of {@link Double} values that are
+     * obtained by invoking a transform function on each element of the input
+     * sequence.
      *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence of {@link Float} values of which to determine the
-     *            minimum value.
-     * @return The minimum value in the sequence.
+     *            A sequence of values of which to calculate the sum.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return The sum of the projected values.
      */
-    public static float minFloat(Iterable<Float> source)
+    public static <TSource> double sumDouble(Iterable<TSource> source, Function<TSource, Double> selector)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
-
-        if (source.iterator().hasNext() == false)
+        if (selector == null)
         {
-            throw new IllegalStateException("source contains no elements.");
+            throw new IllegalArgumentException("selector is null.");
         }
 
-        float minValue = Float.MAX_VALUE;
-        for (Float value : source)
+        DoubleAggregate aggregate = new DoubleAggregate(0d);
+        source.forEach(item ->
         {
-            if (value < minValue)
-            {
-                minValue = value;
-            }
+            aggregate.count++;
+            Double value = selector.apply(item);
+            aggregate.value += value;
+        });
+
+        if (aggregate.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return minValue;
+        return aggregate.value;
     }
 
     /**
-     * Invokes a transform function on each element of a sequence and returns
-     * the minimum {@link Float} value.
+     * Computes the sum of the sequence of {@link Double} values that are
+     * obtained by invoking a transform function on each element of the input
+     * sequence, accumulating the sum as specified by a {@link SummationMode}.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence of values of which to determine the minimum value.
+     *            A sequence of values of which to calculate the sum.
      * @param selector
      *            A transform function to apply to each element.
-     * @return The minimum value in the sequence.
+     * @param mode
+     *            How the values are added.
+     * @return The sum of the projected values.
      */
-    public static <TSource> float minFloat(Iterable<TSource> source, Function<TSource, Float> selector)
+    public static <TSource> double sumDouble(Iterable<TSource> source, Function<TSource, Double> selector,
+        SummationMode mode)
     {
         if (source == null)
         {
@@ -4906,69 +9582,61 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        if (source.iterator().hasNext() == false)
-        {
-            throw new IllegalStateException("source contains no elements.");
-        }
+        DoubleSummation summation = DoubleSummation.create(mode);
+        source.forEach(item -> summation.add(selector.apply(item)));
 
-        float minValue = Float.MAX_VALUE;
-        for (TSource item : source)
+        if (summation.getCount() == 0)
         {
-            Float value = selector.apply(item);
-            if (value < minValue)
-            {
-                minValue = value;
-            }
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return minValue;
+        return summation.getSum();
     }
 
     /**
-     * Returns the minimum value in a sequence of {@link Integer} values.
+     * Computes the sum of a sequence of {@link Float} values.
      *
      * @param source
-     *            A sequence of {@link Integer} values of which to determine the
-     *            minimum value.
-     * @return The minimum value in the sequence.
+     *            A sequence of {@link Float} values of which to calculate the
+     *            sum.
+     * @return The sum of the values in the sequence.
      */
-    public static int minInteger(Iterable<Integer> source)
+    public static float sumFloat(Iterable<Float> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        FloatAggregate aggregate = new FloatAggregate(0f);
+        source.forEach(value ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
+            aggregate.count++;
+            aggregate.value += value;
+        });
 
-        int minValue = Integer.MAX_VALUE;
-        for (Integer value : source)
+        if (aggregate.count == 0)
         {
-            if (value < minValue)
-            {
-                minValue = value;
-            }
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return minValue;
+        return aggregate.value;
     }
 
     /**
-     * Invokes a transform function on each element of a sequence and returns
-     * the minimum {@link Integer} value.
+     * Computes the sum of the sequence of {@link Float} values that are
+     * obtained by invoking a transform function on each element of the input
+     * sequence.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence of values of which to determine the minimum value.
+     *            A sequence of values of which to calculate the sum.
      * @param selector
      *            A transform function to apply to each element.
-     * @return The minimum value in the sequence.
+     * @return The sum of the projected values.
      */
-    public static <TSource> int minInteger(Iterable<TSource> source, Function<TSource, Integer> selector)
+    public static <TSource> float sumFloat(Iterable<TSource> source, Function<TSource, Float> selector)
     {
         if (source == null)
         {
@@ -4979,69 +9647,66 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        FloatAggregate aggregate = new FloatAggregate(0f);
+        source.forEach(item ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
+            aggregate.count++;
+            Float value = selector.apply(item);
+            aggregate.value += value;
+        });
 
-        int minValue = Integer.MAX_VALUE;
-        for (TSource item : source)
+        if (aggregate.count == 0)
         {
-            Integer value = selector.apply(item);
-            if (value < minValue)
-            {
-                minValue = value;
-            }
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return minValue;
+        return aggregate.value;
     }
 
     /**
-     * Returns the minimum value in a sequence of {@link Long} values.
+     * Computes the sum of a sequence of {@link Integer} values.
      *
      * @param source
-     *            A sequence of {@link Long} values of which to determine the
-     *            minimum value.
-     * @return The minimum value in the sequence.
+     *            A sequence of {@link Integer} values of which to calculate the
+     *            sum.
+     * @return The sum of the values in the sequence.
      */
-    public static long minLong(Iterable<Long> source)
+    public static int sumInteger(Iterable<Integer> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        IntAggregate aggregate = new IntAggregate(0);
+        source.forEach(value ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
+            aggregate.count++;
+            aggregate.value += value;
+        });
 
-        long minValue = Long.MAX_VALUE;
-        for (Long value : source)
+        if (aggregate.count == 0)
         {
-            if (value < minValue)
-            {
-                minValue = value;
-            }
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return minValue;
+        return aggregate.value;
     }
 
     /**
-     * Invokes a transform function on each element of a sequence and returns
-     * the minimum {@link Long} value.
+     * Computes the sum of the sequence of {@link Integer} values that are
+     * obtained by invoking a transform function on each element of the input
+     * sequence.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
      * @param source
-     *            A sequence of values of which to determine the minimum value.
+     *            A sequence of values of which to calculate the sum.
      * @param selector
      *            A transform function to apply to each element.
-     * @return The minimum value in the sequence.
+     * @return The sum of the projected values.
      */
-    public static <TSource> long minLong(Iterable<TSource> source, Function<TSource, Long> selector)
+    public static <TSource> int sumInteger(Iterable<TSource> source, Function<TSource, Integer> selector)
     {
         if (source == null)
         {
@@ -5052,62 +9717,63 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        IntAggregate aggregate = new IntAggregate(0);
+        source.forEach(item ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
+            aggregate.count++;
+            Integer value = selector.apply(item);
+            aggregate.value += value;
+        });
 
-        long minValue = Long.MAX_VALUE;
-        for (TSource item : source)
+        if (aggregate.count == 0)
         {
-            Long value = selector.apply(item);
-            if (value < minValue)
-            {
-                minValue = value;
-            }
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return minValue;
+        return aggregate.value;
     }
 
-    // endregion
-
-    // region: Sum
-
     /**
-     * Computes the sum of a sequence of {@link Double} values.
+     * Computes the sum of a sequence of {@link Integer} values as a
+     * <code>long</code>.
+     * <p>
+     * The values are added in a <code>long</code>, so unlike
+     * {@link #sumInteger(Iterable)} the sum cannot wrap around.
      *
      * @param source
-     *            A sequence of {@link Double} values of which to calculate the
+     *            A sequence of {@link Integer} values of which to calculate the
      *            sum.
      * @return The sum of the values in the sequence.
      */
-    public static double sumDouble(Iterable<Double> source)
+    public static long sumIntegerToLong(Iterable<Integer> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        LongAggregate aggregate = new LongAggregate(0l);
+        source.forEach(value ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        Double sum = 0d;
+            aggregate.count++;
+            aggregate.value += value;
+        });
 
-        for (Double value : source)
+        if (aggregate.count == 0)
         {
-            sum += value;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return sum;
+        return aggregate.value;
     }
 
     /**
-     * Computes the sum of the sequence of {@link Double} values that are
-     * obtained by invoking a transform function on each element of the input
-     * sequence.
+     * Computes the sum, as a <code>long</code>, of the sequence of
+     * {@link Integer} values that are obtained by invoking a transform function
+     * on each element of the input sequence.
+     * <p>
+     * The values are added in a <code>long</code>, so unlike
+     * {@link #sumInteger(Iterable)} the sum cannot wrap around.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
@@ -5117,7 +9783,7 @@ public class Linq
      *            A transform function to apply to each element.
      * @return The sum of the projected values.
      */
-    public static <TSource> double sumDouble(Iterable<TSource> source, Function<TSource, Double> selector)
+    public static <TSource> long sumIntegerToLong(Iterable<TSource> source, Function<TSource, Integer> selector)
     {
         if (source == null)
         {
@@ -5128,56 +9794,65 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        LongAggregate aggregate = new LongAggregate(0l);
+        source.forEach(item ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        Double sum = 0d;
+            aggregate.count++;
+            Integer value = selector.apply(item);
+            aggregate.value += value;
+        });
 
-        for (TSource item : source)
+        if (aggregate.count == 0)
         {
-            Double value = selector.apply(item);
-            sum += value;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return sum;
+        return aggregate.value;
     }
 
     /**
-     * Computes the sum of a sequence of {@link Float} values.
+     * Computes the sum of a sequence of {@link Integer} values, throwing if it
+     * does not fit in an <code>int</code>.
+     * <p>
+     * The values are added in a <code>long</code>, which cannot overflow, and
+     * the range is checked once at the end rather than on every addition.
      *
      * @param source
-     *            A sequence of {@link Float} values of which to calculate the
+     *            A sequence of {@link Integer} values of which to calculate the
      *            sum.
      * @return The sum of the values in the sequence.
+     * @throws ArithmeticException
+     *             The sum does not fit in an <code>int</code>.
      */
-    public static float sumFloat(Iterable<Float> source)
+    public static int sumIntegerExact(Iterable<Integer> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        LongAggregate aggregate = new LongAggregate(0l);
+        source.forEach(value ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        Float sum = 0f;
+            aggregate.count++;
+            aggregate.value += value;
+        });
 
-        for (Float value : source)
+        if (aggregate.count == 0)
         {
-            sum += value;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return sum;
+        return Math.toIntExact(aggregate.value);
     }
 
     /**
-     * Computes the sum of the sequence of {@link Float} values that are
+     * Computes the sum of the sequence of {@link Integer} values that are
      * obtained by invoking a transform function on each element of the input
-     * sequence.
+     * sequence, throwing if it does not fit in an <code>int</code>.
+     * <p>
+     * The values are added in a <code>long</code>, which cannot overflow, and
+     * the range is checked once at the end rather than on every addition.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
@@ -5186,8 +9861,10 @@ public class Linq
      * @param selector
      *            A transform function to apply to each element.
      * @return The sum of the projected values.
+     * @throws ArithmeticException
+     *             The sum does not fit in an <code>int</code>.
      */
-    public static <TSource> float sumFloat(Iterable<TSource> source, Function<TSource, Float> selector)
+    public static <TSource> int sumIntegerExact(Iterable<TSource> source, Function<TSource, Integer> selector)
     {
         if (source == null)
         {
@@ -5198,56 +9875,55 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        LongAggregate aggregate = new LongAggregate(0l);
+        source.forEach(item ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        Float sum = 0f;
+            aggregate.count++;
+            Integer value = selector.apply(item);
+            aggregate.value += value;
+        });
 
-        for (TSource item : source)
+        if (aggregate.count == 0)
         {
-            Float value = selector.apply(item);
-            sum += value;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return sum;
+        return Math.toIntExact(aggregate.value);
     }
 
     /**
-     * Computes the sum of a sequence of {@link Integer} values.
+     * Computes the sum of a sequence of {@link Long} values.
      *
      * @param source
-     *            A sequence of {@link Integer} values of which to calculate the
+     *            A sequence of {@link Long} values of which to calculate the
      *            sum.
      * @return The sum of the values in the sequence.
      */
-    public static int sumInteger(Iterable<Integer> source)
+    public static long sumLong(Iterable<Long> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        LongAggregate aggregate = new LongAggregate(0l);
+        source.forEach(value ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        Integer sum = 0;
+            aggregate.count++;
+            aggregate.value += value;
+        });
 
-        for (Integer value : source)
+        if (aggregate.count == 0)
         {
-            sum += value;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return sum;
+        return aggregate.value;
     }
 
     /**
-     * Computes the sum of the sequence of {@link Integer} values that are
-     * obtained by invoking a transform function on each element of the input
-     * sequence.
+     * Computes the sum of the sequence of {@link Long} values that are obtained
+     * by invoking a transform function on each element of the input sequence.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
@@ -5257,7 +9933,7 @@ public class Linq
      *            A transform function to apply to each element.
      * @return The sum of the projected values.
      */
-    public static <TSource> int sumInteger(Iterable<TSource> source, Function<TSource, Integer> selector)
+    public static <TSource> long sumLong(Iterable<TSource> source, Function<TSource, Long> selector)
     {
         if (source == null)
         {
@@ -5268,55 +9944,61 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        LongAggregate aggregate = new LongAggregate(0l);
+        source.forEach(item ->
         {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        Integer sum = 0;
+            aggregate.count++;
+            Long value = selector.apply(item);
+            aggregate.value += value;
+        });
 
-        for (TSource item : source)
+        if (aggregate.count == 0)
         {
-            Integer value = selector.apply(item);
-            sum += value;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return sum;
+        return aggregate.value;
     }
 
     /**
-     * Computes the sum of a sequence of {@link Long} values.
+     * Computes the sum of a sequence of {@link Long} values, throwing if it
+     * does not fit in a <code>long</code>.
+     * <p>
+     * Overflow is checked once per block of values rather than on every
+     * addition, and only the final sum has to fit in a <code>long</code>.
      *
      * @param source
      *            A sequence of {@link Long} values of which to calculate the
      *            sum.
      * @return The sum of the values in the sequence.
+     * @throws ArithmeticException
+     *             The sum does not fit in a <code>long</code>.
      */
-    public static long sumLong(Iterable<Long> source)
+    public static long sumLongExact(Iterable<Long> source)
     {
         if (source == null)
         {
             throw new IllegalArgumentException("source is null.");
         }
 
-        if (source.iterator().hasNext() == false)
-        {
-            throw new IllegalStateException("source contains no elements.");
-        }
-
-        Long sum = 0l;
+        ExactLongSummation summation = new ExactLongSummation();
+        source.forEach(value -> summation.add(value));
 
-        for (Long value : source)
+        if (summation.getCount() == 0)
         {
-            sum += value;
+            throw new IllegalStateException("source contains no elements.");
         }
 
-        return sum;
+        return summation.getSum();
     }
 
     /**
      * Computes the sum of the sequence of {@link Long} values that are obtained
-     * by invoking a transform function on each element of the input sequence.
+     * by invoking a transform function on each element of the input sequence,
+     * throwing if it does not fit in a <code>long</code>.
+     * <p>
+     * Overflow is checked once per block of values rather than on every
+     * addition, and only the final sum has to fit in a <code>long</code>.
      *
      * @param <TSource>
      *            The type of the elements of <code>source</code>.
@@ -5325,8 +10007,10 @@ public class Linq
      * @param selector
      *            A transform function to apply to each element.
      * @return The sum of the projected values.
+     * @throws ArithmeticException
+     *             The sum does not fit in a <code>long</code>.
      */
-    public static <TSource> long sumLong(Iterable<TSource> source, Function<TSource, Long> selector)
+    public static <TSource> long sumLongExact(Iterable<TSource> source, Function<TSource, Long> selector)
     {
         if (source == null)
         {
@@ -5337,20 +10021,79 @@ public class Linq
             throw new IllegalArgumentException("selector is null.");
         }
 
-        if (source.iterator().hasNext() == false)
+        ExactLongSummation summation = new ExactLongSummation();
+        source.forEach(item -> summation.add(selector.apply(item)));
+
+        if (summation.getCount() == 0)
         {
             throw new IllegalStateException("source contains no elements.");
         }
 
-        Long sum = 0l;
+        return summation.getSum();
+    }
+
+    // endregion
+
+    // region: Aggregate State
+
+    /*
+     * Mutable state for the aggregates above, which push the elements through
+     * IEnumerable.forEach and so cannot assign local variables from the loop.
+     */
+
+    private static final class DoubleAggregate
+    {
+        public DoubleAggregate(double value)
+        {
+            this.value = value;
+        }
+
+        public double value;
+        public int count;
+    }
 
-        for (TSource item : source)
+    private static final class FloatAggregate
+    {
+        public FloatAggregate(float value)
         {
-            Long value = selector.apply(item);
-            sum += value;
+            this.value = value;
+        }
+
+        public float value;
+        public int count;
+    }
+
+    private static final class IntAggregate
+    {
+        public IntAggregate(int value)
+        {
+            this.value = value;
+        }
+
+        public int value;
+        public int count;
+    }
+
+    private static final class LongAggregate
+    {
+        public LongAggregate(long value)
+        {
+            this.value = value;
+        }
+
+        public long value;
+        public int count;
+    }
+
+    private static final class ObjectAggregate<T>
+    {
+        public ObjectAggregate(T value)
+        {
+            this.value = value;
         }
 
-        return sum;
+        public T value;
+        public int count;
     }
 
     // endregion
@@ -0,0 +1,163 @@
+package potter.linq;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Spliterator} over a random access list that splits its range in
+ * half, so that parallel streams over arrays, lists and sorted sequences get
+ * balanced work. The list can be supplied lazily, in which case it is not
+ * created until the spliterator is first traversed, split or sized.
+ *
+ * @author Daniel Potter
+ *
+ * @param <T>
+ *            The type of the elements of the list.
+ */
+class ListSpliterator<T> implements Spliterator<T>
+{
+    /**
+     * Creates a spliterator over a list.
+     *
+     * @param list
+     *            A random access list.
+     * @param characteristics
+     *            The characteristics of the elements, in addition to
+     *            {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED}.
+     */
+    public ListSpliterator(List<T> list, int characteristics)
+    {
+        this(list, 0, -1, characteristics, null);
+    }
+
+    /**
+     * Creates a spliterator over a list that is created when it is first
+     * needed.
+     *
+     * @param listSupplier
+     *            A function that creates a random access list.
+     * @param characteristics
+     *            The characteristics of the elements, in addition to
+     *            {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED}.
+     * @param comparator
+     *            The comparator by which the elements are sorted if
+     *            <code>characteristics</code> includes
+     *            {@link Spliterator#SORTED}, or <code>null</code> if they are
+     *            in natural order.
+     */
+    public ListSpliterator(Supplier<? extends List<T>> listSupplier, int characteristics,
+        Comparator<? super T> comparator)
+    {
+        this(null, 0, -1, characteristics, comparator);
+
+        this.listSupplier = listSupplier;
+    }
+
+    private ListSpliterator(List<T> list, int index, int fence, int characteristics, Comparator<? super T> comparator)
+    {
+        this.list = list;
+        this.index = index;
+        this.fence = fence;
+        this.characteristics = characteristics | Spliterator.SIZED | Spliterator.SUBSIZED;
+        this.comparator = comparator;
+    }
+
+    private Supplier<? extends List<T>> listSupplier;
+    private List<T> list;
+    private int index;
+    private int fence;
+    private final int characteristics;
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Gets the index after the last element, creating the list and binding
+     * to its size on first use.
+     */
+    private int getFence()
+    {
+        if (fence < 0)
+        {
+            if (list == null)
+            {
+                list = listSupplier.get();
+                listSupplier = null;
+            }
+
+            fence = list.size();
+        }
+
+        return fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action)
+    {
+        if (action == null)
+        {
+            throw new NullPointerException("action is null.");
+        }
+
+        if (index < getFence())
+        {
+            action.accept(list.get(index++));
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action)
+    {
+        if (action == null)
+        {
+            throw new NullPointerException("action is null.");
+        }
+
+        int end = getFence();
+        for (; index < end; index++)
+        {
+            action.accept(list.get(index));
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit()
+    {
+        int start = index;
+        int middle = (start + getFence()) >>> 1;
+        if (start >= middle)
+        {
+            return null;
+        }
+
+        index = middle;
+        return new ListSpliterator<>(list, start, middle, characteristics, comparator);
+    }
+
+    @Override
+    public long estimateSize()
+    {
+        return getFence() - index;
+    }
+
+    @Override
+    public int characteristics()
+    {
+        return characteristics;
+    }
+
+    @Override
+    public Comparator<? super T> getComparator()
+    {
+        if ((characteristics & Spliterator.SORTED) == 0)
+        {
+            throw new IllegalStateException("The elements are not sorted.");
+        }
+
+        return comparator;
+    }
+}
@@ -0,0 +1,170 @@
+package potter.linq;
+
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Collector;
+
+/**
+ * Collects the count, sum, minimum, maximum and average of a sequence of
+ * <code>long</code> values in a single pass.
+ * <p>
+ * Statistics gathered over separate parts of a sequence can be merged with
+ * {@link #combine(LongStatistics)}, so the same object works as the
+ * accumulator of a sequential or a parallel reduction.
+ *
+ * @author Daniel Potter
+ */
+public final class LongStatistics implements LongConsumer
+{
+    /**
+     * Creates statistics over an empty sequence.
+     */
+    public LongStatistics()
+    {
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+    }
+
+    private int count;
+    private long sum;
+    private long min;
+    private long max;
+
+    /**
+     * Returns a {@link Collector} that gathers the statistics of the
+     * {@link Long} values obtained by invoking a transform function on each
+     * element.
+     *
+     * @param <TSource>
+     *            The type of the elements to collect.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return A {@link Collector} that produces {@link LongStatistics}.
+     */
+    public static <TSource> Collector<TSource, ?, LongStatistics> collector(Function<TSource, Long> selector)
+    {
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return Collector.of(LongStatistics::new, (statistics, item) -> statistics.accept(selector.apply(item)),
+            LongStatistics::combine, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Adds a value to the statistics.
+     *
+     * @param value
+     *            The value to add.
+     */
+    @Override
+    public void accept(long value)
+    {
+        count++;
+        sum += value;
+        if (value < min)
+        {
+            min = value;
+        }
+        if (value > max)
+        {
+            max = value;
+        }
+    }
+
+    /**
+     * Adds the values gathered by another {@link LongStatistics} to these
+     * statistics.
+     *
+     * @param other
+     *            The statistics to merge into this one.
+     * @return This object.
+     */
+    public LongStatistics combine(LongStatistics other)
+    {
+        if (other == null)
+        {
+            throw new IllegalArgumentException("other is null.");
+        }
+
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return The number of values.
+     */
+    public int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets the sum of the values, or zero if there are none.
+     *
+     * @return The sum of the values.
+     */
+    public long getSum()
+    {
+        return sum;
+    }
+
+    /**
+     * Gets the minimum value.
+     *
+     * @return The minimum value.
+     */
+    public long getMin()
+    {
+        ensureNotEmpty();
+        return min;
+    }
+
+    /**
+     * Gets the maximum value.
+     *
+     * @return The maximum value.
+     */
+    public long getMax()
+    {
+        ensureNotEmpty();
+        return max;
+    }
+
+    /**
+     * Gets the average of the values.
+     *
+     * @return The average of the values.
+     */
+    public double getAverage()
+    {
+        ensureNotEmpty();
+        return (double) sum / count;
+    }
+
+    private void ensureNotEmpty()
+    {
+        if (count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        if (count == 0)
+        {
+            return "LongStatistics{count=0}";
+        }
+
+        return "LongStatistics{count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max + ", average="
+            + getAverage() + "}";
+    }
+}
@@ -0,0 +1,1053 @@
+package potter.linq;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Represents a parallel sequence. Operators that are overridden by this class
+ * partition the source and run on the {@link java.util.concurrent.ForkJoinPool
+ * common fork/join pool}; all other operators consume the results of the
+ * parallel query sequentially.
+ * <p>
+ * Lists that implement {@link RandomAccess} and arrays are split into index
+ * ranges. Other sequences are split into chunks that are pulled from a shared
+ * iterator as workers become available.
+ * <p>
+ * Unless {@link #asOrdered()} is called, the order of the results is not
+ * preserved.
+ *
+ * @author Daniel Potter
+ *
+ * @param <T>
+ *            The type of the elements of the sequence.
+ */
+public abstract class ParallelEnumerable<T> implements IEnumerable<T>
+{
+    ParallelEnumerable(int degreeOfParallelism, boolean ordered)
+    {
+        this.degreeOfParallelism = degreeOfParallelism;
+        this.ordered = ordered;
+    }
+
+    /**
+     * The number of range partitions that are created for each worker, so
+     * that workers that finish early can help with the remaining work.
+     */
+    private static final int PARTITIONS_PER_WORKER = 4;
+
+    /**
+     * The number of elements in the first chunk pulled from a sequence that
+     * does not support random access.
+     */
+    private static final int INITIAL_CHUNK_SIZE = 16;
+
+    /**
+     * The maximum number of elements in a chunk pulled from a sequence that
+     * does not support random access.
+     */
+    private static final int MAXIMUM_CHUNK_SIZE = 1024;
+
+    /**
+     * The number of source elements in each partition of a pairwise sum. It
+     * is a power-of-two multiple of {@link DoubleSummation#PAIRWISE_BLOCK_SIZE},
+     * so every partition but the last is a whole subtree of the pairwise sum.
+     */
+    private static final int PAIRWISE_PARTITION_SIZE = DoubleSummation.PAIRWISE_BLOCK_SIZE * 64;
+
+    private final int degreeOfParallelism;
+    private final boolean ordered;
+
+    /**
+     * Creates a {@link ParallelEnumerable} over a sequence.
+     *
+     * @param <TSource>
+     *            The type of the elements of <code>source</code>.
+     * @param source
+     *            The sequence to query in parallel.
+     * @return A {@link ParallelEnumerable} over <code>source</code>.
+     */
+    static <TSource> ParallelEnumerable<TSource> create(Iterable<TSource> source)
+    {
+        return new Query<TSource, TSource>(source, downstream -> downstream,
+            Runtime.getRuntime().availableProcessors(), false);
+    }
+
+    /**
+     * Gets the maximum number of workers that will process the query.
+     *
+     * @return The maximum number of workers that will process the query.
+     */
+    public int getDegreeOfParallelism()
+    {
+        return degreeOfParallelism;
+    }
+
+    /**
+     * Gets whether the query preserves the order of the source sequence.
+     *
+     * @return <code>true</code> if the order of the source sequence is
+     *         preserved; otherwise, <code>false</code>.
+     */
+    public boolean isOrdered()
+    {
+        return ordered;
+    }
+
+    // region: Settings
+
+    /**
+     * Sets the maximum number of workers that will process the query.
+     *
+     * @param degreeOfParallelism
+     *            The maximum number of workers.
+     * @return A {@link ParallelEnumerable} with the specified degree of
+     *         parallelism.
+     */
+    public ParallelEnumerable<T> withDegreeOfParallelism(int degreeOfParallelism)
+    {
+        if (degreeOfParallelism < 1)
+        {
+            throw new IllegalArgumentException("degreeOfParallelism is less than 1.");
+        }
+
+        return withSettings(degreeOfParallelism, ordered);
+    }
+
+    /**
+     * Preserves the order of the source sequence in the results of the query.
+     *
+     * @return A {@link ParallelEnumerable} that preserves the order of the
+     *         source sequence.
+     */
+    public ParallelEnumerable<T> asOrdered()
+    {
+        return withSettings(degreeOfParallelism, true);
+    }
+
+    /**
+     * Allows the results of the query to be returned in any order.
+     *
+     * @return A {@link ParallelEnumerable} that does not preserve the order of
+     *         the source sequence.
+     */
+    public ParallelEnumerable<T> asUnordered()
+    {
+        return withSettings(degreeOfParallelism, false);
+    }
+
+    /**
+     * Converts the parallel sequence into a sequential sequence. The parallel
+     * part of the query is evaluated when the returned sequence is iterated.
+     *
+     * @return An {@link IEnumerable} whose operators run sequentially.
+     */
+    public IEnumerable<T> asSequential()
+    {
+        Iterable<T> results = this::iterator;
+        return new EnumerableAdapter<>(results);
+    }
+
+    // endregion
+
+    // region: Mutation
+
+    /**
+     * Projects each element of a sequence into a new form in parallel.
+     *
+     * @param <TResult>
+     *            The type of the value returned by <code>selector</code>.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return A {@link ParallelEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of the source.
+     */
+    @Override
+    public <TResult> ParallelEnumerable<TResult> select(Function<T, TResult> selector)
+    {
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return chain(downstream -> item -> downstream.accept(selector.apply(item)));
+    }
+
+    /**
+     * Projects each element of a sequence to an {@link Iterable} and flattens
+     * the resulting sequences into one sequence in parallel.
+     *
+     * @param <TResult>
+     *            The type of the elements of the sequence returned by
+     *            <code>selector</code>.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return A {@link ParallelEnumerable} whose elements are the result of
+     *         invoking the one-to-many transform function on each element of
+     *         the source.
+     */
+    @Override
+    public <TResult> ParallelEnumerable<TResult> selectMany(Function<T, Iterable<TResult>> selector)
+    {
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return chain(downstream -> item ->
+        {
+            for (TResult result : selector.apply(item))
+            {
+                downstream.accept(result);
+            }
+        });
+    }
+
+    /**
+     * Filters a sequence of values based on a predicate in parallel.
+     *
+     * @param predicate
+     *            A function to test each element for a condition.
+     * @return A {@link ParallelEnumerable} that contains elements from the
+     *         source that satisfy the condition.
+     */
+    @Override
+    public ParallelEnumerable<T> where(Function<T, Boolean> predicate)
+    {
+        if (predicate == null)
+        {
+            throw new IllegalArgumentException("predicate is null.");
+        }
+
+        return chain(downstream -> item ->
+        {
+            if (predicate.apply(item))
+            {
+                downstream.accept(item);
+            }
+        });
+    }
+
+    // endregion
+
+    // region: Conversion
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return toArrayList().iterator();
+    }
+
+    /**
+     * Invokes an action on each element of the sequence in parallel.
+     *
+     * @param action
+     *            The action to invoke on each element.
+     */
+    public void forAll(Consumer<T> action)
+    {
+        if (action == null)
+        {
+            throw new IllegalArgumentException("action is null.");
+        }
+
+        execute(() -> null, partial -> action, null);
+    }
+
+    @Override
+    public ArrayList<T> toArrayList()
+    {
+        ArrayList<ArrayList<T>> partials = execute(ArrayList::new, partial -> partial::add, null);
+
+        int size = 0;
+        for (ArrayList<T> partial : partials)
+        {
+            size += partial.size();
+        }
+
+        ArrayList<T> list = new ArrayList<>(size);
+        for (ArrayList<T> partial : partials)
+        {
+            list.addAll(partial);
+        }
+
+        return list;
+    }
+
+    // endregion
+
+    // region: Aggregation
+
+    /**
+     * Applies an accumulator function over a sequence in parallel. Because
+     * partial results are combined with the same function,
+     * <code>function</code> must be associative; unless the query is ordered
+     * it must also be commutative.
+     *
+     * @param function
+     *            An associative accumulator function.
+     * @return The final accumulator value.
+     */
+    @Override
+    public T aggregate(BiFunction<T, T, T> function)
+    {
+        if (function == null)
+        {
+            throw new IllegalArgumentException("function is null.");
+        }
+
+        ArrayList<Accumulator<T>> partials = execute(Accumulator::new, partial -> item ->
+        {
+            partial.value = partial.hasValue ? function.apply(partial.value, item) : item;
+            partial.hasValue = true;
+        }, null);
+
+        Accumulator<T> result = new Accumulator<>();
+        for (Accumulator<T> partial : partials)
+        {
+            if (partial.hasValue)
+            {
+                result.value = result.hasValue ? function.apply(result.value, partial.value) : partial.value;
+                result.hasValue = true;
+            }
+        }
+
+        if (result.hasValue == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return result.value;
+    }
+
+    /**
+     * Applies an accumulator function over a sequence in parallel. Each
+     * partition starts from its own seed, created by
+     * <code>seedFactory</code>, and the partial accumulators are merged with
+     * <code>combineFunction</code>. If the query is ordered, partitions are
+     * merged in source order, so <code>combineFunction</code> only needs to be
+     * associative; otherwise it must also be commutative.
+     *
+     * @param <TAccumulate>
+     *            The type of the accumulator value.
+     * @param <TResult>
+     *            The type of the resulting value.
+     * @param seedFactory
+     *            A function that creates an initial accumulator value.
+     * @param updateFunction
+     *            An accumulator function to be invoked on each element.
+     * @param combineFunction
+     *            A function that merges two accumulator values, the second of
+     *            which follows the first in the sequence.
+     * @param resultSelector
+     *            A function to transform the final accumulator value into the
+     *            result value.
+     * @return The transformed final accumulator value.
+     */
+    @Override
+    public <TAccumulate, TResult> TResult aggregate(Supplier<TAccumulate> seedFactory,
+        BiFunction<TAccumulate, T, TAccumulate> updateFunction,
+        BiFunction<TAccumulate, TAccumulate, TAccumulate> combineFunction, Function<TAccumulate, TResult> resultSelector)
+    {
+        if (seedFactory == null)
+        {
+            throw new IllegalArgumentException("seedFactory is null.");
+        }
+        if (updateFunction == null)
+        {
+            throw new IllegalArgumentException("updateFunction is null.");
+        }
+        if (combineFunction == null)
+        {
+            throw new IllegalArgumentException("combineFunction is null.");
+        }
+        if (resultSelector == null)
+        {
+            throw new IllegalArgumentException("resultSelector is null.");
+        }
+
+        ArrayList<Accumulator<TAccumulate>> partials = execute(Accumulator::new, partial -> item ->
+        {
+            partial.value = updateFunction.apply(partial.hasValue ? partial.value : seedFactory.get(), item);
+            partial.hasValue = true;
+        }, null);
+
+        Accumulator<TAccumulate> result = new Accumulator<>();
+        for (Accumulator<TAccumulate> partial : partials)
+        {
+            if (partial.hasValue)
+            {
+                result.value = result.hasValue ? combineFunction.apply(result.value, partial.value) : partial.value;
+                result.hasValue = true;
+            }
+        }
+
+        if (result.hasValue == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return resultSelector.apply(result.value);
+    }
+
+    @Override
+    public boolean all(Function<T, Boolean> predicate)
+    {
+        if (predicate == null)
+        {
+            throw new IllegalArgumentException("predicate is null.");
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        execute(() -> null, partial -> item ->
+        {
+            if (predicate.apply(item) == false)
+            {
+                stop.set(true);
+            }
+        }, stop);
+
+        return stop.get() == false;
+    }
+
+    @Override
+    public boolean any()
+    {
+        return any(item -> true);
+    }
+
+    @Override
+    public boolean any(Function<T, Boolean> predicate)
+    {
+        if (predicate == null)
+        {
+            throw new IllegalArgumentException("predicate is null.");
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        execute(() -> null, partial -> item ->
+        {
+            if (predicate.apply(item))
+            {
+                stop.set(true);
+            }
+        }, stop);
+
+        return stop.get();
+    }
+
+    // endregion
+
+    // region: Metrics
+
+    @Override
+    public int count()
+    {
+        return (int) longCount();
+    }
+
+    @Override
+    public int count(Function<T, Boolean> predicate)
+    {
+        return (int) longCount(predicate);
+    }
+
+    @Override
+    public long longCount()
+    {
+        return sumPartials(execute(LongAccumulator::new, partial -> item -> partial.count++, null)).count;
+    }
+
+    @Override
+    public long longCount(Function<T, Boolean> predicate)
+    {
+        if (predicate == null)
+        {
+            throw new IllegalArgumentException("predicate is null.");
+        }
+
+        return sumPartials(execute(LongAccumulator::new, partial -> item ->
+        {
+            if (predicate.apply(item))
+            {
+                partial.count++;
+            }
+        }, null)).count;
+    }
+
+    @Override
+    public double sumDouble(Function<T, Double> selector)
+    {
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        ArrayList<DoubleAccumulator> partials = execute(DoubleAccumulator::new, partial -> item ->
+        {
+            partial.value += selector.apply(item);
+            partial.count++;
+        }, null);
+
+        DoubleAccumulator result = new DoubleAccumulator();
+        for (DoubleAccumulator partial : partials)
+        {
+            result.value += partial.value;
+            result.count += partial.count;
+        }
+
+        if (result.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return result.value;
+    }
+
+    @Override
+    public int sumInteger(Function<T, Integer> selector)
+    {
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        // Integer addition wraps the same way in a long accumulator, so the
+        // low 32 bits match a sequential sum.
+        LongAccumulator result = sumPartials(execute(LongAccumulator::new, partial -> item ->
+        {
+            partial.value += selector.apply(item);
+            partial.count++;
+        }, null));
+
+        if (result.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return (int) result.value;
+    }
+
+    @Override
+    public long sumIntegerToLong(Function<T, Integer> selector)
+    {
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        LongAccumulator result = sumPartials(execute(LongAccumulator::new, partial -> item ->
+        {
+            partial.value += selector.apply(item);
+            partial.count++;
+        }, null));
+
+        if (result.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return result.value;
+    }
+
+    @Override
+    public int sumIntegerExact(Function<T, Integer> selector)
+    {
+        return Math.toIntExact(sumIntegerToLong(selector));
+    }
+
+    @Override
+    public long sumLong(Function<T, Long> selector)
+    {
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        LongAccumulator result = sumPartials(execute(LongAccumulator::new, partial -> item ->
+        {
+            partial.value += selector.apply(item);
+            partial.count++;
+        }, null));
+
+        if (result.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return result.value;
+    }
+
+    /**
+     * Computes the sum of the projected values in parallel, accumulating it as
+     * specified by a {@link SummationMode}.
+     * <p>
+     * A {@link SummationMode#PAIRWISE pairwise} sum splits the source into
+     * fixed partitions that are whole subtrees of the pairwise tree, and
+     * combines their sums in source order. When each element yields one
+     * value, it returns exactly the same result as the sequential
+     * {@link Linq#sumDouble(Iterable, Function, SummationMode)}, whatever the
+     * degree of parallelism or whether the query is ordered; after a filter,
+     * the result still depends only on the source. The other modes sum each
+     * partition separately, so their last bits can depend on how the source
+     * was partitioned.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @param mode
+     *            How the values are added.
+     * @return The sum of the projected values.
+     */
+    @Override
+    public double sumDouble(Function<T, Double> selector, SummationMode mode)
+    {
+        return sumPartitions(selector, mode).value;
+    }
+
+    /**
+     * Computes the average of the projected values in parallel, accumulating
+     * the sum as specified by a {@link SummationMode}. See
+     * {@link #sumDouble(Function, SummationMode)} for how each mode behaves.
+     *
+     * @param selector
+     *            A transform function to apply to each element.
+     * @param mode
+     *            How the values are added.
+     * @return The average of the projected values.
+     */
+    @Override
+    public double averageDouble(Function<T, Double> selector, SummationMode mode)
+    {
+        DoubleAccumulator result = sumPartitions(selector, mode);
+        return result.value / result.count;
+    }
+
+    private DoubleAccumulator sumPartitions(Function<T, Double> selector, SummationMode mode)
+    {
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+        if (mode == null)
+        {
+            throw new IllegalArgumentException("mode is null.");
+        }
+
+        ArrayList<DoubleSummation> partials;
+        if (mode == SummationMode.PAIRWISE)
+        {
+            // Every partition but the last is the same whole subtree of the
+            // pairwise sum, so combining the partition sums in order rebuilds
+            // the tree of a sequential sum.
+            partials = withSettings(degreeOfParallelism, true).execute(() -> DoubleSummation.create(mode),
+                partial -> item -> partial.add(selector.apply(item)), null, PAIRWISE_PARTITION_SIZE);
+        }
+        else
+        {
+            partials = execute(() -> DoubleSummation.create(mode),
+                partial -> item -> partial.add(selector.apply(item)), null);
+        }
+
+        DoubleSummation summation = DoubleSummation.create(mode);
+        for (DoubleSummation partial : partials)
+        {
+            summation.combine(partial);
+        }
+
+        DoubleAccumulator result = new DoubleAccumulator();
+        result.value = summation.getSum();
+        result.count = summation.getCount();
+        if (result.count == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return result;
+    }
+
+    private static LongAccumulator sumPartials(ArrayList<LongAccumulator> partials)
+    {
+        LongAccumulator result = new LongAccumulator();
+        for (LongAccumulator partial : partials)
+        {
+            result.value += partial.value;
+            result.count += partial.count;
+        }
+
+        return result;
+    }
+
+    private static class Accumulator<T>
+    {
+        T value;
+        boolean hasValue;
+    }
+
+    private static class LongAccumulator
+    {
+        long value;
+        long count;
+    }
+
+    private static class DoubleAccumulator
+    {
+        double value;
+        long count;
+    }
+
+    // endregion
+
+    // region: Execution
+
+    /**
+     * Creates a query with the same operators and different settings.
+     *
+     * @param degreeOfParallelism
+     *            The maximum number of workers.
+     * @param ordered
+     *            Whether the order of the source is preserved.
+     * @return The new query.
+     */
+    abstract ParallelEnumerable<T> withSettings(int degreeOfParallelism, boolean ordered);
+
+    /**
+     * Appends an operator to the query.
+     *
+     * @param <TResult>
+     *            The type of the elements produced by the operator.
+     * @param stage
+     *            A function that wraps a consumer of the results of the
+     *            operator into a consumer of the elements of this query.
+     * @return The new query.
+     */
+    abstract <TResult> ParallelEnumerable<TResult> chain(Function<Consumer<TResult>, Consumer<T>> stage);
+
+    /**
+     * Runs the query, feeding the elements of each partition into a partial
+     * result.
+     *
+     * @param <TPartial>
+     *            The type of the partial results.
+     * @param partialFactory
+     *            Creates an empty partial result.
+     * @param sinkFactory
+     *            Creates the consumer that adds elements to a partial result.
+     * @param stop
+     *            A flag that stops workers from taking more partitions once
+     *            set, or <code>null</code> to always process every partition.
+     * @return The partial results, in source order if the query is ordered.
+     */
+    <TPartial> ArrayList<TPartial> execute(Supplier<TPartial> partialFactory,
+        Function<TPartial, Consumer<T>> sinkFactory, AtomicBoolean stop)
+    {
+        return execute(partialFactory, sinkFactory, stop, 0);
+    }
+
+    /**
+     * Runs the query with partitions of a fixed size.
+     *
+     * @param <TPartial>
+     *            The type of the partial results.
+     * @param partialFactory
+     *            Creates an empty partial result.
+     * @param sinkFactory
+     *            Creates the consumer that adds elements to a partial result.
+     * @param stop
+     *            A flag that stops workers from taking more partitions once
+     *            set, or <code>null</code> to always process every partition.
+     * @param partitionSize
+     *            The number of source elements in every partition but the
+     *            last, or <code>0</code> to size the partitions by the degree
+     *            of parallelism.
+     * @return The partial results, in source order if the query is ordered.
+     */
+    abstract <TPartial> ArrayList<TPartial> execute(Supplier<TPartial> partialFactory,
+        Function<TPartial, Consumer<T>> sinkFactory, AtomicBoolean stop, int partitionSize);
+
+    private static class Query<TSource, T> extends ParallelEnumerable<T>
+    {
+        public Query(Iterable<TSource> source, Function<Consumer<T>, Consumer<TSource>> pipeline,
+            int degreeOfParallelism, boolean ordered)
+        {
+            super(degreeOfParallelism, ordered);
+            this.source = source;
+            this.pipeline = pipeline;
+        }
+
+        private final Iterable<TSource> source;
+        private final Function<Consumer<T>, Consumer<TSource>> pipeline;
+
+        @Override
+        ParallelEnumerable<T> withSettings(int degreeOfParallelism, boolean ordered)
+        {
+            return new Query<>(source, pipeline, degreeOfParallelism, ordered);
+        }
+
+        @Override
+        <TResult> ParallelEnumerable<TResult> chain(Function<Consumer<TResult>, Consumer<T>> stage)
+        {
+            return new Query<TSource, TResult>(source, downstream -> pipeline.apply(stage.apply(downstream)),
+                getDegreeOfParallelism(), isOrdered());
+        }
+
+        @Override
+        <TPartial> ArrayList<TPartial> execute(Supplier<TPartial> partialFactory,
+            Function<TPartial, Consumer<T>> sinkFactory, AtomicBoolean stop, int partitionSize)
+        {
+            Partitioner<TSource> partitioner = createPartitioner(partitionSize);
+            int workerCount = Math.min(getDegreeOfParallelism(), partitioner.getMaximumPartitionCount());
+
+            ArrayList<ArrayList<Partial<TPartial>>> results = new ArrayList<>(workerCount);
+            ArrayList<ForkJoinTask<?>> tasks = new ArrayList<>(workerCount);
+            for (int i = 0; i < workerCount; i++)
+            {
+                ArrayList<Partial<TPartial>> workerResults = new ArrayList<>();
+                results.add(workerResults);
+                tasks.add(ForkJoinTask.adapt(
+                    () -> work(partitioner, partialFactory, sinkFactory, stop, workerResults)));
+            }
+
+            if (workerCount == 1)
+            {
+                tasks.get(0).invoke();
+            }
+            else if (workerCount > 1)
+            {
+                ForkJoinTask.invokeAll(tasks);
+            }
+
+            ArrayList<Partial<TPartial>> partials = new ArrayList<>();
+            for (ArrayList<Partial<TPartial>> workerResults : results)
+            {
+                partials.addAll(workerResults);
+            }
+
+            if (isOrdered())
+            {
+                partials.sort((first, second) -> Integer.compare(first.ordinal, second.ordinal));
+            }
+
+            ArrayList<TPartial> values = new ArrayList<>(partials.size());
+            for (Partial<TPartial> partial : partials)
+            {
+                values.add(partial.value);
+            }
+
+            return values;
+        }
+
+        private <TPartial> void work(Partitioner<TSource> partitioner, Supplier<TPartial> partialFactory,
+            Function<TPartial, Consumer<T>> sinkFactory, AtomicBoolean stop,
+            ArrayList<Partial<TPartial>> workerResults)
+        {
+            // An unordered query shares a single partial result across all of
+            // the partitions processed by a worker.
+            Partial<TPartial> partial = null;
+            Consumer<TSource> sink = null;
+
+            Partition<TSource> partition;
+            while ((stop == null || stop.get() == false) && (partition = partitioner.next()) != null)
+            {
+                if (partial == null || isOrdered())
+                {
+                    partial = new Partial<>(partition.ordinal, partialFactory.get());
+                    sink = pipeline.apply(sinkFactory.apply(partial.value));
+                    workerResults.add(partial);
+                }
+
+                partition.forEach(sink);
+            }
+        }
+
+        private Partitioner<TSource> createPartitioner(int partitionSize)
+        {
+            List<TSource> list = Linq.asRandomAccessList(source);
+            if (list != null)
+            {
+                if (partitionSize == 0)
+                {
+                    int partitionCount = getDegreeOfParallelism() * PARTITIONS_PER_WORKER;
+                    partitionSize = Math.max(1, (list.size() + partitionCount - 1) / partitionCount);
+                }
+
+                return new RangePartitioner<>(list, partitionSize);
+            }
+
+            if (partitionSize == 0)
+            {
+                return new ChunkPartitioner<>(source.iterator(), getDegreeOfParallelism(), INITIAL_CHUNK_SIZE,
+                    MAXIMUM_CHUNK_SIZE);
+            }
+
+            return new ChunkPartitioner<>(source.iterator(), getDegreeOfParallelism(), partitionSize, partitionSize);
+        }
+    }
+
+    private static class Partial<TPartial>
+    {
+        public Partial(int ordinal, TPartial value)
+        {
+            this.ordinal = ordinal;
+            this.value = value;
+        }
+
+        final int ordinal;
+        final TPartial value;
+    }
+
+    // endregion
+
+    // region: Partitioning
+
+    private static abstract class Partition<TSource>
+    {
+        public Partition(int ordinal)
+        {
+            this.ordinal = ordinal;
+        }
+
+        final int ordinal;
+
+        abstract void forEach(Consumer<TSource> sink);
+    }
+
+    private static abstract class Partitioner<TSource>
+    {
+        /**
+         * Takes the next partition of the source.
+         *
+         * @return The next partition, or <code>null</code> if the source has
+         *         been exhausted.
+         */
+        abstract Partition<TSource> next();
+
+        /**
+         * Gets an upper bound for the number of partitions.
+         *
+         * @return An upper bound for the number of partitions.
+         */
+        abstract int getMaximumPartitionCount();
+    }
+
+    private static class RangePartitioner<TSource> extends Partitioner<TSource>
+    {
+        public RangePartitioner(List<TSource> source, int partitionSize)
+        {
+            this.source = source;
+            this.partitionSize = partitionSize;
+            size = source.size();
+            partitionCount = (int) (((long) size + partitionSize - 1) / partitionSize);
+        }
+
+        private final List<TSource> source;
+        private final int size;
+        private final int partitionSize;
+        private final int partitionCount;
+        private final AtomicInteger nextOrdinal = new AtomicInteger();
+
+        @Override
+        Partition<TSource> next()
+        {
+            int ordinal = nextOrdinal.getAndIncrement();
+            if (ordinal >= partitionCount)
+            {
+                return null;
+            }
+
+            int start = ordinal * partitionSize;
+            int end = Math.min(size, start + partitionSize);
+            return new Partition<TSource>(ordinal)
+            {
+                @Override
+                void forEach(Consumer<TSource> sink)
+                {
+                    for (int i = start; i < end; i++)
+                    {
+                        sink.accept(source.get(i));
+                    }
+                }
+            };
+        }
+
+        @Override
+        int getMaximumPartitionCount()
+        {
+            return partitionCount;
+        }
+    }
+
+    private static class ChunkPartitioner<TSource> extends Partitioner<TSource>
+    {
+        public ChunkPartitioner(Iterator<TSource> source, int workerCount, int initialChunkSize,
+            int maximumChunkSize)
+        {
+            this.source = source;
+            this.workerCount = workerCount;
+            this.maximumChunkSize = maximumChunkSize;
+            chunkSize = initialChunkSize;
+        }
+
+        private final Iterator<TSource> source;
+        private final int workerCount;
+        private final int maximumChunkSize;
+        private int nextOrdinal;
+        private int chunkSize;
+
+        @Override
+        synchronized Partition<TSource> next()
+        {
+            if (source.hasNext() == false)
+            {
+                return null;
+            }
+
+            Object[] buffer = new Object[chunkSize];
+            int count = 0;
+            while (count < buffer.length && source.hasNext())
+            {
+                buffer[count++] = source.next();
+            }
+
+            int ordinal = nextOrdinal++;
+
+            // Grow the chunks once every worker has had one of the current
+            // size, which keeps small sequences balanced and large sequences
+            // cheap to lock.
+            if (ordinal % workerCount == workerCount - 1)
+            {
+                chunkSize = Math.min(chunkSize * 2, maximumChunkSize);
+            }
+
+            int length = count;
+            return new Partition<TSource>(ordinal)
+            {
+                @SuppressWarnings("unchecked")
+                @Override
+                void forEach(Consumer<TSource> sink)
+                {
+                    for (int i = 0; i < length; i++)
+                    {
+                        sink.accept((TSource) buffer[i]);
+                    }
+                }
+            };
+        }
+
+        @Override
+        int getMaximumPartitionCount()
+        {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    // endregion
+}
@@ -0,0 +1,2630 @@
+package potter.linq;
+
+import java.util.Arrays;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Provides a set of static methods for querying sequences of primitive values
+ * that implement {@link IIntEnumerable}, {@link ILongEnumerable} or
+ * {@link IDoubleEnumerable}.
+ *
+ * @author Daniel Potter
+ */
+public class PrimitiveLinq
+{
+    // region: Creation
+
+    // region: As Enumerable
+
+    /**
+     * Gets an {@link IIntEnumerable} that represents an array.
+     *
+     * @param source
+     *            An array to wrap.
+     * @return An {@link IIntEnumerable} containing the elements from
+     *         <code>source</code>.
+     */
+    public static IIntEnumerable asEnumerable(int[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        return new ArrayIntEnumerable(source);
+    }
+
+    private static class ArrayIntEnumerable implements IIntEnumerable
+    {
+        public ArrayIntEnumerable(int[] source)
+        {
+            this.source = source;
+        }
+
+        final int[] source;
+
+        @Override
+        public IIntEnumerator getEnumerator()
+        {
+            return new ArrayIntEnumerator(source);
+        }
+    }
+
+    private static class ArrayIntEnumerator implements IIntEnumerator
+    {
+        public ArrayIntEnumerator(int[] source)
+        {
+            this.source = source;
+        }
+
+        private final int[] source;
+        private int index = -1;
+
+        @Override
+        public int getCurrentInt()
+        {
+            return source[index];
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            if (index < source.length - 1)
+            {
+                index++;
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Gets an {@link ILongEnumerable} that represents an array.
+     *
+     * @param source
+     *            An array to wrap.
+     * @return An {@link ILongEnumerable} containing the elements from
+     *         <code>source</code>.
+     */
+    public static ILongEnumerable asEnumerable(long[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        return new ArrayLongEnumerable(source);
+    }
+
+    private static class ArrayLongEnumerable implements ILongEnumerable
+    {
+        public ArrayLongEnumerable(long[] source)
+        {
+            this.source = source;
+        }
+
+        final long[] source;
+
+        @Override
+        public ILongEnumerator getEnumerator()
+        {
+            return new ArrayLongEnumerator(source);
+        }
+    }
+
+    private static class ArrayLongEnumerator implements ILongEnumerator
+    {
+        public ArrayLongEnumerator(long[] source)
+        {
+            this.source = source;
+        }
+
+        private final long[] source;
+        private int index = -1;
+
+        @Override
+        public long getCurrentLong()
+        {
+            return source[index];
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            if (index < source.length - 1)
+            {
+                index++;
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Gets an {@link IDoubleEnumerable} that represents an array.
+     *
+     * @param source
+     *            An array to wrap.
+     * @return An {@link IDoubleEnumerable} containing the elements from
+     *         <code>source</code>.
+     */
+    public static IDoubleEnumerable asEnumerable(double[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        return new ArrayDoubleEnumerable(source);
+    }
+
+    private static class ArrayDoubleEnumerable implements IDoubleEnumerable
+    {
+        public ArrayDoubleEnumerable(double[] source)
+        {
+            this.source = source;
+        }
+
+        final double[] source;
+
+        @Override
+        public IDoubleEnumerator getEnumerator()
+        {
+            return new ArrayDoubleEnumerator(source);
+        }
+    }
+
+    private static class ArrayDoubleEnumerator implements IDoubleEnumerator
+    {
+        public ArrayDoubleEnumerator(double[] source)
+        {
+            this.source = source;
+        }
+
+        private final double[] source;
+        private int index = -1;
+
+        @Override
+        public double getCurrentDouble()
+        {
+            return source[index];
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            if (index < source.length - 1)
+            {
+                index++;
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    // endregion
+
+    // region: Range
+
+    /**
+     * Generates a sequence of integral numbers within a specified range.
+     *
+     * @param start
+     *            The value of the first integer in the sequence.
+     * @param count
+     *            The number of sequential integers to generate.
+     * @return An {@link IIntEnumerable} that contains a range of sequential
+     *         integral numbers.
+     */
+    public static IIntEnumerable range(int start, int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("count is less than 0.");
+        }
+
+        return () -> new IIntEnumerator()
+        {
+            private int index = -1;
+
+            @Override
+            public int getCurrentInt()
+            {
+                return start + index;
+            }
+
+            @Override
+            public boolean moveNext()
+            {
+                if (index < count - 1)
+                {
+                    index++;
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    // endregion
+
+    // endregion
+
+    // region: Mutation
+
+    // region: Boxed
+
+    /**
+     * Gets an {@link IEnumerable} that contains the boxed elements of a
+     * sequence.
+     *
+     * @param source
+     *            The sequence to box.
+     * @return An {@link IEnumerable} that contains each element of
+     *         <code>source</code> as an {@link Integer}.
+     */
+    public static IEnumerable<Integer> boxed(IIntEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        return new EnumerableAdapter<>(() -> new BoxedIntIterator(source.getEnumerator()));
+    }
+
+    private static class BoxedIntIterator extends SimpleIterator<Integer>
+    {
+        public BoxedIntIterator(IIntEnumerator source)
+        {
+            this.source = source;
+        }
+
+        private final IIntEnumerator source;
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                setCurrent(source.getCurrentInt());
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Gets an {@link IEnumerable} that contains the boxed elements of a
+     * sequence.
+     *
+     * @param source
+     *            The sequence to box.
+     * @return An {@link IEnumerable} that contains each element of
+     *         <code>source</code> as a {@link Long}.
+     */
+    public static IEnumerable<Long> boxed(ILongEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        return new EnumerableAdapter<>(() -> new BoxedLongIterator(source.getEnumerator()));
+    }
+
+    private static class BoxedLongIterator extends SimpleIterator<Long>
+    {
+        public BoxedLongIterator(ILongEnumerator source)
+        {
+            this.source = source;
+        }
+
+        private final ILongEnumerator source;
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                setCurrent(source.getCurrentLong());
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Gets an {@link IEnumerable} that contains the boxed elements of a
+     * sequence.
+     *
+     * @param source
+     *            The sequence to box.
+     * @return An {@link IEnumerable} that contains each element of
+     *         <code>source</code> as a {@link Double}.
+     */
+    public static IEnumerable<Double> boxed(IDoubleEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        return new EnumerableAdapter<>(() -> new BoxedDoubleIterator(source.getEnumerator()));
+    }
+
+    private static class BoxedDoubleIterator extends SimpleIterator<Double>
+    {
+        public BoxedDoubleIterator(IDoubleEnumerator source)
+        {
+            this.source = source;
+        }
+
+        private final IDoubleEnumerator source;
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                setCurrent(source.getCurrentDouble());
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    // endregion
+
+    // region: Select
+
+    /**
+     * Projects each element of a sequence into a <code>int</code> value.
+     *
+     * @param source
+     *            A sequence of values on which to invoke a transform function.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IIntEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of
+     *         <code>source</code>.
+     */
+    public static IIntEnumerable select(IIntEnumerable source, IntUnaryOperator selector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return () -> new SelectIntEnumerator(source.getEnumerator(), selector);
+    }
+
+    private static class SelectIntEnumerator implements IIntEnumerator
+    {
+        public SelectIntEnumerator(IIntEnumerator source, IntUnaryOperator selector)
+        {
+            this.source = source;
+            this.selector = selector;
+        }
+
+        private final IIntEnumerator source;
+        private final IntUnaryOperator selector;
+        private int current;
+
+        @Override
+        public int getCurrentInt()
+        {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                current = selector.applyAsInt(source.getCurrentInt());
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Projects each element of a sequence into a <code>long</code> value.
+     *
+     * @param source
+     *            A sequence of values on which to invoke a transform function.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link ILongEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of
+     *         <code>source</code>.
+     */
+    public static ILongEnumerable selectLong(IIntEnumerable source, IntToLongFunction selector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return () -> new SelectIntToLongEnumerator(source.getEnumerator(), selector);
+    }
+
+    private static class SelectIntToLongEnumerator implements ILongEnumerator
+    {
+        public SelectIntToLongEnumerator(IIntEnumerator source, IntToLongFunction selector)
+        {
+            this.source = source;
+            this.selector = selector;
+        }
+
+        private final IIntEnumerator source;
+        private final IntToLongFunction selector;
+        private long current;
+
+        @Override
+        public long getCurrentLong()
+        {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                current = selector.applyAsLong(source.getCurrentInt());
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Projects each element of a sequence into a <code>double</code> value.
+     *
+     * @param source
+     *            A sequence of values on which to invoke a transform function.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IDoubleEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of
+     *         <code>source</code>.
+     */
+    public static IDoubleEnumerable selectDouble(IIntEnumerable source, IntToDoubleFunction selector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return () -> new SelectIntToDoubleEnumerator(source.getEnumerator(), selector);
+    }
+
+    private static class SelectIntToDoubleEnumerator implements IDoubleEnumerator
+    {
+        public SelectIntToDoubleEnumerator(IIntEnumerator source, IntToDoubleFunction selector)
+        {
+            this.source = source;
+            this.selector = selector;
+        }
+
+        private final IIntEnumerator source;
+        private final IntToDoubleFunction selector;
+        private double current;
+
+        @Override
+        public double getCurrentDouble()
+        {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                current = selector.applyAsDouble(source.getCurrentInt());
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Projects each element of a sequence into a <code>long</code> value.
+     *
+     * @param source
+     *            A sequence of values on which to invoke a transform function.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link ILongEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of
+     *         <code>source</code>.
+     */
+    public static ILongEnumerable select(ILongEnumerable source, LongUnaryOperator selector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return () -> new SelectLongEnumerator(source.getEnumerator(), selector);
+    }
+
+    private static class SelectLongEnumerator implements ILongEnumerator
+    {
+        public SelectLongEnumerator(ILongEnumerator source, LongUnaryOperator selector)
+        {
+            this.source = source;
+            this.selector = selector;
+        }
+
+        private final ILongEnumerator source;
+        private final LongUnaryOperator selector;
+        private long current;
+
+        @Override
+        public long getCurrentLong()
+        {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                current = selector.applyAsLong(source.getCurrentLong());
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Projects each element of a sequence into a <code>int</code> value.
+     *
+     * @param source
+     *            A sequence of values on which to invoke a transform function.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IIntEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of
+     *         <code>source</code>.
+     */
+    public static IIntEnumerable selectInt(ILongEnumerable source, LongToIntFunction selector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return () -> new SelectLongToIntEnumerator(source.getEnumerator(), selector);
+    }
+
+    private static class SelectLongToIntEnumerator implements IIntEnumerator
+    {
+        public SelectLongToIntEnumerator(ILongEnumerator source, LongToIntFunction selector)
+        {
+            this.source = source;
+            this.selector = selector;
+        }
+
+        private final ILongEnumerator source;
+        private final LongToIntFunction selector;
+        private int current;
+
+        @Override
+        public int getCurrentInt()
+        {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                current = selector.applyAsInt(source.getCurrentLong());
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Projects each element of a sequence into a <code>double</code> value.
+     *
+     * @param source
+     *            A sequence of values on which to invoke a transform function.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IDoubleEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of
+     *         <code>source</code>.
+     */
+    public static IDoubleEnumerable selectDouble(ILongEnumerable source, LongToDoubleFunction selector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return () -> new SelectLongToDoubleEnumerator(source.getEnumerator(), selector);
+    }
+
+    private static class SelectLongToDoubleEnumerator implements IDoubleEnumerator
+    {
+        public SelectLongToDoubleEnumerator(ILongEnumerator source, LongToDoubleFunction selector)
+        {
+            this.source = source;
+            this.selector = selector;
+        }
+
+        private final ILongEnumerator source;
+        private final LongToDoubleFunction selector;
+        private double current;
+
+        @Override
+        public double getCurrentDouble()
+        {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                current = selector.applyAsDouble(source.getCurrentLong());
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Projects each element of a sequence into a <code>double</code> value.
+     *
+     * @param source
+     *            A sequence of values on which to invoke a transform function.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IDoubleEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of
+     *         <code>source</code>.
+     */
+    public static IDoubleEnumerable select(IDoubleEnumerable source, DoubleUnaryOperator selector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return () -> new SelectDoubleEnumerator(source.getEnumerator(), selector);
+    }
+
+    private static class SelectDoubleEnumerator implements IDoubleEnumerator
+    {
+        public SelectDoubleEnumerator(IDoubleEnumerator source, DoubleUnaryOperator selector)
+        {
+            this.source = source;
+            this.selector = selector;
+        }
+
+        private final IDoubleEnumerator source;
+        private final DoubleUnaryOperator selector;
+        private double current;
+
+        @Override
+        public double getCurrentDouble()
+        {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                current = selector.applyAsDouble(source.getCurrentDouble());
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Projects each element of a sequence into a <code>int</code> value.
+     *
+     * @param source
+     *            A sequence of values on which to invoke a transform function.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IIntEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of
+     *         <code>source</code>.
+     */
+    public static IIntEnumerable selectInt(IDoubleEnumerable source, DoubleToIntFunction selector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return () -> new SelectDoubleToIntEnumerator(source.getEnumerator(), selector);
+    }
+
+    private static class SelectDoubleToIntEnumerator implements IIntEnumerator
+    {
+        public SelectDoubleToIntEnumerator(IDoubleEnumerator source, DoubleToIntFunction selector)
+        {
+            this.source = source;
+            this.selector = selector;
+        }
+
+        private final IDoubleEnumerator source;
+        private final DoubleToIntFunction selector;
+        private int current;
+
+        @Override
+        public int getCurrentInt()
+        {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                current = selector.applyAsInt(source.getCurrentDouble());
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Projects each element of a sequence into a <code>long</code> value.
+     *
+     * @param source
+     *            A sequence of values on which to invoke a transform function.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link ILongEnumerable} whose elements are the result of
+     *         invoking the transform function on each element of
+     *         <code>source</code>.
+     */
+    public static ILongEnumerable selectLong(IDoubleEnumerable source, DoubleToLongFunction selector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return () -> new SelectDoubleToLongEnumerator(source.getEnumerator(), selector);
+    }
+
+    private static class SelectDoubleToLongEnumerator implements ILongEnumerator
+    {
+        public SelectDoubleToLongEnumerator(IDoubleEnumerator source, DoubleToLongFunction selector)
+        {
+            this.source = source;
+            this.selector = selector;
+        }
+
+        private final IDoubleEnumerator source;
+        private final DoubleToLongFunction selector;
+        private long current;
+
+        @Override
+        public long getCurrentLong()
+        {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                current = selector.applyAsLong(source.getCurrentDouble());
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Projects each element of a sequence into a new form.
+     *
+     * @param <TResult>
+     *            The type of the value returned by <code>selector</code>.
+     * @param source
+     *            A sequence of values on which to invoke a transform function.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IEnumerable} whose elements are the result of invoking
+     *         the transform function on each element of <code>source</code>.
+     */
+    public static <TResult> IEnumerable<TResult> selectObject(IIntEnumerable source,
+        IntFunction<TResult> selector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return new EnumerableAdapter<>(() -> new SelectObjectIntIterator<>(source.getEnumerator(), selector));
+    }
+
+    private static class SelectObjectIntIterator<TResult> extends SimpleIterator<TResult>
+    {
+        public SelectObjectIntIterator(IIntEnumerator source, IntFunction<TResult> selector)
+        {
+            this.source = source;
+            this.selector = selector;
+        }
+
+        private final IIntEnumerator source;
+        private final IntFunction<TResult> selector;
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                setCurrent(selector.apply(source.getCurrentInt()));
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Projects each element of a sequence into a new form.
+     *
+     * @param <TResult>
+     *            The type of the value returned by <code>selector</code>.
+     * @param source
+     *            A sequence of values on which to invoke a transform function.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IEnumerable} whose elements are the result of invoking
+     *         the transform function on each element of <code>source</code>.
+     */
+    public static <TResult> IEnumerable<TResult> selectObject(ILongEnumerable source,
+        LongFunction<TResult> selector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return new EnumerableAdapter<>(() -> new SelectObjectLongIterator<>(source.getEnumerator(), selector));
+    }
+
+    private static class SelectObjectLongIterator<TResult> extends SimpleIterator<TResult>
+    {
+        public SelectObjectLongIterator(ILongEnumerator source, LongFunction<TResult> selector)
+        {
+            this.source = source;
+            this.selector = selector;
+        }
+
+        private final ILongEnumerator source;
+        private final LongFunction<TResult> selector;
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                setCurrent(selector.apply(source.getCurrentLong()));
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Projects each element of a sequence into a new form.
+     *
+     * @param <TResult>
+     *            The type of the value returned by <code>selector</code>.
+     * @param source
+     *            A sequence of values on which to invoke a transform function.
+     * @param selector
+     *            A transform function to apply to each element.
+     * @return An {@link IEnumerable} whose elements are the result of invoking
+     *         the transform function on each element of <code>source</code>.
+     */
+    public static <TResult> IEnumerable<TResult> selectObject(IDoubleEnumerable source,
+        DoubleFunction<TResult> selector)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (selector == null)
+        {
+            throw new IllegalArgumentException("selector is null.");
+        }
+
+        return new EnumerableAdapter<>(() -> new SelectObjectDoubleIterator<>(source.getEnumerator(), selector));
+    }
+
+    private static class SelectObjectDoubleIterator<TResult> extends SimpleIterator<TResult>
+    {
+        public SelectObjectDoubleIterator(IDoubleEnumerator source, DoubleFunction<TResult> selector)
+        {
+            this.source = source;
+            this.selector = selector;
+        }
+
+        private final IDoubleEnumerator source;
+        private final DoubleFunction<TResult> selector;
+
+        @Override
+        public boolean moveNext()
+        {
+            if (source.moveNext())
+            {
+                setCurrent(selector.apply(source.getCurrentDouble()));
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    // endregion
+
+    // region: Where
+
+    /**
+     * Filters a sequence of values based on a predicate.
+     *
+     * @param source
+     *            A sequence to filter.
+     * @param predicate
+     *            A function to test each element for a condition.
+     * @return An {@link IIntEnumerable} that contains elements from the input
+     *         sequence that satisfy the condition.
+     */
+    public static IIntEnumerable where(IIntEnumerable source, IntPredicate predicate)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (predicate == null)
+        {
+            throw new IllegalArgumentException("predicate is null.");
+        }
+
+        return () -> new WhereIntEnumerator(source.getEnumerator(), predicate);
+    }
+
+    private static class WhereIntEnumerator implements IIntEnumerator
+    {
+        public WhereIntEnumerator(IIntEnumerator source, IntPredicate predicate)
+        {
+            this.source = source;
+            this.predicate = predicate;
+        }
+
+        private final IIntEnumerator source;
+        private final IntPredicate predicate;
+        private int current;
+
+        @Override
+        public int getCurrentInt()
+        {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            while (source.moveNext())
+            {
+                int item = source.getCurrentInt();
+                if (predicate.test(item))
+                {
+                    current = item;
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Filters a sequence of values based on a predicate.
+     *
+     * @param source
+     *            A sequence to filter.
+     * @param predicate
+     *            A function to test each element for a condition.
+     * @return An {@link ILongEnumerable} that contains elements from the input
+     *         sequence that satisfy the condition.
+     */
+    public static ILongEnumerable where(ILongEnumerable source, LongPredicate predicate)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (predicate == null)
+        {
+            throw new IllegalArgumentException("predicate is null.");
+        }
+
+        return () -> new WhereLongEnumerator(source.getEnumerator(), predicate);
+    }
+
+    private static class WhereLongEnumerator implements ILongEnumerator
+    {
+        public WhereLongEnumerator(ILongEnumerator source, LongPredicate predicate)
+        {
+            this.source = source;
+            this.predicate = predicate;
+        }
+
+        private final ILongEnumerator source;
+        private final LongPredicate predicate;
+        private long current;
+
+        @Override
+        public long getCurrentLong()
+        {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            while (source.moveNext())
+            {
+                long item = source.getCurrentLong();
+                if (predicate.test(item))
+                {
+                    current = item;
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Filters a sequence of values based on a predicate.
+     *
+     * @param source
+     *            A sequence to filter.
+     * @param predicate
+     *            A function to test each element for a condition.
+     * @return An {@link IDoubleEnumerable} that contains elements from the input
+     *         sequence that satisfy the condition.
+     */
+    public static IDoubleEnumerable where(IDoubleEnumerable source, DoublePredicate predicate)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (predicate == null)
+        {
+            throw new IllegalArgumentException("predicate is null.");
+        }
+
+        return () -> new WhereDoubleEnumerator(source.getEnumerator(), predicate);
+    }
+
+    private static class WhereDoubleEnumerator implements IDoubleEnumerator
+    {
+        public WhereDoubleEnumerator(IDoubleEnumerator source, DoublePredicate predicate)
+        {
+            this.source = source;
+            this.predicate = predicate;
+        }
+
+        private final IDoubleEnumerator source;
+        private final DoublePredicate predicate;
+        private double current;
+
+        @Override
+        public double getCurrentDouble()
+        {
+            return current;
+        }
+
+        @Override
+        public boolean moveNext()
+        {
+            while (source.moveNext())
+            {
+                double item = source.getCurrentDouble();
+                if (predicate.test(item))
+                {
+                    current = item;
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    // endregion
+
+    // endregion
+
+    // region: Aggregation
+
+    // region: To Array
+
+    /**
+     * Creates an array from a sequence.
+     *
+     * @param source
+     *            A sequence from which to create an array.
+     * @return An array that contains the elements from the input sequence.
+     */
+    public static int[] toArray(IIntEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        int[] buffer = new int[16];
+        int count = 0;
+        IIntEnumerator enumerator = source.getEnumerator();
+        while (enumerator.moveNext())
+        {
+            if (count == buffer.length)
+            {
+                buffer = Arrays.copyOf(buffer, count * 2);
+            }
+
+            buffer[count++] = enumerator.getCurrentInt();
+        }
+
+        return count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * Creates an array from a sequence.
+     *
+     * @param source
+     *            A sequence from which to create an array.
+     * @return An array that contains the elements from the input sequence.
+     */
+    public static long[] toArray(ILongEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        long[] buffer = new long[16];
+        int count = 0;
+        ILongEnumerator enumerator = source.getEnumerator();
+        while (enumerator.moveNext())
+        {
+            if (count == buffer.length)
+            {
+                buffer = Arrays.copyOf(buffer, count * 2);
+            }
+
+            buffer[count++] = enumerator.getCurrentLong();
+        }
+
+        return count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * Creates an array from a sequence.
+     *
+     * @param source
+     *            A sequence from which to create an array.
+     * @return An array that contains the elements from the input sequence.
+     */
+    public static double[] toArray(IDoubleEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        double[] buffer = new double[16];
+        int count = 0;
+        IDoubleEnumerator enumerator = source.getEnumerator();
+        while (enumerator.moveNext())
+        {
+            if (count == buffer.length)
+            {
+                buffer = Arrays.copyOf(buffer, count * 2);
+            }
+
+            buffer[count++] = enumerator.getCurrentDouble();
+        }
+
+        return count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+    }
+
+    // endregion
+
+    // endregion
+
+    // region: Metrics
+
+    // region: Average
+
+    /**
+     * Computes the average of a sequence of <code>int</code> values.
+     *
+     * @param source
+     *            A sequence of values of which to calculate the average.
+     * @return The average of the sequence of values.
+     */
+    public static double average(IIntEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayIntEnumerable)
+        {
+            return average(((ArrayIntEnumerable) source).source);
+        }
+
+        IIntEnumerator enumerator = source.getEnumerator();
+        if (enumerator.moveNext() == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        long sum = 0;
+        long count = 0;
+        do
+        {
+            sum += enumerator.getCurrentInt();
+            count++;
+        }
+        while (enumerator.moveNext());
+
+        return (double) sum / count;
+    }
+
+    /**
+     * Computes the average of a sequence of <code>long</code> values.
+     *
+     * @param source
+     *            A sequence of values of which to calculate the average.
+     * @return The average of the sequence of values.
+     */
+    public static double average(ILongEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayLongEnumerable)
+        {
+            return average(((ArrayLongEnumerable) source).source);
+        }
+
+        ILongEnumerator enumerator = source.getEnumerator();
+        if (enumerator.moveNext() == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        long sum = 0;
+        long count = 0;
+        do
+        {
+            sum += enumerator.getCurrentLong();
+            count++;
+        }
+        while (enumerator.moveNext());
+
+        return (double) sum / count;
+    }
+
+    /**
+     * Computes the average of a sequence of <code>double</code> values.
+     *
+     * @param source
+     *            A sequence of values of which to calculate the average.
+     * @return The average of the sequence of values.
+     */
+    public static double average(IDoubleEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayDoubleEnumerable)
+        {
+            return average(((ArrayDoubleEnumerable) source).source);
+        }
+
+        IDoubleEnumerator enumerator = source.getEnumerator();
+        if (enumerator.moveNext() == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        double sum = 0;
+        long count = 0;
+        do
+        {
+            sum += enumerator.getCurrentDouble();
+            count++;
+        }
+        while (enumerator.moveNext());
+
+        return sum / count;
+    }
+
+    /**
+     * Computes the average of a sequence of <code>double</code> values,
+     * accumulating the sum as specified by a {@link SummationMode}.
+     *
+     * @param source
+     *            A sequence of values of which to calculate the average.
+     * @param mode
+     *            How the values are added.
+     * @return The average of the values.
+     */
+    public static double average(IDoubleEnumerable source, SummationMode mode)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayDoubleEnumerable)
+        {
+            return average(((ArrayDoubleEnumerable) source).source, mode);
+        }
+
+        DoubleSummation summation = DoubleSummation.create(mode);
+        IDoubleEnumerator enumerator = source.getEnumerator();
+        while (enumerator.moveNext())
+        {
+            summation.add(enumerator.getCurrentDouble());
+        }
+
+        if (summation.getCount() == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return summation.getSum() / summation.getCount();
+    }
+
+    /**
+     * Computes the average of an array of <code>int</code> values.
+     * <p>
+     * The values are added in a <code>long</code>, so the sum cannot
+     * overflow.
+     *
+     * @param source
+     *            An array of values of which to calculate the average.
+     * @return The average of the values.
+     */
+    public static double average(int[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return (double) ArrayMath.sumToLong(source) / source.length;
+    }
+
+    /**
+     * Computes the average of an array of <code>long</code> values.
+     * <p>
+     * The sum wraps around on overflow, as with the <code>+</code> operator.
+     *
+     * @param source
+     *            An array of values of which to calculate the average.
+     * @return The average of the values.
+     */
+    public static double average(long[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return (double) ArrayMath.sum(source) / source.length;
+    }
+
+    /**
+     * Computes the average of an array of <code>double</code> values.
+     * <p>
+     * The values are added in several interleaved partial sums, so the result
+     * can differ from a left-to-right sum in the last bits.
+     *
+     * @param source
+     *            An array of values of which to calculate the average.
+     * @return The average of the values.
+     */
+    public static double average(double[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.sum(source) / source.length;
+    }
+
+    /**
+     * Computes the average of an array of <code>double</code> values,
+     * accumulating the sum as specified by a {@link SummationMode}.
+     *
+     * @param source
+     *            An array of values of which to calculate the average.
+     * @param mode
+     *            How the values are added.
+     * @return The average of the values.
+     */
+    public static double average(double[] source, SummationMode mode)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (mode == null)
+        {
+            throw new IllegalArgumentException("mode is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.sum(source, mode) / source.length;
+    }
+
+    /**
+     * Computes the average of an array of <code>float</code> values.
+     * <p>
+     * The values are added in several interleaved <code>double</code> partial
+     * sums, so the result can differ from a left-to-right sum in the last
+     * bits.
+     *
+     * @param source
+     *            An array of values of which to calculate the average.
+     * @return The average of the values.
+     */
+    public static double average(float[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.sum(source) / source.length;
+    }
+
+    // endregion
+
+    // region: Count
+
+    /**
+     * Returns the number of elements in a sequence.
+     *
+     * @param source
+     *            A sequence that contains elements to be counted.
+     * @return The number of elements in the input sequence.
+     */
+    public static int count(IIntEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        int count = 0;
+        IIntEnumerator enumerator = source.getEnumerator();
+        while (enumerator.moveNext())
+        {
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the number of elements in a sequence.
+     *
+     * @param source
+     *            A sequence that contains elements to be counted.
+     * @return The number of elements in the input sequence.
+     */
+    public static int count(ILongEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        int count = 0;
+        ILongEnumerator enumerator = source.getEnumerator();
+        while (enumerator.moveNext())
+        {
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the number of elements in a sequence.
+     *
+     * @param source
+     *            A sequence that contains elements to be counted.
+     * @return The number of elements in the input sequence.
+     */
+    public static int count(IDoubleEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        int count = 0;
+        IDoubleEnumerator enumerator = source.getEnumerator();
+        while (enumerator.moveNext())
+        {
+            count++;
+        }
+
+        return count;
+    }
+
+    // endregion
+
+    // region: Max
+
+    /**
+     * Returns the maximum value in a sequence of <code>int</code> values.
+     *
+     * @param source
+     *            A sequence of values of which to determine the maximum value.
+     * @return The maximum value in the sequence.
+     */
+    public static int max(IIntEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayIntEnumerable)
+        {
+            return max(((ArrayIntEnumerable) source).source);
+        }
+
+        IIntEnumerator enumerator = source.getEnumerator();
+        if (enumerator.moveNext() == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        int value = enumerator.getCurrentInt();
+        while (enumerator.moveNext())
+        {
+            int current = enumerator.getCurrentInt();
+            if (current > value)
+            {
+                value = current;
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the maximum value in a sequence of <code>long</code> values.
+     *
+     * @param source
+     *            A sequence of values of which to determine the maximum value.
+     * @return The maximum value in the sequence.
+     */
+    public static long max(ILongEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayLongEnumerable)
+        {
+            return max(((ArrayLongEnumerable) source).source);
+        }
+
+        ILongEnumerator enumerator = source.getEnumerator();
+        if (enumerator.moveNext() == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        long value = enumerator.getCurrentLong();
+        while (enumerator.moveNext())
+        {
+            long current = enumerator.getCurrentLong();
+            if (current > value)
+            {
+                value = current;
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the maximum value in a sequence of <code>double</code> values.
+     *
+     * @param source
+     *            A sequence of values of which to determine the maximum value.
+     * @return The maximum value in the sequence.
+     */
+    public static double max(IDoubleEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayDoubleEnumerable)
+        {
+            return max(((ArrayDoubleEnumerable) source).source);
+        }
+
+        IDoubleEnumerator enumerator = source.getEnumerator();
+        if (enumerator.moveNext() == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        double value = enumerator.getCurrentDouble();
+        while (enumerator.moveNext())
+        {
+            value = Math.max(value, enumerator.getCurrentDouble());
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the maximum value in an array of <code>int</code> values.
+     *
+     * @param source
+     *            An array of values of which to determine the maximum value.
+     * @return The maximum value in the array.
+     */
+    public static int max(int[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.max(source);
+    }
+
+    /**
+     * Returns the maximum value in an array of <code>long</code> values.
+     *
+     * @param source
+     *            An array of values of which to determine the maximum value.
+     * @return The maximum value in the array.
+     */
+    public static long max(long[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.max(source);
+    }
+
+    /**
+     * Returns the maximum value in an array of <code>double</code> values.
+     * <p>
+     * As with {@link Math#max(double, double)}, a <code>NaN</code> value
+     * makes the result <code>NaN</code>.
+     *
+     * @param source
+     *            An array of values of which to determine the maximum value.
+     * @return The maximum value in the array.
+     */
+    public static double max(double[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.max(source);
+    }
+
+    /**
+     * Returns the maximum value in an array of <code>float</code> values.
+     * <p>
+     * As with {@link Math#max(float, float)}, a <code>NaN</code> value
+     * makes the result <code>NaN</code>.
+     *
+     * @param source
+     *            An array of values of which to determine the maximum value.
+     * @return The maximum value in the array.
+     */
+    public static float max(float[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.max(source);
+    }
+
+    // endregion
+
+    // region: Min
+
+    /**
+     * Returns the minimum value in a sequence of <code>int</code> values.
+     *
+     * @param source
+     *            A sequence of values of which to determine the minimum value.
+     * @return The minimum value in the sequence.
+     */
+    public static int min(IIntEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayIntEnumerable)
+        {
+            return min(((ArrayIntEnumerable) source).source);
+        }
+
+        IIntEnumerator enumerator = source.getEnumerator();
+        if (enumerator.moveNext() == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        int value = enumerator.getCurrentInt();
+        while (enumerator.moveNext())
+        {
+            int current = enumerator.getCurrentInt();
+            if (current < value)
+            {
+                value = current;
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the minimum value in a sequence of <code>long</code> values.
+     *
+     * @param source
+     *            A sequence of values of which to determine the minimum value.
+     * @return The minimum value in the sequence.
+     */
+    public static long min(ILongEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayLongEnumerable)
+        {
+            return min(((ArrayLongEnumerable) source).source);
+        }
+
+        ILongEnumerator enumerator = source.getEnumerator();
+        if (enumerator.moveNext() == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        long value = enumerator.getCurrentLong();
+        while (enumerator.moveNext())
+        {
+            long current = enumerator.getCurrentLong();
+            if (current < value)
+            {
+                value = current;
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the minimum value in a sequence of <code>double</code> values.
+     *
+     * @param source
+     *            A sequence of values of which to determine the minimum value.
+     * @return The minimum value in the sequence.
+     */
+    public static double min(IDoubleEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayDoubleEnumerable)
+        {
+            return min(((ArrayDoubleEnumerable) source).source);
+        }
+
+        IDoubleEnumerator enumerator = source.getEnumerator();
+        if (enumerator.moveNext() == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        double value = enumerator.getCurrentDouble();
+        while (enumerator.moveNext())
+        {
+            value = Math.min(value, enumerator.getCurrentDouble());
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the minimum value in an array of <code>int</code> values.
+     *
+     * @param source
+     *            An array of values of which to determine the minimum value.
+     * @return The minimum value in the array.
+     */
+    public static int min(int[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.min(source);
+    }
+
+    /**
+     * Returns the minimum value in an array of <code>long</code> values.
+     *
+     * @param source
+     *            An array of values of which to determine the minimum value.
+     * @return The minimum value in the array.
+     */
+    public static long min(long[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.min(source);
+    }
+
+    /**
+     * Returns the minimum value in an array of <code>double</code> values.
+     * <p>
+     * As with {@link Math#min(double, double)}, a <code>NaN</code> value
+     * makes the result <code>NaN</code>.
+     *
+     * @param source
+     *            An array of values of which to determine the minimum value.
+     * @return The minimum value in the array.
+     */
+    public static double min(double[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.min(source);
+    }
+
+    /**
+     * Returns the minimum value in an array of <code>float</code> values.
+     * <p>
+     * As with {@link Math#min(float, float)}, a <code>NaN</code> value
+     * makes the result <code>NaN</code>.
+     *
+     * @param source
+     *            An array of values of which to determine the minimum value.
+     * @return The minimum value in the array.
+     */
+    public static float min(float[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.min(source);
+    }
+
+    // endregion
+
+    // region: Statistics
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of a sequence of
+     * <code>int</code> values in a single pass.
+     *
+     * @param source
+     *            A sequence of values of which to calculate the statistics.
+     * @return The statistics of the sequence of values.
+     */
+    public static LongStatistics statistics(IIntEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        LongStatistics statistics = new LongStatistics();
+        IIntEnumerator enumerator = source.getEnumerator();
+        while (enumerator.moveNext())
+        {
+            statistics.accept(enumerator.getCurrentInt());
+        }
+
+        return statistics;
+    }
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of a sequence of
+     * <code>long</code> values in a single pass.
+     *
+     * @param source
+     *            A sequence of values of which to calculate the statistics.
+     * @return The statistics of the sequence of values.
+     */
+    public static LongStatistics statistics(ILongEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        LongStatistics statistics = new LongStatistics();
+        ILongEnumerator enumerator = source.getEnumerator();
+        while (enumerator.moveNext())
+        {
+            statistics.accept(enumerator.getCurrentLong());
+        }
+
+        return statistics;
+    }
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of a sequence of
+     * <code>double</code> values in a single pass.
+     *
+     * @param source
+     *            A sequence of values of which to calculate the statistics.
+     * @return The statistics of the sequence of values.
+     */
+    public static DoubleStatistics statistics(IDoubleEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+
+        DoubleStatistics statistics = new DoubleStatistics();
+        IDoubleEnumerator enumerator = source.getEnumerator();
+        while (enumerator.moveNext())
+        {
+            statistics.accept(enumerator.getCurrentDouble());
+        }
+
+        return statistics;
+    }
+
+    // endregion
+
+    // region: Sum
+
+    /**
+     * Computes the sum of a sequence of <code>int</code> values.
+     *
+     * @param source
+     *            A sequence of values of which to calculate the sum.
+     * @return The sum of the values in the sequence.
+     */
+    public static int sum(IIntEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayIntEnumerable)
+        {
+            return sum(((ArrayIntEnumerable) source).source);
+        }
+
+        IIntEnumerator enumerator = source.getEnumerator();
+        if (enumerator.moveNext() == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        int sum = 0;
+        do
+        {
+            sum += enumerator.getCurrentInt();
+        }
+        while (enumerator.moveNext());
+
+        return sum;
+    }
+
+    /**
+     * Computes the sum of a sequence of <code>int</code> values as a
+     * <code>long</code>, so that it cannot wrap around.
+     *
+     * @param source
+     *            A sequence of values of which to calculate the sum.
+     * @return The sum of the values in the sequence.
+     */
+    public static long sumToLong(IIntEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayIntEnumerable)
+        {
+            return sumToLong(((ArrayIntEnumerable) source).source);
+        }
+
+        IIntEnumerator enumerator = source.getEnumerator();
+        if (enumerator.moveNext() == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        long sum = 0;
+        do
+        {
+            sum += enumerator.getCurrentInt();
+        }
+        while (enumerator.moveNext());
+
+        return sum;
+    }
+
+    /**
+     * Computes the sum of a sequence of <code>int</code> values, throwing if
+     * it does not fit in an <code>int</code>.
+     * <p>
+     * Overflow is checked once per block of values rather than on every
+     * addition, and only the final sum has to fit in an <code>int</code>.
+     *
+     * @param source
+     *            A sequence of values of which to calculate the sum.
+     * @return The sum of the values in the sequence.
+     * @throws ArithmeticException
+     *             The sum does not fit in an <code>int</code>.
+     */
+    public static int sumExact(IIntEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayIntEnumerable)
+        {
+            return sumExact(((ArrayIntEnumerable) source).source);
+        }
+
+        ExactLongSummation summation = new ExactLongSummation();
+        IIntEnumerator enumerator = source.getEnumerator();
+        while (enumerator.moveNext())
+        {
+            summation.add(enumerator.getCurrentInt());
+        }
+
+        if (summation.getCount() == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return Math.toIntExact(summation.getSum());
+    }
+
+    /**
+     * Computes the sum of a sequence of <code>long</code> values.
+     *
+     * @param source
+     *            A sequence of values of which to calculate the sum.
+     * @return The sum of the values in the sequence.
+     */
+    public static long sum(ILongEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayLongEnumerable)
+        {
+            return sum(((ArrayLongEnumerable) source).source);
+        }
+
+        ILongEnumerator enumerator = source.getEnumerator();
+        if (enumerator.moveNext() == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        long sum = 0;
+        do
+        {
+            sum += enumerator.getCurrentLong();
+        }
+        while (enumerator.moveNext());
+
+        return sum;
+    }
+
+    /**
+     * Computes the sum of a sequence of <code>long</code> values, throwing if
+     * it does not fit in a <code>long</code>.
+     * <p>
+     * Overflow is checked once per block of values rather than on every
+     * addition, and only the final sum has to fit in a <code>long</code>.
+     *
+     * @param source
+     *            A sequence of values of which to calculate the sum.
+     * @return The sum of the values in the sequence.
+     * @throws ArithmeticException
+     *             The sum does not fit in a <code>long</code>.
+     */
+    public static long sumExact(ILongEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayLongEnumerable)
+        {
+            return sumExact(((ArrayLongEnumerable) source).source);
+        }
+
+        ExactLongSummation summation = new ExactLongSummation();
+        ILongEnumerator enumerator = source.getEnumerator();
+        while (enumerator.moveNext())
+        {
+            summation.add(enumerator.getCurrentLong());
+        }
+
+        if (summation.getCount() == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return summation.getSum();
+    }
+
+    /**
+     * Computes the sum of a sequence of <code>double</code> values.
+     *
+     * @param source
+     *            A sequence of values of which to calculate the sum.
+     * @return The sum of the values in the sequence.
+     */
+    public static double sum(IDoubleEnumerable source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayDoubleEnumerable)
+        {
+            return sum(((ArrayDoubleEnumerable) source).source);
+        }
+
+        IDoubleEnumerator enumerator = source.getEnumerator();
+        if (enumerator.moveNext() == false)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        double sum = 0;
+        do
+        {
+            sum += enumerator.getCurrentDouble();
+        }
+        while (enumerator.moveNext());
+
+        return sum;
+    }
+
+    /**
+     * Computes the sum of a sequence of <code>double</code> values,
+     * accumulating the sum as specified by a {@link SummationMode}.
+     *
+     * @param source
+     *            A sequence of values of which to calculate the sum.
+     * @param mode
+     *            How the values are added.
+     * @return The sum of the values.
+     */
+    public static double sum(IDoubleEnumerable source, SummationMode mode)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source instanceof ArrayDoubleEnumerable)
+        {
+            return sum(((ArrayDoubleEnumerable) source).source, mode);
+        }
+
+        DoubleSummation summation = DoubleSummation.create(mode);
+        IDoubleEnumerator enumerator = source.getEnumerator();
+        while (enumerator.moveNext())
+        {
+            summation.add(enumerator.getCurrentDouble());
+        }
+
+        if (summation.getCount() == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return summation.getSum();
+    }
+
+    /**
+     * Computes the sum of an array of <code>int</code> values.
+     * <p>
+     * The sum wraps around on overflow, as with the <code>+</code> operator.
+     *
+     * @param source
+     *            An array of values of which to calculate the sum.
+     * @return The sum of the values in the array.
+     */
+    public static int sum(int[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.sum(source);
+    }
+
+    /**
+     * Computes the sum of an array of <code>int</code> values as a
+     * <code>long</code>, so that it cannot wrap around.
+     *
+     * @param source
+     *            An array of values of which to calculate the sum.
+     * @return The sum of the values in the array.
+     */
+    public static long sumToLong(int[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.sumToLong(source);
+    }
+
+    /**
+     * Computes the sum of an array of <code>int</code> values, throwing if it
+     * does not fit in an <code>int</code>.
+     * <p>
+     * The values are added in a <code>long</code>, which cannot overflow for
+     * an array, and the range is checked once at the end.
+     *
+     * @param source
+     *            An array of values of which to calculate the sum.
+     * @return The sum of the values in the array.
+     * @throws ArithmeticException
+     *             The sum does not fit in an <code>int</code>.
+     */
+    public static int sumExact(int[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return Math.toIntExact(ArrayMath.sumToLong(source));
+    }
+
+    /**
+     * Computes the sum of an array of <code>long</code> values.
+     * <p>
+     * The sum wraps around on overflow, as with the <code>+</code> operator.
+     *
+     * @param source
+     *            An array of values of which to calculate the sum.
+     * @return The sum of the values in the array.
+     */
+    public static long sum(long[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.sum(source);
+    }
+
+    /**
+     * Computes the sum of an array of <code>long</code> values, throwing if it
+     * does not fit in a <code>long</code>.
+     * <p>
+     * Overflow is checked once per block of values rather than on every
+     * addition, and only the final sum has to fit in a <code>long</code>.
+     *
+     * @param source
+     *            An array of values of which to calculate the sum.
+     * @return The sum of the values in the array.
+     * @throws ArithmeticException
+     *             The sum does not fit in a <code>long</code>.
+     */
+    public static long sumExact(long[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        ExactLongSummation summation = new ExactLongSummation();
+        summation.addAll(source, 0, source.length);
+        return summation.getSum();
+    }
+
+    /**
+     * Computes the sum of an array of <code>double</code> values.
+     * <p>
+     * The values are added in several interleaved partial sums, so the result
+     * can differ from a left-to-right sum in the last bits.
+     *
+     * @param source
+     *            An array of values of which to calculate the sum.
+     * @return The sum of the values in the array.
+     */
+    public static double sum(double[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.sum(source);
+    }
+
+    /**
+     * Computes the sum of an array of <code>double</code> values,
+     * accumulating the sum as specified by a {@link SummationMode}.
+     *
+     * @param source
+     *            An array of values of which to calculate the sum.
+     * @param mode
+     *            How the values are added.
+     * @return The sum of the values.
+     */
+    public static double sum(double[] source, SummationMode mode)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (mode == null)
+        {
+            throw new IllegalArgumentException("mode is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return ArrayMath.sum(source, mode);
+    }
+
+    /**
+     * Computes the sum of an array of <code>float</code> values.
+     * <p>
+     * The values are added in several interleaved <code>double</code> partial
+     * sums and rounded to <code>float</code> once, so the result can differ
+     * from a left-to-right <code>float</code> sum in the last bits.
+     *
+     * @param source
+     *            An array of values of which to calculate the sum.
+     * @return The sum of the values in the array.
+     */
+    public static float sum(float[] source)
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("source is null.");
+        }
+        if (source.length == 0)
+        {
+            throw new IllegalStateException("source contains no elements.");
+        }
+
+        return (float) ArrayMath.sum(source);
+    }
+
+    // endregion
+
+    // endregion
+}
@@ -0,0 +1,31 @@
+package potter.linq;
+
+/**
+ * Specifies how a sum of floating-point values is accumulated.
+ *
+ * @author Daniel Potter
+ */
+public enum SummationMode
+{
+    /**
+     * Adds each value to a running total. This is the fastest mode, but the
+     * rounding error grows with the number of values.
+     */
+    NAIVE,
+
+    /**
+     * Keeps a running total together with the rounding error lost by each
+     * addition (the Kahan-Babuska summation, as improved by Neumaier), so the
+     * error does not grow with the number of values.
+     */
+    COMPENSATED,
+
+    /**
+     * Adds blocks of values and combines the block sums in a balanced binary
+     * tree, so the rounding error grows only with the logarithm of the number
+     * of values. The tree depends only on the number of values, so a parallel
+     * sum returns exactly the same result as a sequential one, whatever the
+     * number of threads.
+     */
+    PAIRWISE
+}
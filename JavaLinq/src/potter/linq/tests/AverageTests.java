@@ -1,11 +1,15 @@
 package potter.linq.tests;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import potter.linq.Linq;
+import potter.linq.PrimitiveLinq;
+import potter.linq.SummationMode;
 
 public class AverageTests
 {
@@ -122,6 +126,45 @@ public class AverageTests
 
     // endregion
 
+    // region: averageDouble(Iterable<TSource>, Function<TSource, Double>, SummationMode)
+
+    @Test(expected = IllegalStateException.class)
+    public void averageDouble3_emptyList_throwsException()
+    {
+        Linq.averageDouble(new ArrayList<Double>(), item -> item, SummationMode.COMPENSATED);
+    }
+
+    @Test
+    public void averageDouble3_compensated_keepsCancelledLowOrderValues()
+    {
+        // Arrange
+        List<Double> source = Arrays.asList(1e100, 3d, -1e100);
+
+        // Act
+        double actual = Linq.asEnumerable(source).averageDouble(item -> item, SummationMode.COMPENSATED);
+
+        // Assert
+        Assert.assertEquals(1, actual, 0);
+    }
+
+    @Test
+    public void averageDouble3_primitiveArray_matchesSequence()
+    {
+        // Arrange
+        double[] source =
+        {
+            0.1, 0.2, 0.3, 0.4, 0.5
+        };
+
+        // Act
+        double actual = PrimitiveLinq.asEnumerable(source).average(SummationMode.PAIRWISE);
+
+        // Assert
+        Assert.assertEquals(0.3, actual, 1e-15);
+    }
+
+    // endregion
+
     // region: averageFloat(Iterable<Float>)
 
     @Test(expected = IllegalArgumentException.class)
@@ -306,6 +349,62 @@ public class AverageTests
 
     // endregion
 
+    // region: averageIntegerAsDouble(Iterable<Integer>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void averageIntegerAsDouble1_nullSource_throwsException()
+    {
+        Linq.averageIntegerAsDouble(null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void averageIntegerAsDouble1_emptyList_throwsException()
+    {
+        Linq.averageIntegerAsDouble(new ArrayList<Integer>());
+    }
+
+    @Test
+    public void averageIntegerAsDouble1_listOfNumbers_keepsFraction()
+    {
+        // Act
+        double actual = Linq.averageIntegerAsDouble(Arrays.asList(1, 2, 3, 4));
+
+        // Assert
+        Assert.assertEquals(2.5, actual, 0);
+    }
+
+    @Test
+    public void averageIntegerAsDouble1_largeValues_doesNotOverflow()
+    {
+        // Act
+        double actual = Linq.averageIntegerAsDouble(Arrays.asList(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+        // Assert
+        Assert.assertEquals(Integer.MAX_VALUE, actual, 0);
+    }
+
+    // endregion
+
+    // region: averageIntegerAsDouble(Iterable<TSource>, Function<TSource, Integer>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void averageIntegerAsDouble2_nullSelector_throwsException()
+    {
+        Linq.averageIntegerAsDouble(new ArrayList<Integer>(), null);
+    }
+
+    @Test
+    public void averageIntegerAsDouble2_listOfStrings_returnsAverageLength()
+    {
+        // Act
+        double actual = Linq.asEnumerable(Arrays.asList("a", "bb")).averageIntegerAsDouble(String::length);
+
+        // Assert
+        Assert.assertEquals(1.5, actual, 0);
+    }
+
+    // endregion
+
     // region: averageLong(Iterable<Long>)
 
     @Test(expected = IllegalArgumentException.class)
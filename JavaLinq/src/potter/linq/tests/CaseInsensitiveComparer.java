@@ -0,0 +1,22 @@
+package potter.linq.tests;
+
+import java.util.Locale;
+
+import potter.linq.IEqualityComparer;
+
+class CaseInsensitiveComparer implements IEqualityComparer<String>
+{
+    public static final CaseInsensitiveComparer Instance = new CaseInsensitiveComparer();
+
+    @Override
+    public boolean equals(String x, String y)
+    {
+        return x.equalsIgnoreCase(y);
+    }
+
+    @Override
+    public int hashCode(String obj)
+    {
+        return obj.toLowerCase(Locale.ROOT).hashCode();
+    }
+}
@@ -1,6 +1,8 @@
 package potter.linq.tests;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -151,4 +153,34 @@ public class ConcatAndUnionTests
     }
 
     // endregion
+
+    // region: union(Iterable<TSource>, Iterable<TSource>, IEqualityComparer<TSource>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void union2_nullFirst_throwsException()
+    {
+        Linq.union(null, new ArrayList<String>(), CaseInsensitiveComparer.Instance);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void union2_nullSecond_throwsException()
+    {
+        Linq.union(new ArrayList<String>(), null, CaseInsensitiveComparer.Instance);
+    }
+
+    @Test
+    public void union2_caseInsensitiveComparer_excludesDuplicates()
+    {
+        // Arrange
+        List<String> first = Arrays.asList("a", "A", "b");
+        List<String> second = Arrays.asList("B", "c", "C");
+
+        // Act
+        Iterable<String> actualElements = Linq.union(first, second, CaseInsensitiveComparer.Instance);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList("a", "b", "c"), actualElements);
+    }
+
+    // endregion
 }
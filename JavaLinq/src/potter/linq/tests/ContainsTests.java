@@ -163,7 +163,7 @@ public class ContainsTests
         boolean found = Linq.contains(iterableSource, 6);
 
         // Assert
-        Assert.assertTrue(found);
+        Assert.assertFalse(found);
     }
 
     @Test
@@ -219,4 +219,71 @@ public class CountTests
     }
 
     // endregion
+
+    // region: tryGetCount(Iterable<?>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tryGetCount_nullSource_throwsException()
+    {
+        Linq.tryGetCount(null);
+    }
+
+    @Test
+    public void tryGetCount_sizedOperators_returnsCount()
+    {
+        // Arrange
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+        {
+            list.add(i);
+        }
+
+        Integer[] array = { 1, 2, 3 };
+
+        // Act and Assert
+        assertEquals(10, Linq.tryGetCount(list));
+        assertEquals(3, Linq.asEnumerable(array).tryGetCount());
+        assertEquals(5, Linq.range(1, 5).tryGetCount());
+        assertEquals(0, Linq.range(1, -5).tryGetCount());
+        assertEquals(4, Linq.repeat("a", 4).tryGetCount());
+        assertEquals(10, Linq.select(list, item -> item * 2).tryGetCount());
+        assertEquals(10, Linq.select(list, (item, index) -> item * index).tryGetCount());
+        assertEquals(13, Linq.concat(list, Linq.asEnumerable(array)).tryGetCount());
+        assertEquals(3, Linq.zip(list, Linq.asEnumerable(array), (first, second) -> first).tryGetCount());
+        assertEquals(6, Linq.range(0, 10).skip(4).tryGetCount());
+        assertEquals(2, Linq.range(0, 10).take(2).tryGetCount());
+        assertEquals(10, Linq.range(0, 10).reverse().tryGetCount());
+        assertEquals(10, Linq.orderBy(list, item -> -item, Integer.class).tryGetCount());
+        assertEquals(3, Linq.orderBy(list, item -> -item, Integer.class).skip(7).take(5).tryGetCount());
+        assertEquals(0, Linq.empty(String.class).tryGetCount());
+    }
+
+    @Test
+    public void tryGetCount_filteredOrUnsizedSequences_returnsMinusOne()
+    {
+        // Arrange
+        ArrayList<Integer> list = new ArrayList<>();
+        list.add(1);
+        Iterable<Integer> iterable = () -> list.iterator();
+
+        // Act and Assert
+        assertEquals(-1, Linq.tryGetCount(iterable));
+        assertEquals(-1, Linq.where(list, item -> true).tryGetCount());
+        assertEquals(-1, Linq.select(iterable, item -> item).tryGetCount());
+        assertEquals(-1, Linq.concat(list, iterable).tryGetCount());
+    }
+
+    @Test
+    public void toArray_knownCount_copiesAllElements()
+    {
+        // Act
+        Integer[] actualElements = Linq.range(3, 4).select(item -> item * 2).toArray(Integer[]::new);
+
+        // Assert
+        assertEquals(4, actualElements.length);
+        assertEquals(6, actualElements[0].intValue());
+        assertEquals(12, actualElements[3].intValue());
+    }
+
+    // endregion
 }
@@ -0,0 +1,185 @@
+package potter.linq.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import potter.linq.DefaultComparator;
+import potter.linq.EqualityComparer;
+import potter.linq.IEnumerable;
+import potter.linq.Linq;
+
+public class DefaultComparerTests
+{
+    private static final List<Class<?>> Types = Arrays.asList(Object.class, String.class, Integer.class, Long.class,
+        Double.class, Float.class, Short.class, Byte.class, Character.class, Boolean.class, BigDecimal.class,
+        BigInteger.class, UUID.class, LocalDate.class, Instant.class, Duration.class, Thread.class, List.class);
+
+    private static final int ThreadCount = 32;
+
+    /**
+     * Runs the same task on many threads that are released at the same
+     * moment, and returns the result of each.
+     */
+    private static <T> List<T> runConcurrently(Callable<T> task) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(ThreadCount);
+        try
+        {
+            CountDownLatch start = new CountDownLatch(1);
+            ArrayList<Future<T>> futures = new ArrayList<>();
+            for (int thread = 0; thread < ThreadCount; thread++)
+            {
+                futures.add(executor.submit(() ->
+                {
+                    start.await();
+                    return task.call();
+                }));
+            }
+
+            start.countDown();
+
+            ArrayList<T> results = new ArrayList<>();
+            for (Future<T> future : futures)
+            {
+                results.add(future.get());
+            }
+
+            return results;
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    // region: EqualityComparer.getDefault(Class<T>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void equalityComparerGetDefault_nullType_throwsException()
+    {
+        EqualityComparer.getDefault(null);
+    }
+
+    @Test
+    public void equalityComparerGetDefault_sameType_returnsSameInstance()
+    {
+        // Act
+        EqualityComparer<String> first = EqualityComparer.getDefault(String.class);
+        EqualityComparer<String> second = EqualityComparer.getDefault(String.class);
+
+        // Assert
+        assertSame(first, second);
+    }
+
+    @Test
+    public void equalityComparerGetDefault_manyThreads_everyThreadGetsSameInstance() throws Exception
+    {
+        // Act
+        List<List<EqualityComparer<?>>> results = runConcurrently(() ->
+        {
+            ArrayList<EqualityComparer<?>> comparers = new ArrayList<>();
+            for (int iteration = 0; iteration < 1000; iteration++)
+            {
+                for (Class<?> type : Types)
+                {
+                    comparers.add(EqualityComparer.getDefault(type));
+                }
+            }
+
+            return comparers;
+        });
+
+        // Assert
+        for (List<EqualityComparer<?>> comparers : results)
+        {
+            for (int index = 0; index < comparers.size(); index++)
+            {
+                assertSame(EqualityComparer.getDefault(Types.get(index % Types.size())), comparers.get(index));
+            }
+        }
+    }
+
+    // endregion
+
+    // region: DefaultComparator.getDefault(Class<T>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void defaultComparatorGetDefault_nullType_throwsException()
+    {
+        DefaultComparator.getDefault(null);
+    }
+
+    @Test
+    public void defaultComparatorGetDefault_manyThreads_everyThreadGetsSameInstance() throws Exception
+    {
+        // Act
+        List<List<Comparator<?>>> results = runConcurrently(() ->
+        {
+            ArrayList<Comparator<?>> comparators = new ArrayList<>();
+            for (int iteration = 0; iteration < 1000; iteration++)
+            {
+                for (Class<?> type : Types)
+                {
+                    comparators.add(DefaultComparator.getDefault(type));
+                }
+            }
+
+            return comparators;
+        });
+
+        // Assert
+        for (List<Comparator<?>> comparators : results)
+        {
+            for (int index = 0; index < comparators.size(); index++)
+            {
+                assertSame(DefaultComparator.getDefault(Types.get(index % Types.size())), comparators.get(index));
+            }
+        }
+    }
+
+    // endregion
+
+    // region: Concurrent queries
+
+    @Test
+    public void queries_manyThreads_returnSameResults() throws Exception
+    {
+        // Arrange
+        IEnumerable<Integer> source = Linq.range(0, 2000).select(x -> (x * 7919) % 1000);
+
+        // Act
+        List<List<Integer>> results = runConcurrently(() -> source
+            .groupBy(x -> x % 10, Integer.class, Integer.class)
+            .select(g -> Linq.distinct(g.orderBy(x -> x, Integer.class)).count())
+            .concat(Linq.empty(Integer.class))
+            .toArrayList());
+
+        // Assert
+        for (List<Integer> result : results)
+        {
+            CollectionAssert.assertSequenceEquals(Linq.repeat(100, 10), result);
+        }
+
+        assertEquals(ThreadCount, results.size());
+    }
+
+    // endregion
+}
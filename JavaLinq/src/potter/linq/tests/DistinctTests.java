@@ -1,9 +1,13 @@
 package potter.linq.tests;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 
+import potter.linq.IEnumerable;
+import potter.linq.IEqualityComparer;
 import potter.linq.Linq;
 
 public class DistinctTests
@@ -82,4 +86,67 @@ public class DistinctTests
     }
 
     // endregion
+
+    // region: distinct(Iterable<TSource>, IEqualityComparer<TSource>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void distinct2_nullSource_throwsException()
+    {
+        Linq.distinct(null, CaseInsensitiveComparer.Instance);
+    }
+
+    @Test
+    public void distinct2_caseInsensitiveComparer_returnsFirstOfEachGroup()
+    {
+        // Arrange
+        List<String> source = Arrays.asList("a", "B", "A", "b", null, "c", null, "C");
+
+        // Act
+        Iterable<String> actualElements = Linq.distinct(source, CaseInsensitiveComparer.Instance);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList("a", "B", null, "c"), actualElements);
+    }
+
+    @Test
+    public void distinct2_nullComparer_usesEquals()
+    {
+        // Arrange
+        List<String> source = Arrays.asList("a", "A", "a");
+
+        // Act
+        Iterable<String> actualElements = Linq.distinct(source, null);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList("a", "A"), actualElements);
+    }
+
+    @Test
+    public void distinct2_manyCollidingElements_returnsUniqueElements()
+    {
+        // Arrange
+        IEqualityComparer<Integer> comparer = new IEqualityComparer<Integer>()
+        {
+            @Override
+            public boolean equals(Integer x, Integer y)
+            {
+                return x.equals(y);
+            }
+
+            @Override
+            public int hashCode(Integer obj)
+            {
+                return obj % 7;
+            }
+        };
+        IEnumerable<Integer> source = Linq.range(0, 3000).select(x -> x % 1000);
+
+        // Act
+        Iterable<Integer> actualElements = source.distinct(comparer);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Linq.range(0, 1000), actualElements);
+    }
+
+    // endregion
 }
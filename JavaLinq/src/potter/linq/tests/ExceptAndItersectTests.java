@@ -1,6 +1,10 @@
 package potter.linq.tests;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -159,4 +163,94 @@ public class ExceptAndItersectTests
     }
 
     // endregion
+
+    // region: except(Iterable<TSource>, Iterable<TSource>, IEqualityComparer<TSource>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void except2_nullFirst_throwsException()
+    {
+        Linq.except(null, new ArrayList<String>(), CaseInsensitiveComparer.Instance);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void except2_nullSecond_throwsException()
+    {
+        Linq.except(new ArrayList<String>(), null, CaseInsensitiveComparer.Instance);
+    }
+
+    @Test
+    public void except2_caseInsensitiveComparer_removesMatchingElements()
+    {
+        // Arrange
+        List<String> first = Arrays.asList("a", "B", "c", "C", "d");
+        List<String> second = Arrays.asList("b", "D");
+
+        // Act
+        Iterable<String> actualElements = Linq.except(first, second, CaseInsensitiveComparer.Instance);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList("a", "c"), actualElements);
+    }
+
+    // endregion
+
+    // region: intersect(Iterable<TSource>, Iterable<TSource>, IEqualityComparer<TSource>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void intersect2_nullFirst_throwsException()
+    {
+        Linq.intersect(null, new ArrayList<String>(), CaseInsensitiveComparer.Instance);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void intersect2_nullSecond_throwsException()
+    {
+        Linq.intersect(new ArrayList<String>(), null, CaseInsensitiveComparer.Instance);
+    }
+
+    @Test
+    public void intersect2_caseInsensitiveComparer_returnsCommonElementsOnce()
+    {
+        // Arrange
+        List<String> first = Arrays.asList("a", "B", "b", "c", "D");
+        List<String> second = Arrays.asList("d", "b", "A", "a");
+
+        // Act
+        Iterable<String> actualElements = Linq.intersect(first, second, CaseInsensitiveComparer.Instance);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList("a", "B", "D"), actualElements);
+    }
+
+    @Test
+    public void intersect2_manyElements_matchesHashSet()
+    {
+        // Arrange
+        Random random = new Random(42);
+        ArrayList<Integer> first = new ArrayList<>();
+        ArrayList<Integer> second = new ArrayList<>();
+        for (int index = 0; index < 20000; index++)
+        {
+            first.add(random.nextInt(5000));
+            second.add(random.nextInt(5000) * 3);
+        }
+
+        HashSet<Integer> remaining = new HashSet<>(second);
+        ArrayList<Integer> expectedElements = new ArrayList<>();
+        for (Integer element : first)
+        {
+            if (remaining.remove(element))
+            {
+                expectedElements.add(element);
+            }
+        }
+
+        // Act
+        Iterable<Integer> actualElements = Linq.intersect(first, second, null);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    // endregion
 }
@@ -0,0 +1,192 @@
+package potter.linq.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import potter.linq.IEnumerable;
+import potter.linq.IEnumerator;
+import potter.linq.Linq;
+
+public class ForEachTests
+{
+    // region: forEach(Consumer<? super T>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void forEach_nullAction_throwsException()
+    {
+        Linq.range(0, 3).forEach(null);
+    }
+
+    @Test
+    public void forEach_array_visitsElementsInOrder()
+    {
+        // Arrange
+        Integer[] source =
+        {
+            3, 1, 2,
+        };
+        ArrayList<Integer> actual = new ArrayList<>();
+
+        // Act
+        Linq.asEnumerable(source).forEach(actual::add);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList(3, 1, 2), actual);
+    }
+
+    @Test
+    public void forEach_whereAndSelect_visitsMatchingProjectedElements()
+    {
+        // Arrange
+        List<Integer> source = Arrays.asList(1, 2, 3, 4, 5, 6);
+        ArrayList<Integer> actual = new ArrayList<>();
+
+        // Act
+        Linq.asEnumerable(source)
+            .where(x -> x % 2 == 0)
+            .select(x -> x * 10)
+            .forEach(actual::add);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList(20, 40, 60), actual);
+    }
+
+    @Test
+    public void forEach_skipTakeAndReverse_visitsSameElementsAsIterator()
+    {
+        // Arrange
+        IEnumerable<Integer> query = Linq.asEnumerable(Arrays.asList(1, 2, 3, 4, 5, 6))
+            .skip(1)
+            .take(4)
+            .reverse();
+        ArrayList<Integer> actual = new ArrayList<>();
+
+        // Act
+        query.forEach(actual::add);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(query, actual);
+        CollectionAssert.assertSequenceEquals(Arrays.asList(5, 4, 3, 2), actual);
+    }
+
+    @Test
+    public void forEach_orderBy_visitsSortedElements()
+    {
+        // Arrange
+        ArrayList<Integer> actual = new ArrayList<>();
+
+        // Act
+        Linq.asEnumerable(Arrays.asList(3, 1, 2)).orderBy(x -> x, Integer.class).forEach(actual::add);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList(1, 2, 3), actual);
+    }
+
+    // endregion
+
+    // region: Enumerators
+
+    @Test
+    public void tryAdvance_afterHasNext_returnsPendingElement()
+    {
+        // Arrange
+        IEnumerator<Integer> enumerator = Linq.range(1, 2).getEnumerator();
+        ArrayList<Integer> actual = new ArrayList<>();
+
+        // Act
+        enumerator.hasNext();
+        boolean first = enumerator.tryAdvance(actual::add);
+        boolean second = enumerator.tryAdvance(actual::add);
+        boolean third = enumerator.tryAdvance(actual::add);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        CollectionAssert.assertSequenceEquals(Arrays.asList(1, 2), actual);
+    }
+
+    @Test
+    public void forEachRemaining_afterHasNext_includesPendingElement()
+    {
+        // Arrange
+        IEnumerator<Integer> enumerator = Linq.range(1, 4).getEnumerator();
+        ArrayList<Integer> actual = new ArrayList<>();
+
+        // Act
+        enumerator.next();
+        enumerator.hasNext();
+        enumerator.forEachRemaining(actual::add);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList(2, 3, 4), actual);
+        assertFalse(enumerator.hasNext());
+    }
+
+    // endregion
+
+    // region: Terminal operators
+
+    @Test
+    public void terminalOperators_singleUseSource_enumerateOnce()
+    {
+        // Arrange
+        int[] iteratorCount = new int[1];
+        Iterable<Integer> source = () ->
+        {
+            iteratorCount[0]++;
+            return Arrays.asList(4, 8, 6).iterator();
+        };
+
+        // Act
+        int sum = Linq.sumInteger(source);
+        int max = Linq.maxInteger(source);
+        double average = Linq.averageDouble(source, x -> (double) x);
+        int product = Linq.aggregate(source, (x, y) -> x * y);
+
+        // Assert
+        assertEquals(18, sum);
+        assertEquals(8, max);
+        assertEquals(6d, average, 0d);
+        assertEquals(192, product);
+        assertEquals(4, iteratorCount[0]);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void sumInteger_emptyIterator_throwsException()
+    {
+        // Arrange
+        Iterable<Integer> source = () -> new ArrayList<Integer>().iterator();
+
+        // Act
+        Linq.sumInteger(source);
+    }
+
+    @Test
+    public void count_predicate_usesEachElementOnce()
+    {
+        // Arrange
+        ArrayList<Integer> visited = new ArrayList<>();
+        Iterable<Integer> source = Linq.range(1, 5);
+
+        // Act
+        int count = Linq.count(source, x ->
+        {
+            visited.add(x);
+            return x > 2;
+        });
+
+        // Assert
+        assertEquals(3, count);
+        CollectionAssert.assertSequenceEquals(Arrays.asList(1, 2, 3, 4, 5), visited);
+    }
+
+    // endregion
+}
@@ -1,10 +1,15 @@
 package potter.linq.tests;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import org.junit.Assert;
 import org.junit.Test;
 
 import potter.linq.EqualityComparer;
@@ -700,6 +705,195 @@ public class GroupByTests
 
     // endregion
 
+    // region: Large groupings
+
+    @Test
+    public void groupBy_manyKeys_keepsFirstSeenOrderAndSourceOrder()
+    {
+        // Arrange
+        ArrayList<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 10000; i++)
+        {
+            source.add((i * 7919) % 1000);
+        }
+
+        // Act
+        IEnumerable<IGrouping<Integer, Integer>> groups
+            = Linq.groupBy(source, item -> item % 250, Integer.class, Integer.class);
+
+        // Assert
+        int groupCount = 0;
+        for (IGrouping<Integer, Integer> group : groups)
+        {
+            Assert.assertEquals((groupCount * 7919) % 1000 % 250, (int) group.getKey());
+
+            ArrayList<Integer> expectedElements = new ArrayList<>();
+            for (Integer item : source)
+            {
+                if (item % 250 == group.getKey())
+                {
+                    expectedElements.add(item);
+                }
+            }
+
+            CollectionAssert.assertSequenceEquals(expectedElements, group);
+            Assert.assertEquals(expectedElements.size(), group.count());
+            groupCount++;
+        }
+
+        Assert.assertEquals(250, groupCount);
+    }
+
+    @Test
+    public void groupBy_nullKeys_groupsNullKeysTogether()
+    {
+        // Arrange
+        ArrayList<String> source = new ArrayList<>();
+        source.add("a");
+        source.add(null);
+        source.add("b");
+        source.add(null);
+
+        // Act
+        ArrayList<IGrouping<String, String>> groups
+            = Linq.groupBy(source, item -> item, String.class, String.class).toArrayList();
+
+        // Assert
+        Assert.assertEquals(3, groups.size());
+        Assert.assertNull(groups.get(1).getKey());
+        Assert.assertEquals(2, groups.get(1).count());
+    }
+
+    @Test
+    public void groupBy_grouping_isRandomAccessList()
+    {
+        // Arrange
+        ArrayList<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+        {
+            source.add(i);
+        }
+
+        // Act
+        IGrouping<Boolean, Integer> group
+            = Linq.groupBy(source, item -> item % 2 == 0, Boolean.class, Integer.class).first();
+
+        // Assert
+        Assert.assertTrue(group instanceof List<?>);
+        List<?> list = (List<?>) group;
+        Assert.assertEquals(5, list.size());
+        Assert.assertEquals(4, list.get(2));
+        Assert.assertEquals(8, group.elementAt(4).intValue());
+    }
+
+    @Test
+    public void groupBy_differentKeysWithEqualElements_groupsStayDistinct()
+    {
+        // Arrange
+        List<String> source = Arrays.asList("a1", "b1");
+
+        // Act
+        ArrayList<IGrouping<String, Character>> groups = Linq.groupBy(source, item -> item.substring(0, 1),
+            item -> item.charAt(1), String.class, Character.class).toArrayList();
+
+        // Assert
+        Assert.assertNotEquals(groups.get(0), groups.get(1));
+        Assert.assertEquals(groups.get(0), groups.get(0));
+        Assert.assertEquals(2, Linq.distinct(groups).count());
+    }
+
+    // endregion
+
+    // region: Group adjacent
+
+    @Test(expected = IllegalArgumentException.class)
+    public void groupAdjacent_nullSource_throwsException()
+    {
+        Linq.groupAdjacent(NullSource, x -> x, Object.class, Object.class);
+    }
+
+    @Test
+    public void groupAdjacent_repeatedKeys_startsGroupWhenKeyChanges()
+    {
+        // Arrange
+        ArrayList<String> source = new ArrayList<>();
+        Collections.addAll(source, "a1", "a2", "b1", null, null, "a3", "c1", "c2");
+
+        // Act
+        ArrayList<IGrouping<Character, String>> groups = Linq.groupAdjacent(source,
+            item -> item == null ? null : item.charAt(0), Character.class, String.class).toArrayList();
+
+        // Assert
+        Assert.assertEquals(5, groups.size());
+        Assert.assertEquals('a', (char) groups.get(0).getKey());
+        CollectionAssert.assertSequenceEquals(Arrays.asList("a1", "a2"), groups.get(0));
+        CollectionAssert.assertSequenceEquals(Arrays.asList("b1"), groups.get(1));
+        Assert.assertNull(groups.get(2).getKey());
+        Assert.assertEquals(2, groups.get(2).count());
+        CollectionAssert.assertSequenceEquals(Arrays.asList("a3"), groups.get(3));
+        CollectionAssert.assertSequenceEquals(Arrays.asList("c1", "c2"), groups.get(4));
+    }
+
+    @Test
+    public void groupAdjacent_firstGroup_readsOnlyPastFirstGroup()
+    {
+        // Arrange
+        int[] readCount = new int[1];
+        IEnumerable<Integer> source = Linq.range(0, 1000000).select(item ->
+        {
+            readCount[0]++;
+            return item;
+        });
+
+        // Act
+        IGrouping<Integer, Integer> group
+            = Linq.groupAdjacent(source, item -> item / 3, Integer.class, Integer.class).first();
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList(0, 1, 2), group);
+        Assert.assertEquals(4, readCount[0]);
+    }
+
+    @Test
+    public void groupAdjacent_differentKeysWithEqualElements_groupsStayDistinct()
+    {
+        // Arrange
+        List<String> source = Arrays.asList("a1", "b1");
+
+        // Act
+        ArrayList<IGrouping<String, Character>> groups = Linq.groupAdjacent(source, item -> item.substring(0, 1),
+            item -> item.charAt(1), String.class, Character.class).toArrayList();
+
+        // Assert
+        Assert.assertNotEquals(groups.get(0), groups.get(1));
+        Assert.assertEquals(2, Linq.distinct(groups).count());
+    }
+
+    @Test
+    public void groupBy_sourceOrderedBySameKeySelector_groupsByEquality()
+    {
+        // Arrange
+        BigDecimal first = new BigDecimal("1.0");
+        BigDecimal second = new BigDecimal("1.00");
+        BigDecimal third = new BigDecimal("1.0");
+        Function<BigDecimal, BigDecimal> keySelector = item -> item;
+        IEnumerable<BigDecimal> ordered
+            = Linq.orderBy(Arrays.asList(first, second, third), keySelector, BigDecimal.class);
+
+        // Act
+        ArrayList<IGrouping<BigDecimal, BigDecimal>> actual
+            = Linq.groupBy(ordered, keySelector, BigDecimal.class, BigDecimal.class).toArrayList();
+
+        // Assert
+        Assert.assertEquals(2, actual.size());
+        Assert.assertEquals(first, actual.get(0).getKey());
+        CollectionAssert.assertSequenceEquals(Arrays.asList(first, third), actual.get(0));
+        Assert.assertEquals(second, actual.get(1).getKey());
+        CollectionAssert.assertSequenceEquals(Arrays.asList(second), actual.get(1));
+    }
+
+    // endregion
+
     private static class DummyEqualityComparer<T> implements IEqualityComparer<T>
     {
         @Override
@@ -1,15 +1,26 @@
 package potter.linq.tests;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import potter.linq.EqualityComparer;
+import potter.linq.IElementCodec;
 import potter.linq.IEnumerable;
+import potter.linq.IEnumerator;
 import potter.linq.IEqualityComparer;
 import potter.linq.Linq;
 
@@ -21,6 +32,20 @@ public class JoinAndGroupJoinTests
     private static final BiFunction<Object, IEnumerable<Object>, Object> NullBiFunctionWithSequence = null;
     private static final IEqualityComparer<Object> NullEqualityComparer = null;
     private static final Class<Object> NullClass = null;
+    private static final IElementCodec<Object> NullElementCodec = null;
+    private static final IElementCodec<Object> DummyElementCodec = new IElementCodec<Object>()
+    {
+        @Override
+        public void write(DataOutput output, Object element)
+        {
+        }
+
+        @Override
+        public Object read(DataInput input)
+        {
+            return null;
+        }
+    };
 
     private static final Iterable<Object> DummyIterable = new ArrayList<>();
     private static final Function<Object, Object> DummyFunction = x -> x;
@@ -534,6 +559,316 @@ public class JoinAndGroupJoinTests
 
     // endregion
 
+    // region: Large joins
+
+    @Test
+    public void join_duplicateKeys_matchesNestedLoopJoin()
+    {
+        // Arrange
+        ArrayList<Integer> outer = new ArrayList<>();
+        ArrayList<Integer> inner = new ArrayList<>();
+        for (int i = 0; i < 300; i++)
+        {
+            outer.add(i % 70);
+            inner.add((i * 31) % 50);
+        }
+
+        ArrayList<String> expectedElements = new ArrayList<>();
+        for (Integer outerItem : outer)
+        {
+            for (Integer innerItem : inner)
+            {
+                if (outerItem.equals(innerItem))
+                {
+                    expectedElements.add(outerItem + ":" + innerItem);
+                }
+            }
+        }
+
+        // Act
+        IEnumerable<String> actualElements = Linq.join(outer, inner, item -> item, item -> item,
+            (outerItem, innerItem) -> outerItem + ":" + innerItem, Integer.class, Integer.class);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    // endregion
+
+    // region: Spilling joins
+
+    private static long countJoinFiles() throws IOException
+    {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir"))))
+        {
+            return files.filter(file -> file.getFileName().toString().startsWith("javalinq-join-")).count();
+        }
+    }
+
+    private static ArrayList<Integer> createKeys(int count, int modulus, int multiplier)
+    {
+        ArrayList<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+        {
+            keys.add((i * multiplier) % modulus);
+        }
+
+        return keys;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void spillingJoin_nullOuterCodec_throwsException()
+    {
+        Linq.spillingJoin(DummyIterable, DummyIterable, DummyFunction, DummyFunction, DummyBiFunction,
+            NullEqualityComparer, Object.class, Object.class, NullElementCodec, DummyElementCodec, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void spillingJoin_zeroBudget_throwsException()
+    {
+        Linq.spillingJoin(DummyIterable, DummyIterable, DummyFunction, DummyFunction, DummyBiFunction,
+            NullEqualityComparer, Object.class, Object.class, DummyElementCodec, DummyElementCodec, 0);
+    }
+
+    @Test
+    public void spillingJoin_innerWithinBudget_matchesJoinInOrder()
+    {
+        // Arrange
+        ArrayList<Integer> outer = createKeys(200, 30, 7);
+        ArrayList<Integer> inner = createKeys(100, 40, 3);
+
+        ArrayList<String> expectedElements = Linq.join(outer, inner, item -> item, item -> item,
+            (outerItem, innerItem) -> outerItem + ":" + innerItem, Integer.class, Integer.class).toArrayList();
+
+        // Act
+        IEnumerable<String> actualElements = Linq.spillingJoin(outer, inner, item -> item, item -> item,
+            (outerItem, innerItem) -> outerItem + ":" + innerItem, null, Integer.class, Integer.class,
+            IElementCodec.ofInteger(), IElementCodec.ofInteger(), 100);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    public void spillingJoin_innerExceedsBudget_matchesJoinAndDeletesFiles() throws IOException
+    {
+        // Arrange
+        long filesBefore = countJoinFiles();
+        ArrayList<Integer> outer = createKeys(3000, 700, 13);
+        ArrayList<Integer> inner = createKeys(2000, 500, 31);
+        outer.add(null);
+        inner.add(null);
+
+        ArrayList<String> expectedElements = Linq.join(outer, inner, item -> item, item -> item,
+            (outerItem, innerItem) -> outerItem + ":" + innerItem, Integer.class, Integer.class).toArrayList();
+
+        // Act
+        ArrayList<String> actualElements = Linq.spillingJoin(outer, inner, item -> item, item -> item,
+            (outerItem, innerItem) -> outerItem + ":" + innerItem, null, Integer.class, Integer.class,
+            IElementCodec.ofInteger(), IElementCodec.ofInteger(), 20).toArrayList();
+
+        // Assert
+        Collections.sort(expectedElements);
+        Collections.sort(actualElements);
+        Assert.assertEquals(expectedElements, actualElements);
+        Assert.assertEquals(filesBefore, countJoinFiles());
+    }
+
+    @Test
+    public void spillingJoin_outerKeySelectorThrows_deletesFiles() throws IOException
+    {
+        // Arrange
+        long filesBefore = countJoinFiles();
+        ArrayList<Integer> outer = createKeys(100, 50, 13);
+        ArrayList<Integer> inner = createKeys(100, 50, 31);
+        IEnumerable<Integer> join = Linq.spillingJoin(outer, inner, item ->
+        {
+            if (item > 40)
+            {
+                throw new IllegalStateException();
+            }
+
+            return item;
+        }, item -> item, (outerItem, innerItem) -> outerItem, null, Integer.class, Integer.class,
+            IElementCodec.ofInteger(), IElementCodec.ofInteger(), 10);
+
+        // Act
+        try
+        {
+            join.getEnumerator();
+            Assert.fail();
+        }
+        catch (IllegalStateException e)
+        {
+            // Expected.
+        }
+
+        // Assert
+        Assert.assertEquals(filesBefore, countJoinFiles());
+    }
+
+    @Test
+    public void spillingJoin_abandonedEnumeratorClosed_deletesFiles() throws Exception
+    {
+        // Arrange
+        long filesBefore = countJoinFiles();
+        ArrayList<Integer> outer = createKeys(100, 50, 13);
+        ArrayList<Integer> inner = createKeys(100, 50, 31);
+        IEnumerator<Integer> enumerator = Linq.spillingJoin(outer, inner, item -> item, item -> item,
+            (outerItem, innerItem) -> outerItem, null, Integer.class, Integer.class,
+            IElementCodec.ofInteger(), IElementCodec.ofInteger(), 10).getEnumerator();
+        enumerator.moveNext();
+
+        // Act
+        ((AutoCloseable) enumerator).close();
+
+        // Assert
+        Assert.assertFalse(enumerator.moveNext());
+        Assert.assertEquals(filesBefore, countJoinFiles());
+    }
+
+    @Test
+    public void spillingJoin_singleKeyExceedsBudget_joinsAllMatches()
+    {
+        // Arrange
+        ArrayList<Integer> outer = createKeys(10, 1, 1);
+        ArrayList<Integer> inner = createKeys(50, 1, 1);
+
+        // Act
+        int actualCount = Linq.spillingJoin(outer, inner, item -> item, item -> item,
+            (outerItem, innerItem) -> outerItem, null, Integer.class, Integer.class,
+            IElementCodec.ofInteger(), IElementCodec.ofInteger(), 5).count();
+
+        // Assert
+        Assert.assertEquals(500, actualCount);
+    }
+
+    @Test
+    public void spillingGroupJoin_innerExceedsBudget_matchesGroupJoin()
+    {
+        // Arrange
+        ArrayList<Integer> outer = createKeys(1000, 400, 17);
+        ArrayList<Integer> inner = createKeys(1500, 300, 7);
+        outer.add(null);
+
+        ArrayList<String> expectedElements = Linq.groupJoin(outer, inner, item -> item, item -> item,
+            (outerItem, innerItems) -> outerItem + ":" + innerItems.count(), Integer.class, Integer.class)
+            .toArrayList();
+
+        // Act
+        ArrayList<String> actualElements = Linq.spillingGroupJoin(outer, inner, item -> item, item -> item,
+            (outerItem, innerItems) -> outerItem + ":" + innerItems.count(), null, Integer.class, Integer.class,
+            IElementCodec.ofInteger(), IElementCodec.ofInteger(), 25).toArrayList();
+
+        // Assert
+        Collections.sort(expectedElements);
+        Collections.sort(actualElements);
+        Assert.assertEquals(expectedElements, actualElements);
+    }
+
+    // endregion
+
+    // region: Merge joins
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mergeJoin_nullOuter_throwsException()
+    {
+        Linq.mergeJoin(NullIterable, DummyIterable, DummyFunction, DummyFunction, DummyBiFunction, Object.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mergeGroupJoin_nullElementType_throwsException()
+    {
+        Linq.mergeGroupJoin(DummyIterable, DummyIterable, DummyFunction, DummyFunction,
+            DummyBiFunctionWithSequence, Object.class, NullClass);
+    }
+
+    @Test
+    public void mergeJoin_orderedSequences_matchesJoin()
+    {
+        // Arrange
+        IEnumerable<Integer> outer = Linq.orderBy(createKeys(300, 70, 1), item -> item, Integer.class);
+        IEnumerable<Integer> inner = Linq.orderBy(createKeys(300, 50, 31), item -> item, Integer.class);
+
+        IEnumerable<String> expectedElements = Linq.join(outer, inner, item -> item, item -> item,
+            (outerItem, innerItem) -> outerItem + ":" + innerItem, Integer.class, Integer.class);
+
+        // Act
+        IEnumerable<String> actualElements = Linq.mergeJoin(outer, inner, item -> item, item -> item,
+            (outerItem, innerItem) -> outerItem + ":" + innerItem, Integer.class);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    public void mergeJoin_nullKeys_skipsNullKeys()
+    {
+        // Arrange
+        ArrayList<Integer> outer = new ArrayList<>();
+        Collections.addAll(outer, 1, null, 2, 2, 4);
+        ArrayList<Integer> inner = new ArrayList<>();
+        Collections.addAll(inner, null, 2, 3, 4, null, 4);
+
+        // Act
+        IEnumerable<String> actualElements = Linq.mergeJoin(outer, inner, item -> item, item -> item,
+            (outerItem, innerItem) -> outerItem + ":" + innerItem, Integer.class);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList("2:2", "2:2", "4:4", "4:4"), actualElements);
+    }
+
+    @Test
+    public void mergeJoin_descendingComparer_joinsDescendingSequences()
+    {
+        // Arrange
+        ArrayList<Integer> outer = new ArrayList<>();
+        Collections.addAll(outer, 5, 3, 3, 1);
+        ArrayList<Integer> inner = new ArrayList<>();
+        Collections.addAll(inner, 4, 3, 1, 1);
+
+        // Act
+        IEnumerable<String> actualElements = Linq.mergeJoin(outer, inner, item -> item, item -> item,
+            (outerItem, innerItem) -> outerItem + ":" + innerItem, Collections.reverseOrder(), Integer.class);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList("3:3", "3:3", "1:1", "1:1"), actualElements);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void mergeJoin_unorderedInner_throwsException()
+    {
+        // Arrange
+        ArrayList<Integer> outer = new ArrayList<>();
+        Collections.addAll(outer, 1, 2, 3);
+        ArrayList<Integer> inner = new ArrayList<>();
+        Collections.addAll(inner, 2, 1, 3);
+
+        // Act
+        Linq.mergeJoin(outer, inner, item -> item, item -> item,
+            (outerItem, innerItem) -> outerItem, Integer.class).toArrayList();
+    }
+
+    @Test
+    public void mergeGroupJoin_orderedSequences_matchesGroupJoin()
+    {
+        // Arrange
+        IEnumerable<Integer> outer = Linq.orderBy(createKeys(200, 90, 7), item -> item, Integer.class);
+        IEnumerable<Integer> inner = Linq.orderBy(createKeys(300, 60, 13), item -> item, Integer.class);
+
+        IEnumerable<String> expectedElements = Linq.groupJoin(outer, inner, item -> item, item -> item,
+            (outerItem, innerItems) -> outerItem + ":" + innerItems.count(), Integer.class, Integer.class);
+
+        // Act
+        IEnumerable<String> actualElements = Linq.mergeGroupJoin(outer, inner, item -> item, item -> item,
+            (outerItem, innerItems) -> outerItem + ":" + innerItems.count(), Integer.class, Integer.class);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    // endregion
+
     private void assertOwnerAndPetsNamesSequencesAreEqual(
         Iterable<Tuple2<String, Iterable<String>>> expected,
         Iterable<Tuple2<String, Iterable<String>>> actual)
@@ -0,0 +1,179 @@
+package potter.linq.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import potter.linq.IEnumerable;
+import potter.linq.Linq;
+
+public class MemoizeTests
+{
+    // region: memoize(Iterable<TSource>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void memoize_nullSource_throwsException()
+    {
+        Linq.memoize(null);
+    }
+
+    @Test
+    public void memoize_enumeratedTwice_enumeratesSourceOnce()
+    {
+        // Arrange
+        int[] selectorCount = new int[1];
+        IEnumerable<Integer> source = Linq.range(0, 5).select(x ->
+        {
+            selectorCount[0]++;
+            return x * 2;
+        });
+
+        // Act
+        IEnumerable<Integer> memoized = source.memoize();
+
+        // Assert
+        assertEquals(0, selectorCount[0]);
+        CollectionAssert.assertSequenceEquals(Arrays.asList(0, 2, 4, 6, 8), memoized);
+        CollectionAssert.assertSequenceEquals(Arrays.asList(0, 2, 4, 6, 8), memoized);
+        assertEquals(5, selectorCount[0]);
+    }
+
+    @Test
+    public void memoize_partialEnumeration_buffersOnlyWhatIsRead()
+    {
+        // Arrange
+        int[] selectorCount = new int[1];
+        IEnumerable<Integer> memoized = Linq.range(0, 100).select(x ->
+        {
+            selectorCount[0]++;
+            return x;
+        }).memoize();
+
+        // Act
+        int first = memoized.first();
+        Iterator<Integer> iterator = memoized.iterator();
+        List<Integer> firstThree = Arrays.asList(iterator.next(), iterator.next(), iterator.next());
+
+        // Assert
+        assertEquals(0, first);
+        CollectionAssert.assertSequenceEquals(Arrays.asList(0, 1, 2), firstThree);
+        assertEquals(3, selectorCount[0]);
+    }
+
+    @Test
+    public void memoize_interleavedEnumerators_returnSameElements()
+    {
+        // Arrange
+        IEnumerable<Integer> memoized = Linq.range(1, 3).memoize();
+        Iterator<Integer> first = memoized.iterator();
+        Iterator<Integer> second = memoized.iterator();
+        ArrayList<Integer> actual = new ArrayList<>();
+
+        // Act
+        actual.add(first.next());
+        actual.add(first.next());
+        actual.add(second.next());
+        actual.add(first.next());
+        actual.add(second.next());
+        actual.add(second.next());
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList(1, 2, 1, 3, 2, 3), actual);
+    }
+
+    @Test
+    public void memoize_memoizedSource_returnsSource()
+    {
+        // Arrange
+        IEnumerable<Integer> memoized = Linq.range(1, 3).memoizeConcurrent();
+
+        // Act
+        IEnumerable<Integer> actual = memoized.memoize();
+
+        // Assert
+        assertSame(memoized, actual);
+    }
+
+    @Test
+    public void memoize_groupBy_buildsLookupOnce()
+    {
+        // Arrange
+        int[] keyCount = new int[1];
+        IEnumerable<Integer> source = Linq.range(0, 10);
+
+        // Act
+        IEnumerable<Integer> counts = source.groupBy(x ->
+        {
+            keyCount[0]++;
+            return x % 3;
+        }, Integer.class, Integer.class).select(g -> g.count()).memoize();
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList(4, 3, 3), counts);
+        CollectionAssert.assertSequenceEquals(Arrays.asList(4, 3, 3), counts);
+        assertEquals(10, keyCount[0]);
+    }
+
+    // endregion
+
+    // region: memoizeConcurrent(Iterable<TSource>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void memoizeConcurrent_nullSource_throwsException()
+    {
+        Linq.memoizeConcurrent(null);
+    }
+
+    @Test
+    public void memoizeConcurrent_manyReaders_allSeeEverySourceElementOnce() throws Exception
+    {
+        // Arrange
+        final int elementCount = 20000;
+        final int readerCount = 8;
+        AtomicInteger selectorCount = new AtomicInteger();
+        IEnumerable<Integer> memoized = Linq.range(0, elementCount)
+            .select(x ->
+            {
+                selectorCount.incrementAndGet();
+                return x;
+            })
+            .memoizeConcurrent();
+        ExecutorService executor = Executors.newFixedThreadPool(readerCount);
+
+        // Act
+        ArrayList<Future<List<Integer>>> results = new ArrayList<>();
+        try
+        {
+            for (int reader = 0; reader < readerCount; reader++)
+            {
+                Callable<List<Integer>> read = () -> memoized.toArrayList();
+                results.add(executor.submit(read));
+            }
+
+            // Assert
+            for (Future<List<Integer>> result : results)
+            {
+                CollectionAssert.assertSequenceEquals(Linq.range(0, elementCount), result.get());
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        assertEquals(elementCount, selectorCount.get());
+    }
+
+    // endregion
+}
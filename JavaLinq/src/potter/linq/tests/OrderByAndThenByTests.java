@@ -1,10 +1,30 @@
 package potter.linq.tests;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.stream.Stream;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import potter.linq.IElementCodec;
+import potter.linq.IEnumerable;
+import potter.linq.IEnumerator;
 import potter.linq.IOrderedEnumerable;
 import potter.linq.Linq;
 
@@ -692,6 +712,588 @@ public class OrderByAndThenByTests
 
     // endregion
 
+    // region: Primitive keys (orderByInt, orderByLong, orderByDouble, thenByInt, ...)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void orderByInt_nullSource_throwsException()
+    {
+        Linq.orderByInt(null, (Object item) -> 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void orderByInt_nullKeySelector_throwsException()
+    {
+        Linq.orderByInt(new ArrayList<Object>(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void thenByLong_nullSource_throwsException()
+    {
+        Linq.thenByLong(null, (Object item) -> 0L);
+    }
+
+    @Test
+    public void orderByInt_listOfElements_ordersElements()
+    {
+        // Arrange
+        ArrayList<String> source = new ArrayList<>();
+        source.add("bbb");
+        source.add("a");
+        source.add("cc");
+        source.add("d");
+
+        ArrayList<String> expectedElements = new ArrayList<>();
+        expectedElements.add("a");
+        expectedElements.add("d");
+        expectedElements.add("cc");
+        expectedElements.add("bbb");
+
+        // Act
+        IOrderedEnumerable<String> actualElements = Linq.asEnumerable(source).orderByInt(String::length);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    public void orderByLongDescending_extremeValues_ordersElements()
+    {
+        // Arrange
+        ArrayList<Long> source = new ArrayList<>();
+        source.add(0L);
+        source.add(Long.MIN_VALUE);
+        source.add(Long.MAX_VALUE);
+        source.add(-1L);
+
+        ArrayList<Long> expectedElements = new ArrayList<>();
+        expectedElements.add(Long.MAX_VALUE);
+        expectedElements.add(0L);
+        expectedElements.add(-1L);
+        expectedElements.add(Long.MIN_VALUE);
+
+        // Act
+        IOrderedEnumerable<Long> actualElements = Linq.orderByLongDescending(source, item -> item);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    public void orderByDouble_specialValues_ordersLikeDoubleCompare()
+    {
+        // Arrange
+        ArrayList<Double> source = new ArrayList<>();
+        source.add(Double.NaN);
+        source.add(0.0);
+        source.add(-0.0);
+        source.add(Double.NEGATIVE_INFINITY);
+        source.add(1.5);
+
+        ArrayList<Double> expectedElements = new ArrayList<>(source);
+        Collections.sort(expectedElements);
+
+        // Act
+        IOrderedEnumerable<Double> actualElements = Linq.orderByDouble(source, item -> item);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    public void orderByThenByInt_mixedKeys_matchesBoxedOrdering()
+    {
+        // Arrange
+        Random random = new Random(3);
+        ArrayList<Tuple> source = new ArrayList<>();
+        for (int i = 0; i < 2000; i++)
+        {
+            source.add(new Tuple(random.nextInt(10), "name" + random.nextInt(10)));
+        }
+
+        ArrayList<Tuple> expectedElements = Linq.orderBy(source, item -> item.name, String.class)
+            .thenByDescending(item -> item.value, Integer.class)
+            .toArrayList();
+
+        // Act
+        ArrayList<Tuple> actualElements = Linq.orderBy(source, item -> item.name, String.class)
+            .thenByIntDescending(item -> item.value)
+            .toArrayList();
+
+        // Assert
+        Assert.assertEquals(expectedElements.size(), actualElements.size());
+        for (int i = 0; i < expectedElements.size(); i++)
+        {
+            Assert.assertSame(expectedElements.get(i), actualElements.get(i));
+        }
+    }
+
+    @Test
+    public void orderByIntThenBy_mixedKeys_matchesBoxedOrdering()
+    {
+        // Arrange
+        Random random = new Random(5);
+        ArrayList<Tuple> source = new ArrayList<>();
+        for (int i = 0; i < 2000; i++)
+        {
+            source.add(new Tuple(random.nextInt(10), "name" + random.nextInt(10)));
+        }
+
+        ArrayList<Tuple> expectedElements = Linq.orderBy(source, item -> item.value, Integer.class)
+            .thenBy(item -> item.name, String.class)
+            .toArrayList();
+
+        // Act
+        ArrayList<Tuple> actualElements = Linq.orderByInt(source, item -> item.value)
+            .thenBy(item -> item.name, String.class)
+            .toArrayList();
+
+        // Assert
+        Assert.assertEquals(expectedElements.size(), actualElements.size());
+        for (int i = 0; i < expectedElements.size(); i++)
+        {
+            Assert.assertSame(expectedElements.get(i), actualElements.get(i));
+        }
+    }
+
+    // endregion
+
+    // region: withExternalSort(IOrderedEnumerable<TSource>, IElementCodec<TSource>, int)
+
+    private static long countSortFiles() throws IOException
+    {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir"))))
+        {
+            return files.filter(file -> file.getFileName().toString().startsWith("javalinq-sort-")).count();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void withExternalSort_nullCodec_throwsException()
+    {
+        Linq.orderBy(new ArrayList<String>(), item -> item, String.class).withExternalSort(null, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void withExternalSort_zeroBudget_throwsException()
+    {
+        Linq.orderBy(new ArrayList<String>(), item -> item, String.class).withExternalSort(IElementCodec.ofString(), 0);
+    }
+
+    @Test
+    public void withExternalSort_emptyList_returnsEmptySequence()
+    {
+        // Act
+        IEnumerable<String> actualElements = Linq.orderBy(new ArrayList<String>(), item -> item, String.class)
+            .withExternalSort(IElementCodec.ofString(), 10);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(new ArrayList<String>(), actualElements);
+    }
+
+    @Test
+    public void withExternalSort_sourceLargerThanBudget_matchesInMemorySort() throws IOException
+    {
+        // Arrange
+        ArrayList<Integer> source = createRandomList(10000, 1000);
+        source.add(null);
+
+        ArrayList<Integer> expectedElements = Linq.orderByDescending(source, item -> item, Integer.class)
+            .toArrayList();
+
+        long filesBefore = countSortFiles();
+
+        // Act
+        IEnumerable<Integer> actualElements = Linq.orderByDescending(source, item -> item, Integer.class)
+            .withExternalSort(IElementCodec.ofInteger(), 777);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(expectedElements, actualElements);
+        Assert.assertEquals(filesBefore, countSortFiles());
+    }
+
+    @Test
+    public void withExternalSort_codecThrows_deletesFiles() throws IOException
+    {
+        // Arrange
+        ArrayList<Integer> source = createRandomList(1000, 1000);
+        IElementCodec<Integer> ofInteger = IElementCodec.ofInteger();
+        int[] writeCount = new int[1];
+        IElementCodec<Integer> codec = new IElementCodec<Integer>()
+        {
+            @Override
+            public void write(DataOutput output, Integer element) throws IOException
+            {
+                if (++writeCount[0] > 500)
+                {
+                    throw new IOException();
+                }
+
+                ofInteger.write(output, element);
+            }
+
+            @Override
+            public Integer read(DataInput input) throws IOException
+            {
+                return ofInteger.read(input);
+            }
+        };
+
+        long filesBefore = countSortFiles();
+        IEnumerable<Integer> sorted = Linq.orderBy(source, item -> item, Integer.class).withExternalSort(codec, 100);
+
+        // Act
+        try
+        {
+            sorted.getEnumerator();
+            Assert.fail();
+        }
+        catch (UncheckedIOException e)
+        {
+            // Expected.
+        }
+
+        // Assert
+        Assert.assertEquals(filesBefore, countSortFiles());
+    }
+
+    @Test
+    public void withExternalSort_abandonedEnumeratorClosed_deletesFiles() throws Exception
+    {
+        // Arrange
+        ArrayList<Integer> source = createRandomList(1000, 1000);
+        long filesBefore = countSortFiles();
+        IEnumerator<Integer> enumerator = Linq.orderBy(source, item -> item, Integer.class)
+            .withExternalSort(IElementCodec.ofInteger(), 100)
+            .getEnumerator();
+        enumerator.moveNext();
+
+        // Act
+        ((AutoCloseable) enumerator).close();
+
+        // Assert
+        Assert.assertFalse(enumerator.moveNext());
+        Assert.assertEquals(filesBefore, countSortFiles());
+    }
+
+    @Test
+    public void withExternalSort_duplicateKeys_isStable()
+    {
+        // Arrange
+        ArrayList<String> source = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+        {
+            source.add(Integer.toString(i % 97) + "-" + i);
+        }
+
+        ArrayList<String> expectedElements = Linq.orderByInt(source, String::length)
+            .thenBy(item -> item.charAt(0), Character.class)
+            .toArrayList();
+
+        // Act
+        IEnumerable<String> actualElements = Linq.orderByInt(source, String::length)
+            .thenBy(item -> item.charAt(0), Character.class)
+            .withExternalSort(IElementCodec.ofString(), 64);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void ofSerializable_roundTrip_returnsEqualElement() throws IOException
+    {
+        // Arrange
+        IElementCodec<ArrayList<String>> codec = IElementCodec.ofSerializable(
+            (Class<ArrayList<String>>) (Class<?>) ArrayList.class);
+
+        ArrayList<String> expected = new ArrayList<>();
+        expected.add("a");
+        expected.add(null);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // Act
+        codec.write(new DataOutputStream(bytes), expected);
+        ArrayList<String> actual = codec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Assert
+        Assert.assertEquals(expected, actual);
+    }
+
+    // endregion
+
+    // region: Partial ordering (skip, take, first, elementAt)
+
+    private static ArrayList<Integer> createRandomList(int count, int bound)
+    {
+        Random random = new Random(42);
+        ArrayList<Integer> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            list.add(random.nextInt(bound));
+        }
+
+        return list;
+    }
+
+    @Test
+    public void orderByTake_randomElements_returnsSmallestElements()
+    {
+        // Arrange
+        ArrayList<Integer> source = createRandomList(1000, 100000);
+
+        ArrayList<Integer> expectedElements = new ArrayList<>(source);
+        Collections.sort(expectedElements);
+        expectedElements = new ArrayList<>(expectedElements.subList(0, 10));
+
+        // Act
+        IEnumerable<Integer> actualElements = Linq.orderBy(source, item -> item, Integer.class).take(10);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    public void orderBySkipTake_randomElements_returnsPage()
+    {
+        // Arrange
+        ArrayList<Integer> source = createRandomList(1000, 100000);
+
+        ArrayList<Integer> expectedElements = new ArrayList<>(source);
+        Collections.sort(expectedElements, Collections.reverseOrder());
+        expectedElements = new ArrayList<>(expectedElements.subList(500, 520));
+
+        // Act
+        IEnumerable<Integer> actualElements = Linq.orderByDescending(source, item -> item, Integer.class)
+            .skip(490)
+            .skip(10)
+            .take(30)
+            .take(20);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    public void orderByTake_countPastEnd_returnsRemainingElements()
+    {
+        // Arrange
+        ArrayList<Integer> source = createRandomList(10, 100);
+
+        ArrayList<Integer> expectedElements = new ArrayList<>(source);
+        Collections.sort(expectedElements);
+        expectedElements = new ArrayList<>(expectedElements.subList(8, 10));
+
+        // Act
+        IEnumerable<Integer> actualElements = Linq.orderBy(source, item -> item, Integer.class)
+            .skip(8)
+            .take(Integer.MAX_VALUE);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    public void orderByTake_zeroCount_returnsEmptySequence()
+    {
+        // Arrange
+        ArrayList<Integer> source = createRandomList(10, 100);
+
+        // Act
+        IEnumerable<Integer> actualElements = Linq.orderBy(source, item -> item, Integer.class).take(0);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(new ArrayList<Integer>(), actualElements);
+    }
+
+    @Test
+    public void thenByTake_duplicateKeys_preservesSourceOrderOfTies()
+    {
+        // Arrange
+        ArrayList<Tuple> source = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+        {
+            source.add(new Tuple(i % 3, "name" + (i % 2)));
+        }
+
+        ArrayList<Tuple> expectedElements = Linq.orderBy(source, item -> item.value, Integer.class)
+            .thenBy(item -> item.name, String.class)
+            .toArrayList();
+        expectedElements = new ArrayList<>(expectedElements.subList(10, 30));
+
+        // Act
+        IEnumerable<Tuple> actualElements = Linq.orderBy(source, item -> item.value, Integer.class)
+            .thenBy(item -> item.name, String.class)
+            .skip(10)
+            .take(20);
+
+        // Assert
+        Assert.assertEquals(expectedElements.size(), actualElements.count());
+        Iterator<Tuple> actualIterator = actualElements.iterator();
+        for (Tuple expected : expectedElements)
+        {
+            Assert.assertSame(expected, actualIterator.next());
+        }
+    }
+
+    @Test
+    public void orderByFirst_randomElements_returnsSmallestElement()
+    {
+        // Arrange
+        ArrayList<Integer> source = createRandomList(1000, 100000);
+
+        // Act
+        Integer actual = Linq.orderBy(source, item -> item, Integer.class).first();
+
+        // Assert
+        Assert.assertEquals(Collections.min(source), actual);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void orderByFirst_emptyList_throwsException()
+    {
+        Linq.orderBy(new ArrayList<Integer>(), item -> item, Integer.class).first();
+    }
+
+    @Test
+    public void orderByFirstOrDefault_emptyList_returnsNull()
+    {
+        // Act
+        Integer actual = Linq.orderBy(new ArrayList<Integer>(), item -> item, Integer.class).firstOrDefault();
+
+        // Assert
+        Assert.assertNull(actual);
+    }
+
+    @Test
+    public void orderByElementAt_randomElements_returnsElementAtSortedPosition()
+    {
+        // Arrange
+        ArrayList<Integer> source = createRandomList(1000, 100);
+
+        ArrayList<Integer> sorted = new ArrayList<>(source);
+        Collections.sort(sorted);
+
+        IOrderedEnumerable<Integer> ordered = Linq.orderBy(source, item -> item, Integer.class);
+
+        // Act & Assert
+        for (int index = 0; index < sorted.size(); index += 37)
+        {
+            Assert.assertEquals(sorted.get(index), ordered.elementAt(index));
+            Assert.assertEquals(sorted.get(index), ordered.skip(index).elementAtOrDefault(0));
+        }
+    }
+
+    @Test
+    public void orderBy_readFirstElement_doesNotSortWholeSequence()
+    {
+        // Arrange
+        ArrayList<Integer> source = createRandomList(10000, 1000000);
+        int[] comparisons = new int[1];
+        Comparator<Integer> comparer = (first, second) ->
+        {
+            comparisons[0]++;
+            return Integer.compare(first, second);
+        };
+
+        // Act
+        Iterator<Integer> iterator = Linq.orderBy(source, item -> item, Integer.class, comparer).iterator();
+        Integer actual = iterator.next();
+
+        // Assert
+        Assert.assertEquals(Collections.min(source), actual);
+        Assert.assertTrue("Too many comparisons: " + comparisons[0], comparisons[0] < source.size() * 4);
+    }
+
+    @Test
+    public void orderBy_iterateIncrementally_ordersAllElements()
+    {
+        // Arrange
+        ArrayList<Integer> source = createRandomList(5000, 50);
+
+        ArrayList<Integer> expectedElements = new ArrayList<>(source);
+        Collections.sort(expectedElements);
+
+        // Act
+        IOrderedEnumerable<Integer> actualElements = Linq.orderBy(source, item -> item, Integer.class);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(expectedElements, actualElements);
+        Assert.assertEquals(expectedElements.get(0), actualElements.takeWhile(item -> item < 10).first());
+    }
+
+    @Test
+    public void orderBy_largeSourceWithoutParallelSort_selectsKeysOnCallingThread()
+    {
+        // Arrange
+        ArrayList<Integer> source = createRandomList(200000, 1000);
+        Thread caller = Thread.currentThread();
+        boolean[] otherThread = new boolean[1];
+
+        // Act
+        Linq.orderBy(source, item ->
+        {
+            otherThread[0] |= Thread.currentThread() != caller;
+            return item;
+        }, Integer.class).toArrayList();
+
+        // Assert
+        Assert.assertFalse(otherThread[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void withParallelSort_zero_throwsException()
+    {
+        Linq.orderBy(Arrays.asList(1, 2, 3), item -> item, Integer.class).withParallelSort(0);
+    }
+
+    @Test
+    public void orderByThenBy_aboveParallelThreshold_matchesSequentialSort()
+    {
+        // Arrange
+        Random random = new Random(7);
+        ArrayList<Tuple> source = new ArrayList<>();
+        for (int i = 0; i < 50000; i++)
+        {
+            source.add(new Tuple(random.nextInt(20), "name" + random.nextInt(50)));
+        }
+
+        ArrayList<Tuple> expectedElements = Linq.orderBy(source, item -> item.value, Integer.class)
+            .thenByDescending(item -> item.name, String.class)
+            .toArrayList();
+
+        // Act
+        ArrayList<Tuple> actualElements = Linq.orderBy(source, item -> item.value, Integer.class)
+            .withParallelSort(1000)
+            .thenByDescending(item -> item.name, String.class)
+            .toArrayList();
+
+        // Assert
+        Assert.assertEquals(expectedElements.size(), actualElements.size());
+        for (int i = 0; i < expectedElements.size(); i++)
+        {
+            Assert.assertSame(expectedElements.get(i), actualElements.get(i));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void orderByElementAt_indexPastEnd_throwsException()
+    {
+        Linq.orderBy(createRandomList(10, 100), item -> item, Integer.class).elementAt(10);
+    }
+
+    @Test
+    public void orderByElementAtOrDefault_indexPastEnd_returnsNull()
+    {
+        // Act
+        Integer actual = Linq.orderBy(createRandomList(10, 100), item -> item, Integer.class).elementAtOrDefault(10);
+
+        // Assert
+        Assert.assertNull(actual);
+    }
+
+    // endregion
+
     private class DummyComparer<T> implements Comparator<T>
     {
         @Override
@@ -0,0 +1,462 @@
+package potter.linq.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static potter.linq.tests.CollectionAssert.assertSequenceEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import potter.linq.IEnumerable;
+import potter.linq.Linq;
+import potter.linq.ParallelEnumerable;
+import potter.linq.SummationMode;
+
+public class ParallelTests
+{
+    /**
+     * A list that can only be read by index, so that a query over it fails
+     * unless the source is range partitioned.
+     */
+    private static class NonIterableList extends ArrayList<Integer>
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Iterator<Integer> iterator()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static ArrayList<Integer> createRange(int count)
+    {
+        ArrayList<Integer> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            list.add(i);
+        }
+
+        return list;
+    }
+
+    // region: asParallel
+
+    @Test(expected = IllegalArgumentException.class)
+    public void asParallel_nullSource_throwsException()
+    {
+        Linq.asParallel((Iterable<Object>) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void withDegreeOfParallelism_zero_throwsException()
+    {
+        Linq.asParallel(createRange(10)).withDegreeOfParallelism(0);
+    }
+
+    @Test
+    public void asParallel_parallelSource_returnsSource()
+    {
+        // Arrange
+        ParallelEnumerable<Integer> source = Linq.asParallel(createRange(10));
+
+        // Act
+        ParallelEnumerable<Integer> actual = source.asParallel();
+
+        // Assert
+        assertTrue(actual == source);
+    }
+
+    @Test
+    public void asParallel_adaptedArrayList_partitionsByIndex()
+    {
+        // Arrange
+        NonIterableList source = new NonIterableList();
+        source.addAll(createRange(10000));
+
+        ArrayList<Integer> expectedElements = new ArrayList<>(createRange(10000));
+
+        // Act
+        Iterable<Integer> actualElements = Linq.asEnumerable(source)
+            .asParallel()
+            .asOrdered()
+            .withDegreeOfParallelism(4)
+            .select(item -> item);
+
+        // Assert
+        assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    // endregion
+
+    // region: where / select / selectMany
+
+    @Test
+    public void whereSelect_orderedList_preservesOrder()
+    {
+        // Arrange
+        ArrayList<Integer> source = createRange(10000);
+
+        ArrayList<Integer> expectedElements = Linq.asEnumerable(source)
+            .where(item -> item % 3 == 0)
+            .select(item -> item * 2)
+            .toArrayList();
+
+        // Act
+        Iterable<Integer> actualElements = Linq.asParallel(source)
+            .asOrdered()
+            .withDegreeOfParallelism(4)
+            .where(item -> item % 3 == 0)
+            .select(item -> item * 2);
+
+        // Assert
+        assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    public void whereSelect_orderedLinkedList_preservesOrder()
+    {
+        // Arrange
+        LinkedList<Integer> source = new LinkedList<>(createRange(10000));
+
+        ArrayList<Integer> expectedElements = Linq.asEnumerable(source)
+            .where(item -> item % 3 == 0)
+            .select(item -> item * 2)
+            .toArrayList();
+
+        // Act
+        Iterable<Integer> actualElements = Linq.asParallel(source)
+            .asOrdered()
+            .withDegreeOfParallelism(4)
+            .where(item -> item % 3 == 0)
+            .select(item -> item * 2);
+
+        // Assert
+        assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    public void select_unorderedArray_containsAllElements()
+    {
+        // Arrange
+        Integer[] source = createRange(5000).toArray(new Integer[0]);
+
+        ArrayList<Integer> expectedElements = createRange(5000);
+
+        // Act
+        ArrayList<Integer> actualElements = Linq.asParallel(source)
+            .withDegreeOfParallelism(8)
+            .select(item -> item)
+            .toArrayList();
+
+        // Assert
+        Collections.sort(actualElements);
+        assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    public void selectMany_orderedList_flattensInOrder()
+    {
+        // Arrange
+        ArrayList<Integer> source = createRange(100);
+
+        ArrayList<Integer> expectedElements = new ArrayList<>();
+        for (Integer item : source)
+        {
+            expectedElements.add(item);
+            expectedElements.add(-item);
+        }
+
+        // Act
+        Iterable<Integer> actualElements = Linq.asParallel(source)
+            .asOrdered()
+            .selectMany(item ->
+            {
+                ArrayList<Integer> items = new ArrayList<>();
+                items.add(item);
+                items.add(-item);
+                return items;
+            });
+
+        // Assert
+        assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    public void asSequential_orderedQuery_runsSequentialOperators()
+    {
+        // Arrange
+        ArrayList<Integer> source = createRange(1000);
+
+        ArrayList<Integer> expectedElements = new ArrayList<>();
+        expectedElements.add(10);
+        expectedElements.add(12);
+
+        // Act
+        IEnumerable<Integer> actualElements = Linq.asParallel(source)
+            .asOrdered()
+            .select(item -> item * 2)
+            .asSequential()
+            .skip(5)
+            .take(2);
+
+        // Assert
+        assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    // endregion
+
+    // region: Aggregation
+
+    @Test(expected = IllegalStateException.class)
+    public void aggregate_emptySource_throwsException()
+    {
+        Linq.asParallel(new ArrayList<Integer>()).aggregate((first, second) -> first + second);
+    }
+
+    @Test
+    public void aggregate_orderedStrings_concatenatesInOrder()
+    {
+        // Arrange
+        ArrayList<Integer> source = createRange(500);
+
+        String expected = Linq.asEnumerable(source)
+            .select(item -> item.toString())
+            .aggregate((first, second) -> first + "," + second);
+
+        // Act
+        String actual = Linq.asParallel(source)
+            .asOrdered()
+            .select(item -> item.toString())
+            .aggregate((first, second) -> first + "," + second);
+
+        // Assert
+        assertEquals(expected, actual);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aggregate4_nullCombineFunction_throwsException()
+    {
+        Linq.asParallel(createRange(10)).aggregate(() -> 0, (total, item) -> total + item, null, total -> total);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void aggregate4_emptySource_throwsException()
+    {
+        Linq.asParallel(new ArrayList<Integer>()).aggregate(() -> 0, (total, item) -> total + item,
+            (first, second) -> first + second, total -> total);
+    }
+
+    @Test
+    public void aggregate4_orderedQuery_combinesPartitionsInOrder()
+    {
+        // Arrange
+        LinkedList<Integer> source = new LinkedList<>(createRange(20000));
+
+        // Act
+        ArrayList<Integer> actual = Linq.asParallel(source)
+            .asOrdered()
+            .where(item -> item % 3 == 0)
+            .aggregate(() -> new ArrayList<Integer>(), (list, item) ->
+            {
+                list.add(item);
+                return list;
+            }, (first, second) ->
+            {
+                first.addAll(second);
+                return first;
+            }, list -> list);
+
+        // Assert
+        assertSequenceEquals(Linq.range(0, 20000).where(item -> item % 3 == 0), actual);
+    }
+
+    @Test
+    public void aggregate4_histogram_countsEveryElement()
+    {
+        // Arrange
+        ArrayList<Integer> source = createRange(100000);
+
+        // Act
+        long[] actual = Linq.asParallel(source).aggregate(() -> new long[10], (histogram, item) ->
+        {
+            histogram[item % 10]++;
+            return histogram;
+        }, (first, second) ->
+        {
+            for (int i = 0; i < first.length; i++)
+            {
+                first[i] += second[i];
+            }
+
+            return first;
+        }, histogram -> histogram);
+
+        // Assert
+        for (long bucket : actual)
+        {
+            assertEquals(10000, bucket);
+        }
+    }
+
+    @Test
+    public void aggregate4_sequentialSource_usesSingleSeed()
+    {
+        // Arrange
+        int[] seedCount = new int[1];
+        IEnumerable<Integer> source = Linq.asEnumerable(createRange(100));
+
+        // Act
+        int actual = source.aggregate(() ->
+        {
+            seedCount[0]++;
+            return 0;
+        }, (total, item) -> total + item, (first, second) ->
+        {
+            throw new AssertionError("combineFunction called.");
+        }, total -> total);
+
+        // Assert
+        assertEquals(4950, actual);
+        assertEquals(1, seedCount[0]);
+    }
+
+    @Test
+    public void sumDouble_pairwise_matchesSequentialForEveryDegreeOfParallelism()
+    {
+        // Arrange
+        ArrayList<Integer> list = createRange(200_000);
+        LinkedList<Integer> linkedList = new LinkedList<>(list);
+        double expected = Linq.sumDouble(list, item -> Math.sqrt(item), SummationMode.PAIRWISE);
+
+        for (int degreeOfParallelism = 1; degreeOfParallelism <= 8; degreeOfParallelism++)
+        {
+            // Act
+            double fromList = Linq.asParallel(list)
+                .withDegreeOfParallelism(degreeOfParallelism)
+                .sumDouble(item -> Math.sqrt(item), SummationMode.PAIRWISE);
+            double fromLinkedList = Linq.asParallel(linkedList)
+                .withDegreeOfParallelism(degreeOfParallelism)
+                .where(item -> true)
+                .sumDouble(item -> Math.sqrt(item), SummationMode.PAIRWISE);
+
+            // Assert
+            assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(fromList));
+            assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(fromLinkedList));
+        }
+    }
+
+    @Test
+    public void sumDouble_pairwiseAfterFilter_isSameForEveryDegreeOfParallelism()
+    {
+        // Arrange
+        ArrayList<Integer> list = createRange(100_000);
+        double expected = Linq.asParallel(list)
+            .withDegreeOfParallelism(1)
+            .where(item -> item % 3 != 0)
+            .sumDouble(item -> Math.sqrt(item), SummationMode.PAIRWISE);
+
+        for (int degreeOfParallelism = 2; degreeOfParallelism <= 8; degreeOfParallelism++)
+        {
+            // Act
+            double actual = Linq.asParallel(list)
+                .withDegreeOfParallelism(degreeOfParallelism)
+                .where(item -> item % 3 != 0)
+                .sumDouble(item -> Math.sqrt(item), SummationMode.PAIRWISE);
+
+            // Assert
+            assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+        }
+    }
+
+    @Test
+    public void sumDouble_compensated_keepsCancelledLowOrderValues()
+    {
+        // Arrange
+        ArrayList<Double> source = new ArrayList<>();
+        for (int i = 0; i < 10000; i++)
+        {
+            source.add(1e100);
+            source.add(1d);
+            source.add(-1e100);
+        }
+
+        // Act
+        double actual = Linq.asParallel(source).sumDouble(item -> item, SummationMode.COMPENSATED);
+        double average = Linq.asParallel(source).averageDouble(item -> item, SummationMode.COMPENSATED);
+
+        // Assert
+        assertEquals(10000, actual, 0);
+        assertEquals(1d / 3, average, 1e-15);
+    }
+
+    @Test
+    public void sumLong_iterableSource_returnsSum()
+    {
+        // Arrange
+        LinkedList<Integer> source = new LinkedList<>(createRange(100000));
+
+        // Act
+        long actual = Linq.asParallel(source).sumLong(item -> (long) item);
+
+        // Assert
+        assertEquals(99999L * 100000L / 2, actual);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void sumInteger_emptySource_throwsException()
+    {
+        Linq.asParallel(new ArrayList<Integer>()).sumInteger(item -> item);
+    }
+
+    @Test
+    public void count_predicate_countsMatchingElements()
+    {
+        // Act
+        int actual = Linq.asParallel(createRange(10000)).count(item -> item % 10 == 0);
+
+        // Assert
+        assertEquals(1000, actual);
+    }
+
+    @Test
+    public void anyAndAll_listOfElements_testsElements()
+    {
+        // Arrange
+        ParallelEnumerable<Integer> source = Linq.asParallel(createRange(10000));
+
+        // Assert
+        assertTrue(source.any(item -> item == 9999));
+        assertFalse(source.any(item -> item < 0));
+        assertTrue(source.all(item -> item >= 0));
+        assertFalse(source.all(item -> item < 5000));
+        assertFalse(Linq.asParallel(new ArrayList<Integer>()).any());
+    }
+
+    @Test
+    public void forAll_listOfElements_visitsEveryElement()
+    {
+        // Arrange
+        AtomicLong sum = new AtomicLong();
+
+        // Act
+        Linq.asParallel(createRange(1000)).forAll(item -> sum.addAndGet(item));
+
+        // Assert
+        assertEquals(999L * 1000L / 2, sum.get());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void select_selectorThrows_propagatesException()
+    {
+        Linq.asParallel(createRange(1000)).select(item -> 1 / (item - 500)).toArrayList();
+    }
+
+    // endregion
+}
@@ -0,0 +1,492 @@
+package potter.linq.tests;
+
+import static potter.linq.tests.CollectionAssert.assertSequenceEquals;
+
+import java.util.ArrayList;
+import java.util.function.ToIntFunction;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import potter.linq.IDoubleEnumerable;
+import potter.linq.IIntEnumerable;
+import potter.linq.ILongEnumerable;
+import potter.linq.Linq;
+import potter.linq.PrimitiveLinq;
+
+public class PrimitiveEnumerableTests
+{
+    // region: selectInt(Iterable<TSource>, ToIntFunction<TSource>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void selectInt_nullSource_throwsException()
+    {
+        Linq.selectInt(null, (String item) -> item.length());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void selectInt_nullSelector_throwsException()
+    {
+        Linq.selectInt(new ArrayList<String>(), (ToIntFunction<String>) null);
+    }
+
+    @Test
+    public void selectInt_listOfElements_projectsElements()
+    {
+        // Arrange
+        ArrayList<String> source = new ArrayList<>();
+        source.add("a");
+        source.add("bb");
+        source.add("ccc");
+
+        int[] expectedElements =
+        {
+            1, 2, 3
+        };
+
+        // Act
+        IIntEnumerable actualElements = Linq.asEnumerable(source).selectInt(String::length);
+
+        // Assert
+        Assert.assertArrayEquals(expectedElements, actualElements.toArray());
+    }
+
+    @Test
+    public void selectInt_iterateTwice_projectsElements()
+    {
+        // Arrange
+        ArrayList<String> source = new ArrayList<>();
+        source.add("a");
+        source.add("bb");
+
+        int[] expectedElements =
+        {
+            1, 2
+        };
+
+        // Act
+        IIntEnumerable actualElements = Linq.selectInt(source, String::length);
+
+        // Assert
+        Assert.assertArrayEquals(expectedElements, actualElements.toArray());
+        Assert.assertArrayEquals(expectedElements, actualElements.toArray());
+    }
+
+    // endregion
+
+    // region: selectLong(Iterable<TSource>, ToLongFunction<TSource>)
+
+    @Test
+    public void selectLong_listOfElements_projectsElements()
+    {
+        // Arrange
+        ArrayList<Integer> source = new ArrayList<>();
+        source.add(Integer.MAX_VALUE);
+        source.add(1);
+
+        long[] expectedElements =
+        {
+            Integer.MAX_VALUE + 1L, 2L
+        };
+
+        // Act
+        ILongEnumerable actualElements = Linq.selectLong(source, item -> item + 1L);
+
+        // Assert
+        Assert.assertArrayEquals(expectedElements, actualElements.toArray());
+    }
+
+    // endregion
+
+    // region: selectDouble(Iterable<TSource>, ToDoubleFunction<TSource>)
+
+    @Test
+    public void selectDouble_listOfElements_projectsElements()
+    {
+        // Arrange
+        ArrayList<Integer> source = new ArrayList<>();
+        source.add(1);
+        source.add(2);
+
+        double[] expectedElements =
+        {
+            0.5, 1
+        };
+
+        // Act
+        IDoubleEnumerable actualElements = Linq.selectDouble(source, item -> item / 2d);
+
+        // Assert
+        Assert.assertArrayEquals(expectedElements, actualElements.toArray(), 0);
+    }
+
+    // endregion
+
+    // region: asEnumerable(int[])
+
+    @Test(expected = IllegalArgumentException.class)
+    public void asEnumerable_nullArray_throwsException()
+    {
+        PrimitiveLinq.asEnumerable((int[]) null);
+    }
+
+    @Test
+    public void asEnumerable_emptyArray_returnsEmptySequence()
+    {
+        // Act
+        IIntEnumerable actualElements = PrimitiveLinq.asEnumerable(new int[0]);
+
+        // Assert
+        Assert.assertEquals(0, actualElements.count());
+        Assert.assertArrayEquals(new int[0], actualElements.toArray());
+    }
+
+    // endregion
+
+    // region: range(int, int)
+
+    @Test
+    public void range_positiveCount_returnsSequentialValues()
+    {
+        // Arrange
+        int[] expectedElements =
+        {
+            5, 6, 7, 8
+        };
+
+        // Act
+        IIntEnumerable actualElements = PrimitiveLinq.range(5, 4);
+
+        // Assert
+        Assert.assertArrayEquals(expectedElements, actualElements.toArray());
+    }
+
+    // endregion
+
+    // region: where / select
+
+    @Test(expected = IllegalArgumentException.class)
+    public void where_nullPredicate_throwsException()
+    {
+        PrimitiveLinq.range(0, 10).where(null);
+    }
+
+    @Test
+    public void whereSelect_rangeOfValues_filtersAndProjectsElements()
+    {
+        // Arrange
+        long[] expectedElements =
+        {
+            0, 20, 40, 60, 80
+        };
+
+        // Act
+        ILongEnumerable actualElements = PrimitiveLinq.range(0, 10)
+            .where(item -> item % 2 == 0)
+            .select(item -> item * 5)
+            .selectLong(item -> item * 2L);
+
+        // Assert
+        Assert.assertArrayEquals(expectedElements, actualElements.toArray());
+    }
+
+    @Test
+    public void boxed_rangeOfValues_containsSameElements()
+    {
+        // Arrange
+        ArrayList<Integer> expectedElements = new ArrayList<>();
+        expectedElements.add(1);
+        expectedElements.add(2);
+        expectedElements.add(3);
+
+        // Act
+        Iterable<Integer> actualElements = PrimitiveLinq.range(1, 3).boxed();
+
+        // Assert
+        assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    public void selectObject_rangeOfValues_projectsElements()
+    {
+        // Arrange
+        ArrayList<String> expectedElements = new ArrayList<>();
+        expectedElements.add("1");
+        expectedElements.add("2");
+
+        // Act
+        Iterable<String> actualElements = PrimitiveLinq.range(1, 2).selectObject(Integer::toString);
+
+        // Assert
+        assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    // endregion
+
+    // region: sum / min / max / average
+
+    @Test(expected = IllegalStateException.class)
+    public void sum_emptySequence_throwsException()
+    {
+        PrimitiveLinq.range(0, 0).sum();
+    }
+
+    @Test
+    public void sum_intValues_returnsSum()
+    {
+        Assert.assertEquals(15, PrimitiveLinq.range(1, 5).sum());
+    }
+
+    @Test
+    public void sum_longValues_returnsSum()
+    {
+        // Arrange
+        long[] source =
+        {
+            Long.MAX_VALUE / 2, Long.MAX_VALUE / 2, 1
+        };
+
+        // Act
+        long actual = PrimitiveLinq.asEnumerable(source).sum();
+
+        // Assert
+        Assert.assertEquals(Long.MAX_VALUE, actual);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void min_emptySequence_throwsException()
+    {
+        PrimitiveLinq.asEnumerable(new double[0]).min();
+    }
+
+    @Test
+    public void minAndMax_intValues_returnsExtremes()
+    {
+        // Arrange
+        int[] source =
+        {
+            3, -7, 12, 0
+        };
+
+        // Act
+        IIntEnumerable sequence = PrimitiveLinq.asEnumerable(source);
+
+        // Assert
+        Assert.assertEquals(-7, sequence.min());
+        Assert.assertEquals(12, sequence.max());
+    }
+
+    @Test
+    public void max_negativeDoubleValues_returnsMaximum()
+    {
+        // Arrange
+        double[] source =
+        {
+            -3.5, -1.25, -8
+        };
+
+        // Act
+        double actual = PrimitiveLinq.asEnumerable(source).max();
+
+        // Assert
+        Assert.assertEquals(-1.25, actual, 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void average_emptySequence_throwsException()
+    {
+        PrimitiveLinq.asEnumerable(new long[0]).average();
+    }
+
+    @Test
+    public void average_intValues_returnsFractionalAverage()
+    {
+        Assert.assertEquals(2.5, PrimitiveLinq.range(1, 4).average(), 0);
+    }
+
+    @Test
+    public void average_largeIntValues_doesNotOverflow()
+    {
+        // Arrange
+        int[] source =
+        {
+            Integer.MAX_VALUE, Integer.MAX_VALUE
+        };
+
+        // Act
+        double actual = PrimitiveLinq.asEnumerable(source).average();
+
+        // Assert
+        Assert.assertEquals(Integer.MAX_VALUE, actual, 0);
+    }
+
+    // endregion
+
+    // region: sum / min / max / average over arrays
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sumArray_nullSource_throwsException()
+    {
+        PrimitiveLinq.sum((int[]) null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void sumArray_emptyArray_throwsException()
+    {
+        PrimitiveLinq.sum(new double[0]);
+    }
+
+    @Test
+    public void sumArray_everyLength_matchesSequentialSum()
+    {
+        for (int length = 1; length < 20; length++)
+        {
+            // Arrange
+            int[] ints = new int[length];
+            long[] longs = new long[length];
+            float[] floats = new float[length];
+            int expected = 0;
+            int expectedMin = Integer.MAX_VALUE;
+            int expectedMax = Integer.MIN_VALUE;
+            for (int i = 0; i < length; i++)
+            {
+                ints[i] = (i * 7919) % 23 - 11;
+                longs[i] = ints[i];
+                floats[i] = ints[i];
+                expected += ints[i];
+                expectedMin = Math.min(expectedMin, ints[i]);
+                expectedMax = Math.max(expectedMax, ints[i]);
+            }
+
+            // Act & Assert
+            Assert.assertEquals(expected, PrimitiveLinq.sum(ints));
+            Assert.assertEquals(expected, PrimitiveLinq.sum(longs));
+            Assert.assertEquals(expected, PrimitiveLinq.sum(floats), 0);
+            Assert.assertEquals(expectedMin, PrimitiveLinq.min(ints));
+            Assert.assertEquals(expectedMax, PrimitiveLinq.max(longs));
+            Assert.assertEquals(expectedMax, PrimitiveLinq.max(floats), 0);
+            Assert.assertEquals((double) expected / length, PrimitiveLinq.average(ints), 0);
+        }
+    }
+
+    @Test
+    public void sumArray_intOverflow_wrapsAround()
+    {
+        // Arrange
+        int[] source =
+        {
+            Integer.MAX_VALUE, 1, 2, 3, 4
+        };
+
+        // Act
+        int actual = PrimitiveLinq.sum(source);
+
+        // Assert
+        Assert.assertEquals(Integer.MIN_VALUE + 9, actual);
+        Assert.assertEquals(actual, PrimitiveLinq.asEnumerable(source).sum());
+    }
+
+    @Test
+    public void averageArray_largeIntValues_doesNotOverflow()
+    {
+        // Arrange
+        int[] source =
+        {
+            Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE
+        };
+
+        // Act
+        double actual = PrimitiveLinq.average(source);
+
+        // Assert
+        Assert.assertEquals(Integer.MAX_VALUE, actual, 0);
+    }
+
+    @Test
+    public void minArray_doubleValues_followsMathMin()
+    {
+        // Arrange
+        double[] withNaN =
+        {
+            1, 2, 3, 4, Double.NaN, 6
+        };
+        double[] withZeros =
+        {
+            0d, 1d, -0d, 2d, 3d
+        };
+
+        // Act & Assert
+        Assert.assertTrue(Double.isNaN(PrimitiveLinq.min(withNaN)));
+        Assert.assertTrue(Double.isNaN(PrimitiveLinq.max(withNaN)));
+        Assert.assertEquals(Double.doubleToLongBits(-0d), Double.doubleToLongBits(PrimitiveLinq.min(withZeros)));
+        Assert.assertEquals(3, PrimitiveLinq.asEnumerable(withZeros).max(), 0);
+    }
+
+    @Test
+    public void sumArray_doubleValues_isCloseToSequentialSum()
+    {
+        // Arrange
+        double[] source = new double[1001];
+        double expected = 0;
+        for (int i = 0; i < source.length; i++)
+        {
+            source[i] = i * 0.1;
+            expected += source[i];
+        }
+
+        // Act
+        double actual = PrimitiveLinq.sum(source);
+
+        // Assert
+        Assert.assertEquals(expected, actual, 1e-9);
+        Assert.assertEquals(expected / source.length, PrimitiveLinq.average(source), 1e-12);
+    }
+
+    // endregion
+
+    // region: sumToLong / sumExact
+
+    @Test
+    public void sumToLong_intValues_doesNotWrap()
+    {
+        // Arrange
+        int[] source =
+        {
+            Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE
+        };
+
+        // Act & Assert
+        Assert.assertEquals(5L * Integer.MAX_VALUE, PrimitiveLinq.sumToLong(source));
+        Assert.assertEquals(5L * Integer.MAX_VALUE, PrimitiveLinq.asEnumerable(source).where(x -> true).sumToLong());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void sumExact_intOverflow_throwsException()
+    {
+        PrimitiveLinq.asEnumerable(new int[] { Integer.MIN_VALUE, -1 }).sumExact();
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void sumExact_longOverflow_throwsException()
+    {
+        PrimitiveLinq.asEnumerable(new long[] { Long.MAX_VALUE, 1 }).select(x -> x).sumExact();
+    }
+
+    @Test
+    public void sumExact_runningTotalOverflows_returnsSumThatFits()
+    {
+        // Arrange
+        long[] source =
+        {
+            Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE, 7
+        };
+
+        // Act & Assert
+        Assert.assertEquals(5, PrimitiveLinq.sumExact(source));
+        Assert.assertEquals(5, PrimitiveLinq.asEnumerable(source).select(x -> x).sumExact());
+        Assert.assertEquals(Integer.MIN_VALUE + 1,
+            PrimitiveLinq.sumExact(new int[] { Integer.MIN_VALUE, -1, Integer.MAX_VALUE, Integer.MIN_VALUE + 1, 2 }));
+    }
+
+    // endregion
+}
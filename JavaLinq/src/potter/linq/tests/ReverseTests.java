@@ -1,9 +1,13 @@
 package potter.linq.tests;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import potter.linq.IEnumerable;
 import potter.linq.Linq;
 
 public class ReverseTests
@@ -72,4 +76,69 @@ public class ReverseTests
     }
 
     // endregion
+
+    // region: Random access sources
+
+    @Test
+    public void reverse_array_returnsReversedView()
+    {
+        // Arrange
+        Integer[] source = { 1, 2, 3, 4 };
+
+        // Act
+        IEnumerable<Integer> actualElements = Linq.asEnumerable(source).reverse();
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList(4, 3, 2, 1), actualElements);
+        Assert.assertEquals(4, actualElements.count());
+        Assert.assertEquals(3, actualElements.elementAt(1).intValue());
+        Assert.assertEquals(1, actualElements.last().intValue());
+    }
+
+    @Test
+    public void reverseSkip_arrayList_skipsFromEnd()
+    {
+        // Arrange
+        ArrayList<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 6; i++)
+        {
+            source.add(i);
+        }
+
+        // Act
+        ArrayList<Integer> actualElements = Linq.reverse(source).skip(2).toArrayList();
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList(3, 2, 1, 0), actualElements);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void reverse_arrayListModifiedDuringEnumeration_throws()
+    {
+        // Arrange
+        ArrayList<Integer> source = new ArrayList<>(Arrays.asList(1, 2, 3));
+
+        // Act
+        for (Integer element : Linq.reverse(source))
+        {
+            source.add(element);
+        }
+    }
+
+    @Test
+    public void reverse_arrayListTwice_viewsAreNotEqual()
+    {
+        // Arrange
+        ArrayList<Integer> source = new ArrayList<>(Arrays.asList(1, 2, 3));
+
+        // Act
+        IEnumerable<Integer> first = Linq.reverse(source);
+        IEnumerable<Integer> second = Linq.reverse(source);
+
+        // Assert
+        Assert.assertNotEquals(first, second);
+        Assert.assertEquals(first, first);
+    }
+
+    // endregion
 }
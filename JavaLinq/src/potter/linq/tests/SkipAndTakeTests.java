@@ -1,12 +1,16 @@
 package potter.linq.tests;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.RandomAccess;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import potter.linq.IEnumerable;
 import potter.linq.Linq;
 
 public class SkipAndTakeTests
@@ -434,4 +438,86 @@ public class SkipAndTakeTests
     }
 
     // endregion
+
+    // region: Random access sources
+
+    @Test
+    public void skipTake_arrayList_returnsRangeWithRandomAccess()
+    {
+        // Arrange
+        ArrayList<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+        {
+            source.add(i);
+        }
+
+        // Act
+        IEnumerable<Integer> actualElements = Linq.skip(source, 2).take(5).skip(1);
+
+        // Assert
+        Assert.assertTrue(actualElements instanceof RandomAccess);
+        CollectionAssert.assertSequenceEquals(Arrays.asList(3, 4, 5, 6), actualElements);
+        Assert.assertEquals(4, actualElements.count());
+        Assert.assertEquals(5, actualElements.elementAt(2).intValue());
+        Assert.assertNull(actualElements.elementAtOrDefault(4));
+    }
+
+    @Test
+    public void skipTake_array_returnsRange()
+    {
+        // Arrange
+        Integer[] source = { 1, 2, 3, 4, 5 };
+
+        // Act
+        IEnumerable<Integer> actualElements = Linq.asEnumerable(source).take(4).skip(-1).skip(2);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList(3, 4), actualElements);
+        Assert.assertEquals(2, Linq.toArrayList(actualElements).size());
+    }
+
+    @Test
+    public void skipTake_listChangesAfterQuery_readsCurrentElements()
+    {
+        // Arrange
+        ArrayList<Integer> source = new ArrayList<>();
+        source.add(1);
+        source.add(2);
+
+        IEnumerable<Integer> query = Linq.take(Linq.skip(source, 1), 2);
+
+        // Act
+        source.add(3);
+        source.add(4);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList(2, 3), query);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void skip_elementAtPastEnd_throwsException()
+    {
+        // Arrange
+        ArrayList<Integer> source = new ArrayList<>();
+        source.add(1);
+        source.add(2);
+
+        // Act
+        Linq.skip(source, 1).elementAt(1);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void skip_arrayListModifiedDuringEnumeration_throws()
+    {
+        // Arrange
+        ArrayList<Integer> source = new ArrayList<>(Arrays.asList(1, 2, 3, 4));
+
+        // Act
+        for (Integer element : Linq.skip(source, 1))
+        {
+            source.add(element);
+        }
+    }
+
+    // endregion
 }
@@ -0,0 +1,311 @@
+package potter.linq.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import potter.linq.DoubleStatistics;
+import potter.linq.IEnumerable;
+import potter.linq.IIntEnumerable;
+import potter.linq.Linq;
+import potter.linq.LongStatistics;
+import potter.linq.PrimitiveLinq;
+
+public class StatisticsTests
+{
+    public final double MaxDoubleEqualityDelta = 0.000_000_000_001d;
+
+    // region: statisticsLong(Iterable<Long>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void statisticsLong1_nullSource_throwsException()
+    {
+        Linq.statisticsLong(null);
+    }
+
+    @Test
+    public void statisticsLong1_emptyList_hasNoElements()
+    {
+        // Act
+        LongStatistics actual = Linq.statisticsLong(new ArrayList<Long>());
+
+        // Assert
+        assertEquals(0, actual.getCount());
+        assertEquals(0, actual.getSum());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void statisticsLong1_emptyList_minThrowsException()
+    {
+        Linq.statisticsLong(new ArrayList<Long>()).getMin();
+    }
+
+    @Test
+    public void statisticsLong1_listOfNumbers_returnsStatistics()
+    {
+        // Arrange
+        List<Long> source = Arrays.asList(4l, -2l, 9l, 1l);
+
+        // Act
+        LongStatistics actual = Linq.statisticsLong(source);
+
+        // Assert
+        assertEquals(4, actual.getCount());
+        assertEquals(12, actual.getSum());
+        assertEquals(-2, actual.getMin());
+        assertEquals(9, actual.getMax());
+        assertEquals(3, actual.getAverage(), 0);
+    }
+
+    // endregion
+
+    // region: statisticsLong(Iterable<TSource>, Function<TSource, Long>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void statisticsLong2_nullSelector_throwsException()
+    {
+        Linq.statisticsLong(new ArrayList<String>(), null);
+    }
+
+    @Test
+    public void statisticsLong2_deferredSource_enumeratesOnce()
+    {
+        // Arrange
+        int[] selectorCount = new int[1];
+        IEnumerable<Integer> source = Linq.range(1, 100).select(x ->
+        {
+            selectorCount[0]++;
+            return x;
+        });
+
+        // Act
+        LongStatistics actual = source.statisticsLong(x -> (long) x);
+
+        // Assert
+        assertEquals(100, selectorCount[0]);
+        assertEquals(100, actual.getCount());
+        assertEquals(5050, actual.getSum());
+        assertEquals(1, actual.getMin());
+        assertEquals(100, actual.getMax());
+        assertEquals(50.5, actual.getAverage(), 0);
+    }
+
+    // endregion
+
+    // region: statisticsDouble(Iterable<Double>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void statisticsDouble1_nullSource_throwsException()
+    {
+        Linq.statisticsDouble(null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void statisticsDouble1_emptyList_averageThrowsException()
+    {
+        Linq.statisticsDouble(new ArrayList<Double>()).getAverage();
+    }
+
+    @Test
+    public void statisticsDouble1_listOfNumbers_returnsStatistics()
+    {
+        // Arrange
+        List<Double> source = Arrays.asList(1.5d, -0.5d, 2.5d);
+
+        // Act
+        DoubleStatistics actual = Linq.statisticsDouble(source);
+
+        // Assert
+        assertEquals(3, actual.getCount());
+        assertEquals(3.5, actual.getSum(), MaxDoubleEqualityDelta);
+        assertEquals(-0.5, actual.getMin(), 0);
+        assertEquals(2.5, actual.getMax(), 0);
+        assertEquals(3.5 / 3, actual.getAverage(), MaxDoubleEqualityDelta);
+    }
+
+    @Test
+    public void statisticsDouble1_containsNaN_minAndMaxAreNaN()
+    {
+        // Arrange
+        List<Double> source = Arrays.asList(1d, Double.NaN, 2d);
+
+        // Act
+        DoubleStatistics actual = Linq.statisticsDouble(source);
+
+        // Assert
+        assertTrue(Double.isNaN(actual.getMin()));
+        assertTrue(Double.isNaN(actual.getMax()));
+    }
+
+    // endregion
+
+    // region: statisticsDouble(Iterable<TSource>, Function<TSource, Double>)
+
+    @Test
+    public void statisticsDouble2_listOfStrings_returnsStatisticsOfLengths()
+    {
+        // Arrange
+        List<String> source = Arrays.asList("a", "bbb", "cc");
+
+        // Act
+        DoubleStatistics actual = Linq.statisticsDouble(source, x -> (double) x.length());
+
+        // Assert
+        assertEquals(3, actual.getCount());
+        assertEquals(6, actual.getSum(), 0);
+        assertEquals(1, actual.getMin(), 0);
+        assertEquals(3, actual.getMax(), 0);
+        assertEquals(2, actual.getAverage(), 0);
+    }
+
+    // endregion
+
+    // region: LongStatistics.combine(LongStatistics)
+
+    @Test
+    public void combine_twoHalves_equalsWhole()
+    {
+        // Arrange
+        LongStatistics first = Linq.statisticsLong(Arrays.asList(5l, 7l));
+        LongStatistics second = Linq.statisticsLong(Arrays.asList(-3l, 1l, 2l));
+
+        // Act
+        LongStatistics actual = first.combine(second);
+
+        // Assert
+        assertEquals(5, actual.getCount());
+        assertEquals(12, actual.getSum());
+        assertEquals(-3, actual.getMin());
+        assertEquals(7, actual.getMax());
+    }
+
+    @Test
+    public void collector_parallelStream_equalsSequential()
+    {
+        // Act
+        LongStatistics actual = Linq.range(0, 100000)
+            .parallelStream()
+            .collect(LongStatistics.collector(x -> (long) x));
+
+        // Assert
+        assertEquals(100000, actual.getCount());
+        assertEquals(4999950000l, actual.getSum());
+        assertEquals(0, actual.getMin());
+        assertEquals(99999, actual.getMax());
+    }
+
+    // endregion
+
+    // region: collect(Iterable<TSource>, Collector<TSource, TAccumulate, TResult>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void collect_nullSource_throwsException()
+    {
+        Linq.collect(null, Collectors.toList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void collect_nullCollector_throwsException()
+    {
+        Linq.collect(new ArrayList<Integer>(), null);
+    }
+
+    @Test
+    public void collect_joining_returnsFinishedResult()
+    {
+        // Act
+        String actual = Linq.range(1, 3).select(x -> x.toString()).collect(Collectors.joining(","));
+
+        // Assert
+        assertEquals("1,2,3", actual);
+    }
+
+    // endregion
+
+    // region: aggregateMany(Collector<TSource, ?, TResult1>, Collector<TSource, ?, TResult2>, BiFunction<TResult1, TResult2, TResult>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aggregateMany_nullFirst_throwsException()
+    {
+        Linq.aggregateMany(null, Collectors.counting(), (x, y) -> y);
+    }
+
+    @Test
+    public void aggregateMany_nestedCollectors_computesAllInOnePass()
+    {
+        // Arrange
+        int[] selectorCount = new int[1];
+        IEnumerable<Integer> source = Linq.range(1, 10).select(x ->
+        {
+            selectorCount[0]++;
+            return x;
+        });
+
+        // Act
+        List<Object> actual = source.collect(Linq.aggregateMany(
+            LongStatistics.collector((Integer x) -> (long) x),
+            Linq.aggregateMany(Collectors.<Integer> counting(), Collectors.<Integer> toList(),
+                (count, list) -> Arrays.<Object> asList(count, list.get(9))),
+            (statistics, rest) -> Arrays.<Object> asList(statistics.getSum(), rest.get(0), rest.get(1))));
+
+        // Assert
+        assertEquals(10, selectorCount[0]);
+        CollectionAssert.assertSequenceEquals(Arrays.<Object> asList(55l, 10l, 10), actual);
+    }
+
+    @Test
+    public void aggregateMany_parallelStream_combinesPartialResults()
+    {
+        // Act
+        String actual = Linq.range(0, 10000).parallelStream().collect(Linq.aggregateMany(
+            LongStatistics.collector((Integer x) -> (long) x),
+            Collectors.<Integer> counting(),
+            (statistics, count) -> statistics.getMax() + "/" + count));
+
+        // Assert
+        assertEquals("9999/10000", actual);
+    }
+
+    // endregion
+
+    // region: PrimitiveLinq.statistics
+
+    @Test(expected = IllegalArgumentException.class)
+    public void primitiveStatistics_nullSource_throwsException()
+    {
+        PrimitiveLinq.statistics((IIntEnumerable) null);
+    }
+
+    @Test
+    public void primitiveStatistics_intRange_sumDoesNotOverflow()
+    {
+        // Act
+        LongStatistics actual = PrimitiveLinq.range(Integer.MAX_VALUE - 9, 10).statistics();
+
+        // Assert
+        assertEquals(10, actual.getCount());
+        assertEquals(10l * Integer.MAX_VALUE - 45, actual.getSum());
+        assertEquals(Integer.MAX_VALUE, actual.getMax());
+    }
+
+    @Test
+    public void primitiveStatistics_doubles_returnsStatistics()
+    {
+        // Act
+        DoubleStatistics actual = PrimitiveLinq.range(1, 4).selectDouble(x -> x / 2d).statistics();
+
+        // Assert
+        assertEquals(4, actual.getCount());
+        assertEquals(5, actual.getSum(), 0);
+        assertEquals(0.5, actual.getMin(), 0);
+        assertEquals(2, actual.getMax(), 0);
+    }
+
+    // endregion
+}
@@ -0,0 +1,239 @@
+package potter.linq.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import potter.linq.IEnumerable;
+import potter.linq.Linq;
+
+public class StreamTests
+{
+    // region: stream()
+
+    @Test
+    public void stream_list_containsSameElements()
+    {
+        // Arrange
+        List<Integer> source = Arrays.asList(3, 1, 2);
+
+        // Act
+        List<Integer> actual = Linq.asEnumerable(source).where(x -> x > 1).stream().collect(Collectors.toList());
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList(3, 2), actual);
+    }
+
+    @Test
+    public void stream_groupings_containSameElements()
+    {
+        // Arrange
+        IEnumerable<Integer> source = Linq.range(0, 10);
+
+        // Act
+        List<Integer> actual = source.groupBy(x -> x % 2, Integer.class, Integer.class)
+            .first()
+            .stream()
+            .collect(Collectors.toList());
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList(0, 2, 4, 6, 8), actual);
+    }
+
+    // endregion
+
+    // region: parallelStream()
+
+    @Test
+    public void parallelStream_array_keepsEncounterOrder()
+    {
+        // Arrange
+        Integer[] source = new Integer[10000];
+        for (int index = 0; index < source.length; index++)
+        {
+            source[index] = index;
+        }
+
+        // Act
+        List<Integer> actual = Linq.asEnumerable(source)
+            .skip(10)
+            .parallelStream()
+            .map(x -> x * 2)
+            .collect(Collectors.toList());
+
+        // Assert
+        assertEquals(9990, actual.size());
+        assertEquals(20, (int) actual.get(0));
+        assertEquals(19998, (int) actual.get(9989));
+    }
+
+    @Test
+    public void parallelStream_range_sumsAllElements()
+    {
+        // Act
+        long sum = Linq.range(1, 100000).parallelStream().mapToLong(x -> x).sum();
+
+        // Assert
+        assertEquals(5000050000L, sum);
+    }
+
+    // endregion
+
+    // region: spliterator()
+
+    @Test
+    public void spliterator_list_splitsEvenly()
+    {
+        // Arrange
+        IEnumerable<Integer> source = Linq.asEnumerable(Linq.range(0, 100).toArrayList()).reverse();
+
+        // Act
+        Spliterator<Integer> spliterator = source.spliterator();
+        Spliterator<Integer> prefix = spliterator.trySplit();
+
+        // Assert
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(50, prefix.estimateSize());
+        assertEquals(50, spliterator.estimateSize());
+        assertTrue(prefix.tryAdvance(x -> assertEquals(99, (int) x)));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void spliterator_listTryAdvanceNullAction_throwsNullPointerException()
+    {
+        // Arrange
+        Spliterator<Integer> spliterator = Linq.asEnumerable(Arrays.asList(1, 2)).reverse().spliterator();
+
+        // Act
+        spliterator.tryAdvance(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void spliterator_listForEachRemainingNullAction_throwsNullPointerException()
+    {
+        // Arrange
+        Spliterator<Integer> spliterator = Linq.asEnumerable(Arrays.asList(1, 2)).reverse().spliterator();
+
+        // Act
+        spliterator.forEachRemaining(null);
+    }
+
+    @Test
+    public void spliterator_range_isSortedAndDistinct()
+    {
+        // Act
+        Spliterator<Integer> spliterator = Linq.range(5, 10).spliterator();
+
+        // Assert
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SORTED | Spliterator.DISTINCT));
+        assertEquals(10, spliterator.estimateSize());
+        assertNull(spliterator.getComparator());
+    }
+
+    @Test
+    public void spliterator_distinct_isDistinct()
+    {
+        // Act
+        Spliterator<Integer> spliterator = Linq.distinct(Arrays.asList(1, 1, 2)).spliterator();
+
+        // Assert
+        assertTrue(spliterator.hasCharacteristics(Spliterator.DISTINCT | Spliterator.ORDERED));
+        assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+    }
+
+    @Test
+    public void spliterator_orderBy_isSortedAndSortsLazily()
+    {
+        // Arrange
+        List<String> source = Arrays.asList("ccc", "a", "bb", "dd");
+        int[] keyCount = new int[1];
+        IEnumerable<String> ordered = Linq.asEnumerable(source)
+            .orderByDescending(x ->
+            {
+                keyCount[0]++;
+                return x.length();
+            }, Integer.class)
+            .thenBy(x -> x, String.class);
+
+        // Act
+        Spliterator<String> spliterator = ordered.spliterator();
+        int keysBeforeTraversal = keyCount[0];
+        ArrayList<String> actual = new ArrayList<>();
+        spliterator.forEachRemaining(actual::add);
+
+        // Assert
+        assertEquals(0, keysBeforeTraversal);
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SORTED | Spliterator.SIZED));
+        CollectionAssert.assertSequenceEquals(Arrays.asList("ccc", "bb", "dd", "a"), actual);
+        assertTrue(spliterator.getComparator().compare("bb", "dd") < 0);
+        assertTrue(spliterator.getComparator().compare("a", "dd") > 0);
+    }
+
+    @Test
+    public void spliterator_where_hasUnknownSize()
+    {
+        // Act
+        Spliterator<Integer> spliterator = Linq.range(0, 10).where(x -> x > 5).spliterator();
+
+        // Assert
+        assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(-1, spliterator.getExactSizeIfKnown());
+    }
+
+    // endregion
+
+    // region: from(Stream<TSource>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void from_nullSource_throwsException()
+    {
+        Linq.from((Stream<Object>) null);
+    }
+
+    @Test
+    public void from_stream_containsSameElements()
+    {
+        // Act
+        IEnumerable<Integer> actual = Linq.from(Stream.of(1, 2, 3)).select(x -> x * 2);
+
+        // Assert
+        CollectionAssert.assertSequenceEquals(Arrays.asList(2, 4, 6), actual);
+    }
+
+    @Test
+    public void from_stream_keepsSpliteratorCharacteristics()
+    {
+        // Arrange
+        Stream<Integer> source = Arrays.asList(1, 2, 3).stream();
+
+        // Act
+        Spliterator<Integer> spliterator = Linq.from(source).spliterator();
+
+        // Assert
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(3, spliterator.estimateSize());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void from_enumeratedTwice_throwsException()
+    {
+        // Arrange
+        IEnumerable<Integer> source = Linq.from(Stream.of(1, 2, 3));
+        source.count();
+
+        // Act
+        source.count();
+    }
+
+    // endregion
+}
@@ -1,11 +1,18 @@
 package potter.linq.tests;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import potter.linq.Linq;
+import potter.linq.PrimitiveLinq;
+import potter.linq.SummationMode;
 
 public class SumTests
 {
@@ -122,6 +129,98 @@ public class SumTests
 
     // endregion
 
+    // region: sumDouble(Iterable<TSource>, Function<TSource, Double>, SummationMode)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sumDouble3_nullMode_throwsException()
+    {
+        Linq.sumDouble(new ArrayList<Double>(), item -> item, null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void sumDouble3_emptyList_throwsException()
+    {
+        Linq.sumDouble(new ArrayList<Double>(), item -> item, SummationMode.PAIRWISE);
+    }
+
+    @Test
+    public void sumDouble3_compensated_keepsCancelledLowOrderValues()
+    {
+        // Arrange
+        List<Double> source = Arrays.asList(1e100, 1d, -1e100);
+
+        // Act
+        double naive = Linq.sumDouble(source, item -> item, SummationMode.NAIVE);
+        double compensated = Linq.sumDouble(source, item -> item, SummationMode.COMPENSATED);
+
+        // Assert
+        Assert.assertEquals(0, naive, 0);
+        Assert.assertEquals(1, compensated, 0);
+    }
+
+    @Test
+    public void sumDouble3_compensated_overflowReturnsInfinity()
+    {
+        // Arrange
+        List<Double> source = Arrays.asList(Double.MAX_VALUE, Double.MAX_VALUE);
+
+        // Act
+        double actual = Linq.sumDouble(source, item -> item, SummationMode.COMPENSATED);
+
+        // Assert
+        Assert.assertEquals(Double.POSITIVE_INFINITY, actual, 0);
+    }
+
+    @Test
+    public void sumDouble3_manyValues_accurateModesBeatNaive()
+    {
+        // Arrange
+        ArrayList<Double> source = new ArrayList<>();
+        BigDecimal exact = BigDecimal.ZERO;
+        for (int i = 0; i < 1_000_000; i++)
+        {
+            source.add(0.1d);
+            exact = exact.add(new BigDecimal(0.1d));
+        }
+
+        double expected = exact.doubleValue();
+
+        // Act
+        double naive = Linq.sumDouble(source, item -> item, SummationMode.NAIVE);
+        double compensated = Linq.sumDouble(source, item -> item, SummationMode.COMPENSATED);
+        double pairwise = Linq.sumDouble(source, item -> item, SummationMode.PAIRWISE);
+
+        // Assert
+        Assert.assertEquals(expected, compensated, 0);
+        Assert.assertTrue(Math.abs(pairwise - expected) < Math.abs(naive - expected));
+    }
+
+    @Test
+    public void sumDouble3_pairwise_sequenceMatchesArray()
+    {
+        Random random = new Random(7);
+        for (int length : new int[] { 1, 127, 128, 129, 256, 384, 1000, 16_385, 100_003 })
+        {
+            // Arrange
+            double[] values = new double[length];
+            ArrayList<Double> source = new ArrayList<>(length);
+            for (int i = 0; i < length; i++)
+            {
+                values[i] = random.nextDouble() * Math.pow(10, random.nextInt(12));
+                source.add(values[i]);
+            }
+
+            // Act
+            double actual = Linq.sumDouble(source, item -> item, SummationMode.PAIRWISE);
+
+            // Assert
+            Assert.assertEquals(Double.doubleToLongBits(PrimitiveLinq.sum(values, SummationMode.PAIRWISE)),
+                Double.doubleToLongBits(actual));
+        }
+    }
+
+    // endregion
+
     // region: sumFloat(Iterable<Float>)
 
     @Test(expected = IllegalArgumentException.class)
@@ -379,4 +478,186 @@ public class SumTests
     }
 
     // endregion
+
+    // region: sumIntegerToLong(Iterable<Integer>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sumIntegerToLong1_nullSource_throwsException()
+    {
+        Linq.sumIntegerToLong(null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void sumIntegerToLong1_emptyList_throwsException()
+    {
+        Linq.sumIntegerToLong(new ArrayList<Integer>());
+    }
+
+    @Test
+    public void sumIntegerToLong1_largeValues_doesNotWrap()
+    {
+        // Arrange
+        List<Integer> source = Arrays.asList(Integer.MAX_VALUE, Integer.MAX_VALUE, 2);
+
+        // Act
+        long actual = Linq.sumIntegerToLong(source);
+
+        // Assert
+        Assert.assertEquals(2L * Integer.MAX_VALUE + 2, actual);
+    }
+
+    // endregion
+
+    // region: sumIntegerToLong(Iterable<TSource>, Function<TSource, Integer>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sumIntegerToLong2_nullSelector_throwsException()
+    {
+        Linq.sumIntegerToLong(new ArrayList<Integer>(), null);
+    }
+
+    @Test
+    public void sumIntegerToLong2_largeValues_doesNotWrap()
+    {
+        // Act
+        long actual = Linq.range(0, 4).sumIntegerToLong(item -> Integer.MIN_VALUE);
+
+        // Assert
+        Assert.assertEquals(4L * Integer.MIN_VALUE, actual);
+    }
+
+    // endregion
+
+    // region: sumIntegerExact(Iterable<Integer>)
+
+    @Test(expected = IllegalStateException.class)
+    public void sumIntegerExact1_emptyList_throwsException()
+    {
+        Linq.sumIntegerExact(new ArrayList<Integer>());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void sumIntegerExact1_overflow_throwsException()
+    {
+        Linq.sumIntegerExact(Arrays.asList(Integer.MAX_VALUE, 1));
+    }
+
+    @Test
+    public void sumIntegerExact1_runningTotalOverflows_returnsSumThatFits()
+    {
+        // Arrange
+        List<Integer> source = Arrays.asList(Integer.MAX_VALUE, 10, -20);
+
+        // Act
+        int actual = Linq.sumIntegerExact(source);
+
+        // Assert
+        Assert.assertEquals(Integer.MAX_VALUE - 10, actual);
+    }
+
+    // endregion
+
+    // region: sumIntegerExact(Iterable<TSource>, Function<TSource, Integer>)
+
+    @Test(expected = ArithmeticException.class)
+    public void sumIntegerExact2_overflow_throwsException()
+    {
+        Linq.range(0, 3).sumIntegerExact(item -> Integer.MIN_VALUE);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void sumIntegerExact2_parallelOverflow_throwsException()
+    {
+        Linq.asParallel(Linq.range(0, 10000).toArrayList()).sumIntegerExact(item -> Integer.MAX_VALUE / 1000);
+    }
+
+    // endregion
+
+    // region: sumLongExact(Iterable<Long>)
+
+    @Test(expected = IllegalStateException.class)
+    public void sumLongExact1_emptyList_throwsException()
+    {
+        Linq.sumLongExact(new ArrayList<Long>());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void sumLongExact1_overflow_throwsException()
+    {
+        Linq.sumLongExact(Arrays.asList(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE));
+    }
+
+    @Test
+    public void sumLongExact1_runningTotalOverflows_returnsSumThatFits()
+    {
+        // Arrange
+        List<Long> source = Arrays.asList(Long.MAX_VALUE, 10l, -20l, Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE);
+
+        // Act
+        long actual = Linq.sumLongExact(source);
+
+        // Assert
+        Assert.assertEquals(2 * (Long.MAX_VALUE + Long.MIN_VALUE) - 10, actual);
+    }
+
+    @Test
+    public void sumLongExact1_randomValues_matchesBigInteger()
+    {
+        Random random = new Random(11);
+        for (int iteration = 0; iteration < 200; iteration++)
+        {
+            // Arrange
+            ArrayList<Long> source = new ArrayList<>();
+            BigInteger expected = BigInteger.ZERO;
+            for (int i = 0; i < 5; i++)
+            {
+                long value = random.nextLong() >> random.nextInt(4);
+                source.add(value);
+                expected = expected.add(BigInteger.valueOf(value));
+            }
+
+            // Act
+            Long actual;
+            try
+            {
+                actual = Linq.sumLongExact(source);
+            }
+            catch (ArithmeticException e)
+            {
+                actual = null;
+            }
+
+            // Assert
+            if (expected.bitLength() < Long.SIZE)
+            {
+                Assert.assertEquals(Long.valueOf(expected.longValue()), actual);
+            }
+            else
+            {
+                Assert.assertNull(actual);
+            }
+        }
+    }
+
+    // endregion
+
+    // region: sumLongExact(Iterable<TSource>, Function<TSource, Long>)
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sumLongExact2_nullSelector_throwsException()
+    {
+        Linq.sumLongExact(new ArrayList<Long>(), null);
+    }
+
+    @Test
+    public void sumLongExact2_listOfNumbers_returnsSum()
+    {
+        // Act
+        long actual = Linq.range(1, 100).sumLongExact(item -> (long) item);
+
+        // Assert
+        Assert.assertEquals(5050, actual);
+    }
+
+    // endregion
 }
@@ -172,4 +172,76 @@ public class WhereTests
     }
 
     // endregion
+
+    // region: Chained where and select
+
+    @Test
+    public void whereSelectWhere_chainedOperators_matchesSeparateSteps()
+    {
+        // Arrange
+        ArrayList<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+        {
+            source.add(i);
+        }
+
+        ArrayList<String> expectedElements = new ArrayList<>();
+        for (Integer item : source)
+        {
+            if (item % 2 == 0 && item % 3 == 0)
+            {
+                String projected = "#" + (item * 10);
+                if (projected.length() == 4)
+                {
+                    expectedElements.add(projected + "!");
+                }
+            }
+        }
+
+        // Act
+        Iterable<String> actualElements = Linq.where(source, item -> item % 2 == 0)
+            .where(item -> item % 3 == 0)
+            .select(item -> item * 10)
+            .select(item -> "#" + item)
+            .where(item -> item.length() == 4)
+            .select(item -> item + "!");
+
+        // Assert
+        assertSequenceEquals(expectedElements, actualElements);
+        assertSequenceEquals(expectedElements, actualElements);
+    }
+
+    @Test
+    public void whereSelect_chainedOperators_evaluatesEachElementInOrder()
+    {
+        // Arrange
+        ArrayList<Integer> source = new ArrayList<>();
+        source.add(1);
+        source.add(2);
+        source.add(3);
+
+        ArrayList<String> calls = new ArrayList<>();
+
+        // Act
+        Linq.where(source, item ->
+        {
+            calls.add("where " + item);
+            return item != 2;
+        }).select(item ->
+        {
+            calls.add("select " + item);
+            return item;
+        }).toArrayList();
+
+        // Assert
+        ArrayList<String> expectedCalls = new ArrayList<>();
+        expectedCalls.add("where 1");
+        expectedCalls.add("select 1");
+        expectedCalls.add("where 2");
+        expectedCalls.add("where 3");
+        expectedCalls.add("select 3");
+        assertSequenceEquals(expectedCalls, calls);
+    }
+
+    // endregion
 }